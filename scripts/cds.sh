@@ -0,0 +1,114 @@
+#!/bin/sh
+#
+# MIT License
+#
+# COPYRIGHT (c) 2023 Jorge Garcia
+#
+# Permission is hereby granted, free of charge, to any person obtaining a copy
+# of this software and associated documentation files (the "Software"), to deal
+# in the Software without restriction, including without limitation the rights
+# to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+# copies of the Software, and to permit persons to whom the Software is
+# furnished to do so, subject to the following conditions:
+#
+# The above copyright notice and this permission notice shall be included in all
+# copies or substantial portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+#
+# Builds the class data sharing (AppCDS) layout of the application and trains its archive.
+#
+# Usage:
+#   scripts/cds.sh layout <spring boot jar> <application directory>
+#     Extracts the layered jar into a plain class path: the application classes in application.jar, the dependencies
+#     in lib/ and the java options in jvm.args. CDS only archives the classes loaded from jar files by the built-in
+#     class loaders, so the Spring Boot launcher is not used. It needs a JDK.
+#   scripts/cds.sh train <application directory>
+#     Runs the application against the WireMock upstream stub, exercises its endpoints and writes app.jsa on exit.
+#     wiremock-standalone.jar and the wiremock directory must be in the application directory.
+#
+set -eu
+
+MAIN_CLASS=com.jorgealfonsogarcia.recommender.Application
+STUB_PORT=9090
+APP_URL=http://localhost:8080
+
+layout() {
+  jar_file=$1
+  app_dir=$2
+  work_dir=$(mktemp -d)
+
+  java -Djarmode=layertools -jar "${jar_file}" extract --destination "${work_dir}"
+  mkdir -p "${app_dir}/lib"
+  find "${work_dir}" -path '*/BOOT-INF/lib/*.jar' -exec cp {} "${app_dir}/lib/" \;
+  classes_dir="${work_dir}/application/BOOT-INF/classes"
+  mkdir -p "${classes_dir}/META-INF"
+  find "${work_dir}/application/META-INF" -maxdepth 1 -type f ! -name MANIFEST.MF -exec cp {} "${classes_dir}/META-INF/" \;
+  jar --create --file "${app_dir}/application.jar" -C "${classes_dir}" .
+
+  class_path="${app_dir}/application.jar"
+  for library in "${app_dir}"/lib/*.jar; do
+    class_path="${class_path}:${library}"
+  done
+
+  {
+    echo "-cp ${class_path}"
+    echo "-Dspring.aot.enabled=true"
+  } > "${app_dir}/jvm.args"
+
+  rm -rf "${work_dir}"
+}
+
+train() {
+  app_dir=$1
+  cd "${app_dir}"
+
+  java -jar wiremock-standalone.jar --port "${STUB_PORT}" --root-dir wiremock --disable-banner > /dev/null 2>&1 &
+  stub_pid=$!
+
+  AUTH_TOKEN=training MOVIE_SERVICE_URL="http://localhost:${STUB_PORT}" \
+    java -XX:ArchiveClassesAtExit=app.jsa @jvm.args "${MAIN_CLASS}" &
+  app_pid=$!
+
+  attempts=0
+  until wget -q -O /dev/null "${APP_URL}/actuator/health"; do
+    attempts=$((attempts + 1))
+    if [ "${attempts}" -gt 600 ]; then
+      echo "The application did not start" >&2
+      kill "${app_pid}" "${stub_pid}"
+      exit 1
+    fi
+    sleep 0.1
+  done
+
+  for path in \
+    "/movies/search?startYear=1982&endYear=1984&genres=Comedia&language=es" \
+    "/movies/genres/es" \
+    "/movies/languages" \
+    "/movies/languages" \
+    "/actuator/metrics"; do
+    wget -q -O /dev/null "${APP_URL}${path}" || true
+  done
+
+  kill -TERM "${app_pid}"
+  wait "${app_pid}" || true
+  kill "${stub_pid}"
+
+  test -s app.jsa
+}
+
+command=${1:-}
+case "${command}" in
+  layout) layout "$2" "$3" ;;
+  train) train "$2" ;;
+  *)
+    echo "Usage: $0 layout <spring boot jar> <application directory> | train <application directory>" >&2
+    exit 2
+    ;;
+esac
@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+#
+# MIT License
+#
+# COPYRIGHT (c) 2023 Jorge Garcia
+#
+# Permission is hereby granted, free of charge, to any person obtaining a copy
+# of this software and associated documentation files (the "Software"), to deal
+# in the Software without restriction, including without limitation the rights
+# to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+# copies of the Software, and to permit persons to whom the Software is
+# furnished to do so, subject to the following conditions:
+#
+# The above copyright notice and this permission notice shall be included in all
+# copies or substantial portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+#
+# Compares the startup time and the memory of the container images against the WireMock upstream stub.
+#
+# Usage: scripts/compare-startup.sh [target...]
+# The targets are Dockerfile stages, the default one is built when the target is "jvm". Defaults to: jvm cds native
+#
+set -euo pipefail
+
+if [[ $# -gt 0 ]]; then
+  TARGETS=("$@")
+else
+  TARGETS=(jvm cds native)
+fi
+
+NETWORK=recommender-startup
+STUB=recommender-stub
+PORT=8080
+SEARCH_URL="http://localhost:${PORT}/movies/search?startYear=1982&endYear=1983&genres=Comedia&language=es"
+
+now_ms() {
+  date +%s%3N
+}
+
+cleanup() {
+  docker rm -f "${STUB}" "${TARGETS[@]/#/recommender-}" >/dev/null 2>&1 || true
+  docker network rm "${NETWORK}" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker network create "${NETWORK}" >/dev/null
+docker run -d --name "${STUB}" --network "${NETWORK}" -v "${PWD}/wiremock:/home/wiremock" \
+  wiremock/wiremock:3.3.1 >/dev/null
+
+printf '%-8s %14s %19s %14s\n' "image" "ready (ms)" "first request (ms)" "memory"
+for target in "${TARGETS[@]}"; do
+  if [[ "${target}" == "jvm" ]]; then
+    docker build -q -t "recommender:${target}" . >/dev/null
+  else
+    docker build -q --target "${target}" -t "recommender:${target}" . >/dev/null
+  fi
+
+  start=$(now_ms)
+  docker run -d --name "recommender-${target}" --network "${NETWORK}" -p "${PORT}:8080" \
+    -e AUTH_TOKEN=stub -e MOVIE_SERVICE_URL="http://${STUB}:8080" "recommender:${target}" >/dev/null
+  until curl -sf "http://localhost:${PORT}/actuator/health" >/dev/null; do
+    sleep 0.05
+  done
+  ready=$(( $(now_ms) - start ))
+
+  curl -sf "${SEARCH_URL}" >/dev/null
+  first_search=$(( $(now_ms) - start ))
+
+  memory=$(docker stats --no-stream --format '{{.MemUsage}}' "recommender-${target}" | cut -d/ -f1)
+  printf '%-8s %14s %19s %14s\n' "${target}" "${ready}" "${first_search}" "${memory}"
+
+  docker rm -f "recommender-${target}" >/dev/null
+done
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the cost of encoding and decoding a page of movies in each response format. The size of the encoded page is
+ * printed when each format is set up.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecBenchmark {
+
+    private static final TypeReference<List<MovieResponse>> MOVIES_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"1000"})
+    private int movieCount;
+
+    private ObjectMapper objectMapper;
+    private List<MovieResponse> movies;
+    private byte[] encodedMovies;
+
+    /**
+     * Creates the mapper of the format and encodes the movies once, printing their size.
+     *
+     * @throws IOException If the movies cannot be encoded.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper(switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        });
+        movies = IntStream.range(0, movieCount)
+                .mapToObj(id -> new MovieResponse(id, List.of("Comedia", "Drama"), "es", "Película %d".formatted(id),
+                        "Movie %d".formatted(id), "The overview of the movie %d, a story told in a few sentences."
+                        .formatted(id), id % 100, "1984-%02d-%02d".formatted(id % 12 + 1, id % 28 + 1)))
+                .toList();
+        encodedMovies = objectMapper.writeValueAsBytes(movies);
+        System.out.printf("%n%s: %d bytes for %d movies%n", format, encodedMovies.length, movieCount);
+    }
+
+    /**
+     * Encodes the movies.
+     *
+     * @return The encoded movies.
+     * @throws IOException If the movies cannot be encoded.
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(movies);
+    }
+
+    /**
+     * Decodes the movies.
+     *
+     * @return The decoded movies.
+     * @throws IOException If the movies cannot be decoded.
+     */
+    @Benchmark
+    public List<MovieResponse> decode() throws IOException {
+        return objectMapper.readValue(encodedMovies, MOVIES_TYPE);
+    }
+}
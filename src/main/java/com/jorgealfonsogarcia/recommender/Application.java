@@ -24,8 +24,17 @@
 
 package com.jorgealfonsogarcia.recommender;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jorgealfonsogarcia.recommender.config.AdmissionProperties;
 import com.jorgealfonsogarcia.recommender.config.AppProperties;
+import com.jorgealfonsogarcia.recommender.config.BlockHoundProperties;
+import com.jorgealfonsogarcia.recommender.config.CacheProperties;
+import com.jorgealfonsogarcia.recommender.config.EventLoopProperties;
+import com.jorgealfonsogarcia.recommender.config.NativeRuntimeHints;
+import com.jorgealfonsogarcia.recommender.config.RateLimitProperties;
+import com.jorgealfonsogarcia.recommender.config.RecommendationProperties;
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.config.UpstreamPacingProperties;
+import com.jorgealfonsogarcia.recommender.config.WarmUpProperties;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
@@ -33,12 +42,9 @@ import io.swagger.v3.oas.models.info.License;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
-
-import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * The application's entry point.
@@ -49,7 +55,10 @@ import java.util.concurrent.TimeUnit;
  */
 @SpringBootApplication
 @EnableCaching
-@EnableConfigurationProperties(AppProperties.class)
+@EnableConfigurationProperties({AdmissionProperties.class, AppProperties.class, BlockHoundProperties.class,
+        CacheProperties.class, EventLoopProperties.class, RateLimitProperties.class, RecommendationProperties.class,
+        SearchProperties.class, UpstreamPacingProperties.class, WarmUpProperties.class})
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class Application {
 
     /**
@@ -61,18 +70,6 @@ public class Application {
         SpringApplication.run(Application.class, args);
     }
 
-    /**
-     * Creates a cache manager.
-     *
-     * @return The cache manager.
-     */
-    @Bean
-    public CacheManager caffeineCacheManager() {
-        var cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(60, TimeUnit.MINUTES));
-        return cacheManager;
-    }
-
     @Bean
     public OpenAPI customOpenAPI() {
         return new OpenAPI()
@@ -0,0 +1,356 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the requests in flight of each route class, and sheds requests early once their latency goals are breached.
+ * <p>
+ * Each class has a limit of requests in flight and a bounded queue for those above it. The time a request waits in the
+ * queue is its queueing delay. When the queueing delay of a class stays above its target for a whole interval, the
+ * class is overloaded: its queued requests are shed as they are dequeued, and its new requests are shed on arrival
+ * unless they can run at once. The class stays overloaded for an interval after its last shed request, or until a
+ * request is dequeued below the target. While a class is overloaded, the new requests of the classes of lower priority
+ * are shed as well, so the expensive requests make room for the cheap ones. Shed requests fail with an
+ * {@link AdmissionRejectedException}.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class AdmissionController {
+
+    private final Map<RouteClass, Lane> lanes = new EnumMap<>(RouteClass.class);
+    private final long intervalMillis;
+    private final Duration retryAfter;
+    private final Clock clock;
+
+    /**
+     * Constructor.
+     *
+     * @param limits     The limits of each route class. Every class must have them.
+     * @param interval   The time the queueing delay must stay above the target to shed requests.
+     * @param retryAfter The time after which a shed request can be retried.
+     * @param clock      The clock.
+     */
+    public AdmissionController(Map<RouteClass, Limits> limits,
+                               Duration interval,
+                               Duration retryAfter,
+                               Clock clock) {
+        for (final var routeClass : RouteClass.values()) {
+            lanes.put(routeClass, new Lane(routeClass, limits.get(routeClass)));
+        }
+
+        this.intervalMillis = interval.toMillis();
+        this.retryAfter = retryAfter;
+        this.clock = clock;
+    }
+
+    /**
+     * Acquires a permit to run a request. The permit must be released when the request completes.
+     *
+     * @param routeClass The class of the route of the request.
+     * @return A Mono with the permit, as soon as the request is admitted, or an {@link AdmissionRejectedException} if
+     * it is shed.
+     */
+    public Mono<Permit> acquire(final RouteClass routeClass) {
+        return Mono.create(sink -> {
+            final var lane = lanes.get(routeClass);
+            final var now = clock.millis();
+            final var moreImportantOverloaded = lanes.values().stream()
+                    .anyMatch(other -> other.routeClass.isMoreImportantThan(routeClass) && other.isOverloaded(now));
+            if (moreImportantOverloaded) {
+                lane.reject(sink);
+                return;
+            }
+
+            lane.offer(sink, now);
+        });
+    }
+
+    /**
+     * Gets the limit of requests in flight of a route class.
+     *
+     * @param routeClass The class of the route.
+     * @return The maximum number of requests in flight.
+     */
+    public int getMaxInFlight(final RouteClass routeClass) {
+        return lanes.get(routeClass).limits.maxInFlight();
+    }
+
+    /**
+     * Gets the requests in flight of a route class.
+     *
+     * @param routeClass The class of the route.
+     * @return The number of requests in flight.
+     */
+    public int getInFlight(final RouteClass routeClass) {
+        final var lane = lanes.get(routeClass);
+        synchronized (lane) {
+            return lane.inFlight;
+        }
+    }
+
+    /**
+     * Gets the requests waiting in the queue of a route class.
+     *
+     * @param routeClass The class of the route.
+     * @return The number of queued requests.
+     */
+    public int getQueued(final RouteClass routeClass) {
+        final var lane = lanes.get(routeClass);
+        synchronized (lane) {
+            return lane.queue.size();
+        }
+    }
+
+    /**
+     * Gets the queueing delay of the last request of a route class that left the queue, or zero if it was admitted
+     * without waiting.
+     *
+     * @param routeClass The class of the route.
+     * @return The queueing delay.
+     */
+    public Duration getQueueDelay(final RouteClass routeClass) {
+        final var lane = lanes.get(routeClass);
+        synchronized (lane) {
+            return Duration.ofMillis(lane.queueDelayMillis);
+        }
+    }
+
+    /**
+     * Gets whether a route class is shedding requests because its queueing delay stays above its target.
+     *
+     * @param routeClass The class of the route.
+     * @return Whether the route class is overloaded.
+     */
+    public boolean isOverloaded(final RouteClass routeClass) {
+        return lanes.get(routeClass).isOverloaded(clock.millis());
+    }
+
+    /**
+     * Gets the requests of a route class that were admitted.
+     *
+     * @param routeClass The class of the route.
+     * @return The number of admitted requests.
+     */
+    public long getAdmitted(final RouteClass routeClass) {
+        return lanes.get(routeClass).admitted.get();
+    }
+
+    /**
+     * Gets the requests of a route class that were shed.
+     *
+     * @param routeClass The class of the route.
+     * @return The number of shed requests.
+     */
+    public long getShed(final RouteClass routeClass) {
+        return lanes.get(routeClass).shed.get();
+    }
+
+    /**
+     * The limits of a route class.
+     *
+     * @param maxInFlight The maximum number of requests in flight.
+     * @param maxQueued   The maximum number of requests waiting to run.
+     * @param targetDelay The target queueing delay.
+     */
+    public record Limits(int maxInFlight, int maxQueued, Duration targetDelay) {
+    }
+
+    /**
+     * A permit to run a request. Releasing it admits the next queued request of its route class.
+     */
+    public static final class Permit {
+
+        private final Lane lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(final Lane lane) {
+            this.lane = lane;
+        }
+
+        /**
+         * Releases the permit. Only the first call has an effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                lane.release();
+            }
+        }
+    }
+
+    /**
+     * A request waiting in the queue of a route class.
+     */
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt;
+        private Permit permit;
+
+        private Waiter(final MonoSink<Permit> sink,
+                       final long enqueuedAt) {
+            this.sink = sink;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * The requests in flight and the queue of a route class. Its state is guarded by its monitor, and the sinks are
+     * always signalled outside of it.
+     */
+    private final class Lane {
+
+        private static final long NOT_ABOVE_TARGET = -1;
+
+        private final RouteClass routeClass;
+        private final Limits limits;
+        private final Deque<Waiter> queue = new ArrayDeque<>();
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+        private int inFlight;
+        private long queueDelayMillis;
+        private long firstAboveTarget = NOT_ABOVE_TARGET;
+        private long overloadedUntil;
+
+        private Lane(final RouteClass routeClass,
+                     final Limits limits) {
+            this.routeClass = routeClass;
+            this.limits = limits;
+        }
+
+        private void offer(final MonoSink<Permit> sink,
+                           final long now) {
+            Permit permit = null;
+            Waiter waiter = null;
+            synchronized (this) {
+                if (queue.isEmpty() && inFlight < limits.maxInFlight()) {
+                    inFlight++;
+                    permit = new Permit(this);
+                    queueDelayMillis = 0;
+                    firstAboveTarget = NOT_ABOVE_TARGET;
+                    overloadedUntil = 0;
+                } else if (now >= overloadedUntil && queue.size() < limits.maxQueued()) {
+                    waiter = new Waiter(sink, now);
+                    queue.add(waiter);
+                }
+            }
+
+            if (permit != null) {
+                admitted.incrementAndGet();
+                sink.success(permit);
+            } else if (waiter != null) {
+                final var queued = waiter;
+                sink.onCancel(() -> cancel(queued));
+            } else {
+                reject(sink);
+            }
+        }
+
+        private void release() {
+            final var now = clock.millis();
+            final var shedWaiters = new ArrayList<Waiter>();
+            Waiter admittedWaiter = null;
+            synchronized (this) {
+                inFlight--;
+                while (admittedWaiter == null && !queue.isEmpty() && inFlight < limits.maxInFlight()) {
+                    final var waiter = queue.poll();
+                    if (isShedOnDequeue(now - waiter.enqueuedAt, now)) {
+                        shedWaiters.add(waiter);
+                    } else {
+                        inFlight++;
+                        waiter.permit = new Permit(this);
+                        admittedWaiter = waiter;
+                    }
+                }
+            }
+
+            shedWaiters.forEach(waiter -> reject(waiter.sink));
+            if (admittedWaiter != null) {
+                admitted.incrementAndGet();
+                admittedWaiter.sink.success(admittedWaiter.permit);
+            }
+        }
+
+        private void cancel(final Waiter waiter) {
+            final Permit permit;
+            synchronized (this) {
+                permit = queue.remove(waiter) ? null : waiter.permit;
+            }
+
+            if (permit != null) {
+                permit.release();
+            }
+        }
+
+        private void reject(final MonoSink<Permit> sink) {
+            shed.incrementAndGet();
+            sink.error(new AdmissionRejectedException(routeClass, retryAfter));
+        }
+
+        private synchronized boolean isOverloaded(final long now) {
+            return now < overloadedUntil;
+        }
+
+        /**
+         * Records the queueing delay of a dequeued request, and gets whether it must be shed: the delay has been above
+         * the target for a whole interval.
+         */
+        private boolean isShedOnDequeue(final long delayMillis,
+                                        final long now) {
+            queueDelayMillis = delayMillis;
+            if (delayMillis < limits.targetDelay().toMillis()) {
+                firstAboveTarget = NOT_ABOVE_TARGET;
+                overloadedUntil = 0;
+                return false;
+            }
+
+            if (firstAboveTarget == NOT_ABOVE_TARGET) {
+                firstAboveTarget = now;
+            }
+
+            if (now - firstAboveTarget < intervalMillis) {
+                return false;
+            }
+
+            overloadedUntil = now + intervalMillis;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed by the {@link AdmissionController}.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient RouteClass routeClass;
+    private final transient Duration retryAfter;
+
+    /**
+     * Constructor.
+     *
+     * @param routeClass The class of the route of the request.
+     * @param retryAfter The time after which the request can be retried.
+     */
+    public AdmissionRejectedException(RouteClass routeClass,
+                                      Duration retryAfter) {
+        super("The server is overloaded and is shedding the %s requests".formatted(routeClass.tag()));
+        this.routeClass = routeClass;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the class of the route of the request.
+     *
+     * @return The class of the route.
+     */
+    public RouteClass getRouteClass() {
+        return routeClass;
+    }
+
+    /**
+     * Gets the time after which the request can be retried.
+     *
+     * @return The time after which the request can be retried.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
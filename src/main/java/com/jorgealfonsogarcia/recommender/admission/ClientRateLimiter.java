@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the rate of the requests of each client with a token bucket.
+ * <p>
+ * Each bucket holds up to the burst of tokens and is refilled at the rate per second. A request is charged its cost in
+ * tokens, capped at the burst, and is limited when the bucket does not hold them. The buckets are kept in a bounded
+ * Caffeine cache and evicted once idle, so a client that comes back later starts with a full bucket, as it would have
+ * anyway. A bucket is a single theoretical arrival time updated with compare-and-set: the time its tokens will all be
+ * back, so it is lock-free.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class ClientRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final int burst;
+    private final long tokenNanos;
+    private final Clock clock;
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong limited = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param rate        The tokens added to each bucket per second.
+     * @param burst       The maximum tokens of a bucket.
+     * @param maxClients  The maximum number of buckets kept.
+     * @param idleTimeout The time after which an unused bucket is evicted. It is raised to the time a bucket takes to
+     *                    refill, so an eviction never grants more tokens than waiting would.
+     * @param clock       The clock.
+     */
+    public ClientRateLimiter(double rate,
+                             int burst,
+                             long maxClients,
+                             Duration idleTimeout,
+                             Clock clock) {
+        this.burst = burst;
+        this.tokenNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.clock = clock;
+        final var refillTime = Duration.ofNanos(tokenNanos * burst);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout.compareTo(refillTime) > 0 ? idleTimeout : refillTime)
+                .build();
+    }
+
+    /**
+     * Charges a request to the bucket of its client.
+     *
+     * @param client The key of the client.
+     * @param cost   The tokens the request costs. It is capped at the burst.
+     * @return Zero if the request is allowed, or the time after which it would be.
+     */
+    public Duration tryAcquire(final String client,
+                               final int cost) {
+        final var now = TimeUnit.MILLISECONDS.toNanos(clock.millis());
+        final var bucket = buckets.get(client, ignored -> new TokenBucket());
+        final var waitNanos = bucket.tryConsume(Math.min(Math.max(cost, 1), burst), now);
+        if (waitNanos > 0) {
+            limited.incrementAndGet();
+            return Duration.ofNanos(waitNanos);
+        }
+
+        allowed.incrementAndGet();
+        return Duration.ZERO;
+    }
+
+    /**
+     * Gets the number of requests allowed.
+     *
+     * @return The number of allowed requests.
+     */
+    public long getAllowed() {
+        return allowed.get();
+    }
+
+    /**
+     * Gets the number of requests limited.
+     *
+     * @return The number of limited requests.
+     */
+    public long getLimited() {
+        return limited.get();
+    }
+
+    /**
+     * Gets the number of clients whose bucket is kept.
+     *
+     * @return The number of clients.
+     */
+    public long getClients() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * The token bucket of a client, as the time at which it will be full again.
+     */
+    private final class TokenBucket {
+
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * Takes the tokens if the bucket holds them.
+         *
+         * @return Zero if the tokens were taken, or the nanoseconds until the bucket holds them.
+         */
+        private long tryConsume(final int cost,
+                                final long now) {
+            while (true) {
+                final var current = fullAt.get();
+                final var next = Math.max(current, now) + cost * tokenNanos;
+                final var waitNanos = next - now - burst * tokenNanos;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
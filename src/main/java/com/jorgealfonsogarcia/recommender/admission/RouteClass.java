@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The classes of the movie routes, by priority: the first ones are the cheapest and the most important to keep fast.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public enum RouteClass {
+
+    /**
+     * The catalog lookups, usually answered from memory: the languages, the genres of a language, the text lookups and
+     * the title completions.
+     */
+    CATALOG,
+
+    /**
+     * The movie searches, full or paged, which fan out to an upstream call per year and language.
+     */
+    SEARCH,
+
+    /**
+     * The batch searches, which run many searches at once.
+     */
+    BATCH;
+
+    private static final String MOVIES_PATH = "/movies";
+    private static final String GENRES_PATH = MOVIES_PATH + "/genres/";
+
+    /**
+     * Gets the class of a request.
+     *
+     * @param method The method of the request.
+     * @param path   The path of the request, within the application.
+     * @return The class of the route, or empty if the request is not admission controlled.
+     */
+    public static Optional<RouteClass> of(final HttpMethod method,
+                                          final String path) {
+        if (HttpMethod.POST.equals(method)) {
+            return (MOVIES_PATH + "/search/batch").equals(path) ? Optional.of(BATCH) : Optional.empty();
+        }
+
+        if (!HttpMethod.GET.equals(method)) {
+            return Optional.empty();
+        }
+
+        if ((MOVIES_PATH + "/search").equals(path)) {
+            return Optional.of(SEARCH);
+        }
+
+        if ((MOVIES_PATH + "/languages").equals(path) || (MOVIES_PATH + "/lookup").equals(path)
+                || (MOVIES_PATH + "/autocomplete").equals(path)
+                || (path.startsWith(GENRES_PATH) && path.length() > GENRES_PATH.length()
+                && path.indexOf('/', GENRES_PATH.length()) < 0)) {
+            return Optional.of(CATALOG);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Gets whether the requests of this class are more important than those of another class.
+     *
+     * @param other The other class.
+     * @return Whether this class has a higher priority.
+     */
+    public boolean isMoreImportantThan(final RouteClass other) {
+        return ordinal() < other.ordinal();
+    }
+
+    /**
+     * Gets the name of the class as a metric tag.
+     *
+     * @return The lowercase name.
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
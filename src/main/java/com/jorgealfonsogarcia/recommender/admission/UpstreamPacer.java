@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paces the calls to the movie service below its quota, and pauses them all when it reports the quota is spent.
+ * <p>
+ * Calls are scheduled at the rate per second, with up to the burst of them sent at once. Instead of being rejected, a
+ * call over the rate is given the time at which it can be sent, unless that is later than the maximum wait. A 429 Too
+ * Many Requests, or a response with no requests remaining, pauses every call until the window advertised by its
+ * Retry-After or rate limit reset headers has passed, so the calls queue behind a single pause rather than each of them
+ * retrying on its own. Like the {@link ClientRateLimiter}, the schedule is a theoretical arrival time updated with
+ * compare-and-set, so it is lock-free.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class UpstreamPacer {
+
+    private static final List<String> REMAINING_HEADERS = List.of("RateLimit-Remaining", "X-RateLimit-Remaining");
+    private static final List<String> RESET_HEADERS = List.of("RateLimit-Reset", "X-RateLimit-Reset");
+
+    /**
+     * Reset values above this are epoch seconds rather than seconds to wait.
+     */
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Duration maxWait;
+    private final Duration defaultPause;
+    private final Duration maxPause;
+    private final Clock clock;
+    private final AtomicLong nextAt = new AtomicLong();
+    private final AtomicLong pausedUntil = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong immediate = new AtomicLong();
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param rate         The calls sent per second.
+     * @param burst        The maximum calls sent at once.
+     * @param maxWait      The maximum time a call waits to be sent.
+     * @param defaultPause The pause after a 429 Too Many Requests without a Retry-After header.
+     * @param maxPause     The maximum pause, whatever the headers advertise.
+     * @param clock        The clock.
+     */
+    public UpstreamPacer(double rate,
+                         int burst,
+                         Duration maxWait,
+                         Duration defaultPause,
+                         Duration maxPause,
+                         Clock clock) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.toleranceNanos = Math.max(0, burst - 1) * intervalNanos;
+        this.maxWait = maxWait;
+        this.defaultPause = defaultPause;
+        this.maxPause = maxPause;
+        this.clock = clock;
+    }
+
+    /**
+     * Reserves the time at which a call is sent.
+     *
+     * @return The time to wait before sending the call, zero if it can be sent now.
+     * @throws UpstreamThrottledException If the call would wait longer than the maximum wait.
+     */
+    public Duration reserve() {
+        final var now = now();
+        while (true) {
+            final var current = nextAt.get();
+            final var sendAt = Math.max(Math.max(now, current - toleranceNanos), pausedUntil.get());
+            final var waitNanos = sendAt - now;
+            if (waitNanos > maxWait.toNanos()) {
+                rejected.incrementAndGet();
+                throw new UpstreamThrottledException(Duration.ofNanos(waitNanos));
+            }
+
+            if (nextAt.compareAndSet(current, Math.max(current, sendAt) + intervalNanos)) {
+                (waitNanos > 0 ? delayed : immediate).incrementAndGet();
+                return Duration.ofNanos(waitNanos);
+            }
+        }
+    }
+
+    /**
+     * Records the response of a call, pausing the calls if the quota is spent.
+     *
+     * @param statusCode The status code of the response.
+     * @param headers    The headers of the response.
+     * @return Whether the call was throttled with a 429 Too Many Requests.
+     */
+    public boolean onResponse(final HttpStatusCode statusCode,
+                              final HttpHeaders headers) {
+        if (HttpStatus.TOO_MANY_REQUESTS.isSameCodeAs(statusCode)) {
+            throttled.incrementAndGet();
+            final var retryAfter = retryAfter(headers);
+            pause(retryAfter != null ? retryAfter : resetAfter(headers, defaultPause));
+            return true;
+        }
+
+        if (REMAINING_HEADERS.stream().map(headers::getFirst).anyMatch("0"::equals)) {
+            pause(resetAfter(headers, Duration.ZERO));
+        }
+
+        return false;
+    }
+
+    /**
+     * Pauses the calls, unless they are already paused for longer.
+     *
+     * @param duration The duration of the pause. It is capped at the maximum pause.
+     */
+    public void pause(final Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            return;
+        }
+
+        final var until = now() + Math.min(duration.toNanos(), maxPause.toNanos());
+        pausedUntil.accumulateAndGet(until, Math::max);
+    }
+
+    /**
+     * Gets the time left until the calls are no longer paused.
+     *
+     * @return The time left, zero if they are not paused.
+     */
+    public Duration getPauseRemaining() {
+        return Duration.ofNanos(Math.max(0, pausedUntil.get() - now()));
+    }
+
+    /**
+     * Gets the number of calls sent without waiting.
+     *
+     * @return The number of immediate calls.
+     */
+    public long getImmediate() {
+        return immediate.get();
+    }
+
+    /**
+     * Gets the number of calls that waited to be sent.
+     *
+     * @return The number of delayed calls.
+     */
+    public long getDelayed() {
+        return delayed.get();
+    }
+
+    /**
+     * Gets the number of calls rejected because they would wait longer than the maximum wait.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of 429 Too Many Requests received.
+     *
+     * @return The number of throttled calls.
+     */
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    private long now() {
+        return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+    }
+
+    private Duration retryAfter(final HttpHeaders headers) {
+        final var value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                final var date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Duration.ofMillis(date.toInstant().toEpochMilli() - clock.millis());
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private Duration resetAfter(final HttpHeaders headers,
+                                final Duration defaultValue) {
+        for (final var name : RESET_HEADERS) {
+            final var value = headers.getFirst(name);
+            if (value == null) {
+                continue;
+            }
+
+            try {
+                final var seconds = Long.parseLong(value.trim());
+                return seconds > EPOCH_SECONDS_THRESHOLD
+                        ? Duration.ofMillis(TimeUnit.SECONDS.toMillis(seconds) - clock.millis())
+                        : Duration.ofSeconds(seconds);
+            } catch (NumberFormatException ignored) {
+                // An unreadable header is skipped.
+            }
+        }
+
+        return defaultValue;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter of strings. It answers whether a string might have been added, with no false negatives
+ * and a false positive probability bounded by the one it was sized for.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructor. It sizes the filter for the expected insertions and false positive probability.
+     *
+     * @param expectedInsertions       The expected number of strings.
+     * @param falsePositiveProbability The false positive probability, between 0 and 1.
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("The expected insertions must be positive");
+        }
+
+        if (falsePositiveProbability <= 0.0 || falsePositiveProbability >= 1.0) {
+            throw new IllegalArgumentException("The false positive probability must be between 0 and 1");
+        }
+
+        final var optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a string.
+     *
+     * @param value The string.
+     */
+    void add(final String value) {
+        final var hash = hash(value);
+        final var h1 = (int) hash;
+        final var h2 = (int) (hash >>> 32);
+        for (var i = 1; i <= hashCount; i++) {
+            final var bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            final var mask = 1L << bit;
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (current, update) -> current | update);
+        }
+    }
+
+    /**
+     * Checks whether a string might have been added.
+     *
+     * @param value The string.
+     * @return False if the string was not added, true if it probably was.
+     */
+    boolean mightContain(final String value) {
+        final var hash = hash(value);
+        final var h1 = (int) hash;
+        final var h2 = (int) (hash >>> 32);
+        for (var i = 1; i <= hashCount; i++) {
+            final var bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the number of bits of the filter.
+     *
+     * @return The number of bits.
+     */
+    long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Gets the number of hash functions of the filter.
+     *
+     * @return The number of hash functions.
+     */
+    int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, with the MurmurHash3 finalizer to spread the bits of both halves.
+     */
+    private static long hash(final String value) {
+        var hash = FNV_OFFSET_BASIS;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
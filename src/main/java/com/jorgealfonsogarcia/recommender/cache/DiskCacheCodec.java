@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Encodes the values of the {@link DiskCacheStore}: lists of domain models, in Smile.
+ * <p>
+ * A record is the version of the format, the class of the elements and the list in Smile, whose back references
+ * write each property name once. Only the classes of the domain models are read back, so no other type is ever
+ * created from the disk.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+final class DiskCacheCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final String MODELS_PACKAGE = "com.jorgealfonsogarcia.recommender.domain.models.";
+    private static final ObjectMapper SMILE_MAPPER = new SmileMapper();
+
+    private DiskCacheCodec() {
+    }
+
+    /**
+     * Checks whether a value can be encoded: a non-empty list of a single domain model.
+     *
+     * @param value The value.
+     * @return Whether the value can be encoded.
+     */
+    static boolean canEncode(final Object value) {
+        if (!(value instanceof List<?> values) || values.isEmpty() || values.get(0) == null) {
+            return false;
+        }
+
+        final var type = values.get(0).getClass();
+        return type.getName().startsWith(MODELS_PACKAGE)
+                && values.stream().allMatch(element -> element != null && element.getClass() == type);
+    }
+
+    /**
+     * Encodes a list of domain models.
+     *
+     * @param values The list. It should be encodable.
+     * @return The record.
+     */
+    static byte[] encode(final List<?> values) {
+        final var outputStream = new ByteArrayOutputStream();
+        try (var dataOutputStream = new DataOutputStream(outputStream)) {
+            dataOutputStream.writeByte(FORMAT_VERSION);
+            dataOutputStream.writeUTF(values.get(0).getClass().getName());
+            SMILE_MAPPER.writeValue((OutputStream) dataOutputStream, values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decodes a record.
+     *
+     * @param bytes The record.
+     * @return The unmodifiable list, or null if the record is of another format or cannot be read.
+     */
+    static List<?> decode(final byte[] bytes) {
+        try (var dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (dataInputStream.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+
+            final var typeName = dataInputStream.readUTF();
+            if (!typeName.startsWith(MODELS_PACKAGE)) {
+                return null;
+            }
+
+            final var type = Class.forName(typeName, false, DiskCacheCodec.class.getClassLoader());
+            final List<?> values = SMILE_MAPPER.readValue((InputStream) dataInputStream,
+                    SMILE_MAPPER.getTypeFactory().constructCollectionType(List.class, type));
+            return List.copyOf(values);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            return null;
+        }
+    }
+}
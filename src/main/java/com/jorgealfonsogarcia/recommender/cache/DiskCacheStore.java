@@ -0,0 +1,574 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * A key-value store of binary records in memory-mapped segment files.
+ * <p>
+ * Records are appended to the active segment and located through an in-memory index, which is rebuilt from the
+ * segments when the store is opened. A record is written before its key length, and its checksum covers its lengths and
+ * expiration time as well as its key and value, so a torn or corrupted record ends the scan of its segment. Evictions
+ * are written as tombstones. When the active segment is full a new one is started, the oldest segments are rewritten
+ * while their live bytes are below the compaction threshold, and they are dropped while the store is over its size
+ * cap.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class DiskCacheStore implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    /**
+     * Key length, value length, expiration time and checksum.
+     */
+    private static final int HEADER_LENGTH = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final int TOMBSTONE = -1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSize;
+    private final Duration ttl;
+    private final double compactionThreshold;
+    private final Clock clock;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment active;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+
+    /**
+     * Constructor. It opens the segments found in the directory and rebuilds the index from them.
+     *
+     * @param directory           The directory of the segment files.
+     * @param segmentSize         The size of each segment file, in bytes.
+     * @param maxSize             The maximum size of the records in the store, in bytes.
+     * @param ttl                 The time to live of the records.
+     * @param compactionThreshold The fraction of live bytes below which the oldest segment is rewritten.
+     * @param clock               The clock for the expiration times.
+     * @throws IOException If the segments cannot be opened.
+     */
+    public DiskCacheStore(Path directory,
+                          long segmentSize,
+                          long maxSize,
+                          Duration ttl,
+                          double compactionThreshold,
+                          Clock clock) throws IOException {
+        if (segmentSize <= HEADER_LENGTH || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The segment size must be between %d and %d bytes"
+                    .formatted(HEADER_LENGTH + 1, Integer.MAX_VALUE));
+        }
+
+        if (maxSize < segmentSize) {
+            throw new IllegalArgumentException("The maximum size must not be smaller than the segment size");
+        }
+
+        if (compactionThreshold < 0.0 || compactionThreshold >= 1.0) {
+            throw new IllegalArgumentException("The compaction threshold must be at least 0 and less than 1");
+        }
+
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.compactionThreshold = compactionThreshold;
+        this.clock = clock;
+
+        Files.createDirectories(directory);
+        open();
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key.
+     * @return The value, or null if the key is not in the store or has expired.
+     */
+    public byte[] get(final String key) {
+        final var location = index.get(key);
+        if (location == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (location.isExpired(clock.millis())) {
+            if (index.remove(key, location)) {
+                location.segment().liveBytes().addAndGet(-location.length());
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return location.readValue();
+    }
+
+    /**
+     * Puts the value of a key, replacing the previous one.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return Whether the value was stored. Records larger than a segment are not.
+     */
+    public synchronized boolean put(final String key,
+                                    final byte[] value) {
+        final var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (HEADER_LENGTH + keyBytes.length + value.length > segmentSize) {
+            return false;
+        }
+
+        final var rolled = append(key, keyBytes, value, clock.millis() + ttl.toMillis());
+        puts.increment();
+        if (rolled) {
+            compact();
+            enforceMaxSize();
+        }
+
+        return true;
+    }
+
+    /**
+     * Evicts a key.
+     *
+     * @param key The key.
+     */
+    public synchronized void evict(final String key) {
+        if (index.containsKey(key)) {
+            final var rolled = append(key, key.getBytes(StandardCharsets.UTF_8), null, 0L);
+            if (rolled) {
+                compact();
+                enforceMaxSize();
+            }
+        }
+    }
+
+    /**
+     * Evicts the keys that match a predicate.
+     *
+     * @param predicate The predicate.
+     */
+    public synchronized void evictAll(final Predicate<String> predicate) {
+        index.keySet().stream()
+                .filter(predicate)
+                .toList()
+                .forEach(this::evict);
+    }
+
+    /**
+     * Gets the keys that match a predicate.
+     *
+     * @param predicate The predicate.
+     * @return The matching keys.
+     */
+    public List<String> getKeys(final Predicate<String> predicate) {
+        return index.keySet().stream()
+                .filter(predicate)
+                .toList();
+    }
+
+    /**
+     * Gets the number of lookups that found a value.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that did not find a value.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of values stored.
+     *
+     * @return The number of puts.
+     */
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    /**
+     * Gets the number of values removed because they expired or the store was over its size cap.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of segments rewritten by the compaction.
+     *
+     * @return The number of compactions.
+     */
+    public long getCompactions() {
+        return compactions.sum();
+    }
+
+    /**
+     * Gets the number of keys in the store, including the expired ones not looked up yet.
+     *
+     * @return The number of keys.
+     */
+    public int getSize() {
+        return index.size();
+    }
+
+    /**
+     * Gets the bytes written to the segments.
+     *
+     * @return The bytes written.
+     */
+    public long getUsedBytes() {
+        return segments.values().stream().mapToLong(Segment::position).sum();
+    }
+
+    /**
+     * Gets the bytes of the live records.
+     *
+     * @return The live bytes.
+     */
+    public long getLiveBytes() {
+        return segments.values().stream().mapToLong(segment -> segment.liveBytes().get()).sum();
+    }
+
+    /**
+     * Gets the number of segment files.
+     *
+     * @return The number of segments.
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        active.buffer().force();
+    }
+
+    private void open() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            final var ids = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+                    .filter(id -> id.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+
+            for (var id : ids) {
+                final var segment = mapSegment(id);
+                segments.put(id, segment);
+                scan(segment);
+            }
+        }
+
+        active = segments.isEmpty() ? newSegment(0L) : segments.lastEntry().getValue();
+        enforceMaxSize();
+    }
+
+    private void scan(final Segment segment) {
+        final var buffer = segment.buffer();
+        final var now = clock.millis();
+        var offset = 0;
+
+        while (offset + HEADER_LENGTH <= segmentSize) {
+            final var keyLength = buffer.getInt(offset);
+            final var valueLength = buffer.getInt(offset + Integer.BYTES);
+            final var expiresAt = buffer.getLong(offset + 2 * Integer.BYTES);
+            final var checksum = buffer.getInt(offset + 2 * Integer.BYTES + Long.BYTES);
+            final var storedValueLength = Math.max(valueLength, 0);
+            final var length = HEADER_LENGTH + keyLength + storedValueLength;
+
+            if (keyLength <= 0 || valueLength < TOMBSTONE || length > segmentSize - offset
+                    || checksum != checksum(keyLength, valueLength, expiresAt, buffer, offset + HEADER_LENGTH,
+                    keyLength + storedValueLength)) {
+                break;
+            }
+
+            final var keyBytes = new byte[keyLength];
+            buffer.get(offset + HEADER_LENGTH, keyBytes);
+            final var key = new String(keyBytes, StandardCharsets.UTF_8);
+
+            if (valueLength == TOMBSTONE || expiresAt <= now) {
+                removeFromIndex(key);
+            } else {
+                final var location = new Location(segment, offset, length, offset + HEADER_LENGTH + keyLength,
+                        valueLength, expiresAt);
+                segment.liveBytes().addAndGet(length);
+                final var previous = index.put(key, location);
+                if (previous != null) {
+                    previous.segment().liveBytes().addAndGet(-previous.length());
+                }
+            }
+
+            offset += length;
+        }
+
+        segment.position(offset);
+    }
+
+    /**
+     * Appends a record to the active segment, starting a new one if it does not fit.
+     *
+     * @return Whether a new segment was started.
+     */
+    private boolean append(final String key,
+                           final byte[] keyBytes,
+                           final byte[] value,
+                           final long expiresAt) {
+        final var valueLength = value == null ? TOMBSTONE : value.length;
+        final var length = HEADER_LENGTH + keyBytes.length + Math.max(valueLength, 0);
+
+        var rolled = false;
+        if (active.position() + length > segmentSize) {
+            active.buffer().force();
+            active = newSegment(active.id() + 1);
+            rolled = true;
+        }
+
+        final var buffer = active.buffer();
+        final var offset = active.position();
+        buffer.put(offset + HEADER_LENGTH, keyBytes);
+        if (value != null) {
+            buffer.put(offset + HEADER_LENGTH + keyBytes.length, value);
+        }
+        buffer.putInt(offset + Integer.BYTES, valueLength);
+        buffer.putLong(offset + 2 * Integer.BYTES, expiresAt);
+        buffer.putInt(offset + 2 * Integer.BYTES + Long.BYTES, checksum(keyBytes.length, valueLength, expiresAt,
+                buffer, offset + HEADER_LENGTH, length - HEADER_LENGTH));
+        buffer.putInt(offset, keyBytes.length);
+        active.position(offset + length);
+
+        if (value == null) {
+            removeFromIndex(key);
+        } else {
+            active.liveBytes().addAndGet(length);
+            final var previous = index.put(key, new Location(active, offset, length,
+                    offset + HEADER_LENGTH + keyBytes.length, valueLength, expiresAt));
+            if (previous != null) {
+                previous.segment().liveBytes().addAndGet(-previous.length());
+            }
+        }
+
+        return rolled;
+    }
+
+    /**
+     * Rewrites the live records of the oldest segments while their live bytes are below the compaction threshold.
+     * Only the oldest segment is compacted, so dropping its tombstones cannot bring back an older value.
+     */
+    private void compact() {
+        var oldest = segments.firstEntry().getValue();
+        while (oldest != active && oldest.liveBytes().get() < compactionThreshold * oldest.position()) {
+            final var segment = oldest;
+            final var now = clock.millis();
+            index.entrySet().stream()
+                    .filter(entry -> entry.getValue().segment() == segment)
+                    .toList()
+                    .forEach(entry -> {
+                        final var location = entry.getValue();
+                        if (location.isExpired(now)) {
+                            evictions.increment();
+                            index.remove(entry.getKey(), location);
+                        } else {
+                            append(entry.getKey(), entry.getKey().getBytes(StandardCharsets.UTF_8),
+                                    location.readValue(), location.expiresAt());
+                        }
+                    });
+
+            dropSegment(segment);
+            compactions.increment();
+            oldest = segments.firstEntry().getValue();
+        }
+    }
+
+    private void enforceMaxSize() {
+        while (segments.size() > 1 && getUsedBytes() > maxSize) {
+            final var oldest = segments.firstEntry().getValue();
+            index.entrySet().removeIf(entry -> {
+                if (entry.getValue().segment() == oldest) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            });
+            dropSegment(oldest);
+        }
+    }
+
+    private void removeFromIndex(final String key) {
+        final var previous = index.remove(key);
+        if (previous != null) {
+            previous.segment().liveBytes().addAndGet(-previous.length());
+        }
+    }
+
+    private void dropSegment(final Segment segment) {
+        segments.remove(segment.id());
+        try {
+            Files.deleteIfExists(segmentPath(segment.id()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Segment newSegment(final long id) {
+        try {
+            final var segment = mapSegment(id);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Segment mapSegment(final long id) throws IOException {
+        try (var channel = FileChannel.open(segmentPath(id), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new Segment(id, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    private Path segmentPath(final long id) {
+        return directory.resolve("%s%019d%s".formatted(SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Computes the checksum of a record, from its header fields, other than the checksum itself, and its key and value.
+     */
+    private static int checksum(final int keyLength,
+                                final int valueLength,
+                                final long expiresAt,
+                                final MappedByteBuffer buffer,
+                                final int offset,
+                                final int length) {
+        final var crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(HEADER_LENGTH - Integer.BYTES)
+                .putInt(keyLength)
+                .putInt(valueLength)
+                .putLong(expiresAt)
+                .flip());
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A segment file mapped in memory. The position is only changed while holding the store lock.
+     */
+    private static final class Segment {
+
+        private final long id;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong liveBytes = new AtomicLong();
+        private volatile int position;
+
+        private Segment(long id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+
+        private long id() {
+            return id;
+        }
+
+        private MappedByteBuffer buffer() {
+            return buffer;
+        }
+
+        private AtomicLong liveBytes() {
+            return liveBytes;
+        }
+
+        private int position() {
+            return position;
+        }
+
+        private void position(int position) {
+            this.position = position;
+        }
+    }
+
+    /**
+     * The location of a record in a segment.
+     *
+     * @param segment     The segment.
+     * @param offset      The offset of the record.
+     * @param length      The length of the record.
+     * @param valueOffset The offset of the value.
+     * @param valueLength The length of the value.
+     * @param expiresAt   The expiration time, in epoch milliseconds.
+     */
+    private record Location(Segment segment, int offset, int length, int valueOffset, int valueLength,
+                            long expiresAt) {
+
+        private boolean isExpired(final long now) {
+            return expiresAt <= now;
+        }
+
+        private byte[] readValue() {
+            final var value = new byte[valueLength];
+            segment.buffer().get(valueOffset, value);
+            return value;
+        }
+    }
+}
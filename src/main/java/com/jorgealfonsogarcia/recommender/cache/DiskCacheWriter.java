@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Writes the values of a {@link DiskCacheStore} behind the callers, so the request threads never encode a value or
+ * write, roll or compact a segment, and reads them off the callers too.
+ * <p>
+ * The puts and evictions are queued by key, keeping only the last one of each key, and a single writer drains them on
+ * its own scheduler. A pending write is visible to the lookups until it is in the store, so an eviction never lets an
+ * older value be read back. When the queue is full, new puts are dropped and counted, as the value is still in the
+ * in-memory cache; evictions are never dropped. The values are lists of domain models, encoded by the
+ * {@link DiskCacheCodec}. The reads that may reach the disk run on a read scheduler, so they never block an event
+ * loop.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class DiskCacheWriter implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskCacheWriter.class);
+
+    /**
+     * The pending state of an evicted key.
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    private final DiskCacheStore diskCacheStore;
+    private final int maxPendingWrites;
+    private final Scheduler scheduler;
+    private final Scheduler readScheduler;
+
+    private final Map<String, Object> pending = new ConcurrentHashMap<>();
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final LongAdder droppedWrites = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param diskCacheStore   The disk store.
+     * @param maxPendingWrites The maximum number of keys waiting to be written.
+     * @param scheduler        The scheduler of the writer. It may block.
+     * @param readScheduler    The scheduler of the reads. It may block.
+     */
+    public DiskCacheWriter(DiskCacheStore diskCacheStore,
+                           int maxPendingWrites,
+                           Scheduler scheduler,
+                           Scheduler readScheduler) {
+        if (maxPendingWrites <= 0) {
+            throw new IllegalArgumentException("The maximum number of pending writes must be positive");
+        }
+
+        this.diskCacheStore = diskCacheStore;
+        this.maxPendingWrites = maxPendingWrites;
+        this.scheduler = scheduler;
+        this.readScheduler = readScheduler;
+    }
+
+    /**
+     * Gets the value of a key, from the pending writes or from the store. A value that cannot be read back is evicted.
+     *
+     * @param key The key.
+     * @return The value, or null if the key is not stored, is pending eviction or cannot be read.
+     */
+    public Object get(final String key) {
+        final var state = pending.get(key);
+        if (state != null) {
+            return state == TOMBSTONE ? null : state;
+        }
+
+        final var bytes = diskCacheStore.get(key);
+        if (bytes == null) {
+            return null;
+        }
+
+        final var value = DiskCacheCodec.decode(bytes);
+        if (value == null) {
+            evict(key);
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the value of a key as {@link #get(String)} does, on the read scheduler.
+     *
+     * @param key The key.
+     * @return A Mono with the value, empty if the key is not stored, is pending eviction or cannot be read.
+     */
+    public Mono<Object> read(final String key) {
+        return Mono.fromCallable(() -> get(key))
+                .subscribeOn(readScheduler);
+    }
+
+    /**
+     * Gets the keys in the store that match a predicate, including those pending eviction.
+     *
+     * @param predicate The predicate.
+     * @return The keys.
+     */
+    public List<String> getKeys(final Predicate<String> predicate) {
+        return diskCacheStore.getKeys(predicate);
+    }
+
+    /**
+     * Queues the put of a value, replacing any pending write of its key.
+     *
+     * @param key    The key.
+     * @param values The value, a non-empty list of a single domain model.
+     * @return Whether the put was queued. It is dropped when the queue is full.
+     */
+    public boolean put(final String key,
+                       final List<?> values) {
+        if (pending.size() >= maxPendingWrites && !pending.containsKey(key)) {
+            droppedWrites.increment();
+            return false;
+        }
+
+        enqueue(key, values);
+        return true;
+    }
+
+    /**
+     * Queues the eviction of a key, replacing any pending write of it.
+     *
+     * @param key The key.
+     */
+    public void evict(final String key) {
+        enqueue(key, TOMBSTONE);
+    }
+
+    /**
+     * Queues the eviction of the stored and pending keys that match a predicate.
+     *
+     * @param predicate The predicate.
+     */
+    public void evictAll(final Predicate<String> predicate) {
+        final var keys = new HashSet<>(diskCacheStore.getKeys(predicate));
+        pending.keySet().stream()
+                .filter(predicate)
+                .forEach(keys::add);
+        keys.forEach(this::evict);
+    }
+
+    /**
+     * Gets the number of keys waiting to be written.
+     *
+     * @return The number of pending writes.
+     */
+    public int getPendingWrites() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the number of puts dropped because the queue was full.
+     *
+     * @return The number of dropped writes.
+     */
+    public long getDroppedWrites() {
+        return droppedWrites.sum();
+    }
+
+    /**
+     * Gets the number of writes that failed in the store.
+     *
+     * @return The number of failed writes.
+     */
+    public long getFailedWrites() {
+        return failedWrites.sum();
+    }
+
+    /**
+     * Writes the pending values to the store and stops the writer and the reads.
+     */
+    @Override
+    public void close() {
+        String key;
+        while ((key = queue.poll()) != null) {
+            write(key);
+        }
+
+        scheduler.dispose();
+        readScheduler.dispose();
+    }
+
+    private void enqueue(final String key,
+                         final Object state) {
+        if (pending.put(key, state) == null) {
+            queue.offer(key);
+        }
+
+        if (wip.getAndIncrement() == 0) {
+            try {
+                scheduler.schedule(this::drain);
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("The disk cache writer is closed, the entry {} is not written", key);
+            }
+        }
+    }
+
+    private void drain() {
+        var missed = 1;
+        do {
+            String key;
+            while ((key = queue.poll()) != null) {
+                write(key);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Writes the pending state of a key. The key stays pending until it is in the store, and is queued again if it was
+     * replaced meanwhile.
+     */
+    private void write(final String key) {
+        final var state = pending.get(key);
+        if (state == null) {
+            return;
+        }
+
+        try {
+            if (state == TOMBSTONE) {
+                diskCacheStore.evict(key);
+            } else {
+                diskCacheStore.put(key, DiskCacheCodec.encode((List<?>) state));
+            }
+        } catch (RuntimeException e) {
+            failedWrites.increment();
+            LOGGER.warn("The disk cache entry {} could not be written: {}", key, e.getMessage());
+        }
+
+        if (!pending.remove(key, state)) {
+            queue.offer(key);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The cache keys holding each movie, so only the entries with a movie changed upstream are invalidated.
+ * <p>
+ * The discover calls are tracked with the ids of the movies they returned, and the cached responses with the discover
+ * calls they were built from. Each is bounded by the maximum number of tracked keys, dropping the least recently
+ * recorded first. A dropped discover call stays cached, and is tracked again the next time it is read from either
+ * cache level, but a response no longer tracked cannot be invalidated, so the responses dropped are passed to the
+ * dropped responses listener, outside the lock, to be evicted. The responses built from a dropped discover call are
+ * dropped with it.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class MovieKeyIndex {
+
+    private final int maximumTrackedKeys;
+    private final LinkedHashMap<String, TrackedCell> moviesByCell = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Integer, Set<String>> cellsByMovie = new HashMap<>();
+    private final LinkedHashMap<String, Set<String>> cellsByResponse = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> responsesByCell = new HashMap<>();
+    private volatile Consumer<Set<String>> droppedResponsesListener = dropped -> {
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param maximumTrackedKeys The maximum number of discover calls, and of responses, tracked.
+     */
+    public MovieKeyIndex(int maximumTrackedKeys) {
+        this.maximumTrackedKeys = maximumTrackedKeys;
+    }
+
+    /**
+     * Sets the listener of the responses dropped to keep the index within the maximum number of tracked keys.
+     *
+     * @param droppedResponsesListener The listener, which should evict the responses from the response cache.
+     */
+    public void setDroppedResponsesListener(final Consumer<Set<String>> droppedResponsesListener) {
+        this.droppedResponsesListener = droppedResponsesListener;
+    }
+
+    /**
+     * Records the movies of a discover call. A call read again from the cache is only indexed again when its movies
+     * were reloaded, or read from the disk cache, or when it was no longer tracked.
+     *
+     * @param cell   The cache key of the discover call.
+     * @param movies The movies it returned.
+     * @return Whether the movies were recorded, false when the same list was already recorded for the call.
+     */
+    public boolean recordCell(final String cell,
+                              final List<Movie> movies) {
+        final Set<String> dropped;
+        synchronized (this) {
+            final var previous = moviesByCell.get(cell);
+            if (previous != null && previous.movies().get() == movies) {
+                return false;
+            }
+
+            if (previous != null) {
+                unlinkMovies(cell, previous.movieIds());
+            }
+
+            final var movieIds = movies.stream()
+                    .map(Movie::id)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .toArray();
+            moviesByCell.put(cell, new TrackedCell(new WeakReference<>(movies), movieIds));
+            for (final var id : movieIds) {
+                cellsByMovie.computeIfAbsent(id, ignored -> new HashSet<>()).add(cell);
+            }
+
+            if (moviesByCell.size() <= maximumTrackedKeys) {
+                return true;
+            }
+
+            final var eldest = moviesByCell.entrySet().iterator().next();
+            moviesByCell.remove(eldest.getKey());
+            unlinkMovies(eldest.getKey(), eldest.getValue().movieIds());
+            dropped = Set.copyOf(responsesByCell.getOrDefault(eldest.getKey(), Set.of()));
+            dropped.forEach(this::removeResponse);
+        }
+
+        if (!dropped.isEmpty()) {
+            droppedResponsesListener.accept(dropped);
+        }
+        return true;
+    }
+
+    /**
+     * Records the discover calls a cached response was built from.
+     *
+     * @param response The key of the response in the response cache.
+     * @param cells    The cache keys of the discover calls. A response without any is not tracked.
+     */
+    public void recordResponse(final String response,
+                               final Collection<String> cells) {
+        final String dropped;
+        synchronized (this) {
+            removeResponse(response);
+            if (cells.isEmpty()) {
+                return;
+            }
+
+            final var responseCells = Set.copyOf(cells);
+            cellsByResponse.put(response, responseCells);
+            responseCells.forEach(cell -> responsesByCell.computeIfAbsent(cell, ignored -> new HashSet<>())
+                    .add(response));
+
+            if (cellsByResponse.size() <= maximumTrackedKeys) {
+                return;
+            }
+
+            dropped = cellsByResponse.keySet().iterator().next();
+            removeResponse(dropped);
+        }
+
+        droppedResponsesListener.accept(Set.of(dropped));
+    }
+
+    /**
+     * Stops tracking the discover calls holding any of the given movies, and the responses built from them.
+     *
+     * @param movieIds The ids of the movies.
+     * @return The cache keys of those discover calls and responses, to be evicted.
+     */
+    public synchronized Invalidation invalidate(final Collection<Integer> movieIds) {
+        final var cells = new HashSet<String>();
+        movieIds.forEach(id -> cells.addAll(cellsByMovie.getOrDefault(id, Set.of())));
+
+        final var responses = new HashSet<String>();
+        for (final var cell : cells) {
+            unlinkMovies(cell, moviesByCell.remove(cell).movieIds());
+            final var cellResponses = responsesByCell.get(cell);
+            if (cellResponses != null) {
+                responses.addAll(cellResponses);
+            }
+        }
+
+        responses.forEach(this::removeResponse);
+        return new Invalidation(Set.copyOf(cells), Set.copyOf(responses));
+    }
+
+    /**
+     * Gets the number of discover calls tracked.
+     *
+     * @return The number of discover calls.
+     */
+    public synchronized int getCells() {
+        return moviesByCell.size();
+    }
+
+    /**
+     * Gets the number of responses tracked.
+     *
+     * @return The number of responses.
+     */
+    public synchronized int getResponses() {
+        return cellsByResponse.size();
+    }
+
+    /**
+     * Gets the number of distinct movies in the tracked discover calls.
+     *
+     * @return The number of movies.
+     */
+    public synchronized int getMovies() {
+        return cellsByMovie.size();
+    }
+
+    private void unlinkMovies(final String cell,
+                              final int[] movieIds) {
+        for (final var id : movieIds) {
+            final var cells = cellsByMovie.get(id);
+            if (cells != null && cells.remove(cell) && cells.isEmpty()) {
+                cellsByMovie.remove(id);
+            }
+        }
+    }
+
+    private void removeResponse(final String response) {
+        final var cells = cellsByResponse.remove(response);
+        if (cells == null) {
+            return;
+        }
+
+        for (final var cell : cells) {
+            final var responses = responsesByCell.get(cell);
+            if (responses != null && responses.remove(response) && responses.isEmpty()) {
+                responsesByCell.remove(cell);
+            }
+        }
+    }
+
+    /**
+     * The ids of the movies of a tracked discover call, and the list they were recorded from, only kept while it is
+     * cached in memory.
+     */
+    private record TrackedCell(WeakReference<List<Movie>> movies, int[] movieIds) {
+    }
+
+    /**
+     * The cache keys to evict for some changed movies.
+     *
+     * @param cells     The cache keys of the discover calls holding them.
+     * @param responses The keys of the responses built from those calls.
+     */
+    public record Invalidation(Set<String> cells, Set<String> responses) {
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache of the keys known to have no results, kept in two rotating Bloom filters.
+ * <p>
+ * Keys are added to the current filter, and looked up in both the current and the previous one. Every half time to
+ * live the previous filter is discarded and the current one takes its place, so a key is remembered for between half
+ * and the whole time to live. A Bloom filter can report a key it was never given, so a key with results is skipped
+ * with at most the configured false positive probability, until the filter rotates out.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class NegativeCache {
+
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final long rotationMillis;
+    private final Clock clock;
+
+    private final AtomicReference<Generations> generations;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder additions = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param ttl                      The time to live of the keys. Zero disables the cache.
+     * @param expectedInsertions       The expected number of keys added in half a time to live.
+     * @param falsePositiveProbability The false positive probability of each filter.
+     * @param clock                    The clock for the rotation.
+     */
+    public NegativeCache(Duration ttl,
+                         long expectedInsertions,
+                         double falsePositiveProbability,
+                         Clock clock) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.rotationMillis = ttl.toMillis() / 2;
+        this.clock = clock;
+        this.generations = new AtomicReference<>(isEnabled()
+                ? new Generations(newFilter(), newFilter(), clock.millis() + rotationMillis)
+                : null);
+    }
+
+    /**
+     * Checks whether a key might have no results. A positive answer is counted as a hit.
+     *
+     * @param key The key.
+     * @return False if the key is not known to have no results, true if it probably has none.
+     */
+    public boolean mightBeEmpty(final String key) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        final var current = rotate();
+        final var result = current.current().mightContain(key) || current.previous().mightContain(key);
+        if (result) {
+            hits.increment();
+        }
+
+        return result;
+    }
+
+    /**
+     * Records that a key has no results.
+     *
+     * @param key The key.
+     */
+    public void recordEmpty(final String key) {
+        if (isEnabled()) {
+            rotate().current().add(key);
+            additions.increment();
+        }
+    }
+
+    /**
+     * Gets the number of lookups that reported a key without results, each of them an upstream call saved.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of keys recorded without results.
+     *
+     * @return The number of additions.
+     */
+    public long getAdditions() {
+        return additions.sum();
+    }
+
+    private boolean isEnabled() {
+        return rotationMillis > 0;
+    }
+
+    private Generations rotate() {
+        final var now = clock.millis();
+        return generations.updateAndGet(current -> {
+            if (now < current.rotatesAt()) {
+                return current;
+            }
+
+            // After a whole time to live without rotation neither filter holds live keys.
+            final var previous = now < current.rotatesAt() + rotationMillis ? current.current() : newFilter();
+            return new Generations(newFilter(), previous, now + rotationMillis);
+        });
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedInsertions, falsePositiveProbability);
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous, long rotatesAt) {
+    }
+}
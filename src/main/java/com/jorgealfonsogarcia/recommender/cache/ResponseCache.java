@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A cache of encoded response bodies, so a repeated request is answered without calling the service or serializing
+ * the body again.
+ * <p>
+ * Each entry lives for the max age of its Cache-Control header, or the default time to live when it has none, and is
+ * not stored when the header forbids it. Bodies of at least the compression threshold are also kept gzip-compressed
+ * when that makes them smaller. The cache is bounded by the bytes of the bodies.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class ResponseCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])max-age=(\\d+)");
+
+    private final Cache<String, CachedResponse> responses;
+    private final int compressionThreshold;
+    private final Duration defaultTtl;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize              The maximum bytes of the cached bodies.
+     * @param compressionThreshold The minimum size of a body to be compressed.
+     * @param defaultTtl           The time to live of the responses without a max age.
+     */
+    public ResponseCache(long maxSize,
+                         int compressionThreshold,
+                         Duration defaultTtl) {
+        this.compressionThreshold = compressionThreshold;
+        this.defaultTtl = defaultTtl;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Gets a cached response.
+     *
+     * @param key The canonical key of the request.
+     * @return The cached response, or null if there is none.
+     */
+    public CachedResponse get(final String key) {
+        final var response = responses.getIfPresent(key);
+        (response != null ? hits : misses).incrementAndGet();
+        return response;
+    }
+
+    /**
+     * Caches a response, unless its Cache-Control header forbids it.
+     *
+     * @param key          The canonical key of the request.
+     * @param contentType  The content type.
+     * @param eTag         The entity tag.
+     * @param cacheControl The Cache-Control header, if any.
+     * @param link         The Link header, if any.
+     * @param body         The encoded body.
+     */
+    public void put(final String key,
+                    final String contentType,
+                    final String eTag,
+                    final String cacheControl,
+                    final String link,
+                    final byte[] body) {
+        final var ttl = ttl(cacheControl);
+        if (ttl.isZero()) {
+            return;
+        }
+
+        responses.put(key, new CachedResponse(contentType, eTag, cacheControl, link, body, compress(body), ttl));
+    }
+
+    /**
+     * Evicts a cached response, so the next request builds it again.
+     *
+     * @param key The canonical key of the request.
+     */
+    public void evict(final String key) {
+        responses.invalidate(key);
+    }
+
+    /**
+     * Gets the number of requests answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of requests not found in the cache.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of cached responses.
+     *
+     * @return The number of cached responses.
+     */
+    public long getSize() {
+        return responses.estimatedSize();
+    }
+
+    /**
+     * Gets the bytes of the cached bodies, compressed or not. The pending writes are applied first, as the weights are
+     * updated asynchronously.
+     *
+     * @return The bytes of the cached bodies.
+     */
+    public long getUsedBytes() {
+        responses.cleanUp();
+        return responses.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private Duration ttl(final String cacheControl) {
+        if (cacheControl == null) {
+            return defaultTtl;
+        }
+
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache")
+                || cacheControl.contains("private")) {
+            return Duration.ZERO;
+        }
+
+        final var matcher = MAX_AGE.matcher(cacheControl);
+        return matcher.find() ? Duration.ofSeconds(Long.parseLong(matcher.group(1))) : defaultTtl;
+    }
+
+    private byte[] compress(final byte[] body) {
+        if (body.length < compressionThreshold) {
+            return null;
+        }
+
+        final var outputStream = new ByteArrayOutputStream(body.length / 4);
+        try (var gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final var compressed = outputStream.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    /**
+     * A cached response.
+     *
+     * @param contentType  The content type.
+     * @param eTag         The entity tag.
+     * @param cacheControl The Cache-Control header, if any.
+     * @param link         The Link header, if any.
+     * @param body         The encoded body.
+     * @param gzipBody     The gzip-compressed body, or null if it is not compressed.
+     * @param ttl          The time to live.
+     */
+    public record CachedResponse(String contentType,
+                                 String eTag,
+                                 String cacheControl,
+                                 String link,
+                                 byte[] body,
+                                 byte[] gzipBody,
+                                 Duration ttl) {
+
+        private int weight() {
+            return body.length + (gzipBody != null ? gzipBody.length : 0);
+        }
+    }
+}
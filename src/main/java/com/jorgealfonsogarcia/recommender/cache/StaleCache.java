@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache of the last-known-good values loaded from the movie service, kept after they expire from the movies cache,
+ * so they can still be served while the movie service is failing.
+ * <p>
+ * Each value is kept with the time it was loaded, so its age can be reported, for up to the maximum age.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class StaleCache {
+
+    private final Cache<String, Entry> entries;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize The maximum number of values.
+     * @param maxAge      The maximum age of the values. Zero disables the cache.
+     * @param clock       The clock for the ages and the expiration.
+     */
+    public StaleCache(long maximumSize,
+                      Duration maxAge,
+                      Clock clock) {
+        this.clock = clock;
+        this.entries = maxAge.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxAge)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    /**
+     * Keeps the last-known-good value of a key.
+     *
+     * @param key   The key.
+     * @param value The value, just loaded from the movie service.
+     */
+    public void put(final String key,
+                    final Object value) {
+        if (entries != null) {
+            entries.put(key, new Entry(value, clock.millis()));
+        }
+    }
+
+    /**
+     * Gets the last-known-good value of a key. A lookup is counted as a hit when it finds a value.
+     *
+     * @param key The key.
+     * @return The value with its age, or null if there is none.
+     */
+    public StaleValue get(final String key) {
+        final var entry = entries != null ? entries.getIfPresent(key) : null;
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return new StaleValue(entry.value(), Duration.ofMillis(Math.max(0, clock.millis() - entry.loadedAt())));
+    }
+
+    /**
+     * Gets the number of lookups answered with a stale value, each of them a failure turned into a response.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups without a stale value.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of values kept.
+     *
+     * @return The number of values.
+     */
+    public long getSize() {
+        return entries != null ? entries.estimatedSize() : 0;
+    }
+
+    /**
+     * A value with its age.
+     *
+     * @param value The value.
+     * @param age   The time since it was loaded from the movie service.
+     */
+    public record StaleValue(Object value, Duration age) {
+    }
+
+    private record Entry(Object value, long loadedAt) {
+    }
+}
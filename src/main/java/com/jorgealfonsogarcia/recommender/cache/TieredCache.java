@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+/**
+ * A two-level cache: an in-memory cache backed by a {@link DiskCacheStore}.
+ * <p>
+ * A miss in the in-memory cache is looked up in the store and, when found there, loaded back into memory. The
+ * reactive callers use {@link #lookup(Object)}, which reads the store off the calling thread. Writes and evictions go
+ * to memory at once and to the store through a {@link DiskCacheWriter}, off the calling thread. Only string keys and
+ * non-empty lists of a domain model are stored on disk.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class TieredCache implements Cache {
+
+    private final Cache l1Cache;
+    private final DiskCacheWriter diskCacheWriter;
+    private final String keyPrefix;
+
+    /**
+     * Constructor.
+     *
+     * @param l1Cache         The in-memory cache.
+     * @param diskCacheWriter The writer of the disk store, shared by all the caches.
+     */
+    public TieredCache(Cache l1Cache,
+                       DiskCacheWriter diskCacheWriter) {
+        this.l1Cache = l1Cache;
+        this.diskCacheWriter = diskCacheWriter;
+        this.keyPrefix = "%s:".formatted(l1Cache.getName());
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public String getName() {
+        return l1Cache.getName();
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Object getNativeCache() {
+        return l1Cache.getNativeCache();
+    }
+
+    /**
+     * Gets the value of a key without blocking the caller: only a miss in memory is read from the store, on the read
+     * scheduler of the writer, and loaded back into memory.
+     *
+     * @param key The key.
+     * @return A Mono with the value, empty if it is in neither level.
+     */
+    public Mono<ValueWrapper> lookup(final Object key) {
+        return Mono.defer(() -> {
+            final var valueWrapper = l1Cache.get(key);
+            if (valueWrapper != null || !(key instanceof String stringKey)) {
+                return Mono.justOrEmpty(valueWrapper);
+            }
+
+            return diskCacheWriter.read(keyPrefix + stringKey)
+                    .map(value -> {
+                        l1Cache.put(key, value);
+                        return new SimpleValueWrapper(value);
+                    });
+        });
+    }
+
+    /**
+     * Reads the values stored on disk whose keys match a predicate, one at a time on the read scheduler of the writer,
+     * without loading them into memory.
+     *
+     * @param predicate The predicate of the keys.
+     * @return A Flux with the entries read, skipping those that cannot be read.
+     */
+    public Flux<Map.Entry<String, Object>> readStored(final Predicate<String> predicate) {
+        return Flux.defer(() -> Flux.fromIterable(diskCacheWriter.getKeys(key -> key.startsWith(keyPrefix)
+                        && predicate.test(key.substring(keyPrefix.length())))))
+                .concatMap(key -> diskCacheWriter.read(key)
+                        .map(value -> Map.entry(key.substring(keyPrefix.length()), value)));
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        final var valueWrapper = l1Cache.get(key);
+        if (valueWrapper != null || !(key instanceof String stringKey)) {
+            return valueWrapper;
+        }
+
+        final var value = diskCacheWriter.get(keyPrefix + stringKey);
+        if (value == null) {
+            return null;
+        }
+
+        l1Cache.put(key, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        final var valueWrapper = get(key);
+        final var value = valueWrapper != null ? valueWrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [%s]: %s"
+                    .formatted(type.getName(), value));
+        }
+
+        //noinspection unchecked
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        final var valueWrapper = get(key);
+        if (valueWrapper != null) {
+            //noinspection unchecked
+            return (T) valueWrapper.get();
+        }
+
+        final T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l1Cache.put(key, value);
+        if (key instanceof String stringKey && DiskCacheCodec.canEncode(value)) {
+            diskCacheWriter.put(keyPrefix + stringKey, (List<?>) value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        l1Cache.evict(key);
+        if (key instanceof String stringKey) {
+            diskCacheWriter.evict(keyPrefix + stringKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        l1Cache.clear();
+        diskCacheWriter.evictAll(key -> key.startsWith(keyPrefix));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache manager that backs the caches of another cache manager with a {@link DiskCacheStore}, written through a
+ * {@link DiskCacheWriter}.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class TieredCacheManager implements CacheManager {
+
+    private final CacheManager l1CacheManager;
+    private final DiskCacheWriter diskCacheWriter;
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param l1CacheManager  The in-memory cache manager.
+     * @param diskCacheWriter The writer of the disk store.
+     */
+    public TieredCacheManager(CacheManager l1CacheManager,
+                              DiskCacheWriter diskCacheWriter) {
+        this.l1CacheManager = l1CacheManager;
+        this.diskCacheWriter = diskCacheWriter;
+    }
+
+    @Override
+    public Cache getCache(@SuppressWarnings("NullableProblems") String name) {
+        final var l1Cache = l1CacheManager.getCache(name);
+        if (l1Cache == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, ignored -> new TieredCache(l1Cache, diskCacheWriter));
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Collection<String> getCacheNames() {
+        return l1CacheManager.getCacheNames();
+    }
+}
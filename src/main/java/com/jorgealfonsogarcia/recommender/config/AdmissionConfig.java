@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import com.jorgealfonsogarcia.recommender.admission.AdmissionController;
+import com.jorgealfonsogarcia.recommender.admission.ClientRateLimiter;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.Map;
+
+/**
+ * Configures the admission control of the movie requests: the limits of each route class and of each client.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Configuration
+public class AdmissionConfig {
+
+    /**
+     * Creates the admission controller, with the limits of each route class.
+     *
+     * @param admissionProperties The admission properties.
+     * @return The admission controller.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AdmissionController admissionController(AdmissionProperties admissionProperties) {
+        return new AdmissionController(Map.of(
+                RouteClass.CATALOG, limits(admissionProperties.getCatalog()),
+                RouteClass.SEARCH, limits(admissionProperties.getSearch()),
+                RouteClass.BATCH, limits(admissionProperties.getBatch())),
+                admissionProperties.getInterval(), admissionProperties.getRetryAfter(), Clock.systemUTC());
+    }
+
+    /**
+     * Creates the rate limiter of the clients of the movie endpoints.
+     *
+     * @param rateLimitProperties The rate limit properties.
+     * @return The client rate limiter.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties rateLimitProperties) {
+        return new ClientRateLimiter(rateLimitProperties.getRate(), rateLimitProperties.getBurst(),
+                rateLimitProperties.getMaxClients(), rateLimitProperties.getIdleTimeout(), Clock.systemUTC());
+    }
+
+    private static AdmissionController.Limits limits(final AdmissionProperties.Lane lane) {
+        return new AdmissionController.Limits(lane.maxInFlight(), lane.maxQueued(), lane.targetDelay());
+    }
+}
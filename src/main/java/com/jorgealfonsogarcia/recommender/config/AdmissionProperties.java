@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures the admission control of the movie requests: the limits of each route class and when their requests are
+ * shed.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration retryAfter;
+    private final Lane catalog;
+    private final Lane search;
+    private final Lane batch;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled    Whether the requests are admission controlled.
+     * @param interval   The time the queueing delay of a route class must stay above its target to shed requests.
+     * @param retryAfter The time after which a shed request can be retried.
+     * @param catalog    The limits of the catalog lookups.
+     * @param search     The limits of the movie searches.
+     * @param batch      The limits of the batch searches.
+     */
+    @ConstructorBinding
+    public AdmissionProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("500ms") Duration interval,
+                               @DefaultValue("1s") Duration retryAfter,
+                               @DefaultValue Lane catalog,
+                               @DefaultValue Lane search,
+                               @DefaultValue Lane batch) {
+        this.enabled = enabled;
+        this.interval = interval;
+        this.retryAfter = retryAfter;
+        this.catalog = catalog;
+        this.search = search;
+        this.batch = batch;
+    }
+
+    /**
+     * Gets whether the requests are admission controlled.
+     *
+     * @return Whether the requests are admission controlled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the time the queueing delay of a route class must stay above its target to shed requests.
+     *
+     * @return The interval.
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Gets the time after which a shed request can be retried.
+     *
+     * @return The time after which a shed request can be retried.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Gets the limits of the catalog lookups.
+     *
+     * @return The limits of the catalog lookups.
+     */
+    public Lane getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Gets the limits of the movie searches.
+     *
+     * @return The limits of the movie searches.
+     */
+    public Lane getSearch() {
+        return search;
+    }
+
+    /**
+     * Gets the limits of the batch searches.
+     *
+     * @return The limits of the batch searches.
+     */
+    public Lane getBatch() {
+        return batch;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (AdmissionProperties) o;
+        return enabled == that.enabled && Objects.equals(interval, that.interval)
+                && Objects.equals(retryAfter, that.retryAfter) && Objects.equals(catalog, that.catalog)
+                && Objects.equals(search, that.search) && Objects.equals(batch, that.batch);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, interval, retryAfter, catalog, search, batch);
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionProperties{enabled=%s, interval=%s, retryAfter=%s, catalog=%s, search=%s, batch=%s}"
+                .formatted(enabled, interval, retryAfter, catalog, search, batch);
+    }
+
+    /**
+     * The limits of a route class.
+     *
+     * @param maxInFlight The maximum number of requests in flight.
+     * @param maxQueued   The maximum number of requests waiting to run.
+     * @param targetDelay The target queueing delay.
+     */
+    public record Lane(@DefaultValue("16") int maxInFlight,
+                       @DefaultValue("32") int maxQueued,
+                       @DefaultValue("100ms") Duration targetDelay) {
+    }
+}
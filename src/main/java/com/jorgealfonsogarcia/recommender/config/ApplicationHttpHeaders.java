@@ -42,6 +42,11 @@ public enum ApplicationHttpHeaders {
      */
     STRICT_TRANSPORT_SECURITY("Strict-Transport-Security"),
 
+    /**
+     * The X-Api-Key header.
+     */
+    X_API_KEY("X-Api-Key"),
+
     /**
      * The X-Content-Type-Options header.
      */
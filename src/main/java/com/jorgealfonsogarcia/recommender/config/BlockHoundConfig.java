@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import com.jorgealfonsogarcia.recommender.monitor.BlockingCallMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.blockhound.BlockHound;
+
+/**
+ * Installs BlockHound when it is enabled, so the blocking calls made on the event loops and the parallel schedulers
+ * are counted, and fail when configured to.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.block-hound", name = "enabled", havingValue = "true")
+public class BlockHoundConfig {
+
+    /**
+     * Creates the metrics of the blocking calls and installs BlockHound to report them. The integrations listed in
+     * META-INF/services, such as {@link BlockHoundAllowances}, are installed too.
+     *
+     * @param blockHoundProperties The BlockHound properties.
+     * @return The metrics of the blocking calls.
+     */
+    @Bean
+    public BlockingCallMetrics blockingCallMetrics(BlockHoundProperties blockHoundProperties) {
+        final var blockingCallMetrics = new BlockingCallMetrics(blockHoundProperties.isFailOnBlocking());
+        BlockHound.install(builder -> builder.blockingMethodCallback(blockingCallMetrics));
+        return blockingCallMetrics;
+    }
+}
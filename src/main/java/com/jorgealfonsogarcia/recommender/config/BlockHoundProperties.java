@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Objects;
+
+/**
+ * Configures the detection of blocking calls on the non-blocking threads with BlockHound. The JVM must run with
+ * -XX:+AllowRedefinitionToAddDeleteMethods when it is enabled.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.block-hound")
+public class BlockHoundProperties {
+
+    private final boolean enabled;
+    private final boolean failOnBlocking;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled        Whether BlockHound is installed.
+     * @param failOnBlocking Whether a blocking call fails with an error, instead of only being counted and logged.
+     */
+    @ConstructorBinding
+    public BlockHoundProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("false") boolean failOnBlocking) {
+        this.enabled = enabled;
+        this.failOnBlocking = failOnBlocking;
+    }
+
+    /**
+     * Gets whether BlockHound is installed.
+     *
+     * @return Whether BlockHound is installed.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets whether a blocking call fails with an error.
+     *
+     * @return Whether a blocking call fails with an error, instead of only being counted and logged.
+     */
+    public boolean isFailOnBlocking() {
+        return failOnBlocking;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (BlockHoundProperties) o;
+        return enabled == that.enabled && failOnBlocking == that.failOnBlocking;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, failOnBlocking);
+    }
+
+    @Override
+    public String toString() {
+        return "BlockHoundProperties{enabled=%s, failOnBlocking=%s}".formatted(enabled, failOnBlocking);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheStore;
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheWriter;
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.cache.NegativeCache;
+import com.jorgealfonsogarcia.recommender.cache.ResponseCache;
+import com.jorgealfonsogarcia.recommender.cache.StaleCache;
+import com.jorgealfonsogarcia.recommender.cache.TieredCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+/**
+ * Configures the cache beans.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Creates the disk store of the second cache level.
+     *
+     * @param cacheProperties The cache properties.
+     * @return The disk store.
+     * @throws IOException If the segment files cannot be opened.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.l2", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public DiskCacheStore diskCacheStore(CacheProperties cacheProperties) throws IOException {
+        final var l2 = cacheProperties.getL2();
+        final var directory = l2.directory() != null
+                ? l2.directory()
+                : Path.of(System.getProperty("user.home"), ".recommender", "cache");
+
+        return new DiskCacheStore(directory, l2.segmentSize().toBytes(), l2.maxSize().toBytes(), l2.ttl(),
+                l2.compactionThreshold(), Clock.systemUTC());
+    }
+
+    /**
+     * Creates the writer of the disk store, which writes the entries behind the request threads on a dedicated thread,
+     * and reads them on a bounded elastic scheduler.
+     *
+     * @param cacheProperties The cache properties.
+     * @param diskCacheStore  The disk store.
+     * @return The writer of the disk store.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.l2", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public DiskCacheWriter diskCacheWriter(CacheProperties cacheProperties,
+                                           DiskCacheStore diskCacheStore) {
+        return new DiskCacheWriter(diskCacheStore, cacheProperties.getL2().maxPendingWrites(),
+                Schedulers.newBoundedElastic(1, Integer.MAX_VALUE, "disk-cache-writer", 60, true),
+                Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                        Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "disk-cache-reader", 60, true));
+    }
+
+    /**
+     * Creates the cache of the searches without results.
+     *
+     * @param cacheProperties The cache properties.
+     * @return The negative cache.
+     */
+    @Bean
+    public NegativeCache negativeCache(CacheProperties cacheProperties) {
+        final var negative = cacheProperties.getNegative();
+        return new NegativeCache(negative.ttl(), negative.expectedInsertions(), negative.falsePositiveProbability(),
+                Clock.systemUTC());
+    }
+
+    /**
+     * Creates the cache of the last-known-good values, served when the movie service fails.
+     *
+     * @param cacheProperties The cache properties.
+     * @return The stale cache.
+     */
+    @Bean
+    public StaleCache staleCache(CacheProperties cacheProperties) {
+        final var stale = cacheProperties.getStale();
+        return new StaleCache(stale.maximumSize(), stale.maxAge(), Clock.systemUTC());
+    }
+
+    /**
+     * Creates the cache of the encoded responses of the movie endpoints.
+     *
+     * @param cacheProperties The cache properties.
+     * @return The response cache.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.response", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public ResponseCache responseCache(CacheProperties cacheProperties) {
+        final var response = cacheProperties.getResponse();
+        return new ResponseCache(response.maxSize().toBytes(), (int) response.compressionThreshold().toBytes(),
+                cacheProperties.getL1Ttl());
+    }
+
+    /**
+     * Creates the index of the cache keys holding each movie, used to invalidate the movies changed upstream.
+     *
+     * @param cacheProperties The cache properties.
+     * @return The movie key index.
+     */
+    @Bean
+    public MovieKeyIndex movieKeyIndex(CacheProperties cacheProperties) {
+        return new MovieKeyIndex(cacheProperties.getChanges().maximumTrackedKeys());
+    }
+
+    /**
+     * Creates a cache manager. The Caffeine caches are backed by the disk store when it is enabled.
+     *
+     * @param cacheProperties The cache properties.
+     * @param diskCacheWriter The writer of the disk store, if enabled.
+     * @return The cache manager.
+     */
+    @Bean
+    public CacheManager caffeineCacheManager(CacheProperties cacheProperties,
+                                             ObjectProvider<DiskCacheWriter> diskCacheWriter) {
+        var cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getL1MaximumSize())
+                .expireAfterWrite(cacheProperties.getL1Ttl()));
+
+        final var writer = diskCacheWriter.getIfAvailable();
+        return writer != null ? new TieredCacheManager(cacheManager, writer) : cacheManager;
+    }
+}
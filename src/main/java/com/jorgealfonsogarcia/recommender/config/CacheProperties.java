@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures the levels of the movies cache.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private final long l1MaximumSize;
+    private final Duration l1Ttl;
+    private final DiskTier l2;
+    private final Negative negative;
+    private final Response response;
+    private final Stale stale;
+    private final Changes changes;
+
+    /**
+     * Constructor.
+     *
+     * @param l1MaximumSize The maximum number of entries of each in-memory cache.
+     * @param l1Ttl         The time to live of the entries of the in-memory caches.
+     * @param l2            The disk level.
+     * @param negative      The cache of the searches without results.
+     * @param response      The cache of the encoded responses.
+     * @param stale         The cache of the last-known-good values.
+     * @param changes       The invalidation of the cached movies changed upstream.
+     */
+    @ConstructorBinding
+    public CacheProperties(@DefaultValue("10000") long l1MaximumSize,
+                           @DefaultValue("60m") Duration l1Ttl,
+                           @DefaultValue DiskTier l2,
+                           @DefaultValue Negative negative,
+                           @DefaultValue Response response,
+                           @DefaultValue Stale stale,
+                           @DefaultValue Changes changes) {
+        this.l1MaximumSize = l1MaximumSize;
+        this.l1Ttl = l1Ttl;
+        this.l2 = l2;
+        this.negative = negative;
+        this.response = response;
+        this.stale = stale;
+        this.changes = changes;
+    }
+
+    /**
+     * Gets the maximum number of entries of each in-memory cache.
+     *
+     * @return The maximum number of entries of each in-memory cache.
+     */
+    public long getL1MaximumSize() {
+        return l1MaximumSize;
+    }
+
+    /**
+     * Gets the time to live of the entries of the in-memory caches.
+     *
+     * @return The time to live of the entries of the in-memory caches.
+     */
+    public Duration getL1Ttl() {
+        return l1Ttl;
+    }
+
+    /**
+     * Gets the disk level.
+     *
+     * @return The disk level.
+     */
+    public DiskTier getL2() {
+        return l2;
+    }
+
+    /**
+     * Gets the cache of the searches without results.
+     *
+     * @return The cache of the searches without results.
+     */
+    public Negative getNegative() {
+        return negative;
+    }
+
+    /**
+     * Gets the cache of the encoded responses.
+     *
+     * @return The cache of the encoded responses.
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    /**
+     * Gets the cache of the last-known-good values.
+     *
+     * @return The cache of the last-known-good values.
+     */
+    public Stale getStale() {
+        return stale;
+    }
+
+    /**
+     * Gets the invalidation of the cached movies changed upstream.
+     *
+     * @return The invalidation of the changed movies.
+     */
+    public Changes getChanges() {
+        return changes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (CacheProperties) o;
+        return l1MaximumSize == that.l1MaximumSize
+                && Objects.equals(l1Ttl, that.l1Ttl)
+                && Objects.equals(l2, that.l2)
+                && Objects.equals(negative, that.negative)
+                && Objects.equals(response, that.response)
+                && Objects.equals(stale, that.stale)
+                && Objects.equals(changes, that.changes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(l1MaximumSize, l1Ttl, l2, negative, response, stale, changes);
+    }
+
+    @Override
+    public String toString() {
+        return ("CacheProperties{l1MaximumSize=%d, l1Ttl=%s, l2=%s, negative=%s, response=%s, stale=%s, "
+                + "changes=%s}").formatted(l1MaximumSize, l1Ttl, l2, negative, response, stale, changes);
+    }
+
+    /**
+     * The disk level of the cache.
+     *
+     * @param enabled             Whether the disk level is used.
+     * @param directory           The directory of the segment files. Defaults to .recommender/cache in the home
+     *                            directory of the user.
+     * @param ttl                 The time to live of the entries.
+     * @param maxSize             The maximum size of the entries.
+     * @param segmentSize         The size of each segment file.
+     * @param compactionThreshold The fraction of live bytes below which the oldest segment is rewritten.
+     * @param maxPendingWrites    The maximum number of entries waiting to be written to disk.
+     */
+    public record DiskTier(@DefaultValue("true") boolean enabled,
+                           Path directory,
+                           @DefaultValue("24h") Duration ttl,
+                           @DefaultValue("1GB") DataSize maxSize,
+                           @DefaultValue("64MB") DataSize segmentSize,
+                           @DefaultValue("0.5") double compactionThreshold,
+                           @DefaultValue("10000") int maxPendingWrites) {
+    }
+
+    /**
+     * The cache of the searches without results.
+     *
+     * @param ttl                      The time to live of the entries. Zero disables the cache.
+     * @param expectedInsertions       The expected number of entries added in half a time to live.
+     * @param falsePositiveProbability The probability of skipping a search that has results.
+     */
+    public record Negative(@DefaultValue("10m") Duration ttl,
+                           @DefaultValue("100000") long expectedInsertions,
+                           @DefaultValue("0.01") double falsePositiveProbability) {
+    }
+
+    /**
+     * The cache of the encoded responses of the movie endpoints.
+     *
+     * @param enabled              Whether the responses are cached.
+     * @param maxSize              The maximum size of the cached bodies.
+     * @param compressionThreshold The minimum size of a body to also keep it gzip-compressed.
+     */
+    public record Response(@DefaultValue("true") boolean enabled,
+                           @DefaultValue("64MB") DataSize maxSize,
+                           @DefaultValue("1KB") DataSize compressionThreshold) {
+    }
+
+    /**
+     * The cache of the last-known-good values, served when the movie service fails.
+     *
+     * @param maximumSize The maximum number of values.
+     * @param maxAge      The maximum age of a value served. Zero disables the cache.
+     */
+    public record Stale(@DefaultValue("10000") long maximumSize,
+                        @DefaultValue("24h") Duration maxAge) {
+    }
+
+    /**
+     * The invalidation of the cached movies changed upstream, polled from the changes feed of the movie service.
+     *
+     * @param enabled            Whether the changes feed is polled.
+     * @param interval           The time between polls.
+     * @param maximumTrackedKeys The maximum number of discover calls, and of responses, whose movies are tracked.
+     */
+    public record Changes(@DefaultValue("true") boolean enabled,
+                          @DefaultValue("10m") Duration interval,
+                          @DefaultValue("100000") int maximumTrackedKeys) {
+    }
+}
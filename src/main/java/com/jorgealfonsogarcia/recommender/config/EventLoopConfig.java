@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import com.jorgealfonsogarcia.recommender.utils.CpuQuotaUtils;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Configures separate thread pools for the server, the upstream client and the CPU-bound work, so slow upstream
+ * responses do not compete with accepting and writing the client responses.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Configuration
+public class EventLoopConfig {
+
+    /**
+     * The prefix of the names of the server event loop threads.
+     */
+    public static final String SERVER_THREAD_PREFIX = "server-http";
+
+    /**
+     * The prefix of the names of the upstream client event loop threads.
+     */
+    public static final String CLIENT_THREAD_PREFIX = "client-http";
+
+    /**
+     * The prefix of the names of the threads of the CPU-bound work.
+     */
+    public static final String COMPUTE_THREAD_PREFIX = "compute";
+
+    /**
+     * Creates the event loops of the server: a thread to accept the connections and the configured worker threads.
+     *
+     * @param eventLoopProperties The event loop properties.
+     * @return The event loops of the server.
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(EventLoopProperties eventLoopProperties) {
+        return LoopResources.create(SERVER_THREAD_PREFIX, 1, threads(eventLoopProperties.getServerThreads()), true);
+    }
+
+    /**
+     * Creates the event loops of the upstream client.
+     *
+     * @param eventLoopProperties The event loop properties.
+     * @return The event loops of the upstream client.
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources clientLoopResources(EventLoopProperties eventLoopProperties) {
+        return LoopResources.create(CLIENT_THREAD_PREFIX, threads(eventLoopProperties.getClientThreads()), true);
+    }
+
+    /**
+     * Creates the scheduler of the CPU-bound work, such as serializing and hashing the responses.
+     *
+     * @param eventLoopProperties The event loop properties.
+     * @return The scheduler of the CPU-bound work.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler computeScheduler(EventLoopProperties eventLoopProperties) {
+        return Schedulers.newParallel(COMPUTE_THREAD_PREFIX, threads(eventLoopProperties.getComputeThreads()), true);
+    }
+
+    /**
+     * Creates the customizer that runs the server on its own event loops.
+     *
+     * @param serverLoopResources The event loops of the server.
+     * @return The server customizer.
+     */
+    @Bean
+    public NettyServerCustomizer serverLoopResourcesCustomizer(LoopResources serverLoopResources) {
+        return httpServer -> httpServer.runOn(serverLoopResources);
+    }
+
+    private static int threads(final int configuredThreads) {
+        return configuredThreads > 0 ? configuredThreads : CpuQuotaUtils.availableCpus();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Objects;
+
+/**
+ * Configures the thread pools: the event loops of the server and of the upstream client, and the scheduler of the
+ * CPU-bound work. A pool of zero threads is sized to the CPUs available to the container. The search stages that handle
+ * at least the offload threshold of movies run on the scheduler of the CPU-bound work instead of the event loops.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.event-loop")
+public class EventLoopProperties {
+
+    private final int serverThreads;
+    private final int clientThreads;
+    private final int computeThreads;
+    private final int offloadThreshold;
+
+    /**
+     * Constructor.
+     *
+     * @param serverThreads    The threads of the server event loops.
+     * @param clientThreads    The threads of the upstream client event loops.
+     * @param computeThreads   The threads of the scheduler of the CPU-bound work.
+     * @param offloadThreshold The minimum number of movies of a search stage to run it on the scheduler of the
+     *                         CPU-bound work.
+     */
+    @ConstructorBinding
+    public EventLoopProperties(@DefaultValue("0") int serverThreads,
+                               @DefaultValue("0") int clientThreads,
+                               @DefaultValue("0") int computeThreads,
+                               @DefaultValue("1000") int offloadThreshold) {
+        this.serverThreads = serverThreads;
+        this.clientThreads = clientThreads;
+        this.computeThreads = computeThreads;
+        this.offloadThreshold = offloadThreshold;
+    }
+
+    /**
+     * Gets the threads of the server event loops.
+     *
+     * @return The threads of the server event loops, or zero to size them to the available CPUs.
+     */
+    public int getServerThreads() {
+        return serverThreads;
+    }
+
+    /**
+     * Gets the threads of the upstream client event loops.
+     *
+     * @return The threads of the upstream client event loops, or zero to size them to the available CPUs.
+     */
+    public int getClientThreads() {
+        return clientThreads;
+    }
+
+    /**
+     * Gets the threads of the scheduler of the CPU-bound work.
+     *
+     * @return The threads of the scheduler, or zero to size them to the available CPUs.
+     */
+    public int getComputeThreads() {
+        return computeThreads;
+    }
+
+    /**
+     * Gets the minimum number of movies of a search stage to run it on the scheduler of the CPU-bound work.
+     *
+     * @return The offload threshold.
+     */
+    public int getOffloadThreshold() {
+        return offloadThreshold;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (EventLoopProperties) o;
+        return serverThreads == that.serverThreads && clientThreads == that.clientThreads
+                && computeThreads == that.computeThreads && offloadThreshold == that.offloadThreshold;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serverThreads, clientThreads, computeThreads, offloadThreshold);
+    }
+
+    @Override
+    public String toString() {
+        return "EventLoopProperties{serverThreads=%d, clientThreads=%d, computeThreads=%d, offloadThreshold=%d}"
+                .formatted(serverThreads, clientThreads, computeThreads, offloadThreshold);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import com.jorgealfonsogarcia.recommender.domain.models.ChangedMovie;
+import com.jorgealfonsogarcia.recommender.domain.models.ChangesResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.ErrorResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.GenresResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.Interaction;
+import com.jorgealfonsogarcia.recommender.domain.models.Language;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.domain.models.MoviePageResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.Recommendation;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchPage;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchResult;
+import com.jorgealfonsogarcia.recommender.domain.models.Suggestion;
+import com.jorgealfonsogarcia.recommender.monitor.MeteredAsyncDisruptorAppender;
+import com.jorgealfonsogarcia.recommender.monitor.NonBlockingThreadFilter;
+import com.jorgealfonsogarcia.recommender.monitor.RequestIdSamplingTurboFilter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Registers the reflection and resource hints the native image needs beyond what Spring AOT infers.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> DOMAIN_MODELS = List.of(
+            ChangedMovie.class,
+            ChangesResponse.class,
+            ErrorResponse.class,
+            Genre.class,
+            GenresResponse.class,
+            Interaction.class,
+            Language.class,
+            Movie.class,
+            MoviePageResponse.class,
+            MovieResponse.class,
+            Recommendation.class,
+            SearchCursor.class,
+            SearchPage.class,
+            SearchQuery.class,
+            SearchResult.class,
+            Suggestion.class
+    );
+
+    /**
+     * The cache and node classes Caffeine generates for the builder specifications used by the cache manager and the
+     * entity tags, the upstream conditional requests and the response cache. They are loaded by name, so they must be
+     * updated when those specifications change.
+     */
+    private static final List<String> CAFFEINE_CLASSES = List.of(
+            "com.github.benmanes.caffeine.cache.SSMSW",
+            "com.github.benmanes.caffeine.cache.PSWMS",
+            "com.github.benmanes.caffeine.cache.SSMS",
+            "com.github.benmanes.caffeine.cache.PSMS",
+            "com.github.benmanes.caffeine.cache.SSMWA",
+            "com.github.benmanes.caffeine.cache.PSWMW"
+    );
+
+    private static final List<String> RESILIENCE4J_CLASSES = List.of(
+            "io.github.resilience4j.common.circuitbreaker.configuration"
+                    + ".CommonCircuitBreakerConfigurationProperties$InstanceProperties",
+            "io.github.resilience4j.common.retry.configuration.CommonRetryConfigurationProperties$InstanceProperties"
+    );
+
+    /**
+     * The exceptions listed by name in the retry configuration.
+     */
+    private static final List<String> RETRY_EXCEPTIONS = List.of(
+            "java.io.IOException",
+            "org.springframework.web.reactive.function.client.WebClientRequestException"
+    );
+
+    private static final List<String> LOGGING_CLASSES = List.of(
+            "ch.qos.logback.core.ConsoleAppender",
+            "net.logstash.logback.encoder.LogstashEncoder"
+    );
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar()
+                .registerReflectionHints(hints.reflection(), DOMAIN_MODELS.toArray(Class<?>[]::new));
+
+        CAFFEINE_CLASSES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        RESILIENCE4J_CLASSES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+        RETRY_EXCEPTIONS.forEach(type -> hints.reflection().registerType(TypeReference.of(type)));
+
+        Stream.concat(
+                        LOGGING_CLASSES.stream().map(TypeReference::of),
+                        Stream.of(MeteredAsyncDisruptorAppender.class, NonBlockingThreadFilter.class,
+                                RequestIdSamplingTurboFilter.class).map(TypeReference::of))
+                .forEach(type -> hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        hints.resources().registerPattern("logback-spring.xml");
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+    }
+}
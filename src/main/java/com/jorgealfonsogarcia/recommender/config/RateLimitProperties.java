@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures the rate limits of the clients of the movie endpoints. A search costs a token per upstream discover call,
+ * a batch search costs a fixed number of tokens and the other movie requests cost one.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private final boolean enabled;
+    private final double rate;
+    private final int burst;
+    private final int batchCost;
+    private final long maxClients;
+    private final Duration idleTimeout;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled     Whether the clients are rate limited.
+     * @param rate        The tokens added to the bucket of each client per second.
+     * @param burst       The maximum tokens of the bucket of a client.
+     * @param batchCost   The tokens a batch search costs.
+     * @param maxClients  The maximum number of clients whose bucket is kept.
+     * @param idleTimeout The time after which the bucket of an idle client is evicted.
+     */
+    @ConstructorBinding
+    public RateLimitProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("10") double rate,
+                               @DefaultValue("30") int burst,
+                               @DefaultValue("20") int batchCost,
+                               @DefaultValue("100000") long maxClients,
+                               @DefaultValue("10m") Duration idleTimeout) {
+        this.enabled = enabled;
+        this.rate = rate;
+        this.burst = burst;
+        this.batchCost = batchCost;
+        this.maxClients = maxClients;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets whether the clients are rate limited.
+     *
+     * @return Whether the clients are rate limited.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the tokens added to the bucket of each client per second.
+     *
+     * @return The tokens per second.
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets the maximum tokens of the bucket of a client.
+     *
+     * @return The maximum tokens.
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Gets the tokens a batch search costs.
+     *
+     * @return The tokens a batch search costs.
+     */
+    public int getBatchCost() {
+        return batchCost;
+    }
+
+    /**
+     * Gets the maximum number of clients whose bucket is kept.
+     *
+     * @return The maximum number of clients.
+     */
+    public long getMaxClients() {
+        return maxClients;
+    }
+
+    /**
+     * Gets the time after which the bucket of an idle client is evicted.
+     *
+     * @return The idle timeout.
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (RateLimitProperties) o;
+        return enabled == that.enabled && Double.compare(rate, that.rate) == 0 && burst == that.burst
+                && batchCost == that.batchCost && maxClients == that.maxClients
+                && Objects.equals(idleTimeout, that.idleTimeout);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, rate, burst, batchCost, maxClients, idleTimeout);
+    }
+
+    @Override
+    public String toString() {
+        return ("RateLimitProperties{enabled=%s, rate=%s, burst=%d, batchCost=%d, maxClients=%d, "
+                + "idleTimeout=%s}").formatted(enabled, rate, burst, batchCost, maxClients, idleTimeout);
+    }
+}
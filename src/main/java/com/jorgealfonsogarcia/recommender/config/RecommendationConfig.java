@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import com.jorgealfonsogarcia.recommender.recommendation.AlsTrainer;
+import com.jorgealfonsogarcia.recommender.recommendation.InteractionLog;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configures the recommendation beans.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Configuration
+public class RecommendationConfig {
+
+    /**
+     * Creates the log of the interactions of the users, replaying the interactions already in it.
+     *
+     * @param recommendationProperties The recommendation properties.
+     * @return The interaction log.
+     * @throws IOException If the log cannot be opened.
+     */
+    @Bean
+    public InteractionLog interactionLog(RecommendationProperties recommendationProperties) throws IOException {
+        final var logFile = recommendationProperties.getLogFile() != null
+                ? recommendationProperties.getLogFile()
+                : Path.of(System.getProperty("user.home"), ".recommender", "interactions.log");
+
+        return new InteractionLog(logFile);
+    }
+
+    /**
+     * Creates the scheduler the interactions are appended on, off the event loops, with a single thread as the log
+     * has a single writer.
+     *
+     * @return The scheduler of the interaction log.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler interactionLogScheduler() {
+        return Schedulers.newBoundedElastic(1, Integer.MAX_VALUE, "interaction-log", 60, true);
+    }
+
+    /**
+     * Creates the trainer of the recommendation model. It trains in the common fork/join pool, sized by the processors
+     * available to the container.
+     *
+     * @param recommendationProperties The recommendation properties.
+     * @return The trainer.
+     */
+    @Bean
+    public AlsTrainer alsTrainer(RecommendationProperties recommendationProperties) {
+        return new AlsTrainer(recommendationProperties.getTraining(), ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures the recommendations learned from the interactions of the users.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.recommendations")
+public class RecommendationProperties {
+
+    private final Path logFile;
+    private final int maxResults;
+    private final Training training;
+
+    /**
+     * Constructor.
+     *
+     * @param logFile    The file of the interaction log. Defaults to a file in the temporary directory.
+     * @param maxResults The maximum number of movies recommended to a user.
+     * @param training   The training of the model.
+     */
+    @ConstructorBinding
+    public RecommendationProperties(Path logFile,
+                                    @DefaultValue("100") int maxResults,
+                                    @DefaultValue Training training) {
+        this.logFile = logFile;
+        this.maxResults = maxResults;
+        this.training = training;
+    }
+
+    /**
+     * Gets the file of the interaction log.
+     *
+     * @return The file of the interaction log, or null to use a file in the temporary directory.
+     */
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    /**
+     * Gets the maximum number of movies recommended to a user.
+     *
+     * @return The maximum number of movies.
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Gets the training of the model.
+     *
+     * @return The training of the model.
+     */
+    public Training getTraining() {
+        return training;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (RecommendationProperties) o;
+        return maxResults == that.maxResults && Objects.equals(logFile, that.logFile)
+                && Objects.equals(training, that.training);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(logFile, maxResults, training);
+    }
+
+    @Override
+    public String toString() {
+        return "RecommendationProperties{logFile=%s, maxResults=%d, training=%s}"
+                .formatted(logFile, maxResults, training);
+    }
+
+    /**
+     * The training of the matrix factorization model.
+     *
+     * @param factors               The number of latent factors of each user and movie.
+     * @param iterations            The alternating least squares sweeps of the first training.
+     * @param incrementalIterations The sweeps of the next trainings, which start from the previous factors.
+     * @param regularization        The weight of the regularization of the factors.
+     * @param alpha                 The growth of the confidence in an interaction with its weight.
+     * @param interval              The minimum time between two trainings.
+     */
+    public record Training(@DefaultValue("16") int factors,
+                           @DefaultValue("10") int iterations,
+                           @DefaultValue("2") int incrementalIterations,
+                           @DefaultValue("0.1") double regularization,
+                           @DefaultValue("10") double alpha,
+                           @DefaultValue("30s") Duration interval) {
+    }
+}
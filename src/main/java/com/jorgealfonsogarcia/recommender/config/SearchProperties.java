@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures the movie searches.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    private final int maxCells;
+    private final int concurrency;
+    private final Batch batch;
+    private final Page page;
+    private final Lookup lookup;
+    private final Autocomplete autocomplete;
+
+    /**
+     * Constructor.
+     *
+     * @param maxCells     The maximum number of upstream discover calls of a search: its years times its languages.
+     * @param concurrency  The maximum number of concurrent upstream calls of a search.
+     * @param batch        The batch searches.
+     * @param page         The paged searches.
+     * @param lookup       The text lookups.
+     * @param autocomplete The title autocompletion.
+     */
+    @ConstructorBinding
+    public SearchProperties(@DefaultValue("6") int maxCells,
+                            @DefaultValue("8") int concurrency,
+                            @DefaultValue Batch batch,
+                            @DefaultValue Page page,
+                            @DefaultValue Lookup lookup,
+                            @DefaultValue Autocomplete autocomplete) {
+        this.maxCells = maxCells;
+        this.concurrency = concurrency;
+        this.batch = batch;
+        this.page = page;
+        this.lookup = lookup;
+        this.autocomplete = autocomplete;
+    }
+
+    /**
+     * Gets the maximum number of upstream discover calls of a search: its years times its languages.
+     *
+     * @return The maximum number of upstream discover calls.
+     */
+    public int getMaxCells() {
+        return maxCells;
+    }
+
+    /**
+     * Gets the maximum number of concurrent upstream calls of a search.
+     *
+     * @return The maximum number of concurrent upstream calls.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets the batch searches.
+     *
+     * @return The batch searches.
+     */
+    public Batch getBatch() {
+        return batch;
+    }
+
+    /**
+     * Gets the paged searches.
+     *
+     * @return The paged searches.
+     */
+    public Page getPage() {
+        return page;
+    }
+
+    /**
+     * Gets the text lookups.
+     *
+     * @return The text lookups.
+     */
+    public Lookup getLookup() {
+        return lookup;
+    }
+
+    /**
+     * Gets the title autocompletion.
+     *
+     * @return The title autocompletion.
+     */
+    public Autocomplete getAutocomplete() {
+        return autocomplete;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (SearchProperties) o;
+        return maxCells == that.maxCells && concurrency == that.concurrency && Objects.equals(batch, that.batch)
+                && Objects.equals(page, that.page) && Objects.equals(lookup, that.lookup)
+                && Objects.equals(autocomplete, that.autocomplete);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxCells, concurrency, batch, page, lookup, autocomplete);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchProperties{maxCells=%d, concurrency=%d, batch=%s, page=%s, lookup=%s, autocomplete=%s}"
+                .formatted(maxCells, concurrency, batch, page, lookup, autocomplete);
+    }
+
+    /**
+     * The batch searches.
+     *
+     * @param maxQueries  The maximum number of searches of a batch.
+     * @param concurrency  The maximum number of concurrent upstream discover calls of a batch.
+     */
+    public record Batch(@DefaultValue("20") int maxQueries,
+                        @DefaultValue("8") int concurrency) {
+    }
+
+    /**
+     * The paged searches.
+     *
+     * @param maxSize  The maximum number of movies of a page.
+     * @param prefetch Whether the movies of the next page are loaded in the background.
+     */
+    public record Page(@DefaultValue("100") int maxSize,
+                       @DefaultValue("true") boolean prefetch) {
+    }
+
+    /**
+     * The text lookups, answered from the index of the movies found by the searches.
+     *
+     * @param maxSize    The maximum estimated bytes of the index.
+     * @param maxResults The maximum number of movies of a lookup.
+     */
+    public record Lookup(@DefaultValue("32MB") DataSize maxSize,
+                         @DefaultValue("100") int maxResults) {
+    }
+
+    /**
+     * The title autocompletion, answered from a trie of the titles of the movies found by the searches.
+     *
+     * @param maxSuggestions  The maximum number of titles completing a prefix.
+     * @param rebuildInterval The minimum time between two rebuilds of the trie.
+     */
+    public record Autocomplete(@DefaultValue("10") int maxSuggestions,
+                               @DefaultValue("5s") Duration rebuildInterval) {
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures the pacing of the calls to the movie service, so they stay below its quota.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.upstream-pacing")
+public class UpstreamPacingProperties {
+
+    private final boolean enabled;
+    private final double rate;
+    private final int burst;
+    private final Duration maxWait;
+    private final Duration defaultPause;
+    private final Duration maxPause;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled      Whether the calls are paced.
+     * @param rate         The calls sent per second.
+     * @param burst        The maximum calls sent at once.
+     * @param maxWait      The maximum time a call waits to be sent.
+     * @param defaultPause The pause after a 429 Too Many Requests without a Retry-After header.
+     * @param maxPause     The maximum pause, whatever the headers of the movie service advertise.
+     */
+    @ConstructorBinding
+    public UpstreamPacingProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("40") double rate,
+                                    @DefaultValue("20") int burst,
+                                    @DefaultValue("5s") Duration maxWait,
+                                    @DefaultValue("1s") Duration defaultPause,
+                                    @DefaultValue("1m") Duration maxPause) {
+        this.enabled = enabled;
+        this.rate = rate;
+        this.burst = burst;
+        this.maxWait = maxWait;
+        this.defaultPause = defaultPause;
+        this.maxPause = maxPause;
+    }
+
+    /**
+     * Gets whether the calls are paced.
+     *
+     * @return Whether the calls are paced.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the calls sent per second.
+     *
+     * @return The calls per second.
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets the maximum calls sent at once.
+     *
+     * @return The maximum calls sent at once.
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Gets the maximum time a call waits to be sent.
+     *
+     * @return The maximum wait.
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Gets the pause after a 429 Too Many Requests without a Retry-After header.
+     *
+     * @return The default pause.
+     */
+    public Duration getDefaultPause() {
+        return defaultPause;
+    }
+
+    /**
+     * Gets the maximum pause, whatever the headers of the movie service advertise.
+     *
+     * @return The maximum pause.
+     */
+    public Duration getMaxPause() {
+        return maxPause;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (UpstreamPacingProperties) o;
+        return enabled == that.enabled && Double.compare(rate, that.rate) == 0 && burst == that.burst
+                && Objects.equals(maxWait, that.maxWait) && Objects.equals(defaultPause, that.defaultPause)
+                && Objects.equals(maxPause, that.maxPause);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, rate, burst, maxWait, defaultPause, maxPause);
+    }
+
+    @Override
+    public String toString() {
+        return ("UpstreamPacingProperties{enabled=%s, rate=%s, burst=%d, maxWait=%s, defaultPause=%s, "
+                + "maxPause=%s}").formatted(enabled, rate, burst, maxWait, defaultPause, maxPause);
+    }
+}
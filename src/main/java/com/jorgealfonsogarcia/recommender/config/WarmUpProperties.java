@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configures the cache warm-up that runs when the application starts.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ConfigurationProperties(prefix = "app.warm-up")
+public class WarmUpProperties {
+
+    private final boolean enabled;
+    private final List<String> languages;
+    private final List<DiscoverKey> discoverKeys;
+    private final int concurrency;
+    private final Duration timeout;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled      Whether the warm-up runs.
+     * @param languages    The languages whose genres are loaded. They should be ISO 639-1.
+     * @param discoverKeys The searches whose movies are loaded.
+     * @param concurrency  The maximum number of concurrent upstream calls.
+     * @param timeout      The maximum duration of the warm-up.
+     */
+    @ConstructorBinding
+    public WarmUpProperties(@DefaultValue("true") boolean enabled,
+                            @DefaultValue List<String> languages,
+                            @DefaultValue List<DiscoverKey> discoverKeys,
+                            @DefaultValue("4") int concurrency,
+                            @DefaultValue("30s") Duration timeout) {
+        this.enabled = enabled;
+        this.languages = List.copyOf(languages);
+        this.discoverKeys = List.copyOf(discoverKeys);
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets whether the warm-up runs.
+     *
+     * @return Whether the warm-up runs.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the languages whose genres are loaded.
+     *
+     * @return The languages whose genres are loaded.
+     */
+    public List<String> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * Gets the searches whose movies are loaded.
+     *
+     * @return The searches whose movies are loaded.
+     */
+    public List<DiscoverKey> getDiscoverKeys() {
+        return discoverKeys;
+    }
+
+    /**
+     * Gets the maximum number of concurrent upstream calls.
+     *
+     * @return The maximum number of concurrent upstream calls.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets the maximum duration of the warm-up.
+     *
+     * @return The maximum duration of the warm-up.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final var that = (WarmUpProperties) o;
+        return enabled == that.enabled
+                && concurrency == that.concurrency
+                && Objects.equals(languages, that.languages)
+                && Objects.equals(discoverKeys, that.discoverKeys)
+                && Objects.equals(timeout, that.timeout);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, languages, discoverKeys, concurrency, timeout);
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpProperties{enabled=%s, languages=%s, discoverKeys=%s, concurrency=%d, timeout=%s}"
+                .formatted(enabled, languages, discoverKeys, concurrency, timeout);
+    }
+
+    /**
+     * A search of a single year whose movies are loaded.
+     *
+     * @param year     The release year.
+     * @param genres   The genre names.
+     * @param language The language. It should be ISO 639-1.
+     */
+    public record DiscoverKey(Integer year, List<String> genres, String language) {
+
+        /**
+         * Constructor.
+         *
+         * @param year     The release year.
+         * @param genres   The genre names.
+         * @param language The language. It should be ISO 639-1.
+         */
+        public DiscoverKey {
+            genres = List.copyOf(genres);
+        }
+    }
+}
@@ -24,12 +24,25 @@
 
 package com.jorgealfonsogarcia.recommender.config;
 
+import com.jorgealfonsogarcia.recommender.admission.UpstreamPacer;
+import com.jorgealfonsogarcia.recommender.controllers.component.CoalescingExchangeFilterFunction;
+import com.jorgealfonsogarcia.recommender.controllers.component.ConditionalRequestExchangeFilterFunction;
+import com.jorgealfonsogarcia.recommender.controllers.component.PacingExchangeFilterFunction;
 import com.jorgealfonsogarcia.recommender.controllers.component.XRequestIdExchangeFilterFunction;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Clock;
+import java.util.List;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
@@ -43,6 +56,18 @@ import static org.springframework.http.MediaType.APPLICATION_JSON;
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * Creates the HTTP connector of the web clients, running on the event loops of the upstream client. It replaces
+     * the one of Spring Boot, which would start the event loops shared with the server.
+     *
+     * @param clientLoopResources The event loops of the upstream client.
+     * @return The HTTP connector.
+     */
+    @Bean
+    public ClientHttpConnector clientHttpConnector(LoopResources clientLoopResources) {
+        return new ReactorClientHttpConnector(HttpClient.create().runOn(clientLoopResources));
+    }
+
     /**
      * Creates the exchange filter function for the X-Request-Id header.
      *
@@ -54,26 +79,71 @@ public class WebClientConfig {
     }
 
     /**
-     * Creates the web client for the movie service.
+     * Creates the exchange filter function that shares the concurrent GETs to the same URL.
+     *
+     * @return The exchange filter function for the request coalescing.
+     */
+    @Bean
+    public CoalescingExchangeFilterFunction coalescingExchangeFilterFunction() {
+        return new CoalescingExchangeFilterFunction();
+    }
+
+    /**
+     * Creates the exchange filter function that revalidates the genres and languages with their entity tags.
+     *
+     * @return The exchange filter function for the conditional requests.
+     */
+    @Bean
+    public ExchangeFilterFunction conditionalRequestExchangeFilterFunction() {
+        return new ConditionalRequestExchangeFilterFunction(List.of("/genre/movie/list", "/configuration/languages"));
+    }
+
+    /**
+     * Creates the pacer of the calls to the movie service, which keeps them below its quota.
+     *
+     * @param upstreamPacingProperties The upstream pacing properties.
+     * @return The upstream pacer.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.upstream-pacing", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public UpstreamPacer upstreamPacer(UpstreamPacingProperties upstreamPacingProperties) {
+        return new UpstreamPacer(upstreamPacingProperties.getRate(), upstreamPacingProperties.getBurst(),
+                upstreamPacingProperties.getMaxWait(), upstreamPacingProperties.getDefaultPause(),
+                upstreamPacingProperties.getMaxPause(), Clock.systemUTC());
+    }
+
+    /**
+     * Creates the web client for the movie service. The pacing filter is the last one, so only the calls actually sent
+     * are paced.
      *
-     * @param movieServiceUrl                  The movie service URL.
-     * @param authToken                        The auth token.
-     * @param builder                          The web client builder.
-     * @param xRequestIdExchangeFilterFunction The exchange filter function for the X-Request-Id header.
+     * @param movieServiceUrl                          The movie service URL.
+     * @param authToken                                The auth token.
+     * @param builder                                  The web client builder.
+     * @param xRequestIdExchangeFilterFunction         The exchange filter function for the X-Request-Id header.
+     * @param coalescingExchangeFilterFunction         The exchange filter function for the request coalescing.
+     * @param conditionalRequestExchangeFilterFunction The exchange filter function for the conditional requests.
+     * @param upstreamPacer                            The upstream pacer, if enabled.
      * @return The web client for the movie service.
      */
     @Bean
     public WebClient movieServiceWebClient(@Value("${movie.service.url}") String movieServiceUrl,
                                            @Value("${AUTH_TOKEN}") String authToken,
                                            WebClient.Builder builder,
-                                           ExchangeFilterFunction xRequestIdExchangeFilterFunction) {
-        return builder
+                                           ExchangeFilterFunction xRequestIdExchangeFilterFunction,
+                                           ExchangeFilterFunction coalescingExchangeFilterFunction,
+                                           ExchangeFilterFunction conditionalRequestExchangeFilterFunction,
+                                           ObjectProvider<UpstreamPacer> upstreamPacer) {
+        builder
                 .baseUrl(movieServiceUrl)
                 .defaultHeaders(httpHeaders -> {
                     httpHeaders.setContentType(APPLICATION_JSON);
                     httpHeaders.setBearerAuth(authToken);
                 })
                 .filter(xRequestIdExchangeFilterFunction)
-                .build();
+                .filter(coalescingExchangeFilterFunction)
+                .filter(conditionalRequestExchangeFilterFunction);
+        upstreamPacer.ifAvailable(pacer -> builder.filter(new PacingExchangeFilterFunction(pacer)));
+        return builder.build();
     }
 }
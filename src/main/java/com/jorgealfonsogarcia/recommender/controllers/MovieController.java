@@ -24,28 +24,64 @@
 
 package com.jorgealfonsogarcia.recommender.controllers;
 
+import com.jorgealfonsogarcia.recommender.config.CacheProperties;
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.controllers.component.ETagGenerator;
 import com.jorgealfonsogarcia.recommender.domain.models.Genre;
 import com.jorgealfonsogarcia.recommender.domain.models.Language;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
 import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchResult;
+import com.jorgealfonsogarcia.recommender.domain.models.Suggestion;
+import com.jorgealfonsogarcia.recommender.services.AutocompleteService;
 import com.jorgealfonsogarcia.recommender.services.MovieService;
+import com.jorgealfonsogarcia.recommender.services.Staleness;
+import com.jorgealfonsogarcia.recommender.utils.CursorUtils;
+import com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+
+import static com.jorgealfonsogarcia.recommender.utils.CursorUtils.MAXIMUM_LIST_SIZE;
+import static com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils.APPLICATION_SMILE_VALUE;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.MIN_YEAR;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalFields;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalGenres;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalLanguage;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalLanguages;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalYear;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.joinFields;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.maxYear;
 
 /**
  * REST controller for the movie resource.
+ * <p>
+ * The search, genres and languages are encoded as JSON by default, or as Smile or CBOR when the Accept header asks for
+ * them.
  *
  * @author Jorge Garcia
  * @version 1.0.0
@@ -56,95 +92,455 @@ import java.util.List;
 @RequestMapping("/movies")
 public class MovieController {
 
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    private static final int DEFAULT_LOOKUP_LIMIT = 20;
+    private static final int MAX_LOOKUP_QUERY_LENGTH = 256;
+    private static final int MAX_AUTOCOMPLETE_PREFIX_LENGTH = 100;
+
     private final MovieService movieService;
+    private final AutocompleteService autocompleteService;
+    private final ETagGenerator eTagGenerator;
+    private final Scheduler computeScheduler;
+    private final CacheControl referenceDataCacheControl;
+    private final CacheControl searchCacheControl;
+    private final int maxCells;
+    private final int concurrency;
+    private final SearchProperties.Batch batchProperties;
+    private final SearchProperties.Page pageProperties;
+    private final SearchProperties.Lookup lookupProperties;
 
     /**
      * Constructor.
      *
-     * @param movieService The movie service.
+     * @param movieService        The movie service.
+     * @param autocompleteService The autocomplete service.
+     * @param eTagGenerator       The entity tag generator.
+     * @param cacheProperties     The cache properties.
+     * @param searchProperties    The search properties.
+     * @param computeScheduler    The scheduler of the CPU-bound work.
      */
     @Autowired
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService,
+                           AutocompleteService autocompleteService,
+                           ETagGenerator eTagGenerator,
+                           CacheProperties cacheProperties,
+                           SearchProperties searchProperties,
+                           Scheduler computeScheduler) {
         this.movieService = movieService;
+        this.autocompleteService = autocompleteService;
+        this.computeScheduler = computeScheduler;
+        this.eTagGenerator = eTagGenerator;
+        this.maxCells = searchProperties.getMaxCells();
+        this.concurrency = searchProperties.getConcurrency();
+        this.batchProperties = searchProperties.getBatch();
+        this.pageProperties = searchProperties.getPage();
+        this.lookupProperties = searchProperties.getLookup();
+        this.referenceDataCacheControl = CacheControl.maxAge(cacheProperties.getL1Ttl()).cachePublic();
+
+        // Years skipped by the negative cache are searched again when it expires, so searches use the shorter TTL.
+        final var l1Ttl = cacheProperties.getL1Ttl();
+        final var negativeTtl = cacheProperties.getNegative().ttl();
+        final var searchMaxAge = negativeTtl.isZero() || negativeTtl.compareTo(l1Ttl) > 0 ? l1Ttl : negativeTtl;
+        this.searchCacheControl = CacheControl.maxAge(searchMaxAge).cachePublic();
     }
 
     /**
-     * Searches movies by year range, genres and language.
+     * Searches movies by year range, genres and languages. With a page size or a cursor, only a page of the movies is
+     * returned, and the Link header points to the next page.
      *
      * @param startYear The start year.
-     * @param endYear   The end year. It should not exceed 5 years from the start year.
-     * @param genres    The genres. It should not exceed 3 genres.
-     * @param language  The language. It should be ISO 639-1.
-     * @return A Flux with the movies found sorted by release date.
+     * @param endYear   The end year.
+     * @param genres    The genres, by their name in any of the languages.
+     * @param language  The languages. They should be ISO 639-1. The years times the languages should not exceed the
+     *                  maximum upstream calls of a search.
+     * @param pageSize  The maximum number of movies of the page, if paged.
+     * @param cursor    The position of the page, from the Link header of the previous page. It replaces the search
+     *                  parameters.
+     * @param fields    The properties of the movies to return, all of them if not given.
+     * @param request   The request, whose Accept header selects the format of the entity tag.
+     * @return A Mono with the movies found sorted by release date, with their entity tag. If the movie service failed
+     * and stale data was used, with a Warning and an Age header.
      */
     @Operation(summary = "Search movies",
-            description = "Search for movies by a range of years, list of genres, and language.",
+            description = "Search for movies by a range of years, list of genres, and list of languages, merged by "
+                    + "release date. With a page size, "
+                    + "the movies are returned a page at a time, and the Link header has the URL of the next page. "
+                    + "With fields, only those properties of the movies are returned.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successful retrieval of movie list",
-                            content = @Content(mediaType = "application/json")),
+                            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+                                    @Content(mediaType = APPLICATION_SMILE_VALUE),
+                                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+                    @ApiResponse(responseCode = "304", description = "The movie list matches the If-None-Match tag"),
                     @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-    @GetMapping("/search")
-    public Flux<MovieResponse> search(
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<MovieResponse>>> search(
             @Parameter(description = "The start year")
-            @RequestParam Integer startYear,
+            @RequestParam(required = false) Integer startYear,
+
+            @Parameter(description = "The end year")
+            @RequestParam(required = false) Integer endYear,
+
+            @Parameter(description = "The genres, by their name in any of the languages")
+            @RequestParam(required = false) List<String> genres,
+
+            @Parameter(description = "The languages. They should be ISO 639-1. The years times the languages should "
+                    + "not exceed the maximum upstream calls of a search")
+            @RequestParam(required = false) List<String> language,
+
+            @Parameter(description = "The maximum number of movies of the page")
+            @RequestParam(required = false) Integer pageSize,
+
+            @Parameter(description = "The opaque position of the page, from the Link header of the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "The properties of the movies to return, such as id,title,releaseDate")
+            @RequestParam(required = false) List<String> fields,
+
+            ServerHttpRequest request) {
+
+        final SearchQuery query;
+        final SearchCursor position;
+        final Set<MovieField> movieFields;
+        try {
+            movieFields = canonicalFields(fields);
 
-            @Parameter(description = "The end year. It should not exceed 5 years from the start year")
-            @RequestParam Integer endYear,
+            if (cursor != null) {
+                final var decoded = CursorUtils.decode(cursor);
+                position = new SearchCursor(canonicalQuery(decoded.query(), maxCells), decoded.year(),
+                        decoded.index());
+                query = position.query();
+            } else {
+                query = canonicalQuery(new SearchQuery(startYear, endYear, genres, language), maxCells);
+                position = new SearchCursor(query, query.startYear(), 0);
+            }
+
+            if ((pageSize != null || cursor != null)
+                    && (pageSize == null || pageSize < 1 || pageSize > pageProperties.maxSize())) {
+                throw new IllegalArgumentException("Page size should be between 1 and %d"
+                        .formatted(pageProperties.maxSize()));
+            }
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        final var staleness = new Staleness();
+        if (pageSize == null) {
+            return movieService.search(query.startYear(), query.endYear(), query.genres(), query.languages(),
+                            concurrency, movieFields)
+                    .collectList()
+                    .publishOn(computeScheduler)
+                    .map(movies -> cacheable(movies, request, searchCacheControl, staleness))
+                    .contextWrite(staleness.toContext());
+        }
+
+        final var fieldsParameter = MovieField.ALL.equals(movieFields) ? "" : "&fields=" + joinFields(movieFields);
+        return movieService.searchPage(position, pageSize, concurrency, pageProperties.prefetch(), movieFields)
+                .publishOn(computeScheduler)
+                .map(page -> {
+                    final var builder = ok(page, request, searchCacheControl, staleness);
+                    if (page.next() != null) {
+                        builder.header(HttpHeaders.LINK, "</movies/search?pageSize=%d&cursor=%s%s>; rel=\"next\""
+                                .formatted(pageSize, CursorUtils.encode(page.next()), fieldsParameter));
+                    }
+
+                    return builder.body(page.movies());
+                })
+                .contextWrite(staleness.toContext());
+    }
+
+    /**
+     * Searches a batch of movie searches, sharing the upstream calls they have in common.
+     *
+     * @param queries The searches. Each one follows the rules of the single search.
+     * @param fields  The properties of the movies to return, all of them if not given.
+     * @return A Flux with the result of each search, streamed as newline-delimited JSON as each one finishes.
+     */
+    @Operation(summary = "Search movies in batch",
+            description = "Runs many searches at once, fetching each distinct year, genres and language once, and "
+                    + "streams the result of each search, with its position in the batch, as soon as it finishes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful search of the batch",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+                    @ApiResponse(responseCode = "400", description = "Invalid batch or search parameters"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @PostMapping(value = "/search/batch", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_JSON_VALUE})
+    public Flux<SearchResult> searchBatch(
+            @RequestBody List<SearchQuery> queries,
 
-            @Parameter(description = "The genres. It should not exceed 3 genres")
-            @RequestParam List<String> genres,
+            @Parameter(description = "The properties of the movies to return, such as id,title,releaseDate")
+            @RequestParam(required = false) List<String> fields) {
+        if (queries.isEmpty() || queries.size() > batchProperties.maxQueries()) {
+            return Flux.error(new IllegalArgumentException("A batch should have between 1 and %d searches"
+                    .formatted(batchProperties.maxQueries())));
+        }
 
-            @Parameter(description = "The language. It should be ISO 639-1")
-            @RequestParam String language) {
+        final Set<MovieField> movieFields;
+        try {
+            movieFields = canonicalFields(fields);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(e);
+        }
 
-        if (endYear - startYear > 5) {
-            return Flux.error(new IllegalArgumentException("Year range should not exceed 5 years"));
+        final List<SearchQuery> canonicalQueries = new ArrayList<>(queries.size());
+        for (var index = 0; index < queries.size(); index++) {
+            try {
+                canonicalQueries.add(canonicalQuery(queries.get(index), maxCells));
+            } catch (IllegalArgumentException e) {
+                return Flux.error(new IllegalArgumentException("Search %d: %s".formatted(index, e.getMessage())));
+            }
         }
 
-        if (genres.size() > 3) {
-            return Flux.error(new IllegalArgumentException("Genres should not exceed 3"));
+        return movieService.searchBatch(canonicalQueries, batchProperties.concurrency(), movieFields);
+    }
+
+    /**
+     * Looks up movies by the text of their title, original title or overview, among the movies found by the searches.
+     * The lookup is answered from memory, without calling the movie service, so its results grow as more movies are
+     * searched, and clients should revalidate them.
+     *
+     * @param q       The text.
+     * @param limit   The maximum number of movies, 20 if not given.
+     * @param fields  The properties of the movies to return, all of them if not given.
+     * @param request The request, whose Accept header selects the format of the entity tag.
+     * @return A Mono with the movies found, the best matches first, with their entity tag.
+     */
+    @Operation(summary = "Look up movies by text",
+            description = "Looks up the movies found by the searches by the words of their title, original title or "
+                    + "overview, whatever their case or accents, and ranks them by relevance.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful lookup of movies",
+                            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+                                    @Content(mediaType = APPLICATION_SMILE_VALUE),
+                                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+                    @ApiResponse(responseCode = "304", description = "The movie list matches the If-None-Match tag"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+            })
+    @GetMapping(value = "/lookup", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<MovieResponse>>> lookup(
+            @Parameter(description = "The text to look up")
+            @RequestParam(required = false) String q,
+
+            @Parameter(description = "The maximum number of movies")
+            @RequestParam(required = false) Integer limit,
+
+            @Parameter(description = "The properties of the movies to return, such as id,title,releaseDate")
+            @RequestParam(required = false) List<String> fields,
+
+            ServerHttpRequest request) {
+        final Set<MovieField> movieFields;
+        try {
+            movieFields = canonicalFields(fields);
+
+            if (q == null || q.isBlank() || q.length() > MAX_LOOKUP_QUERY_LENGTH) {
+                throw new IllegalArgumentException("Query is required, up to %d characters"
+                        .formatted(MAX_LOOKUP_QUERY_LENGTH));
+            }
+
+            if (limit != null && (limit < 1 || limit > lookupProperties.maxResults())) {
+                throw new IllegalArgumentException("Limit should be between 1 and %d"
+                        .formatted(lookupProperties.maxResults()));
+            }
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
         }
 
-        return movieService.search(startYear, endYear, genres, language);
+        return movieService.lookup(q, limit != null ? limit : Math.min(DEFAULT_LOOKUP_LIMIT,
+                        lookupProperties.maxResults()), movieFields)
+                .map(movies -> cacheable(movies, request, CacheControl.noCache(), new Staleness()));
+    }
+
+    /**
+     * Completes a prefix of the title of a movie with the titles of the movies found by the searches, the most popular
+     * first. The completion is answered from memory, so its results grow as more movies are searched, and clients
+     * should revalidate them.
+     *
+     * @param prefix   The prefix of the title.
+     * @param language The original language of the movies, any language if not given. It should be ISO 639-1.
+     * @param request  The request, whose Accept header selects the format of the entity tag.
+     * @return A Mono with the titles found, with their entity tag.
+     */
+    @Operation(summary = "Autocomplete movie titles",
+            description = "Completes the beginning of a title, whatever its case or accents, with the most popular "
+                    + "titles and original titles of the movies found by the searches.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful completion of the title",
+                            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+                                    @Content(mediaType = APPLICATION_SMILE_VALUE),
+                                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+                    @ApiResponse(responseCode = "304", description = "The titles match the If-None-Match tag"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+            })
+    @GetMapping(value = "/autocomplete", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<Suggestion>>> autocomplete(
+            @Parameter(description = "The beginning of the title")
+            @RequestParam(required = false) String prefix,
+
+            @Parameter(description = "The ISO 639-1 original language of the movies")
+            @RequestParam(required = false) String language,
+
+            ServerHttpRequest request) {
+        if (prefix == null || prefix.isBlank() || prefix.length() > MAX_AUTOCOMPLETE_PREFIX_LENGTH) {
+            return Mono.error(new IllegalArgumentException("Prefix is required, up to %d characters"
+                    .formatted(MAX_AUTOCOMPLETE_PREFIX_LENGTH)));
+        }
+
+        if (language != null && language.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Language should not be blank"));
+        }
+
+        return autocompleteService.complete(prefix, language)
+                .map(suggestions -> cacheable(suggestions, request, CacheControl.noCache(), new Staleness()));
     }
 
     /**
      * Gets all the genres.
      *
      * @param language The language. It should be ISO 639-1.
-     * @return A Mono with the genres found.
+     * @param request  The request, whose Accept header selects the format of the entity tag.
+     * @return A Mono with the genres found, with their entity tag. If the movie service failed and stale genres were
+     * used, with a Warning and an Age header.
      */
     @Operation(summary = "Get all genres",
             description = "Retrieves a list of all genres for a specified language.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successful retrieval of genres",
-                            content = @Content(mediaType = "application/json")),
+                            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+                                    @Content(mediaType = APPLICATION_SMILE_VALUE),
+                                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+                    @ApiResponse(responseCode = "304", description = "The genres match the If-None-Match tag"),
                     @ApiResponse(responseCode = "404", description = "Genres not found for the specified language"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-    @GetMapping("/genres/{language}")
-    public Mono<List<Genre>> getGenres(
+    @GetMapping(value = "/genres/{language}", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<Genre>>> getGenres(
             @Parameter(description = "The ISO 639-1 language code")
-            @PathVariable String language) {
-        return movieService.getGenres(language);
+            @PathVariable String language,
+
+            ServerHttpRequest request) {
+        final var staleness = new Staleness();
+        return movieService.getGenres(canonicalLanguage(language))
+                .map(genres -> cacheable(genres, request, referenceDataCacheControl, staleness))
+                .contextWrite(staleness.toContext());
     }
 
     /**
      * Gets all the languages.
      *
-     * @return A Flux with the languages found.
+     * @param request The request, whose Accept header selects the format of the entity tag.
+     * @return A Mono with the languages found, with their entity tag. If the movie service failed and stale languages
+     * were used, with a Warning and an Age header.
      */
     @Operation(summary = "Get all languages",
             description = "Retrieves a list of all languages.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successful retrieval of languages",
-                            content = @Content(mediaType = "application/json")),
+                            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+                                    @Content(mediaType = APPLICATION_SMILE_VALUE),
+                                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+                    @ApiResponse(responseCode = "304", description = "The languages match the If-None-Match tag"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-    @GetMapping("/languages")
-    public Flux<Language> getLanguages() {
-        return movieService.getLanguages();
+    @GetMapping(value = "/languages", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<Language>>> getLanguages(ServerHttpRequest request) {
+        final var staleness = new Staleness();
+        return movieService.getLanguages()
+                .collectList()
+                .map(languages -> cacheable(languages, request, referenceDataCacheControl, staleness))
+                .contextWrite(staleness.toContext());
+    }
+
+    /**
+     * Validates a search and returns it with its years, genres and languages in canonical form. The years are clamped
+     * to the years that can have movies, as the response cache keys them. A search is bounded by its upstream discover
+     * calls, one per year and language, rather than by its years or genres alone, and its genres and languages by the
+     * lists a page cursor holds.
+     *
+     * @param query    The search.
+     * @param maxCells The maximum upstream discover calls of a search.
+     * @return The canonical search.
+     * @throws IllegalArgumentException If the search is not valid.
+     */
+    static SearchQuery canonicalQuery(final SearchQuery query,
+                                      final int maxCells) {
+        if (query == null || query.startYear() == null || query.endYear() == null) {
+            throw new IllegalArgumentException("Start year and end year are required");
+        }
+
+        if (query.endYear() < query.startYear()) {
+            throw new IllegalArgumentException("End year should not be before the start year");
+        }
+
+        if (query.endYear() < MIN_YEAR || query.startYear() > maxYear()) {
+            throw new IllegalArgumentException("Years should be between %d and %d".formatted(MIN_YEAR, maxYear()));
+        }
+
+        final var startYear = canonicalYear(query.startYear());
+        final var endYear = canonicalYear(query.endYear());
+
+        if (query.genres() == null) {
+            throw new IllegalArgumentException("Genres are required");
+        }
+
+        if (query.languages() == null || query.languages().isEmpty()
+                || query.languages().stream().anyMatch(String::isBlank)) {
+            throw new IllegalArgumentException("Language is required");
+        }
+
+        final var distinctLanguages = canonicalLanguages(query.languages());
+        final var distinctGenres = canonicalGenres(query.genres());
+        if (distinctGenres.size() > MAXIMUM_LIST_SIZE || distinctLanguages.size() > MAXIMUM_LIST_SIZE) {
+            throw new IllegalArgumentException("Genres and languages should not exceed %d each"
+                    .formatted(MAXIMUM_LIST_SIZE));
+        }
+
+        final var cells = (endYear - startYear + 1L) * distinctLanguages.size();
+        if (cells > maxCells) {
+            throw new IllegalArgumentException("Years times languages should not exceed %d".formatted(maxCells));
+        }
+
+        return new SearchQuery(startYear, endYear, distinctGenres, distinctLanguages);
+    }
+
+    /**
+     * Wraps a body with its entity tag and cache control. For a GET whose If-None-Match matches the tag, WebFlux
+     * answers 304 Not Modified without writing the body.
+     */
+    private <T> ResponseEntity<T> cacheable(final T body,
+                                            final ServerHttpRequest request,
+                                            final CacheControl cacheControl,
+                                            final Staleness staleness) {
+        return ok(body, request, cacheControl, staleness).body(body);
+    }
+
+    /**
+     * Starts a successful response with the entity tag of the given value in the format negotiated from the Accept
+     * header, so each of the response formats has its own tag. A response built from stale data is flagged with a
+     * Warning and its Age, and must be revalidated, so neither the response cache nor the clients keep it as fresh.
+     */
+    private ResponseEntity.BodyBuilder ok(final Object value,
+                                          final ServerHttpRequest request,
+                                          final CacheControl cacheControl,
+                                          final Staleness staleness) {
+        final var mediaType = MediaTypeUtils.negotiate(request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+        final var builder = ResponseEntity.ok()
+                .eTag(eTagGenerator.generate(value, mediaType != null ? mediaType : MediaType.APPLICATION_JSON))
+                .varyBy(HttpHeaders.ACCEPT);
+        if (!staleness.isStale()) {
+            return builder.cacheControl(cacheControl);
+        }
+
+        return builder.cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.WARNING, STALE_WARNING)
+                .header(HttpHeaders.AGE, String.valueOf(staleness.getAge().toSeconds()));
     }
 }
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers;
+
+import com.jorgealfonsogarcia.recommender.admission.AdmissionController;
+import com.jorgealfonsogarcia.recommender.admission.AdmissionRejectedException;
+import com.jorgealfonsogarcia.recommender.admission.ClientRateLimiter;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Language;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import com.jorgealfonsogarcia.recommender.services.MovieService;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.exceptions.RejectedException;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalFields;
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalLanguage;
+
+/**
+ * RSocket controller of the movies, for the internal consumers that pull the results at their own pace.
+ * <p>
+ * The search is a request-stream: the request-n demand of the consumer reaches the upstream discover calls, which are
+ * made a year at a time as the movies are requested, so a slow consumer does not make the search buffer all its
+ * movies. A search can be limited to some properties of the movies with the route of its fields. The genres and
+ * languages are request-responses.
+ * <p>
+ * The requests go through the same limits as the HTTP ones: each connection is a client of the
+ * {@link ClientRateLimiter}, charged the same cost, and each request holds a permit of its route class in the
+ * {@link AdmissionController} until it terminates. Limited and shed requests are rejected with a
+ * {@link RejectedException}.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Controller
+public class MovieRSocketController {
+
+    private final MovieService movieService;
+    private final AdmissionController admissionController;
+    private final ClientRateLimiter clientRateLimiter;
+    private final int maxCells;
+    private final int concurrency;
+
+    /**
+     * Constructor.
+     *
+     * @param movieService        The movie service.
+     * @param admissionController The admission controller, if enabled.
+     * @param clientRateLimiter   The client rate limiter, if enabled.
+     * @param searchProperties    The search properties.
+     */
+    @Autowired
+    public MovieRSocketController(MovieService movieService,
+                                  ObjectProvider<AdmissionController> admissionController,
+                                  ObjectProvider<ClientRateLimiter> clientRateLimiter,
+                                  SearchProperties searchProperties) {
+        this(movieService, admissionController.getIfAvailable(), clientRateLimiter.getIfAvailable(),
+                searchProperties);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param movieService        The movie service.
+     * @param admissionController The admission controller, or null if it is disabled.
+     * @param clientRateLimiter   The client rate limiter, or null if it is disabled.
+     * @param searchProperties    The search properties.
+     */
+    MovieRSocketController(MovieService movieService,
+                           AdmissionController admissionController,
+                           ClientRateLimiter clientRateLimiter,
+                           SearchProperties searchProperties) {
+        this.movieService = movieService;
+        this.admissionController = admissionController;
+        this.clientRateLimiter = clientRateLimiter;
+        this.maxCells = searchProperties.getMaxCells();
+        this.concurrency = searchProperties.getConcurrency();
+    }
+
+    /**
+     * Searches movies by year range, genres and languages.
+     *
+     * @param query     The search. It follows the rules of the HTTP search.
+     * @param requester The requester of the connection, which is charged the search.
+     * @return A Flux with the movies found sorted by release date, emitted as they are requested.
+     */
+    @MessageMapping("movies.search")
+    public Flux<MovieResponse> search(final SearchQuery query,
+                                      final RSocketRequester requester) {
+        return search(query, MovieField.ALL, requester);
+    }
+
+    /**
+     * Searches movies by year range, genres and languages, returning only some properties of the movies.
+     *
+     * @param query     The search. It follows the rules of the HTTP search.
+     * @param fields    The properties of the movies to return, joined by commas.
+     * @param requester The requester of the connection, which is charged the search.
+     * @return A Flux with the movies found sorted by release date, emitted as they are requested.
+     */
+    @MessageMapping("movies.search.fields.{fields}")
+    public Flux<MovieResponse> search(final SearchQuery query,
+                                      @DestinationVariable String fields,
+                                      final RSocketRequester requester) {
+        final Set<MovieField> movieFields;
+        try {
+            movieFields = canonicalFields(List.of(fields));
+        } catch (IllegalArgumentException e) {
+            return Flux.error(e);
+        }
+
+        return search(query, movieFields, requester);
+    }
+
+    /**
+     * Gets all the genres.
+     *
+     * @param language  The language. It should be ISO 639-1.
+     * @param requester The requester of the connection, which is charged the lookup.
+     * @return A Mono with the genres found.
+     */
+    @MessageMapping("movies.genres.{language}")
+    public Mono<List<Genre>> getGenres(@DestinationVariable String language,
+                                       final RSocketRequester requester) {
+        return limit(requester, RouteClass.CATALOG, 1, () -> movieService.getGenres(canonicalLanguage(language)))
+                .next();
+    }
+
+    /**
+     * Gets all the languages.
+     *
+     * @param requester The requester of the connection, which is charged the lookup.
+     * @return A Mono with the languages found.
+     */
+    @MessageMapping("movies.languages")
+    public Mono<List<Language>> getLanguages(final RSocketRequester requester) {
+        return limit(requester, RouteClass.CATALOG, 1, () -> movieService.getLanguages().collectList())
+                .next();
+    }
+
+    private Flux<MovieResponse> search(final SearchQuery query,
+                                       final Set<MovieField> fields,
+                                       final RSocketRequester requester) {
+        final SearchQuery canonicalQuery;
+        try {
+            canonicalQuery = MovieController.canonicalQuery(query, maxCells);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(e);
+        }
+
+        final var cells = (canonicalQuery.endYear() - canonicalQuery.startYear() + 1)
+                * canonicalQuery.languages().size();
+        return limit(requester, RouteClass.SEARCH, cells,
+                () -> movieService.streamSearch(canonicalQuery, concurrency, fields));
+    }
+
+    /**
+     * Charges a request to the client of its connection and runs it holding a permit of its route class, released when
+     * it terminates or is cancelled.
+     */
+    private <T> Flux<T> limit(final RSocketRequester requester,
+                              final RouteClass routeClass,
+                              final int cost,
+                              final Supplier<? extends Publisher<T>> request) {
+        return Flux.defer(() -> {
+            if (clientRateLimiter != null) {
+                final var retryAfter = clientRateLimiter.tryAcquire(client(requester), cost);
+                if (!retryAfter.isZero()) {
+                    final var seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+                    return Flux.error(new RejectedException(
+                            "The rate limit of the client is exceeded, retry after %d seconds".formatted(seconds)));
+                }
+            }
+
+            if (admissionController == null) {
+                return request.get();
+            }
+
+            return admissionController.acquire(routeClass)
+                    .onErrorMap(AdmissionRejectedException.class, e -> new RejectedException(e.getMessage()))
+                    .flatMapMany(permit -> Flux.from(request.get()).doFinally(signal -> permit.release()));
+        });
+    }
+
+    /**
+     * Gets the client of a connection. Its requester is the same object for the whole connection.
+     */
+    private static String client(final RSocketRequester requester) {
+        return "rsocket:%x".formatted(System.identityHashCode(requester));
+    }
+
+    /**
+     * Handles the invalid requests, sending their message to the consumer as an application error rather than logging
+     * them as unhandled.
+     *
+     * @param e The exception.
+     * @return A Mono with the application error.
+     */
+    @MessageExceptionHandler
+    public Mono<Void> handleIllegalArgumentException(IllegalArgumentException e) {
+        return Mono.error(new ApplicationErrorException(e.getMessage()));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers;
+
+import com.jorgealfonsogarcia.recommender.config.RecommendationProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Interaction;
+import com.jorgealfonsogarcia.recommender.domain.models.Recommendation;
+import com.jorgealfonsogarcia.recommender.services.RecommendationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils.APPLICATION_SMILE_VALUE;
+
+/**
+ * REST controller for the user resource: the interactions of the users with the movies, and the movies recommended to
+ * them.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Tag(name = "User Controller", description = "API endpoints related to user interactions and recommendations")
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final RecommendationService recommendationService;
+    private final int maxResults;
+
+    /**
+     * Constructor.
+     *
+     * @param recommendationService    The recommendation service.
+     * @param recommendationProperties The recommendation properties.
+     */
+    @Autowired
+    public UserController(RecommendationService recommendationService,
+                          RecommendationProperties recommendationProperties) {
+        this.recommendationService = recommendationService;
+        this.maxResults = recommendationProperties.getMaxResults();
+    }
+
+    /**
+     * Records an interaction of a user with a movie.
+     *
+     * @param id          The id of the user.
+     * @param interaction The interaction, with the id of a movie returned by the searches.
+     * @return A Mono with an accepted response once the interaction is recorded. It is taken into account by the
+     * recommendations after the next training.
+     */
+    @Operation(summary = "Record an interaction",
+            description = "Appends a view or a like of a movie by a user to the interaction log, which the "
+                    + "recommendation model is trained from.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "The interaction was recorded"),
+                    @ApiResponse(responseCode = "400", description = "Invalid interaction")
+            })
+    @PostMapping(value = "/{id}/interactions", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> recordInteraction(
+            @Parameter(description = "The id of the user")
+            @PathVariable Integer id,
+
+            @RequestBody Interaction interaction) {
+        if (interaction.movieId() == null || interaction.movieId() < 1 || interaction.type() == null) {
+            return Mono.error(new IllegalArgumentException("A movie id and an interaction type are required"));
+        }
+
+        return recommendationService.record(id, interaction)
+                .then(Mono.fromSupplier(() -> ResponseEntity.accepted().<Void>build()));
+    }
+
+    /**
+     * Recommends movies to a user, from the interactions of all the users.
+     *
+     * @param id    The id of the user.
+     * @param limit The maximum number of movies, 10 if not given.
+     * @return A Mono with the movies, the best first, which the user did not interact with yet. A user without
+     * interactions gets the most popular movies.
+     */
+    @Operation(summary = "Recommend movies",
+            description = "Recommends the movies a user is most likely to like, from a matrix factorization of the "
+                    + "interactions of all the users.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful recommendation of movies",
+                            content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+                                    @Content(mediaType = APPLICATION_SMILE_VALUE),
+                                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)}),
+                    @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+            })
+    @GetMapping(value = "/{id}/recommendations", produces = {MediaType.APPLICATION_JSON_VALUE,
+            APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<Recommendation>>> getRecommendations(
+            @Parameter(description = "The id of the user")
+            @PathVariable Integer id,
+
+            @Parameter(description = "The maximum number of movies")
+            @RequestParam(required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > maxResults)) {
+            return Mono.error(new IllegalArgumentException("Limit should be between 1 and %d".formatted(maxResults)));
+        }
+
+        // The recommendations are personal and change with every training, so they are not cached.
+        return recommendationService.recommend(id, limit != null ? limit : Math.min(DEFAULT_LIMIT, maxResults))
+                .map(recommendations -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .body(recommendations));
+    }
+}
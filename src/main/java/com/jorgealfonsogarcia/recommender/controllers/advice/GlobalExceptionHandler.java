@@ -24,15 +24,24 @@
 
 package com.jorgealfonsogarcia.recommender.controllers.advice;
 
+import com.jorgealfonsogarcia.recommender.admission.UpstreamThrottledException;
 import com.jorgealfonsogarcia.recommender.domain.models.ErrorResponse;
+import com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 /**
  * Manages exceptions thrown by the controllers.
+ * <p>
+ * The error responses are written in the format negotiated for the movie responses, and in JSON when none of them is
+ * acceptable. Otherwise, the format would be the first writer able to encode them, which is CBOR.
  *
  * @author Jorge Garcia
  * @version 1.0.0
@@ -44,24 +53,53 @@ public class GlobalExceptionHandler {
     /**
      * Handles IllegalArgumentExceptions thrown by the controllers.
      *
-     * @param ex The exception thrown.
+     * @param ex      The exception thrown.
+     * @param request The request.
      * @return A ResponseEntity with the error response and an HTTP 400 status code.
      */
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex,
+                                                                        ServerHttpRequest request) {
         var errorResponse = new ErrorResponse("Invalid Request", ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return error(HttpStatus.BAD_REQUEST, request).body(errorResponse);
     }
 
     /**
      * Handles WebClientResponseExceptions thrown by the controllers.
      *
-     * @param ex The exception thrown.
+     * @param ex      The exception thrown.
+     * @param request The request.
      * @return A ResponseEntity with the error response and the HTTP status code.
      */
     @ExceptionHandler(WebClientResponseException.class)
-    public ResponseEntity<ErrorResponse> handleWebClientResponseException(WebClientResponseException ex) {
+    public ResponseEntity<ErrorResponse> handleWebClientResponseException(WebClientResponseException ex,
+                                                                          ServerHttpRequest request) {
         var errorResponse = new ErrorResponse(ex.getStatusText(), ex.getMessage());
-        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+        return error(ex.getStatusCode(), request).body(errorResponse);
+    }
+
+    /**
+     * Handles UpstreamThrottledExceptions thrown by the controllers. The quota of the movie service is ours, not the
+     * client's, so it is reported as unavailable rather than as too many requests.
+     *
+     * @param ex      The exception thrown.
+     * @param request The request.
+     * @return A ResponseEntity with the error response, a Retry-After header and an HTTP 503 status code.
+     */
+    @ExceptionHandler(UpstreamThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamThrottledException(UpstreamThrottledException ex,
+                                                                          ServerHttpRequest request) {
+        var errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), ex.getMessage());
+        return error(HttpStatus.SERVICE_UNAVAILABLE, request)
+                .header(HttpHeaders.RETRY_AFTER,
+                        String.valueOf(Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000)))
+                .body(errorResponse);
+    }
+
+    private static ResponseEntity.BodyBuilder error(final HttpStatusCode statusCode,
+                                                    final ServerHttpRequest request) {
+        final var mediaType = MediaTypeUtils.negotiate(request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+        return ResponseEntity.status(statusCode)
+                .contentType(mediaType != null ? mediaType : MediaType.APPLICATION_JSON);
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jorgealfonsogarcia.recommender.admission.AdmissionController;
+import com.jorgealfonsogarcia.recommender.admission.AdmissionRejectedException;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import com.jorgealfonsogarcia.recommender.domain.models.ErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Runs the movie requests through the {@link AdmissionController}, answering the shed ones with 503 Service Unavailable
+ * and a Retry-After header.
+ * <p>
+ * It runs after the {@link ResponseCacheWebFilter}, so the requests answered from the response cache are never shed.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionWebFilter implements WebFilter {
+
+    private final AdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor.
+     *
+     * @param admissionController The admission controller.
+     * @param objectMapper        The object mapper of the error responses.
+     */
+    @Autowired
+    public AdmissionWebFilter(AdmissionController admissionController,
+                              ObjectMapper objectMapper) {
+        this.admissionController = admissionController;
+        this.objectMapper = objectMapper;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final var request = exchange.getRequest();
+        final var routeClass = RouteClass.of(request.getMethod(), request.getPath().pathWithinApplication().value());
+        if (routeClass.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        return admissionController.acquire(routeClass.get())
+                .flatMap(permit -> chain.filter(exchange).doFinally(signal -> permit.release()))
+                .onErrorResume(AdmissionRejectedException.class, e -> reject(exchange, e));
+    }
+
+    private Mono<Void> reject(final ServerWebExchange exchange,
+                              final AdmissionRejectedException e) {
+        final byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                    e.getMessage()));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        final var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        final var headers = response.getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents the exchange filter function that shares a single in-flight GET among all the concurrent requests to the
+ * same URL.
+ * <p>
+ * URLs are compared in a normalized form: lowercase scheme and host, and query parameters sorted by name. The first
+ * request sends the exchange and buffers the body, and the requests that arrive while it is in flight, or while its
+ * response is being delivered, receive a copy of the same response. The exchange is cancelled only when all its
+ * requests cancel. The headers of the joining requests, such as the X-Request-Id, are not sent.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class CoalescingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private final Map<String, Mono<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            requests.incrementAndGet();
+            final var key = normalize(request.url());
+            final var created = new AtomicReference<Mono<BufferedResponse>>();
+            final var shared = inFlight.computeIfAbsent(key, ignored -> {
+                created.set(share(key, request, next));
+                return created.get();
+            });
+            if (created.get() == null) {
+                coalesced.incrementAndGet();
+            }
+
+            return shared.map(BufferedResponse::toClientResponse);
+        });
+    }
+
+    /**
+     * Gets the number of GET requests filtered.
+     *
+     * @return The number of GET requests.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the number of GET requests that joined an exchange already in flight.
+     *
+     * @return The number of coalesced requests.
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Shares the exchange of a request. The response is kept for the requests that join after it is emitted, until the
+     * exchange is removed, and the exchange is cancelled when all its requests cancel.
+     */
+    private Mono<BufferedResponse> share(final String key,
+                                         final ClientRequest request,
+                                         final ExchangeFunction next) {
+        final var self = new AtomicReference<Mono<BufferedResponse>>();
+        final var shared = next.exchange(request)
+                .flatMap(CoalescingExchangeFilterFunction::buffer)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(shared);
+        return shared;
+    }
+
+    private static Mono<BufferedResponse> buffer(final ClientResponse response) {
+        return DataBufferUtils.join(response.body((inputMessage, context) -> inputMessage.getBody()))
+                .map(buffer -> {
+                    final var body = new byte[buffer.readableByteCount()];
+                    buffer.read(body);
+                    DataBufferUtils.release(buffer);
+                    return body;
+                })
+                .defaultIfEmpty(new byte[0])
+                .map(body -> new BufferedResponse(response, body));
+    }
+
+    private static String normalize(final URI url) {
+        final var components = UriComponentsBuilder.fromUri(url).build();
+        final var builder = UriComponentsBuilder.newInstance()
+                .scheme(components.getScheme() != null ? components.getScheme().toLowerCase(Locale.ROOT) : null)
+                .host(components.getHost() != null ? components.getHost().toLowerCase(Locale.ROOT) : null)
+                .port(components.getPort())
+                .path(components.getPath());
+        new TreeMap<>(components.getQueryParams())
+                .forEach((name, values) -> builder.queryParam(name, values.toArray()));
+        return builder.build().toUriString();
+    }
+
+    /**
+     * A response whose body is read, so it can be replayed to each request sharing it.
+     */
+    private record BufferedResponse(ClientResponse response, byte[] body) {
+
+        private ClientResponse toClientResponse() {
+            return response.mutate()
+                    .body(Flux.defer(() -> Flux.just(wrap(body))))
+                    .build();
+        }
+
+        private static DataBuffer wrap(final byte[] body) {
+            return DefaultDataBufferFactory.sharedInstance.wrap(body);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Represents the exchange filter function that revalidates upstream responses with their entity tags.
+ * <p>
+ * The last successful response of each URL under the given paths is kept with its strong entity tag. The next request
+ * to that URL is sent with If-None-Match, and a 304 Not Modified answer is replaced by the kept response. Upstream
+ * responses without a strong entity tag are passed through.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class ConditionalRequestExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private static final long MAXIMUM_SIZE = 1000L;
+
+    private final List<String> paths;
+    private final Cache<URI, StoredResponse> responses = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    /**
+     * Constructor.
+     *
+     * @param paths The paths of the upstream resources that are revalidated.
+     */
+    public ConditionalRequestExchangeFilterFunction(List<String> paths) {
+        this.paths = List.copyOf(paths);
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET || !paths.contains(request.url().getPath())) {
+            return next.exchange(request);
+        }
+
+        final var stored = responses.getIfPresent(request.url());
+        final var conditionalRequest = stored == null
+                ? request
+                : ClientRequest.from(request).headers(headers -> headers.setIfNoneMatch(stored.eTag())).build();
+
+        return next.exchange(conditionalRequest).flatMap(response -> {
+            if (stored != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                return Mono.just(response.mutate()
+                        .statusCode(HttpStatus.OK)
+                        .headers(headers -> {
+                            headers.clear();
+                            headers.addAll(stored.headers());
+                        })
+                        .body(Flux.defer(() -> Flux.just(wrap(stored.body()))))
+                        .build());
+            }
+
+            final var eTag = response.headers().asHttpHeaders().getETag();
+            if (response.statusCode() != HttpStatus.OK || eTag == null || eTag.startsWith("W/")) {
+                return Mono.just(response);
+            }
+
+            return DataBufferUtils.join(response.body((inputMessage, context) -> inputMessage.getBody()))
+                    .map(buffer -> {
+                        final var body = new byte[buffer.readableByteCount()];
+                        buffer.read(body);
+                        DataBufferUtils.release(buffer);
+                        return body;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> {
+                        final var headers = new HttpHeaders();
+                        headers.addAll(response.headers().asHttpHeaders());
+                        responses.put(request.url(), new StoredResponse(eTag, headers, body));
+                        return response.mutate()
+                                .body(Flux.defer(() -> Flux.just(wrap(body))))
+                                .build();
+                    });
+        });
+    }
+
+    private static DataBuffer wrap(final byte[] body) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(body);
+    }
+
+    private record StoredResponse(String eTag, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Generates strong entity tags for the response bodies.
+ * <p>
+ * The tag is a SHA-256 digest of the JSON representation of the body, streamed into the digest without buffering it,
+ * followed by the format of the response other than JSON, as each format is a different representation with its own
+ * strong tag. Nothing is kept between requests: the cached responses keep their tag in the response cache, so a body
+ * is only digested when the controller builds it.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class ETagGenerator {
+
+    private static final int TAG_BYTES = 16;
+    private static final Map<MediaType, String> FORMAT_SUFFIXES = Map.of(
+            MediaTypeUtils.APPLICATION_SMILE, "-smile",
+            MediaType.APPLICATION_CBOR, "-cbor");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapper The object mapper of the JSON responses.
+     */
+    @Autowired
+    public ETagGenerator(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Gets the entity tag of a body in a response format.
+     *
+     * @param body      The body.
+     * @param mediaType The format of the response.
+     * @return The strong entity tag, quoted.
+     */
+    public String generate(final Object body,
+                           final MediaType mediaType) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (var outputStream = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            objectMapper.writeValue(outputStream, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return "\"%s%s\"".formatted(Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(Arrays.copyOf(digest.digest(), TAG_BYTES)),
+                FORMAT_SUFFIXES.getOrDefault(new MediaType(mediaType.getType(), mediaType.getSubtype()), ""));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.jorgealfonsogarcia.recommender.admission.UpstreamPacer;
+import com.jorgealfonsogarcia.recommender.admission.UpstreamThrottledException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Represents the exchange filter function that paces the calls to the movie service with the {@link UpstreamPacer}.
+ * <p>
+ * Each call waits for its turn before it is sent, and waits again if the calls were paused meanwhile. A call answered
+ * with 429 Too Many Requests pauses all the calls and is sent once more after the pause. If it is throttled again, or
+ * its turn is later than the maximum wait, it fails with an {@link UpstreamThrottledException}.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class PacingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private final UpstreamPacer upstreamPacer;
+
+    /**
+     * Constructor.
+     *
+     * @param upstreamPacer The upstream pacer.
+     */
+    public PacingExchangeFilterFunction(UpstreamPacer upstreamPacer) {
+        this.upstreamPacer = upstreamPacer;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return send(request, next, true);
+    }
+
+    private Mono<ClientResponse> send(final ClientRequest request,
+                                      final ExchangeFunction next,
+                                      final boolean resendIfThrottled) {
+        return Mono.defer(this::awaitTurn)
+                .then(Mono.defer(() -> next.exchange(request)))
+                .flatMap(response -> {
+                    if (!upstreamPacer.onResponse(response.statusCode(), response.headers().asHttpHeaders())) {
+                        return Mono.just(response);
+                    }
+
+                    return response.releaseBody()
+                            .then(resendIfThrottled
+                                    ? send(request, next, false)
+                                    : Mono.error(() -> new UpstreamThrottledException(
+                                    upstreamPacer.getPauseRemaining())));
+                });
+    }
+
+    private Mono<Void> awaitTurn() {
+        final var wait = upstreamPacer.reserve();
+        if (wait.isZero()) {
+            return Mono.empty();
+        }
+
+        return Mono.delay(wait)
+                .then(Mono.defer(() -> upstreamPacer.getPauseRemaining().isZero() ? Mono.empty() : awaitTurn()));
+    }
+}
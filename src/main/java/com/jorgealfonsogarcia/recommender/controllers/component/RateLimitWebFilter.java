@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jorgealfonsogarcia.recommender.admission.ClientRateLimiter;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import com.jorgealfonsogarcia.recommender.config.RateLimitProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.ErrorResponse;
+import com.jorgealfonsogarcia.recommender.utils.RequestCostUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static com.jorgealfonsogarcia.recommender.config.ApplicationHttpHeaders.X_API_KEY;
+
+/**
+ * Limits the rate of the movie requests of each client, identified by its X-Api-Key header or, without it, by its IP
+ * address. Searches are charged by their upstream discover calls. Limited requests are answered with 429 Too Many
+ * Requests and a Retry-After header.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+@Order(-1)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitWebFilter implements WebFilter {
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor.
+     *
+     * @param clientRateLimiter   The client rate limiter.
+     * @param rateLimitProperties The rate limit properties.
+     * @param objectMapper        The object mapper of the error responses.
+     */
+    @Autowired
+    public RateLimitWebFilter(ClientRateLimiter clientRateLimiter,
+                              RateLimitProperties rateLimitProperties,
+                              ObjectMapper objectMapper) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final var request = exchange.getRequest();
+        final var routeClass = RouteClass.of(request.getMethod(), request.getPath().pathWithinApplication().value());
+        if (routeClass.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        final var cost = switch (routeClass.get()) {
+            case CATALOG -> 1;
+            case SEARCH -> RequestCostUtils.searchCells(request.getQueryParams());
+            case BATCH -> rateLimitProperties.getBatchCost();
+        };
+        final var retryAfter = clientRateLimiter.tryAcquire(client(request), cost);
+        return retryAfter.isZero() ? chain.filter(exchange) : reject(exchange, retryAfter);
+    }
+
+    private static String client(final ServerHttpRequest request) {
+        final var apiKey = request.getHeaders().getFirst(X_API_KEY.getHeader());
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:%s".formatted(apiKey);
+        }
+
+        final var remoteAddress = request.getRemoteAddress();
+        return "ip:%s".formatted(remoteAddress != null ? remoteAddress.getHostString() : "unknown");
+    }
+
+    private Mono<Void> reject(final ServerWebExchange exchange,
+                              final Duration retryAfter) {
+        final byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                    "The rate limit of the client is exceeded"));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        final var headers = response.getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
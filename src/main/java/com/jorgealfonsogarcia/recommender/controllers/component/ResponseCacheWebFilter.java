@@ -0,0 +1,219 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.cache.ResponseCache;
+import com.jorgealfonsogarcia.recommender.services.CacheDependencies;
+import com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils;
+import com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+/**
+ * Answers the movie requests from the {@link ResponseCache}, writing the cached bytes without calling the controller.
+ * <p>
+ * Requests are keyed on their canonical form, so equivalent queries share a response, and on the response format
+ * negotiated from their Accept header. On a miss, a successful response with an entity tag, in the negotiated format,
+ * is captured as it is written. On a hit, the compressed body is written when the client accepts gzip, with its own
+ * entity tag ending in -gz, and a matching If-None-Match is answered with 304 Not Modified.
+ * <p>
+ * The discover calls a captured response is built from are recorded in the {@link MovieKeyIndex}, so it is evicted
+ * when one of their movies changes upstream.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(prefix = "app.cache.response", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheWebFilter implements WebFilter {
+
+    private static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    private final ResponseCache responseCache;
+    private final MovieKeyIndex movieKeyIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param responseCache The response cache.
+     * @param movieKeyIndex The cache keys holding each movie.
+     */
+    @Autowired
+    public ResponseCacheWebFilter(ResponseCache responseCache,
+                                  MovieKeyIndex movieKeyIndex) {
+        this.responseCache = responseCache;
+        this.movieKeyIndex = movieKeyIndex;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final var request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        final var canonicalKey = QueryKeyUtils.canonicalKey(request.getPath().pathWithinApplication().value(),
+                request.getQueryParams());
+        final var mediaType = MediaTypeUtils.negotiate(request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+        if (canonicalKey.isEmpty() || mediaType == null) {
+            return chain.filter(exchange);
+        }
+
+        final var key = MediaType.APPLICATION_JSON.equals(mediaType)
+                ? canonicalKey.get()
+                : "%s;%s".formatted(canonicalKey.get(), mediaType);
+        final var cachedResponse = responseCache.get(key);
+        if (cachedResponse != null) {
+            return write(exchange, cachedResponse);
+        }
+
+        final var dependencies = new CacheDependencies();
+        final var capturingResponse = new CapturingResponse(exchange.getResponse(), key, mediaType, dependencies);
+        return chain.filter(exchange.mutate().response(capturingResponse).build())
+                .contextWrite(dependencies.toContext());
+    }
+
+    private Mono<Void> write(final ServerWebExchange exchange,
+                             final ResponseCache.CachedResponse cachedResponse) {
+        final var response = exchange.getResponse();
+        final var headers = response.getHeaders();
+        headers.setContentType(MediaType.parseMediaType(cachedResponse.contentType()));
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (cachedResponse.cacheControl() != null) {
+            headers.setCacheControl(cachedResponse.cacheControl());
+        }
+
+        if (cachedResponse.link() != null) {
+            headers.set(HttpHeaders.LINK, cachedResponse.link());
+        }
+
+        var body = cachedResponse.body();
+        var eTag = cachedResponse.eTag();
+        final var gzip = cachedResponse.gzipBody() != null && acceptsGzip(exchange.getRequest());
+        if (cachedResponse.gzipBody() != null) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (gzip) {
+            body = cachedResponse.gzipBody();
+            eTag = gzipETag(eTag);
+        }
+
+        if (exchange.checkNotModified(eTag)) {
+            return response.setComplete();
+        }
+
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * Gets the entity tag of the compressed body, as a content coding is a different representation with its own tag.
+     */
+    private static String gzipETag(final String eTag) {
+        return eTag.endsWith("\"")
+                ? "%s%s\"".formatted(eTag.substring(0, eTag.length() - 1), GZIP_ETAG_SUFFIX)
+                : eTag + GZIP_ETAG_SUFFIX;
+    }
+
+    private static boolean acceptsGzip(final ServerHttpRequest request) {
+        return request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(coding -> coding.trim().split(";"))
+                .anyMatch(parts -> GZIP.equalsIgnoreCase(parts[0].trim())
+                        && (parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?")));
+    }
+
+    /**
+     * Stores the body of a successful response in the cache as it is written, if it is in the negotiated format.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final MediaType mediaType;
+        private final CacheDependencies dependencies;
+
+        private CapturingResponse(final ServerHttpResponse delegate,
+                                  final String key,
+                                  final MediaType mediaType,
+                                  final CacheDependencies dependencies) {
+            super(delegate);
+            this.key = key;
+            this.mediaType = mediaType;
+            this.dependencies = dependencies;
+        }
+
+        @SuppressWarnings("NullableProblems")
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            final var headers = getHeaders();
+            final var statusCode = getStatusCode();
+            if ((statusCode != null && !HttpStatus.OK.equals(statusCode)) || headers.getETag() == null
+                    || headers.getContentType() == null || !mediaType.equalsTypeAndSubtype(headers.getContentType())
+                    || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body)
+                    .flatMap(buffer -> {
+                        final var bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+
+                        responseCache.put(key, headers.getContentType().toString(), headers.getETag(),
+                                headers.getCacheControl(), headers.getFirst(HttpHeaders.LINK), bytes);
+                        movieKeyIndex.recordResponse(key, dependencies.getKeys());
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+}
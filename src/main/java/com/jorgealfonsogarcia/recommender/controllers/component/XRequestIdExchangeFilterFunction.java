@@ -38,6 +38,9 @@ import static com.jorgealfonsogarcia.recommender.config.ApplicationHttpHeaders.X
 
 /**
  * Represents the exchange filter function for the X-Request-Id header.
+ * <p>
+ * The request id is also used as the log id of the exchange, so the upstream exchange logs can be correlated and
+ * sampled by request.
  *
  * @author Jorge Garcia
  * @version 1.0.0
@@ -54,6 +57,7 @@ public class XRequestIdExchangeFilterFunction implements ExchangeFilterFunction
             final var requestId = ctx.getOrDefault(X_REQUEST_ID.getHeader(), UUID.randomUUID().toString());
             ClientRequest newRequest = ClientRequest.from(request)
                     .header(X_REQUEST_ID.getHeader(), requestId)
+                    .attribute(ClientRequest.LOG_ID_ATTRIBUTE, requestId)
                     .build();
             return next.exchange(newRequest);
         });
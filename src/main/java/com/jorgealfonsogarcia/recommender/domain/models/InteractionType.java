@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.domain.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Optional;
+
+/**
+ * The kinds of interaction of a user with a movie, by how strongly they show that the user likes it.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public enum InteractionType {
+
+    /**
+     * The user viewed the movie.
+     */
+    @JsonProperty("view")
+    VIEW((byte) 1, 1.0f),
+
+    /**
+     * The user liked the movie.
+     */
+    @JsonProperty("like")
+    LIKE((byte) 2, 4.0f);
+
+    private final byte code;
+    private final float weight;
+
+    InteractionType(final byte code,
+                    final float weight) {
+        this.code = code;
+        this.weight = weight;
+    }
+
+    /**
+     * Gets the code of the type in the interaction log. It never changes, unlike the ordinal.
+     *
+     * @return The code.
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the weight of an interaction of this type. The weights of the interactions of a user with a movie add up.
+     *
+     * @return The weight.
+     */
+    public float getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the type of a code of the interaction log.
+     *
+     * @param code The code.
+     * @return The type, or empty if the code is unknown.
+     */
+    public static Optional<InteractionType> fromCode(final byte code) {
+        for (final var type : values()) {
+            if (type.code == code) {
+                return Optional.of(type);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.domain.models;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The properties of a {@link MovieResponse} that a search can be limited to.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public enum MovieField {
+
+    /**
+     * The id.
+     */
+    ID("id"),
+
+    /**
+     * The genres name. Mapping the genre ids to their names is skipped when it is not requested.
+     */
+    GENRES("genres"),
+
+    /**
+     * The original language.
+     */
+    ORIGINAL_LANGUAGE("originalLanguage"),
+
+    /**
+     * The original title.
+     */
+    ORIGINAL_TITLE("originalTitle"),
+
+    /**
+     * The title in English.
+     */
+    TITLE("title"),
+
+    /**
+     * The overview.
+     */
+    OVERVIEW("overview"),
+
+    /**
+     * The popularity.
+     */
+    POPULARITY("popularity"),
+
+    /**
+     * The release date.
+     */
+    RELEASE_DATE("releaseDate");
+
+    /**
+     * All the properties, as returned when a search is not limited.
+     */
+    public static final Set<MovieField> ALL = Collections.unmodifiableSet(EnumSet.allOf(MovieField.class));
+
+    private final String propertyName;
+
+    MovieField(final String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * Gets a field by the name of its property.
+     *
+     * @param propertyName The name of the property, as serialized.
+     * @return The field, or empty if there is no property with that name.
+     */
+    public static Optional<MovieField> of(final String propertyName) {
+        return Arrays.stream(values())
+                .filter(field -> field.propertyName.equals(propertyName))
+                .findFirst();
+    }
+
+    /**
+     * Gets the name of the property, as serialized.
+     *
+     * @return The name of the property.
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
@@ -24,12 +24,20 @@
 
 package com.jorgealfonsogarcia.recommender.domain.models;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Set;
 
 /**
- * Represents a movie's response.
+ * Represents a movie's response. A search limited to some of its properties leaves the others empty, and only the
+ * requested properties are serialized. A response with all the properties is serialized whole, with its empty values.
  *
  * @param id               The id.
  * @param genres           The genres name.
@@ -39,10 +47,12 @@ import java.util.List;
  * @param overview         The overview.
  * @param popularity       The popularity.
  * @param releaseDate      The release date. It is represented by a ISO 8601 format.
+ * @param fields           The requested properties, the only ones serialized.
  * @author Jorge Garcia
  * @version 1.0.0
  * @since 17
  */
+@JsonSerialize(using = MovieResponse.FieldsSerializer.class)
 public record MovieResponse(
         Integer id,
         List<String> genres,
@@ -51,7 +61,8 @@ public record MovieResponse(
         String title,
         String overview,
         Integer popularity,
-        String releaseDate
+        String releaseDate,
+        Set<MovieField> fields
 ) implements Serializable {
 
     @Serial
@@ -68,6 +79,7 @@ public record MovieResponse(
      * @param overview         The overview.
      * @param popularity       The popularity.
      * @param releaseDate      The release date. It is represented by a ISO 8601 format.
+     * @param fields           The requested properties, the only ones serialized. All of them if null.
      */
     public MovieResponse(Integer id,
                          List<String> genres,
@@ -76,7 +88,8 @@ public record MovieResponse(
                          String title,
                          String overview,
                          Integer popularity,
-                         String releaseDate) {
+                         String releaseDate,
+                         Set<MovieField> fields) {
         this.id = id;
         this.genres = genres == null ? List.of() : List.copyOf(genres);
         this.originalLanguage = originalLanguage;
@@ -85,10 +98,74 @@ public record MovieResponse(
         this.overview = overview;
         this.popularity = popularity;
         this.releaseDate = releaseDate;
+        this.fields = fields == null ? MovieField.ALL : Set.copyOf(fields);
+    }
+
+    /**
+     * Constructor of a response with all the properties.
+     *
+     * @param id               The id.
+     * @param genres           The genres name.
+     * @param originalLanguage The original language.
+     * @param originalTitle    The original title.
+     * @param title            The title in English.
+     * @param overview         The overview.
+     * @param popularity       The popularity.
+     * @param releaseDate      The release date. It is represented by a ISO 8601 format.
+     */
+    public MovieResponse(Integer id,
+                         List<String> genres,
+                         String originalLanguage,
+                         String originalTitle,
+                         String title,
+                         String overview,
+                         Integer popularity,
+                         String releaseDate) {
+        this(id, genres, originalLanguage, originalTitle, title, overview, popularity, releaseDate, MovieField.ALL);
     }
 
     @Override
     public List<String> genres() {
         return genres == null ? List.of() : List.copyOf(genres);
     }
+
+    /**
+     * Serializes the requested properties of a response, in the order of the {@link MovieField} values.
+     */
+    static final class FieldsSerializer extends StdSerializer<MovieResponse> {
+
+        @Serial
+        private static final long serialVersionUID = -3188273493064419062L;
+
+        FieldsSerializer() {
+            super(MovieResponse.class);
+        }
+
+        @Override
+        public void serialize(final MovieResponse movie,
+                              final JsonGenerator generator,
+                              final SerializerProvider provider) throws IOException {
+            generator.writeStartObject(movie);
+            for (final var field : MovieField.values()) {
+                if (movie.fields().contains(field)) {
+                    provider.defaultSerializeField(field.getPropertyName(), valueOf(movie, field), generator);
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        private static Object valueOf(final MovieResponse movie,
+                                      final MovieField field) {
+            return switch (field) {
+                case ID -> movie.id();
+                case GENRES -> movie.genres();
+                case ORIGINAL_LANGUAGE -> movie.originalLanguage();
+                case ORIGINAL_TITLE -> movie.originalTitle();
+                case TITLE -> movie.title();
+                case OVERVIEW -> movie.overview();
+                case POPULARITY -> movie.popularity();
+                case RELEASE_DATE -> movie.releaseDate();
+            };
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.domain.models;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents a page of a search.
+ *
+ * @param movies The movies of the page sorted by release date.
+ * @param next   The position of the next page, or null if this is the last one.
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public record SearchPage(
+        List<MovieResponse> movies,
+        SearchCursor next
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3047625539861735602L;
+
+    /**
+     * Constructor.
+     *
+     * @param movies The movies of the page sorted by release date.
+     * @param next   The position of the next page, or null if this is the last one.
+     */
+    public SearchPage(List<MovieResponse> movies,
+                      SearchCursor next) {
+        this.movies = movies == null ? List.of() : List.copyOf(movies);
+        this.next = next;
+    }
+
+    @Override
+    public List<MovieResponse> movies() {
+        return movies == null ? List.of() : List.copyOf(movies);
+    }
+}
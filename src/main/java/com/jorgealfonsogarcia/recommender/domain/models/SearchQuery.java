@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.domain.models;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents a search of a batch.
+ *
+ * @param startYear The start year.
+ * @param endYear   The end year.
+ * @param genres    The genres.
+ * @param languages The languages. They should be ISO 639-1. In JSON, it is the language property, which also accepts a
+ *                  single language.
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public record SearchQuery(
+        Integer startYear,
+        Integer endYear,
+        List<String> genres,
+        @JsonProperty("language")
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        List<String> languages
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6024877151932745290L;
+
+    /**
+     * Constructor.
+     *
+     * @param startYear The start year.
+     * @param endYear   The end year.
+     * @param genres    The genres.
+     * @param languages The languages. They should be ISO 639-1.
+     */
+    public SearchQuery(Integer startYear,
+                       Integer endYear,
+                       List<String> genres,
+                       @JsonProperty("language")
+                       @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                       List<String> languages) {
+        this.startYear = startYear;
+        this.endYear = endYear;
+        this.genres = genres == null ? null : List.copyOf(genres);
+        this.languages = languages == null ? null : List.copyOf(languages);
+    }
+
+    @Override
+    public List<String> genres() {
+        return genres == null ? null : List.copyOf(genres);
+    }
+
+    @Override
+    public List<String> languages() {
+        return languages == null ? null : List.copyOf(languages);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.domain.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents the result of a search of a batch.
+ *
+ * @param index  The position of the search in the batch.
+ * @param movies The movies found sorted by release date.
+ * @param error  The error message, if the search failed.
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchResult(
+        Integer index,
+        List<MovieResponse> movies,
+        String error
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6150973845326094507L;
+
+    /**
+     * Constructor.
+     *
+     * @param index  The position of the search in the batch.
+     * @param movies The movies found sorted by release date.
+     * @param error  The error message, if the search failed.
+     */
+    public SearchResult(Integer index,
+                        List<MovieResponse> movies,
+                        String error) {
+        this.index = index;
+        this.movies = movies == null ? List.of() : List.copyOf(movies);
+        this.error = error;
+    }
+
+    @Override
+    public List<MovieResponse> movies() {
+        return movies == null ? List.of() : List.copyOf(movies);
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.index;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.utils.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-memory inverted index of the titles, original titles and overviews of the movies, ranked with BM25.
+ * <p>
+ * Each term maps to the compressed {@link PostingList} of the documents it appears in. A movie is indexed as a new
+ * document when it is first seen or when it changes, and its previous document is removed: posting lists keep removed
+ * documents until most of them are, when they are compacted. The terms of the titles count twice, so a match in the
+ * title ranks above one in the overview. The index is bounded by an estimate of its bytes, evicting the movies seen
+ * least recently.
+ * <p>
+ * The index is updated and searched under its lock. An update tokenizes a single movie, and a search only the postings
+ * of its terms, so neither holds the lock for long.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class MovieIndex {
+
+    /**
+     * The saturation of the term frequency.
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * The normalization of the document length.
+     */
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 2;
+
+    /**
+     * The estimated bytes of a document besides its text, and of a term besides its characters and postings.
+     */
+    private static final long DOCUMENT_OVERHEAD = 256;
+    private static final long TERM_OVERHEAD = 96;
+
+    private final long maxSize;
+    private final Map<String, PostingList> postingLists = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final LinkedHashMap<Integer, Integer> documentsByMovieId = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private int nextDocument;
+    private volatile long version;
+    private long totalLength;
+    private long usedBytes;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize The maximum estimated bytes of the index.
+     */
+    public MovieIndex(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Indexes a movie, unless it is already indexed as it is. The movies indexed least recently are evicted when the
+     * index is over its size.
+     *
+     * @param movie     The movie.
+     * @param genreList The genres of the language of the movie, to name its genres when it is found.
+     */
+    public synchronized void add(final Movie movie,
+                                 final List<Genre> genreList) {
+        if (movie.id() == null) {
+            return;
+        }
+
+        final var previous = documentsByMovieId.get(movie.id());
+        if (previous != null) {
+            if (documents.get(previous).movie().equals(movie)) {
+                return;
+            }
+
+            documentsByMovieId.remove(movie.id());
+            remove(previous);
+        }
+
+        version++;
+        final var termFrequencies = termFrequencies(movie);
+        if (termFrequencies.isEmpty()) {
+            return;
+        }
+
+        final var document = nextDocument++;
+        var length = 0;
+        for (final var entry : termFrequencies.entrySet()) {
+            var postingList = postingLists.get(entry.getKey());
+            if (postingList == null) {
+                postingList = new PostingList();
+                postingLists.put(entry.getKey(), postingList);
+                usedBytes += termBytes(entry.getKey()) + postingList.getAllocatedBytes();
+            }
+
+            final var allocatedBytes = postingList.getAllocatedBytes();
+            postingList.add(document, entry.getValue());
+            usedBytes += postingList.getAllocatedBytes() - allocatedBytes;
+            length += entry.getValue();
+        }
+
+        final var bytes = DOCUMENT_OVERHEAD + 2L * (textLength(movie.title()) + textLength(movie.originalTitle())
+                + textLength(movie.overview()));
+        documents.put(document, new Document(movie, genreList, length, bytes));
+        documentsByMovieId.put(movie.id(), document);
+        totalLength += length;
+        usedBytes += bytes;
+
+        final var iterator = documentsByMovieId.values().iterator();
+        while (usedBytes > maxSize && iterator.hasNext()) {
+            final var evicted = iterator.next();
+            iterator.remove();
+            remove(evicted);
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Searches the movies matching any of the terms of a query, by their BM25 score.
+     *
+     * @param query The query.
+     * @param limit The maximum number of movies.
+     * @return The matches, best first. Those with the same score are sorted by movie id.
+     */
+    public synchronized List<Match> search(final String query,
+                                           final int limit) {
+        lookups.incrementAndGet();
+        if (documents.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        final var averageLength = (double) totalLength / documents.size();
+        final var scores = new HashMap<Integer, Double>();
+        for (final var term : new LinkedHashSet<>(TextUtils.tokenize(query))) {
+            final var postingList = postingLists.get(term);
+            if (postingList == null) {
+                continue;
+            }
+
+            final var documentFrequency = postingList.getLive();
+            final var idf = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            postingList.forEach((document, termFrequency) -> {
+                final var indexed = documents.get(document);
+                if (indexed == null) {
+                    return;
+                }
+
+                final var normalization = K1 * (1 - B + B * indexed.length() / averageLength);
+                final var score = idf * termFrequency * (K1 + 1) / (termFrequency + normalization);
+                scores.merge(document, score, Double::sum);
+            });
+        }
+
+        final Comparator<Match> byScore = Comparator.comparingDouble(Match::score)
+                .thenComparing(match -> match.movie().id(), Comparator.reverseOrder());
+        final var best = new PriorityQueue<>(byScore);
+        for (final var entry : scores.entrySet()) {
+            final var indexed = documents.get(entry.getKey());
+            best.add(new Match(indexed.movie(), indexed.genreList(), entry.getValue()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        final var matches = new ArrayList<Match>(best.size());
+        while (!best.isEmpty()) {
+            matches.add(best.poll());
+        }
+
+        Collections.reverse(matches);
+        return matches;
+    }
+
+    /**
+     * Gets the indexed movies.
+     *
+     * @return A copy of the movies, the ones seen least recently first.
+     */
+    public synchronized List<Movie> getMovies() {
+        final var movies = new ArrayList<Movie>(documentsByMovieId.size());
+        for (final var document : documentsByMovieId.values()) {
+            movies.add(documents.get(document).movie());
+        }
+
+        return movies;
+    }
+
+    /**
+     * Gets the version of the index, which changes whenever a movie is indexed or evicted. It is read without the
+     * lock.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of indexed movies.
+     *
+     * @return The number of movies.
+     */
+    public synchronized int getSize() {
+        return documents.size();
+    }
+
+    /**
+     * Gets the number of distinct terms of the indexed movies.
+     *
+     * @return The number of terms.
+     */
+    public synchronized int getTerms() {
+        return postingLists.size();
+    }
+
+    /**
+     * Gets the estimated bytes of the index.
+     *
+     * @return The estimated bytes.
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Gets the number of searches.
+     *
+     * @return The number of searches.
+     */
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    /**
+     * Gets the number of movies evicted to keep the index within its size.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void remove(final int document) {
+        final var removed = documents.remove(document);
+        totalLength -= removed.length();
+        usedBytes -= removed.bytes();
+        for (final var term : termFrequencies(removed.movie()).keySet()) {
+            final var postingList = postingLists.get(term);
+            postingList.remove();
+            if (postingList.getLive() == 0) {
+                postingLists.remove(term);
+                usedBytes -= termBytes(term) + postingList.getAllocatedBytes();
+            } else if (postingList.isSparse()) {
+                final var compacted = postingList.retain(documents::containsKey);
+                postingLists.put(term, compacted);
+                usedBytes += compacted.getAllocatedBytes() - postingList.getAllocatedBytes();
+            }
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(final Movie movie) {
+        final var termFrequencies = new HashMap<String, Integer>();
+        for (final var term : TextUtils.tokenize(movie.title())) {
+            termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+
+        if (!Objects.equals(movie.originalTitle(), movie.title())) {
+            for (final var term : TextUtils.tokenize(movie.originalTitle())) {
+                termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+        }
+
+        for (final var term : TextUtils.tokenize(movie.overview())) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+
+        return termFrequencies;
+    }
+
+    private static long termBytes(final String term) {
+        return TERM_OVERHEAD + 2L * term.length();
+    }
+
+    private static int textLength(final String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    /**
+     * An indexed movie.
+     *
+     * @param movie     The movie.
+     * @param genreList The genres of the language of the movie.
+     * @param length    The number of terms of the movie, counting those of the titles twice.
+     * @param bytes     The estimated bytes of the movie.
+     */
+    private record Document(Movie movie, List<Genre> genreList, int length, long bytes) {
+    }
+
+    /**
+     * A movie matching a search.
+     *
+     * @param movie     The movie.
+     * @param genreList The genres of the language of the movie.
+     * @param score     The BM25 score of the movie.
+     */
+    public record Match(Movie movie, List<Genre> genreList, double score) {
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.index;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * The documents of a term, with the frequency of the term in each of them, compressed.
+ * <p>
+ * Documents are added in increasing order, so each one is stored as the gap from the previous one, and the gaps and
+ * frequencies as variable-length integers: seven bits a byte, the high bit set on every byte but the last. Most
+ * postings take two bytes. Removed documents stay in the list until it is compacted.
+ * <p>
+ * It is not thread-safe.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int postings;
+    private int live;
+    private int lastDocument = -1;
+
+    /**
+     * Adds a document. It must be greater than the documents already in the list.
+     *
+     * @param document      The document.
+     * @param termFrequency The frequency of the term in the document.
+     */
+    void add(final int document,
+             final int termFrequency) {
+        if (document <= lastDocument) {
+            throw new IllegalArgumentException("Document %d is not after %d".formatted(document, lastDocument));
+        }
+
+        writeVarInt(document - lastDocument);
+        writeVarInt(termFrequency);
+        lastDocument = document;
+        postings++;
+        live++;
+    }
+
+    /**
+     * Records that one of the documents of the list was removed.
+     */
+    void remove() {
+        live--;
+    }
+
+    /**
+     * Calls the consumer with each document of the list and its term frequency, in increasing order, including the
+     * removed ones.
+     *
+     * @param consumer The consumer.
+     */
+    void forEach(final PostingConsumer consumer) {
+        var document = -1;
+        var position = 0;
+        while (position < length) {
+            var gap = 0;
+            for (var shift = 0; ; shift += 7) {
+                final var b = bytes[position++];
+                gap |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+
+            var termFrequency = 0;
+            for (var shift = 0; ; shift += 7) {
+                final var b = bytes[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+
+            document += gap;
+            consumer.accept(document, termFrequency);
+        }
+    }
+
+    /**
+     * Gets a compacted copy of the list, with only the documents that are kept.
+     *
+     * @param keep Whether a document is kept.
+     * @return The compacted list.
+     */
+    PostingList retain(final IntPredicate keep) {
+        final var compacted = new PostingList();
+        forEach((document, termFrequency) -> {
+            if (keep.test(document)) {
+                compacted.add(document, termFrequency);
+            }
+        });
+
+        return compacted;
+    }
+
+    /**
+     * Gets the number of documents of the list that were not removed: the document frequency of the term.
+     *
+     * @return The number of live documents.
+     */
+    int getLive() {
+        return live;
+    }
+
+    /**
+     * Gets whether most of the documents of the list were removed, so it is worth compacting.
+     *
+     * @return Whether the list is sparse.
+     */
+    boolean isSparse() {
+        return live * 2 < postings;
+    }
+
+    /**
+     * Gets the bytes allocated by the list.
+     *
+     * @return The allocated bytes.
+     */
+    int getAllocatedBytes() {
+        return bytes.length;
+    }
+
+    private void writeVarInt(final int value) {
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length + 5, bytes.length + (bytes.length >> 1)));
+        }
+
+        var remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+
+        bytes[length++] = (byte) remaining;
+    }
+
+    /**
+     * Consumes the postings of a list.
+     */
+    @FunctionalInterface
+    interface PostingConsumer {
+
+        /**
+         * Consumes a posting.
+         *
+         * @param document      The document.
+         * @param termFrequency The frequency of the term in the document.
+         */
+        void accept(int document, int termFrequency);
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.index;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.domain.models.Suggestion;
+import com.jorgealfonsogarcia.recommender.utils.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * An immutable compressed trie of the titles of the movies, to complete prefixes of their titles.
+ * <p>
+ * Titles are folded with {@link TextUtils#foldKey(String)}, so a prefix matches whatever its case, accents or
+ * punctuation. The chains of nodes with a single child are merged into one node, whose label is a range of a shared
+ * character array, and the children of a node are stored next to each other, sorted by their first character. Each
+ * node keeps the most popular titles below it, so completing a prefix walks the arrays and returns the list of the node
+ * it ends at, without allocating.
+ * <p>
+ * It is thread-safe: it is built at once and never changes.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class TitleTrie {
+
+    private static final TitleTrie EMPTY = build(List.of(), 0);
+    private static final long NOT_FOUND = -1;
+
+    private final char[] labels;
+    private final int[] labelStarts;
+    private final int[] labelEnds;
+    private final int[] firstChildren;
+    private final int[] childCounts;
+    private final List<Suggestion>[] suggestions;
+    private final int size;
+
+    private TitleTrie(final char[] labels,
+                      final int[] labelStarts,
+                      final int[] labelEnds,
+                      final int[] firstChildren,
+                      final int[] childCounts,
+                      final List<Suggestion>[] suggestions,
+                      final int size) {
+        this.labels = labels;
+        this.labelStarts = labelStarts;
+        this.labelEnds = labelEnds;
+        this.firstChildren = firstChildren;
+        this.childCounts = childCounts;
+        this.suggestions = suggestions;
+        this.size = size;
+    }
+
+    /**
+     * Gets the trie without titles.
+     *
+     * @return The empty trie.
+     */
+    public static TitleTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the trie of the titles and original titles of some movies.
+     *
+     * @param movies         The movies.
+     * @param maxSuggestions The maximum number of titles completing a prefix.
+     * @return The trie.
+     */
+    public static TitleTrie build(final Collection<Movie> movies,
+                                  final int maxSuggestions) {
+        final var entries = new ArrayList<Entry>();
+        for (final var movie : movies) {
+            if (movie.id() == null) {
+                continue;
+            }
+
+            final var popularity = movie.popularity() != null ? movie.popularity() : 0.0;
+            final var titleKey = TextUtils.foldKey(movie.title());
+            if (!titleKey.isEmpty()) {
+                entries.add(new Entry(titleKey, new Suggestion(movie.id(), movie.title(), movie.releaseDate()),
+                        popularity));
+            }
+
+            final var originalTitleKey = TextUtils.foldKey(movie.originalTitle());
+            if (!originalTitleKey.isEmpty() && !originalTitleKey.equals(titleKey)) {
+                entries.add(new Entry(originalTitleKey, new Suggestion(movie.id(), movie.originalTitle(),
+                        movie.releaseDate()), popularity));
+            }
+        }
+
+        entries.sort(Comparator.comparing(Entry::key).thenComparing(Entry.BY_RANK));
+        return new Builder(entries, maxSuggestions).build();
+    }
+
+    /**
+     * Completes a prefix with the most popular titles starting with it. The prefix is folded a character at a time as
+     * the trie is walked, so nothing is allocated.
+     *
+     * @param prefix The prefix.
+     * @return The titles, the most popular first. Empty if no title starts with the prefix.
+     */
+    public List<Suggestion> complete(final CharSequence prefix) {
+        var position = 0L;
+        var started = false;
+        var space = false;
+        for (var index = 0; index < prefix.length(); index++) {
+            final var folded = TextUtils.fold(prefix.charAt(index));
+            if (folded == 0) {
+                continue;
+            }
+
+            if (folded == ' ') {
+                space = started;
+                continue;
+            }
+
+            if (space) {
+                position = step(position, ' ');
+                space = false;
+            }
+
+            position = step(position, folded);
+            if (position == NOT_FOUND) {
+                return List.of();
+            }
+
+            started = true;
+        }
+
+        if (space) {
+            position = step(position, ' ');
+        }
+
+        return position == NOT_FOUND ? List.of() : suggestions[(int) (position >>> 32)];
+    }
+
+    /**
+     * Gets the number of titles of the trie.
+     *
+     * @return The number of titles.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of nodes of the trie.
+     *
+     * @return The number of nodes.
+     */
+    public int getNodes() {
+        return labelStarts.length;
+    }
+
+    /**
+     * Moves a position of the trie, its node in the high half and its offset in the labels in the low half, by a
+     * character.
+     */
+    private long step(final long position,
+                      final char c) {
+        if (position == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+
+        final var node = (int) (position >>> 32);
+        final var offset = (int) position;
+        if (offset < labelEnds[node]) {
+            return labels[offset] == c ? position + 1 : NOT_FOUND;
+        }
+
+        var low = firstChildren[node];
+        var high = low + childCounts[node] - 1;
+        while (low <= high) {
+            final var middle = (low + high) >>> 1;
+            final var first = labels[labelStarts[middle]];
+            if (first < c) {
+                low = middle + 1;
+            } else if (first > c) {
+                high = middle - 1;
+            } else {
+                return ((long) middle << 32) | (labelStarts[middle] + 1);
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * A title of a movie.
+     *
+     * @param key        The folded title.
+     * @param suggestion The title completing the prefixes of the key.
+     * @param popularity The popularity of the movie.
+     */
+    private record Entry(String key, Suggestion suggestion, double popularity) {
+
+        private static final Comparator<Entry> BY_RANK = Comparator.comparingDouble(Entry::popularity).reversed()
+                .thenComparing(entry -> entry.suggestion().id());
+    }
+
+    /**
+     * Builds the nodes of a trie from the sorted titles, depth first. A trie of n titles has at most 2n + 1 nodes.
+     */
+    private static final class Builder {
+
+        private final List<Entry> entries;
+        private final int maxSuggestions;
+        private final StringBuilder labels = new StringBuilder();
+        private final int[] labelStarts;
+        private final int[] labelEnds;
+        private final int[] firstChildren;
+        private final int[] childCounts;
+        private final List<List<Suggestion>> suggestions;
+        private int nodes = 1;
+
+        private Builder(final List<Entry> entries,
+                        final int maxSuggestions) {
+            this.entries = entries;
+            this.maxSuggestions = maxSuggestions;
+            final var maxNodes = 2 * entries.size() + 1;
+            this.labelStarts = new int[maxNodes];
+            this.labelEnds = new int[maxNodes];
+            this.firstChildren = new int[maxNodes];
+            this.childCounts = new int[maxNodes];
+            this.suggestions = new ArrayList<>(maxNodes);
+            for (var node = 0; node < maxNodes; node++) {
+                suggestions.add(List.of());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private TitleTrie build() {
+            build(0, 0, entries.size(), 0);
+            return new TitleTrie(labels.toString().toCharArray(), Arrays.copyOf(labelStarts, nodes),
+                    Arrays.copyOf(labelEnds, nodes), Arrays.copyOf(firstChildren, nodes),
+                    Arrays.copyOf(childCounts, nodes), suggestions.subList(0, nodes).toArray(new List[0]),
+                    entries.size());
+        }
+
+        /**
+         * Builds a node from the titles in [low, high), which share their first depth characters, and returns its
+         * most popular titles.
+         */
+        private List<Entry> build(final int node,
+                                  final int low,
+                                  final int high,
+                                  final int depth) {
+            final var candidates = new ArrayList<Entry>();
+            var index = low;
+            while (index < high && entries.get(index).key().length() == depth) {
+                candidates.add(entries.get(index++));
+            }
+
+            final var groups = new ArrayList<int[]>();
+            while (index < high) {
+                final var c = entries.get(index).key().charAt(depth);
+                final var groupLow = index;
+                while (index < high && entries.get(index).key().charAt(depth) == c) {
+                    index++;
+                }
+
+                groups.add(new int[]{groupLow, index});
+            }
+
+            firstChildren[node] = nodes;
+            childCounts[node] = groups.size();
+            nodes += groups.size();
+            for (var group = 0; group < groups.size(); group++) {
+                final var child = firstChildren[node] + group;
+                final var groupLow = groups.get(group)[0];
+                final var groupHigh = groups.get(group)[1];
+
+                // The keys are sorted, so the prefix shared by a group is the one of its first and last keys.
+                final var first = entries.get(groupLow).key();
+                final var last = entries.get(groupHigh - 1).key();
+                var end = depth + 1;
+                while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+                    end++;
+                }
+
+                labelStarts[child] = labels.length();
+                labels.append(first, depth, end);
+                labelEnds[child] = labels.length();
+                candidates.addAll(build(child, groupLow, groupHigh, end));
+            }
+
+            candidates.sort(Entry.BY_RANK);
+            final var best = new ArrayList<Entry>(Math.min(maxSuggestions, candidates.size()));
+            final var ids = new HashSet<Integer>();
+            for (final var candidate : candidates) {
+                if (best.size() == maxSuggestions) {
+                    break;
+                }
+
+                if (ids.add(candidate.suggestion().id())) {
+                    best.add(candidate);
+                }
+            }
+
+            suggestions.set(node, best.stream().map(Entry::suggestion).toList());
+            return best;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.admission.AdmissionController;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the admission control of the movie requests as metrics, tagged by route class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class AdmissionMetrics implements MeterBinder {
+
+    private static final String ROUTE_TAG = "route";
+
+    private final ObjectProvider<AdmissionController> admissionController;
+
+    /**
+     * Constructor.
+     *
+     * @param admissionController The admission controller, if enabled.
+     */
+    @Autowired
+    public AdmissionMetrics(ObjectProvider<AdmissionController> admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        admissionController.ifAvailable(controller -> bindTo(registry, controller));
+    }
+
+    /**
+     * Binds the metrics of the given admission controller.
+     *
+     * @param registry   The meter registry.
+     * @param controller The admission controller.
+     */
+    void bindTo(MeterRegistry registry, AdmissionController controller) {
+        for (final var routeClass : RouteClass.values()) {
+            final var tag = routeClass.tag();
+            Gauge.builder("admission.limit", controller, c -> c.getMaxInFlight(routeClass))
+                    .description("Maximum requests in flight")
+                    .tag(ROUTE_TAG, tag)
+                    .register(registry);
+            Gauge.builder("admission.in.flight", controller, c -> c.getInFlight(routeClass))
+                    .description("Requests in flight")
+                    .tag(ROUTE_TAG, tag)
+                    .register(registry);
+            Gauge.builder("admission.queued", controller, c -> c.getQueued(routeClass))
+                    .description("Requests waiting to run")
+                    .tag(ROUTE_TAG, tag)
+                    .register(registry);
+            TimeGauge.builder("admission.queue.delay", controller, TimeUnit.MILLISECONDS,
+                            c -> c.getQueueDelay(routeClass).toMillis())
+                    .description("Queueing delay of the last request that left the queue")
+                    .tag(ROUTE_TAG, tag)
+                    .register(registry);
+            Gauge.builder("admission.overloaded", controller, c -> c.isOverloaded(routeClass) ? 1 : 0)
+                    .description("Whether the requests are shed because their queueing delay stays above its target")
+                    .tag(ROUTE_TAG, tag)
+                    .register(registry);
+            FunctionCounter.builder("admission.admitted", controller, c -> c.getAdmitted(routeClass))
+                    .description("Requests admitted")
+                    .tag(ROUTE_TAG, tag)
+                    .register(registry);
+            FunctionCounter.builder("admission.shed", controller, c -> c.getShed(routeClass))
+                    .description("Requests shed with 503 Service Unavailable")
+                    .tag(ROUTE_TAG, tag)
+                    .register(registry);
+        }
+    }
+}
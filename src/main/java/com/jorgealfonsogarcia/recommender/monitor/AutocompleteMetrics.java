@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.services.AutocompleteService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the title tries of the autocompletion as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class AutocompleteMetrics implements MeterBinder {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Constructor.
+     *
+     * @param autocompleteService The autocomplete service.
+     */
+    @Autowired
+    public AutocompleteMetrics(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("index.titles.rebuilds", autocompleteService, AutocompleteService::getRebuilds)
+                .description("Rebuilds of the title tries")
+                .register(registry);
+        Gauge.builder("index.titles.size", autocompleteService, AutocompleteService::getSize)
+                .description("Titles in the title trie")
+                .register(registry);
+        Gauge.builder("index.titles.nodes", autocompleteService, AutocompleteService::getNodes)
+                .description("Nodes of the title trie")
+                .register(registry);
+    }
+}
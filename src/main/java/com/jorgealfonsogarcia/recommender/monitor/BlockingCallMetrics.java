@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Counts the blocking calls reported by BlockHound, by blocking method, and exposes them as metrics.
+ * <p>
+ * Each call is logged with its stack trace. When failing on blocking, the call is then interrupted with a
+ * {@link BlockingOperationError}, as BlockHound does by default.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class BlockingCallMetrics implements MeterBinder, Consumer<BlockingMethod> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockingCallMetrics.class);
+    private static final String METRIC_NAME = "reactor.blocking.calls";
+
+    private final boolean failOnBlocking;
+    private final Map<String, AtomicLong> callsByMethod = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * Constructor.
+     *
+     * @param failOnBlocking Whether a blocking call fails with an error after being counted.
+     */
+    public BlockingCallMetrics(boolean failOnBlocking) {
+        this.failOnBlocking = failOnBlocking;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        callsByMethod.forEach((method, calls) -> register(registry, method, calls));
+    }
+
+    @Override
+    public void accept(BlockingMethod blockingMethod) {
+        final var method = "%s.%s".formatted(blockingMethod.getClassName(), blockingMethod.getName());
+        callsByMethod.computeIfAbsent(method, ignored -> {
+            final var calls = new AtomicLong();
+            final var currentRegistry = registry;
+            if (currentRegistry != null) {
+                register(currentRegistry, method, calls);
+            }
+
+            return calls;
+        }).incrementAndGet();
+
+        final var error = new BlockingOperationError(blockingMethod);
+        LOGGER.warn("Blocking call on the non-blocking thread {}", Thread.currentThread().getName(), error);
+        if (failOnBlocking) {
+            throw error;
+        }
+    }
+
+    /**
+     * Gets the number of blocking calls to a method.
+     *
+     * @param method The class name and the name of the method, joined by a dot.
+     * @return The number of blocking calls.
+     */
+    public long getCalls(final String method) {
+        final var calls = callsByMethod.get(method);
+        return calls != null ? calls.get() : 0;
+    }
+
+    private static void register(final MeterRegistry registry,
+                                 final String method,
+                                 final AtomicLong calls) {
+        FunctionCounter.builder(METRIC_NAME, calls, AtomicLong::get)
+                .description("Blocking calls made on non-blocking threads")
+                .tag("method", method)
+                .register(registry);
+    }
+}
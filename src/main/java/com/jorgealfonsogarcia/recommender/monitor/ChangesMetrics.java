@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.services.ChangesService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the invalidation of the movies changed upstream, and the cache keys tracked for it, as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class ChangesMetrics implements MeterBinder {
+
+    private final ChangesService changesService;
+    private final MovieKeyIndex movieKeyIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param changesService The changes service.
+     * @param movieKeyIndex  The cache keys holding each movie.
+     */
+    @Autowired
+    public ChangesMetrics(ChangesService changesService,
+                          MovieKeyIndex movieKeyIndex) {
+        this.changesService = changesService;
+        this.movieKeyIndex = movieKeyIndex;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.changes.polls", changesService, ChangesService::getPolls)
+                .description("Successful polls of the changes feed")
+                .register(registry);
+        FunctionCounter.builder("cache.changes.movies", changesService, ChangesService::getChangedMovies)
+                .description("Changed movies invalidated")
+                .register(registry);
+        FunctionCounter.builder("cache.changes.invalidated", changesService, ChangesService::getInvalidatedCells)
+                .description("Cached entries evicted for a changed movie")
+                .tag("level", "discover")
+                .register(registry);
+        FunctionCounter.builder("cache.changes.invalidated", changesService, ChangesService::getInvalidatedResponses)
+                .description("Cached entries evicted for a changed movie")
+                .tag("level", "response")
+                .register(registry);
+        Gauge.builder("cache.changes.tracked", movieKeyIndex, MovieKeyIndex::getCells)
+                .description("Cache keys tracked with their movies")
+                .tag("level", "discover")
+                .register(registry);
+        Gauge.builder("cache.changes.tracked", movieKeyIndex, MovieKeyIndex::getResponses)
+                .description("Cache keys tracked with their movies")
+                .tag("level", "response")
+                .register(registry);
+        Gauge.builder("cache.changes.tracked.movies", movieKeyIndex, MovieKeyIndex::getMovies)
+                .description("Movies in the tracked discover calls")
+                .register(registry);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.controllers.component.CoalescingExchangeFilterFunction;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the coalescing of the upstream GETs as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class CoalescingMetrics implements MeterBinder {
+
+    private final CoalescingExchangeFilterFunction coalescingExchangeFilterFunction;
+
+    /**
+     * Constructor.
+     *
+     * @param coalescingExchangeFilterFunction The exchange filter function for the request coalescing.
+     */
+    @Autowired
+    public CoalescingMetrics(CoalescingExchangeFilterFunction coalescingExchangeFilterFunction) {
+        this.coalescingExchangeFilterFunction = coalescingExchangeFilterFunction;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("webclient.coalescing.requests", coalescingExchangeFilterFunction,
+                        CoalescingExchangeFilterFunction::getRequests)
+                .description("Upstream GETs requested")
+                .register(registry);
+        FunctionCounter.builder("webclient.coalescing.coalesced", coalescingExchangeFilterFunction,
+                        CoalescingExchangeFilterFunction::getCoalesced)
+                .description("Upstream GETs that shared an exchange already in flight")
+                .register(registry);
+        Gauge.builder("webclient.coalescing.ratio", coalescingExchangeFilterFunction, CoalescingMetrics::ratio)
+                .description("Fraction of the upstream GETs that shared an exchange already in flight")
+                .register(registry);
+    }
+
+    private static double ratio(final CoalescingExchangeFilterFunction coalescingExchangeFilterFunction) {
+        final var requests = coalescingExchangeFilterFunction.getRequests();
+        return requests == 0 ? 0.0 : (double) coalescingExchangeFilterFunction.getCoalesced() / requests;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheStore;
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the disk level of the movies cache as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class DiskCacheMetrics implements MeterBinder {
+
+    private final ObjectProvider<DiskCacheStore> diskCacheStore;
+    private final ObjectProvider<DiskCacheWriter> diskCacheWriter;
+
+    /**
+     * Constructor.
+     *
+     * @param diskCacheStore  The disk store, if enabled.
+     * @param diskCacheWriter The writer of the disk store, if enabled.
+     */
+    @Autowired
+    public DiskCacheMetrics(ObjectProvider<DiskCacheStore> diskCacheStore,
+                            ObjectProvider<DiskCacheWriter> diskCacheWriter) {
+        this.diskCacheStore = diskCacheStore;
+        this.diskCacheWriter = diskCacheWriter;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        diskCacheStore.ifAvailable(store -> bindTo(registry, store));
+        diskCacheWriter.ifAvailable(writer -> bindTo(registry, writer));
+    }
+
+    /**
+     * Binds the metrics of the given disk store.
+     *
+     * @param registry The meter registry.
+     * @param store    The disk store.
+     */
+    void bindTo(MeterRegistry registry, DiskCacheStore store) {
+        FunctionCounter.builder("cache.l2.gets", store, DiskCacheStore::getHits)
+                .description("Lookups in the disk cache")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.l2.gets", store, DiskCacheStore::getMisses)
+                .description("Lookups in the disk cache")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.l2.puts", store, DiskCacheStore::getPuts)
+                .description("Values written to the disk cache")
+                .register(registry);
+        FunctionCounter.builder("cache.l2.evictions", store, DiskCacheStore::getEvictions)
+                .description("Values removed from the disk cache because they expired or it was full")
+                .register(registry);
+        FunctionCounter.builder("cache.l2.compactions", store, DiskCacheStore::getCompactions)
+                .description("Segments of the disk cache rewritten by the compaction")
+                .register(registry);
+        Gauge.builder("cache.l2.size", store, DiskCacheStore::getSize)
+                .description("Entries in the disk cache")
+                .register(registry);
+        Gauge.builder("cache.l2.used", store, DiskCacheStore::getUsedBytes)
+                .description("Bytes written to the segments of the disk cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("cache.l2.live", store, DiskCacheStore::getLiveBytes)
+                .description("Bytes of the live entries of the disk cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+    }
+
+    /**
+     * Binds the metrics of the given writer of the disk store.
+     *
+     * @param registry The meter registry.
+     * @param writer   The writer of the disk store.
+     */
+    void bindTo(MeterRegistry registry, DiskCacheWriter writer) {
+        Gauge.builder("cache.l2.pending", writer, DiskCacheWriter::getPendingWrites)
+                .description("Entries waiting to be written to the disk cache")
+                .register(registry);
+        FunctionCounter.builder("cache.l2.writes.dropped", writer, DiskCacheWriter::getDroppedWrites)
+                .description("Values not written to the disk cache because its writer was behind")
+                .register(registry);
+        FunctionCounter.builder("cache.l2.writes.failed", writer, DiskCacheWriter::getFailedWrites)
+                .description("Values that could not be written to the disk cache")
+                .register(registry);
+    }
+}
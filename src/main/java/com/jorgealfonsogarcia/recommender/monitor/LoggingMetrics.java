@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import static org.slf4j.Logger.ROOT_LOGGER_NAME;
+
+/**
+ * Exposes the events discarded by the logging pipeline as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            bindTo(registry, loggerContext);
+        }
+    }
+
+    /**
+     * Binds the metrics of the appenders and turbo filters of the given logger context.
+     *
+     * @param registry      The meter registry.
+     * @param loggerContext The logger context.
+     */
+    void bindTo(MeterRegistry registry, LoggerContext loggerContext) {
+        final var appenders = loggerContext.getLogger(ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof MeteredAsyncDisruptorAppender appender) {
+                FunctionCounter.builder("logging.events.dropped", appender,
+                                MeteredAsyncDisruptorAppender::getDroppedEvents)
+                        .description("Events dropped because the ring buffer of the appender was full")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        }
+
+        for (var turboFilter : loggerContext.getTurboFilterList()) {
+            if (turboFilter instanceof RequestIdSamplingTurboFilter filter) {
+                FunctionCounter.builder("logging.events.sampled.out", filter,
+                                RequestIdSamplingTurboFilter::getSampledOutEvents)
+                        .description("Debug events discarded by the request id sampling")
+                        .tag("logger", filter.getLoggerName())
+                        .register(registry);
+            }
+        }
+    }
+}
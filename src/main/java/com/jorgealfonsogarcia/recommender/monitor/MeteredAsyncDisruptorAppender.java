@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A ring buffer backed asynchronous appender that keeps count of the events it could not enqueue.
+ * <p>
+ * The overflow policy is driven by the {@code appendTimeout} setting: {@code 0} drops the event immediately when the
+ * ring buffer is full, a negative value blocks until there is room, and a positive value waits up to that long before
+ * dropping it.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class MeteredAsyncDisruptorAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * Gets the number of events that could not be enqueued since the appender was created.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    @Override
+    protected void fireEventAppendFailed(ILoggingEvent event, Throwable reason) {
+        droppedEvents.increment();
+        super.fireEventAppendFailed(event, reason);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.index.MovieIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the text index of the movies as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class MovieIndexMetrics implements MeterBinder {
+
+    private final MovieIndex movieIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param movieIndex The movie index.
+     */
+    @Autowired
+    public MovieIndexMetrics(MovieIndex movieIndex) {
+        this.movieIndex = movieIndex;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("index.movies.lookups", movieIndex, MovieIndex::getLookups)
+                .description("Text lookups answered by the movie index")
+                .register(registry);
+        FunctionCounter.builder("index.movies.evictions", movieIndex, MovieIndex::getEvictions)
+                .description("Movies evicted to keep the movie index within its size")
+                .register(registry);
+        Gauge.builder("index.movies.size", movieIndex, MovieIndex::getSize)
+                .description("Movies in the movie index")
+                .register(registry);
+        Gauge.builder("index.movies.terms", movieIndex, MovieIndex::getTerms)
+                .description("Distinct terms in the movie index")
+                .register(registry);
+        Gauge.builder("index.movies.used", movieIndex, MovieIndex::getUsedBytes)
+                .description("Estimated bytes of the movie index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.services.RecommendationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the interaction log and the recommendation model as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class RecommendationMetrics implements MeterBinder {
+
+    private final RecommendationService recommendationService;
+
+    /**
+     * Constructor.
+     *
+     * @param recommendationService The recommendation service.
+     */
+    @Autowired
+    public RecommendationMetrics(RecommendationService recommendationService) {
+        this.recommendationService = recommendationService;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("recommendations.interactions", recommendationService,
+                        RecommendationService::getInteractions)
+                .description("Interactions in the interaction log")
+                .register(registry);
+        FunctionCounter.builder("recommendations.trainings", recommendationService,
+                        RecommendationService::getTrainings)
+                .description("Recommendation models trained")
+                .register(registry);
+        Gauge.builder("recommendations.users", recommendationService, RecommendationService::getUsers)
+                .description("Users in the recommendation model")
+                .register(registry);
+        Gauge.builder("recommendations.movies", recommendationService, RecommendationService::getMovies)
+                .description("Movies in the recommendation model")
+                .register(registry);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples the debug events of a logger by the request id that prefixes their messages.
+ * <p>
+ * The decision is a hash of the request id, so every line of a sampled request is kept and every line of the other
+ * requests is discarded before an event is even created. Messages without a {@code [request-id]} prefix, and events
+ * above the debug level, are left untouched.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class RequestIdSamplingTurboFilter extends TurboFilter {
+
+    private static final int BUCKETS = 10_000;
+
+    private final LongAdder sampledOutEvents = new LongAdder();
+
+    private String loggerName;
+    private double sampleRate = 1.0;
+    private int threshold = BUCKETS;
+
+    @Override
+    public void start() {
+        if (loggerName == null || loggerName.isBlank()) {
+            addError("The loggerName property is required by the filter [%s]".formatted(getName()));
+            return;
+        }
+
+        threshold = (int) Math.round(Math.min(1.0, Math.max(0.0, sampleRate)) * BUCKETS);
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || format == null || level.toInt() >= Level.INFO_INT
+                || !loggerName.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        final var end = format.indexOf(']');
+        if (!format.startsWith("[") || end < 2) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (Math.floorMod(format.substring(1, end).hashCode(), BUCKETS) < threshold) {
+            return FilterReply.NEUTRAL;
+        }
+
+        sampledOutEvents.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Gets the number of events discarded by the sampling.
+     *
+     * @return The number of discarded events.
+     */
+    public long getSampledOutEvents() {
+        return sampledOutEvents.sum();
+    }
+
+    /**
+     * Gets the name of the sampled logger.
+     *
+     * @return The name of the sampled logger.
+     */
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    /**
+     * Sets the name of the sampled logger.
+     *
+     * @param loggerName The name of the sampled logger.
+     */
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    /**
+     * Gets the fraction of requests whose events are kept.
+     *
+     * @return The fraction of requests whose events are kept, between 0 and 1.
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets the fraction of requests whose events are kept.
+     *
+     * @param sampleRate The fraction of requests whose events are kept, between 0 and 1.
+     */
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.ResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the cache of the encoded responses as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class ResponseCacheMetrics implements MeterBinder {
+
+    private final ObjectProvider<ResponseCache> responseCache;
+
+    /**
+     * Constructor.
+     *
+     * @param responseCache The response cache, if enabled.
+     */
+    @Autowired
+    public ResponseCacheMetrics(ObjectProvider<ResponseCache> responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        responseCache.ifAvailable(cache -> bindTo(registry, cache));
+    }
+
+    /**
+     * Binds the metrics of the given response cache.
+     *
+     * @param registry The meter registry.
+     * @param cache    The response cache.
+     */
+    void bindTo(MeterRegistry registry, ResponseCache cache) {
+        FunctionCounter.builder("cache.response.gets", cache, ResponseCache::getHits)
+                .description("Lookups in the response cache")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.response.gets", cache, ResponseCache::getMisses)
+                .description("Lookups in the response cache")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("cache.response.size", cache, ResponseCache::getSize)
+                .description("Responses in the response cache")
+                .register(registry);
+        Gauge.builder("cache.response.used", cache, ResponseCache::getUsedBytes)
+                .description("Bytes of the bodies in the response cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+    }
+}
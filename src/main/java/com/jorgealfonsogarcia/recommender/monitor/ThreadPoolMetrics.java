@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.LoopResources;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static com.jorgealfonsogarcia.recommender.config.EventLoopConfig.CLIENT_THREAD_PREFIX;
+import static com.jorgealfonsogarcia.recommender.config.EventLoopConfig.COMPUTE_THREAD_PREFIX;
+import static com.jorgealfonsogarcia.recommender.config.EventLoopConfig.SERVER_THREAD_PREFIX;
+
+/**
+ * Exposes the threads, the utilization and the pending tasks of the server, upstream client and compute thread pools
+ * as metrics.
+ * <p>
+ * The utilization is the CPU time of the threads of a pool over their wall-clock time since the previous sample, from
+ * zero to one. The pending tasks are those queued in the event loops, and are not known for the compute pool.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class ThreadPoolMetrics implements MeterBinder {
+
+    private static final String POOL_TAG = "pool";
+
+    private final LoopResources serverLoopResources;
+    private final LoopResources clientLoopResources;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Constructor.
+     *
+     * @param serverLoopResources The event loops of the server.
+     * @param clientLoopResources The event loops of the upstream client.
+     */
+    @Autowired
+    public ThreadPoolMetrics(LoopResources serverLoopResources,
+                             LoopResources clientLoopResources) {
+        this.serverLoopResources = serverLoopResources;
+        this.clientLoopResources = clientLoopResources;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindPool(registry, "server", SERVER_THREAD_PREFIX, () -> serverLoopResources.onServer(true));
+        bindPool(registry, "client", CLIENT_THREAD_PREFIX, () -> clientLoopResources.onClient(true));
+        bindPool(registry, "compute", COMPUTE_THREAD_PREFIX, null);
+    }
+
+    private void bindPool(final MeterRegistry registry,
+                          final String pool,
+                          final String threadPrefix,
+                          final Supplier<EventLoopGroup> eventLoopGroup) {
+        // Gauges only hold their objects weakly, and nothing else references the samplers.
+        final var sampler = new UtilizationSampler(threadPrefix + "-");
+        Gauge.builder("threadpool.threads", sampler, UtilizationSampler::threads)
+                .description("Live threads of the pool")
+                .tag(POOL_TAG, pool)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("threadpool.utilization", sampler, UtilizationSampler::utilization)
+                .description("CPU time of the threads of the pool over their wall-clock time since the previous "
+                        + "sample")
+                .tag(POOL_TAG, pool)
+                .strongReference(true)
+                .register(registry);
+        if (eventLoopGroup != null) {
+            Gauge.builder("threadpool.tasks.pending", eventLoopGroup, ThreadPoolMetrics::pendingTasks)
+                    .description("Tasks queued in the event loops of the pool")
+                    .tag(POOL_TAG, pool)
+                    .strongReference(true)
+                    .register(registry);
+        }
+    }
+
+    private static double pendingTasks(final Supplier<EventLoopGroup> eventLoopGroup) {
+        var pendingTasks = 0L;
+        for (final var executor : eventLoopGroup.get()) {
+            if (executor instanceof SingleThreadEventExecutor singleThreadEventExecutor) {
+                pendingTasks += singleThreadEventExecutor.pendingTasks();
+            }
+        }
+
+        return pendingTasks;
+    }
+
+    /**
+     * Samples the CPU time of the threads whose name starts with a prefix.
+     */
+    private final class UtilizationSampler {
+
+        private final String threadNamePrefix;
+        private long lastCpuNanos = -1;
+        private long lastSampleNanos;
+
+        private UtilizationSampler(final String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+        private double threads() {
+            return threadIds().length;
+        }
+
+        private synchronized double utilization() {
+            if (!threadMXBean.isThreadCpuTimeSupported() || !threadMXBean.isThreadCpuTimeEnabled()) {
+                return Double.NaN;
+            }
+
+            final var threadIds = threadIds();
+            final var cpuNanos = Arrays.stream(threadIds)
+                    .map(threadMXBean::getThreadCpuTime)
+                    .filter(nanos -> nanos > 0)
+                    .sum();
+            final var sampleNanos = System.nanoTime();
+            final var previousCpuNanos = lastCpuNanos;
+            final var previousSampleNanos = lastSampleNanos;
+            lastCpuNanos = cpuNanos;
+            lastSampleNanos = sampleNanos;
+            if (previousCpuNanos < 0 || threadIds.length == 0 || sampleNanos == previousSampleNanos) {
+                return 0.0;
+            }
+
+            final var utilization = (double) (cpuNanos - previousCpuNanos)
+                    / ((sampleNanos - previousSampleNanos) * (double) threadIds.length);
+            return Math.max(0.0, Math.min(1.0, utilization));
+        }
+
+        private long[] threadIds() {
+            return Arrays.stream(threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds()))
+                    .filter(Objects::nonNull)
+                    .filter(threadInfo -> threadInfo.getThreadName().startsWith(threadNamePrefix))
+                    .mapToLong(ThreadInfo::getThreadId)
+                    .toArray();
+        }
+    }
+}
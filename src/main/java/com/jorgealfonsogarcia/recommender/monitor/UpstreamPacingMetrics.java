@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.admission.UpstreamPacer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exposes the pacing of the calls to the movie service as metrics.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Component
+public class UpstreamPacingMetrics implements MeterBinder {
+
+    private final ObjectProvider<UpstreamPacer> upstreamPacer;
+
+    /**
+     * Constructor.
+     *
+     * @param upstreamPacer The upstream pacer, if enabled.
+     */
+    @Autowired
+    public UpstreamPacingMetrics(ObjectProvider<UpstreamPacer> upstreamPacer) {
+        this.upstreamPacer = upstreamPacer;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        upstreamPacer.ifAvailable(pacer -> bindTo(registry, pacer));
+    }
+
+    /**
+     * Binds the metrics of the given upstream pacer.
+     *
+     * @param registry The meter registry.
+     * @param pacer    The upstream pacer.
+     */
+    void bindTo(MeterRegistry registry, UpstreamPacer pacer) {
+        registerCalls(registry, pacer, "immediate", UpstreamPacer::getImmediate);
+        registerCalls(registry, pacer, "delayed", UpstreamPacer::getDelayed);
+        registerCalls(registry, pacer, "rejected", UpstreamPacer::getRejected);
+        FunctionCounter.builder("upstream.pacing.throttled", pacer, UpstreamPacer::getThrottled)
+                .description("Calls to the movie service answered with 429 Too Many Requests")
+                .register(registry);
+        TimeGauge.builder("upstream.pacing.pause", pacer, TimeUnit.MILLISECONDS,
+                        value -> value.getPauseRemaining().toMillis())
+                .description("Time left until the calls to the movie service are no longer paused")
+                .register(registry);
+    }
+
+    private static void registerCalls(final MeterRegistry registry,
+                                      final UpstreamPacer pacer,
+                                      final String result,
+                                      final ToDoubleFunction<UpstreamPacer> count) {
+        FunctionCounter.builder("upstream.pacing.calls", pacer, count)
+                .description("Calls to the movie service paced below its quota")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.recommendation;
+
+import com.jorgealfonsogarcia.recommender.config.RecommendationProperties;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Trains a {@link FactorModel} from an {@link InteractionLog} with alternating least squares for implicit feedback.
+ * <p>
+ * The interactions of a user with a movie add up to a weight, which is the confidence that the user likes it: one plus
+ * alpha times the weight. Each sweep solves the vectors of all the users with those of the movies fixed, and then the
+ * other way around, each vector with a small least squares system of the size of the factors. The vectors are
+ * independent within a half sweep, so they are solved in parallel by splitting their range in a fork/join pool.
+ * <p>
+ * Training is incremental: the weights of the interactions are kept between trainings, so only the interactions
+ * appended to the log since the last one are replayed. The sweeps still solve every vector from all the interactions,
+ * warm started from the vectors of the previous model, which needs fewer sweeps, and only the new users and movies
+ * start from random vectors. Trainings run one at a time.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class AlsTrainer {
+
+    /**
+     * The number of vectors below which a range is solved rather than split.
+     */
+    private static final int SPLIT_THRESHOLD = 64;
+
+    private static final float INITIAL_SCALE = 0.1f;
+
+    private final int factors;
+    private final int iterations;
+    private final int incrementalIterations;
+    private final double regularization;
+    private final double alpha;
+    private final ForkJoinPool pool;
+
+    /**
+     * The weights of the interactions replayed from the log, by user and movie.
+     */
+    private final Map<Long, Float> weights = new HashMap<>();
+    private InteractionLog replayedLog;
+    private int replayed;
+
+    /**
+     * Constructor.
+     *
+     * @param training The training properties.
+     * @param pool     The pool the training runs in.
+     */
+    public AlsTrainer(RecommendationProperties.Training training,
+                      ForkJoinPool pool) {
+        this.factors = training.factors();
+        this.iterations = training.iterations();
+        this.incrementalIterations = training.incrementalIterations();
+        this.regularization = training.regularization();
+        this.alpha = training.alpha();
+        this.pool = pool;
+    }
+
+    /**
+     * Trains a model in the pool, from all the interactions of a log. Only those appended since the last training of
+     * the same log are read from it.
+     *
+     * @param interactionLog The interaction log.
+     * @param previous       The previous model, whose vectors the training starts from.
+     * @return A future of the model.
+     */
+    public CompletableFuture<FactorModel> train(final InteractionLog interactionLog,
+                                                final FactorModel previous) {
+        return CompletableFuture.supplyAsync(() -> trainNow(interactionLog, previous), pool);
+    }
+
+    private synchronized FactorModel trainNow(final InteractionLog interactionLog,
+                                              final FactorModel previous) {
+        if (interactionLog != replayedLog) {
+            weights.clear();
+            replayedLog = interactionLog;
+            replayed = 0;
+        }
+
+        try {
+            replayed = interactionLog.replay(replayed, (userId, movieId, type) ->
+                    weights.merge(((long) userId << Integer.SIZE) | (movieId & 0xFFFFFFFFL), type.getWeight(),
+                            Float::sum));
+        } catch (RuntimeException e) {
+            // Part of the interactions may be in the weights, so the next training replays the whole log.
+            replayedLog = null;
+            throw e;
+        }
+
+        final var version = replayed;
+        final var users = weights.keySet().stream().mapToInt(key -> (int) (key >> Integer.SIZE))
+                .distinct().sorted().toArray();
+        final var movies = weights.keySet().stream().mapToInt(Long::intValue).distinct().sorted().toArray();
+
+        // The interactions by user and by movie, as compressed sparse rows of positions and weights.
+        final var userRows = new SparseRows(users.length, weights.size());
+        final var movieRows = new SparseRows(movies.length, weights.size());
+        weights.forEach((key, weight) -> {
+            userRows.count(Arrays.binarySearch(users, (int) (key >> Integer.SIZE)));
+            movieRows.count(Arrays.binarySearch(movies, key.intValue()));
+        });
+        userRows.allocate();
+        movieRows.allocate();
+        weights.forEach((key, weight) -> {
+            final var user = Arrays.binarySearch(users, (int) (key >> Integer.SIZE));
+            final var movie = Arrays.binarySearch(movies, key.intValue());
+            userRows.put(user, movie, weight);
+            movieRows.put(movie, user, weight);
+        });
+        userRows.sort();
+
+        final var userFactors = initialFactors(users, previous, true);
+        final var movieFactors = initialFactors(movies, previous, false);
+        final var sweeps = previous.getUsers() == 0 ? iterations : incrementalIterations;
+        for (var sweep = 0; sweep < sweeps; sweep++) {
+            solve(userRows, movieFactors, userFactors);
+            solve(movieRows, userFactors, movieFactors);
+        }
+
+        final var popularMovies = new Integer[movies.length];
+        final var totalWeights = new float[movies.length];
+        for (var movie = 0; movie < movies.length; movie++) {
+            popularMovies[movie] = movie;
+            for (var index = movieRows.offsets[movie]; index < movieRows.offsets[movie + 1]; index++) {
+                totalWeights[movie] += movieRows.weights[index];
+            }
+        }
+
+        Arrays.sort(popularMovies, (left, right) -> Float.compare(totalWeights[right], totalWeights[left]));
+        final var popularWeights = new float[movies.length];
+        for (var index = 0; index < movies.length; index++) {
+            popularWeights[index] = totalWeights[popularMovies[index]];
+        }
+
+        return new FactorModel(version, factors, users, userFactors, movies, movieFactors, userRows.offsets,
+                userRows.columns, Arrays.stream(popularMovies).mapToInt(Integer::intValue).toArray(), popularWeights);
+    }
+
+    private float[] initialFactors(final int[] ids,
+                                   final FactorModel previous,
+                                   final boolean users) {
+        final var vectors = new float[ids.length * factors];
+        final var vector = new float[factors];
+        for (var position = 0; position < ids.length; position++) {
+            final var copied = users ? previous.copyUserFactors(ids[position], vector)
+                    : previous.copyMovieFactors(ids[position], vector);
+            if (!copied) {
+                // Seeded by the id, so a new user or movie starts from the same vector in every training.
+                final var random = new Random(ids[position] * 31L + (users ? 1 : 2));
+                for (var factor = 0; factor < factors; factor++) {
+                    vector[factor] = random.nextFloat() * INITIAL_SCALE;
+                }
+            }
+
+            System.arraycopy(vector, 0, vectors, position * factors, factors);
+        }
+
+        return vectors;
+    }
+
+    /**
+     * Solves the vectors of the rows with the vectors of the columns fixed, in parallel.
+     */
+    private void solve(final SparseRows rows,
+                       final float[] fixed,
+                       final float[] solved) {
+        // The Gram matrix of all the fixed vectors, shared by every row: most columns have no interaction with it.
+        final var gram = new double[factors * factors];
+        for (var offset = 0; offset < fixed.length; offset += factors) {
+            for (var i = 0; i < factors; i++) {
+                for (var j = 0; j < factors; j++) {
+                    gram[i * factors + j] += fixed[offset + i] * fixed[offset + j];
+                }
+            }
+        }
+
+        final var task = new SolveTask(rows, fixed, solved, gram, 0, rows.offsets.length - 1);
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Solves the vector of a row: (G + Σ (c - 1) y yᵀ + λI) x = Σ c y, with c the confidence of each interaction
+     * of the row and y the vector of its column, by the Cholesky decomposition of the matrix.
+     */
+    private void solveRow(final SparseRows rows,
+                          final float[] fixed,
+                          final float[] solved,
+                          final double[] gram,
+                          final int row,
+                          final double[] matrix,
+                          final double[] vector) {
+        System.arraycopy(gram, 0, matrix, 0, matrix.length);
+        Arrays.fill(vector, 0.0);
+        for (var i = 0; i < factors; i++) {
+            matrix[i * factors + i] += regularization;
+        }
+
+        for (var index = rows.offsets[row]; index < rows.offsets[row + 1]; index++) {
+            final var confidence = 1 + alpha * rows.weights[index];
+            final var offset = rows.columns[index] * factors;
+            for (var i = 0; i < factors; i++) {
+                final var yi = fixed[offset + i];
+                vector[i] += confidence * yi;
+                for (var j = 0; j < factors; j++) {
+                    matrix[i * factors + j] += (confidence - 1) * yi * fixed[offset + j];
+                }
+            }
+        }
+
+        // The lower triangle becomes L, with L Lᵀ the matrix.
+        for (var j = 0; j < factors; j++) {
+            var diagonal = matrix[j * factors + j];
+            for (var k = 0; k < j; k++) {
+                diagonal -= matrix[j * factors + k] * matrix[j * factors + k];
+            }
+
+            matrix[j * factors + j] = Math.sqrt(diagonal);
+            for (var i = j + 1; i < factors; i++) {
+                var value = matrix[i * factors + j];
+                for (var k = 0; k < j; k++) {
+                    value -= matrix[i * factors + k] * matrix[j * factors + k];
+                }
+
+                matrix[i * factors + j] = value / matrix[j * factors + j];
+            }
+        }
+
+        // L z = b, and then Lᵀ x = z, in place.
+        for (var i = 0; i < factors; i++) {
+            var value = vector[i];
+            for (var k = 0; k < i; k++) {
+                value -= matrix[i * factors + k] * vector[k];
+            }
+
+            vector[i] = value / matrix[i * factors + i];
+        }
+
+        for (var i = factors - 1; i >= 0; i--) {
+            var value = vector[i];
+            for (var k = i + 1; k < factors; k++) {
+                value -= matrix[k * factors + i] * vector[k];
+            }
+
+            vector[i] = value / matrix[i * factors + i];
+        }
+
+        for (var i = 0; i < factors; i++) {
+            solved[row * factors + i] = (float) vector[i];
+        }
+    }
+
+    /**
+     * Solves a range of rows, splitting it in halves while it is large.
+     */
+    private final class SolveTask extends RecursiveAction {
+
+        private final SparseRows rows;
+        private final float[] fixed;
+        private final float[] solved;
+        private final double[] gram;
+        private final int from;
+        private final int to;
+
+        private SolveTask(final SparseRows rows,
+                          final float[] fixed,
+                          final float[] solved,
+                          final double[] gram,
+                          final int from,
+                          final int to) {
+            this.rows = rows;
+            this.fixed = fixed;
+            this.solved = solved;
+            this.gram = gram;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                final var middle = (from + to) >>> 1;
+                invokeAll(new SolveTask(rows, fixed, solved, gram, from, middle),
+                        new SolveTask(rows, fixed, solved, gram, middle, to));
+                return;
+            }
+
+            final var matrix = new double[factors * factors];
+            final var vector = new double[factors];
+            for (var row = from; row < to; row++) {
+                solveRow(rows, fixed, solved, gram, row, matrix, vector);
+            }
+        }
+    }
+
+    /**
+     * The interactions of each row, users or movies, with the positions of their columns and their weights.
+     */
+    private static final class SparseRows {
+
+        private final int[] offsets;
+        private final int[] columns;
+        private final float[] weights;
+        private int[] next;
+
+        private SparseRows(final int rows,
+                           final int interactions) {
+            this.offsets = new int[rows + 1];
+            this.columns = new int[interactions];
+            this.weights = new float[interactions];
+        }
+
+        private void count(final int row) {
+            offsets[row + 1]++;
+        }
+
+        private void allocate() {
+            for (var row = 0; row < offsets.length - 1; row++) {
+                offsets[row + 1] += offsets[row];
+            }
+
+            next = Arrays.copyOf(offsets, offsets.length - 1);
+        }
+
+        private void put(final int row,
+                         final int column,
+                         final float weight) {
+            final var index = next[row]++;
+            columns[index] = column;
+            weights[index] = weight;
+        }
+
+        /**
+         * Sorts the columns of each row, so they can be searched.
+         */
+        private void sort() {
+            for (var row = 0; row < offsets.length - 1; row++) {
+                final var from = offsets[row];
+                final var to = offsets[row + 1];
+                final var order = new long[to - from];
+                for (var index = from; index < to; index++) {
+                    order[index - from] = ((long) columns[index] << Integer.SIZE)
+                            | Float.floatToRawIntBits(weights[index]) & 0xFFFFFFFFL;
+                }
+
+                Arrays.sort(order);
+                for (var index = from; index < to; index++) {
+                    columns[index] = (int) (order[index - from] >>> Integer.SIZE);
+                    weights[index] = Float.intBitsToFloat((int) order[index - from]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * An immutable matrix factorization model of the interactions of the users with the movies.
+ * <p>
+ * Each user and each movie is a vector of latent factors, stored one after the other in a flat array, and the score of
+ * a movie for a user is the dot product of their vectors. The users and the movies are sorted by id, so a user is
+ * found by a binary search, and so are the movies a user already interacted with, which are not recommended again.
+ * Users without interactions are recommended the movies with the most interactions. Recommending fills arrays given by
+ * the caller, so scoring allocates nothing.
+ * <p>
+ * It is thread-safe: it is built by the {@link AlsTrainer} and never changes.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class FactorModel {
+
+    private static final FactorModel EMPTY = new FactorModel(0, 0, new int[0], new float[0], new int[0], new float[0],
+            new int[1], new int[0], new int[0], new float[0]);
+
+    private final int version;
+    private final int factors;
+    private final int[] users;
+    private final float[] userFactors;
+    private final int[] movies;
+    private final float[] movieFactors;
+    private final int[] seenOffsets;
+    private final int[] seenMovies;
+    private final int[] popularMovies;
+    private final float[] popularWeights;
+
+    /**
+     * Constructor.
+     *
+     * @param version        The number of interactions the model was trained with.
+     * @param factors        The number of factors of each vector.
+     * @param users          The ids of the users, sorted.
+     * @param userFactors    The vectors of the users, in the order of their ids.
+     * @param movies         The ids of the movies, sorted.
+     * @param movieFactors   The vectors of the movies, in the order of their ids.
+     * @param seenOffsets    Where the movies of each user start in the seen movies, and where the last ones end.
+     * @param seenMovies     The positions of the movies of each user, sorted.
+     * @param popularMovies  The positions of the movies, the most interacted with first.
+     * @param popularWeights The total weight of the interactions with each of the popular movies.
+     */
+    FactorModel(final int version,
+                final int factors,
+                final int[] users,
+                final float[] userFactors,
+                final int[] movies,
+                final float[] movieFactors,
+                final int[] seenOffsets,
+                final int[] seenMovies,
+                final int[] popularMovies,
+                final float[] popularWeights) {
+        this.version = version;
+        this.factors = factors;
+        this.users = users;
+        this.userFactors = userFactors;
+        this.movies = movies;
+        this.movieFactors = movieFactors;
+        this.seenOffsets = seenOffsets;
+        this.seenMovies = seenMovies;
+        this.popularMovies = popularMovies;
+        this.popularWeights = popularWeights;
+    }
+
+    /**
+     * Gets the model without users or movies.
+     *
+     * @return The empty model.
+     */
+    public static FactorModel empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Recommends the best movies for a user, that the user did not interact with yet. A user without interactions is
+     * recommended the most popular movies, scored by the total weight of their interactions.
+     *
+     * @param userId   The id of the user.
+     * @param movieIds Filled with the ids of the movies, the best first. Its length is the maximum number of movies.
+     * @param scores   Filled with the scores of the movies. It is as long as the movie ids.
+     * @return The number of movies recommended.
+     */
+    public int recommend(final int userId,
+                         final int[] movieIds,
+                         final float[] scores) {
+        final var limit = movieIds.length;
+        if (limit == 0) {
+            return 0;
+        }
+
+        final var user = Arrays.binarySearch(users, userId);
+        if (user < 0) {
+            final var count = Math.min(limit, popularMovies.length);
+            for (var index = 0; index < count; index++) {
+                movieIds[index] = movies[popularMovies[index]];
+                scores[index] = popularWeights[index];
+            }
+
+            return count;
+        }
+
+        final var userOffset = user * factors;
+        final var seenFrom = seenOffsets[user];
+        final var seenTo = seenOffsets[user + 1];
+        var count = 0;
+        for (var movie = 0; movie < movies.length; movie++) {
+            if (Arrays.binarySearch(seenMovies, seenFrom, seenTo, movie) >= 0) {
+                continue;
+            }
+
+            final var movieOffset = movie * factors;
+            var score = 0.0f;
+            for (var factor = 0; factor < factors; factor++) {
+                score += userFactors[userOffset + factor] * movieFactors[movieOffset + factor];
+            }
+
+            if (count == limit && score <= scores[count - 1]) {
+                continue;
+            }
+
+            // Insertion into the best movies so far, which are few, keeping them sorted by score.
+            var position = count < limit ? count++ : count - 1;
+            while (position > 0 && scores[position - 1] < score) {
+                movieIds[position] = movieIds[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+
+            movieIds[position] = movies[movie];
+            scores[position] = score;
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of interactions the model was trained with.
+     *
+     * @return The number of interactions.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of users of the model.
+     *
+     * @return The number of users.
+     */
+    public int getUsers() {
+        return users.length;
+    }
+
+    /**
+     * Gets the number of movies of the model.
+     *
+     * @return The number of movies.
+     */
+    public int getMovies() {
+        return movies.length;
+    }
+
+    /**
+     * Gets the vector of a user, to start the next training from it.
+     *
+     * @param userId The id of the user.
+     * @param vector Filled with the factors of the user.
+     * @return Whether the user is in the model.
+     */
+    boolean copyUserFactors(final int userId,
+                            final float[] vector) {
+        return copyFactors(users, userFactors, userId, vector);
+    }
+
+    /**
+     * Gets the vector of a movie, to start the next training from it.
+     *
+     * @param movieId The id of the movie.
+     * @param vector  Filled with the factors of the movie.
+     * @return Whether the movie is in the model.
+     */
+    boolean copyMovieFactors(final int movieId,
+                             final float[] vector) {
+        return copyFactors(movies, movieFactors, movieId, vector);
+    }
+
+    private boolean copyFactors(final int[] ids,
+                                final float[] vectors,
+                                final int id,
+                                final float[] vector) {
+        final var position = Arrays.binarySearch(ids, id);
+        if (position < 0 || vector.length != factors) {
+            return false;
+        }
+
+        System.arraycopy(vectors, position * factors, vector, 0, factors);
+        return true;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.recommendation;
+
+import com.jorgealfonsogarcia.recommender.domain.models.InteractionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log of the interactions of the users with the movies, in a memory-mapped file.
+ * <p>
+ * Each interaction is a fixed-length record: the user, the movie, the code of the type and a checksum of them, written
+ * last, so a torn record ends the scan of the log when it is opened, and is overwritten by the next interaction. The
+ * file is mapped with room for more records, and mapped again at twice its size when it is full, so appending only
+ * writes to memory until then. Growing the log writes it to the file, so the appends should run off the event loop.
+ * <p>
+ * A replay reads the records appended before it started outside the lock, from the mapping of that moment, so the
+ * appends never wait for it, nor for what it is replayed into.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public class InteractionLog implements Closeable {
+
+    /**
+     * User, movie, type and checksum.
+     */
+    static final int RECORD_LENGTH = Integer.BYTES + Integer.BYTES + Byte.BYTES + Integer.BYTES;
+
+    private static final int CHECKED_LENGTH = RECORD_LENGTH - Integer.BYTES;
+    private static final int INITIAL_RECORDS = 4096;
+    private static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_LENGTH;
+
+    private final Path file;
+    private MappedByteBuffer buffer;
+    private volatile int size;
+
+    /**
+     * Constructor. It opens the log, creating it if it does not exist, and finds its last valid record.
+     *
+     * @param file The file of the log.
+     * @throws IOException If the file cannot be opened.
+     */
+    public InteractionLog(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        final var existing = Files.exists(file) ? Files.size(file) : 0;
+        final var records = (int) Math.min(MAX_RECORDS, Math.max(INITIAL_RECORDS,
+                (existing + RECORD_LENGTH - 1) / RECORD_LENGTH));
+        this.buffer = map(records);
+        while (size < records && isValid(size * RECORD_LENGTH)) {
+            size++;
+        }
+    }
+
+    /**
+     * Appends an interaction.
+     *
+     * @param userId  The id of the user.
+     * @param movieId The id of the movie.
+     * @param type    The type of the interaction.
+     * @throws IllegalStateException If the log is full.
+     */
+    public synchronized void append(final int userId,
+                                    final int movieId,
+                                    final InteractionType type) {
+        if ((size + 1) * (long) RECORD_LENGTH > buffer.capacity()) {
+            grow();
+        }
+
+        final var offset = size * RECORD_LENGTH;
+        buffer.putInt(offset, userId);
+        buffer.putInt(offset + Integer.BYTES, movieId);
+        buffer.put(offset + 2 * Integer.BYTES, type.getCode());
+        buffer.putInt(offset + CHECKED_LENGTH, checksum(offset));
+        size++;
+    }
+
+    /**
+     * Calls the consumer with each interaction of the log, in the order they were appended.
+     *
+     * @param consumer The consumer.
+     * @return The number of interactions.
+     */
+    public int replay(final InteractionConsumer consumer) {
+        return replay(0, consumer);
+    }
+
+    /**
+     * Calls the consumer with each interaction of the log from a position, in the order they were appended. The
+     * interactions appended meanwhile are not replayed.
+     *
+     * @param from     The position of the first interaction, such as the number of interactions replayed before.
+     * @param consumer The consumer.
+     * @return The number of interactions of the log when the replay started.
+     */
+    public int replay(final int from,
+                      final InteractionConsumer consumer) {
+        final MappedByteBuffer records;
+        final int count;
+        synchronized (this) {
+            records = buffer;
+            count = size;
+        }
+
+        for (var record = from; record < count; record++) {
+            final var offset = record * RECORD_LENGTH;
+            final var type = InteractionType.fromCode(records.get(offset + 2 * Integer.BYTES)).orElseThrow();
+            consumer.accept(records.getInt(offset), records.getInt(offset + Integer.BYTES), type);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of interactions of the log. It is read without the lock.
+     *
+     * @return The number of interactions.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Writes the interactions to the file.
+     */
+    @Override
+    public synchronized void close() {
+        buffer.force();
+    }
+
+    private void grow() {
+        final var records = buffer.capacity() / RECORD_LENGTH;
+        if (records >= MAX_RECORDS) {
+            throw new IllegalStateException("The interaction log is full");
+        }
+
+        try {
+            buffer.force();
+            buffer = map((int) Math.min(MAX_RECORDS, 2L * records));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer map(final int records) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) records * RECORD_LENGTH);
+        }
+    }
+
+    private boolean isValid(final int offset) {
+        return buffer.getInt(offset + CHECKED_LENGTH) == checksum(offset)
+                && InteractionType.fromCode(buffer.get(offset + 2 * Integer.BYTES)).isPresent();
+    }
+
+    private int checksum(final int offset) {
+        final var crc = new CRC32C();
+        crc.update(buffer.slice(offset, CHECKED_LENGTH));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Consumes the interactions of a log.
+     */
+    @FunctionalInterface
+    public interface InteractionConsumer {
+
+        /**
+         * Consumes an interaction.
+         *
+         * @param userId  The id of the user.
+         * @param movieId The id of the movie.
+         * @param type    The type of the interaction.
+         */
+        void accept(int userId, int movieId, InteractionType type);
+    }
+}
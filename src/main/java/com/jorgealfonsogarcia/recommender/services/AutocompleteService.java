@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.domain.models.Suggestion;
+import com.jorgealfonsogarcia.recommender.index.MovieIndex;
+import com.jorgealfonsogarcia.recommender.index.TitleTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils.canonicalLanguage;
+
+/**
+ * Service that completes prefixes of the titles of the movies found by the searches.
+ * <p>
+ * The titles are held in a {@link TitleTrie} per original language, and one of all of them, built from the movies of
+ * the {@link MovieIndex}. When the index changes, the next completion schedules a rebuild on the compute scheduler, at
+ * most once per rebuild interval, and is answered from the previous tries. The rebuilt tries replace them at once, so a
+ * completion never sees them half built and never waits for them.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private final MovieIndex movieIndex;
+    private final Scheduler computeScheduler;
+    private final int maxSuggestions;
+    private final long rebuildIntervalNanos;
+
+    private final AtomicReference<Snapshot> snapshot;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param movieIndex       The movie index.
+     * @param searchProperties The search properties.
+     * @param computeScheduler The scheduler of the CPU-bound work.
+     */
+    @Autowired
+    public AutocompleteService(MovieIndex movieIndex,
+                               SearchProperties searchProperties,
+                               Scheduler computeScheduler) {
+        this.movieIndex = movieIndex;
+        this.computeScheduler = computeScheduler;
+        this.maxSuggestions = searchProperties.getAutocomplete().maxSuggestions();
+        this.rebuildIntervalNanos = searchProperties.getAutocomplete().rebuildInterval().toNanos();
+
+        // The empty tries are as old as the interval, so the first change of the index is picked up at once.
+        this.snapshot = new AtomicReference<>(new Snapshot(0, Map.of(), TitleTrie.empty(),
+                System.nanoTime() - rebuildIntervalNanos));
+    }
+
+    /**
+     * Completes a prefix with the most popular titles starting with it.
+     *
+     * @param prefix   The prefix of the title, whatever its case or accents.
+     * @param language The original language of the movies, or null for any language. It should be ISO 639-1.
+     * @return A Mono with the titles, the most popular first.
+     */
+    public Mono<List<Suggestion>> complete(final String prefix,
+                                           final String language) {
+        return Mono.fromSupplier(() -> {
+            rebuildIfStale();
+            final var current = snapshot.get();
+            final var titleTrie = language == null ? current.all()
+                    : current.byLanguage().getOrDefault(canonicalLanguage(language), TitleTrie.empty());
+            return titleTrie.complete(prefix);
+        });
+    }
+
+    /**
+     * Gets the number of titles of the current trie of all the languages.
+     *
+     * @return The number of titles.
+     */
+    public int getSize() {
+        return snapshot.get().all().getSize();
+    }
+
+    /**
+     * Gets the number of nodes of the current trie of all the languages.
+     *
+     * @return The number of nodes.
+     */
+    public int getNodes() {
+        return snapshot.get().all().getNodes();
+    }
+
+    /**
+     * Gets the number of rebuilds of the tries.
+     *
+     * @return The number of rebuilds.
+     */
+    public long getRebuilds() {
+        return rebuilds.get();
+    }
+
+    private void rebuildIfStale() {
+        final var current = snapshot.get();
+        if (current.version() == movieIndex.getVersion()
+                || System.nanoTime() - current.builtAt() < rebuildIntervalNanos
+                || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        computeScheduler.schedule(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to rebuild the title tries", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    private void rebuild() {
+        // The version is read before the movies, so a movie indexed in between triggers another rebuild.
+        final var version = movieIndex.getVersion();
+        final var movies = movieIndex.getMovies();
+        final var moviesByLanguage = new HashMap<String, List<Movie>>();
+        for (final var movie : movies) {
+            if (movie.originalLanguage() != null) {
+                moviesByLanguage.computeIfAbsent(canonicalLanguage(movie.originalLanguage()),
+                        ignored -> new ArrayList<>()).add(movie);
+            }
+        }
+
+        final var byLanguage = new HashMap<String, TitleTrie>();
+        moviesByLanguage.forEach((language, languageMovies) ->
+                byLanguage.put(language, TitleTrie.build(languageMovies, maxSuggestions)));
+
+        snapshot.set(new Snapshot(version, Map.copyOf(byLanguage), TitleTrie.build(movies, maxSuggestions),
+                System.nanoTime()));
+        rebuilds.incrementAndGet();
+    }
+
+    /**
+     * The tries built from a version of the movie index.
+     *
+     * @param version    The version of the movie index.
+     * @param byLanguage The tries of each original language.
+     * @param all        The trie of all the languages.
+     * @param builtAt    When the tries were built, in nanoseconds.
+     */
+    private record Snapshot(long version, Map<String, TitleTrie> byLanguage, TitleTrie all, long builtAt) {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the cache keys of the discover calls a response is built from. The {@link MovieService} finds it in the
+ * Reactor context of the request, so the response cache can be invalidated when one of their movies changes.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class CacheDependencies {
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Gets a context holding these dependencies.
+     *
+     * @return The context.
+     */
+    public Context toContext() {
+        return Context.of(CacheDependencies.class, this);
+    }
+
+    /**
+     * Records that a discover call was used, in the dependencies of the context if it has them.
+     *
+     * @param context The Reactor context.
+     * @param key     The cache key of the discover call.
+     */
+    public static void record(final ContextView context,
+                              final String key) {
+        context.<CacheDependencies>getOrEmpty(CacheDependencies.class)
+                .ifPresent(dependencies -> dependencies.keys.add(key));
+    }
+
+    /**
+     * Gets the cache keys of the discover calls used.
+     *
+     * @return The cache keys.
+     */
+    public Set<String> getKeys() {
+        return Set.copyOf(keys);
+    }
+}
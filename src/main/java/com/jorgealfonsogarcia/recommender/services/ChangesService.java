@@ -0,0 +1,339 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.cache.ResponseCache;
+import com.jorgealfonsogarcia.recommender.cache.TieredCache;
+import com.jorgealfonsogarcia.recommender.config.CacheProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.ChangedMovie;
+import com.jorgealfonsogarcia.recommender.domain.models.ChangesResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.jorgealfonsogarcia.recommender.utils.ResilienceUtils.applyResilienceForMono;
+
+/**
+ * Service that polls the changes feed of the movie service and evicts only the cached discover calls, and the cached
+ * responses, holding a changed movie, as found in the {@link MovieKeyIndex}. The entries without changes are kept for
+ * their whole time to live.
+ * <p>
+ * The feed lists the movies changed since a day, without the time of the change, so each poll asks for the changes
+ * since the day of the previous one, and a movie is only invalidated the first time it is listed that day. The first
+ * poll of a day invalidates again every movie listed since the previous day, so a movie changed twice in a day is
+ * refreshed at the latest on the next one. A discover call that gains a new movie is not found through it, so it
+ * still waits for its time to live. While polling is enabled, the responses the index stops tracking are evicted too,
+ * as their changes would not be found. The discover calls it stops tracking stay cached, and are tracked again when
+ * read, as are those stored on disk once the application is ready.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Service
+public class ChangesService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangesService.class);
+
+    private final CacheManager caffeineCacheManager;
+    private final WebClient movieServiceWebClient;
+    private final CircuitBreaker moviesCircuitBreaker;
+    private final Retry moviesRetry;
+    private final MovieKeyIndex movieKeyIndex;
+    private final ResponseCache responseCache;
+    private final CacheProperties.Changes changes;
+    private final Clock clock;
+
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong changedMovies = new AtomicLong();
+    private final AtomicLong invalidatedCells = new AtomicLong();
+    private final AtomicLong invalidatedResponses = new AtomicLong();
+
+    private LocalDate since;
+    private Set<Integer> invalidated = new HashSet<>();
+    private Disposable polling;
+
+    /**
+     * Constructor.
+     *
+     * @param caffeineCacheManager  The Caffeine cache manager.
+     * @param movieServiceWebClient The movie service web client.
+     * @param moviesCircuitBreaker  The movies circuit breaker.
+     * @param moviesRetry           The movies retry.
+     * @param movieKeyIndex         The cache keys holding each movie.
+     * @param responseCache         The response cache, if enabled.
+     * @param cacheProperties       The cache properties.
+     */
+    @Autowired
+    public ChangesService(CacheManager caffeineCacheManager,
+                          WebClient movieServiceWebClient,
+                          CircuitBreaker moviesCircuitBreaker,
+                          Retry moviesRetry,
+                          MovieKeyIndex movieKeyIndex,
+                          ObjectProvider<ResponseCache> responseCache,
+                          CacheProperties cacheProperties) {
+        this(caffeineCacheManager, movieServiceWebClient, moviesCircuitBreaker, moviesRetry, movieKeyIndex,
+                responseCache.getIfAvailable(), cacheProperties, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param caffeineCacheManager  The Caffeine cache manager.
+     * @param movieServiceWebClient The movie service web client.
+     * @param moviesCircuitBreaker  The movies circuit breaker.
+     * @param moviesRetry           The movies retry.
+     * @param movieKeyIndex         The cache keys holding each movie.
+     * @param responseCache         The response cache, or null if it is disabled.
+     * @param cacheProperties       The cache properties.
+     * @param clock                 The clock of the days of the feed.
+     */
+    ChangesService(CacheManager caffeineCacheManager,
+                   WebClient movieServiceWebClient,
+                   CircuitBreaker moviesCircuitBreaker,
+                   Retry moviesRetry,
+                   MovieKeyIndex movieKeyIndex,
+                   ResponseCache responseCache,
+                   CacheProperties cacheProperties,
+                   Clock clock) {
+        this.caffeineCacheManager = caffeineCacheManager;
+        this.movieServiceWebClient = movieServiceWebClient;
+        this.moviesCircuitBreaker = moviesCircuitBreaker;
+        this.moviesRetry = moviesRetry;
+        this.movieKeyIndex = movieKeyIndex;
+        this.responseCache = responseCache;
+        this.changes = cacheProperties.getChanges();
+        this.clock = clock;
+        if (changes.enabled()) {
+            movieKeyIndex.setDroppedResponsesListener(this::evictResponses);
+        }
+    }
+
+    /**
+     * Starts polling the changes feed once the application is ready, if enabled, and tracks the discover calls stored
+     * on disk meanwhile. A failed poll is retried on the next one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (!changes.enabled() || polling != null) {
+            return;
+        }
+
+        polling = Disposables.composite(
+                trackStoredCells().subscribe(),
+                Flux.interval(changes.interval(), changes.interval())
+                        .onBackpressureDrop()
+                        .concatMap(tick -> poll()
+                                .onErrorResume(e -> {
+                                    LOGGER.warn("The changes feed could not be polled: {}", e.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .subscribe());
+    }
+
+    /**
+     * Stops polling the changes feed when the application is closed.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void onContextClosed() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    /**
+     * Tracks the discover calls stored in the disk cache, such as those cached before a restart, so their changes are
+     * found before they are read again. They are read one at a time off the calling thread, and not loaded into memory.
+     *
+     * @return A Mono with the number of discover calls tracked.
+     */
+    public Mono<Long> trackStoredCells() {
+        return Mono.defer(() -> {
+            if (!(caffeineCacheManager.getCache(MovieService.MOVIES_CACHE) instanceof TieredCache tieredCache)) {
+                return Mono.just(0L);
+            }
+
+            return tieredCache.readStored(key -> key.startsWith(MovieService.DISCOVER_KEY_PREFIX))
+                    .filter(entry -> entry.getValue() instanceof List<?> values
+                            && !values.isEmpty() && values.get(0) instanceof Movie)
+                    .doOnNext(entry -> {
+                        //noinspection unchecked
+                        movieKeyIndex.recordCell(entry.getKey(), (List<Movie>) entry.getValue());
+                    })
+                    .count();
+        }).onErrorResume(e -> {
+            LOGGER.warn("The cached discover calls could not be tracked: {}", e.getMessage());
+            return Mono.just(0L);
+        });
+    }
+
+    /**
+     * Polls the changes feed, with every page of the changes since the day of the previous poll, and evicts the cached
+     * entries holding the movies not invalidated yet.
+     *
+     * @return A Mono with the cache keys evicted.
+     */
+    public Mono<MovieKeyIndex.Invalidation> poll() {
+        final var today = LocalDate.now(clock);
+        final var from = getSince(today);
+        return getChangedMovieIds(from, today)
+                .map(movieIds -> invalidate(today, movieIds))
+                .doOnSuccess(ignored -> polls.incrementAndGet());
+    }
+
+    /**
+     * Gets the number of successful polls of the changes feed.
+     *
+     * @return The number of polls.
+     */
+    public long getPolls() {
+        return polls.get();
+    }
+
+    /**
+     * Gets the number of changed movies invalidated.
+     *
+     * @return The number of changed movies.
+     */
+    public long getChangedMovies() {
+        return changedMovies.get();
+    }
+
+    /**
+     * Gets the number of cached discover calls evicted.
+     *
+     * @return The number of discover calls.
+     */
+    public long getInvalidatedCells() {
+        return invalidatedCells.get();
+    }
+
+    /**
+     * Gets the number of cached responses evicted.
+     *
+     * @return The number of responses.
+     */
+    public long getInvalidatedResponses() {
+        return invalidatedResponses.get();
+    }
+
+    private synchronized LocalDate getSince(final LocalDate today) {
+        return since != null ? since : today;
+    }
+
+    /**
+     * Evicts the entries holding the changed movies. Within the same day only the movies not invalidated yet are, as
+     * the feed lists the same ones on every poll.
+     */
+    private synchronized MovieKeyIndex.Invalidation invalidate(final LocalDate today,
+                                                               final Set<Integer> movieIds) {
+        final Set<Integer> changed;
+        if (today.equals(since)) {
+            changed = movieIds.stream()
+                    .filter(movieId -> !invalidated.contains(movieId))
+                    .collect(Collectors.toSet());
+            invalidated.addAll(changed);
+        } else {
+            changed = movieIds;
+            invalidated = new HashSet<>(movieIds);
+            since = today;
+        }
+
+        final var invalidation = movieKeyIndex.invalidate(changed);
+        evict(invalidation);
+        changedMovies.addAndGet(changed.size());
+        invalidatedCells.addAndGet(invalidation.cells().size());
+        invalidatedResponses.addAndGet(invalidation.responses().size());
+        return invalidation;
+    }
+
+    /**
+     * Evicts the cached discover calls and responses of an invalidation.
+     */
+    private void evict(final MovieKeyIndex.Invalidation invalidation) {
+        final var cache = caffeineCacheManager.getCache(MovieService.MOVIES_CACHE);
+        if (cache != null) {
+            invalidation.cells().forEach(cache::evict);
+        }
+
+        evictResponses(invalidation.responses());
+    }
+
+    /**
+     * Evicts cached responses, invalidated or dropped by the movie key index, as they could no longer be invalidated.
+     */
+    private void evictResponses(final Set<String> responses) {
+        if (responseCache != null) {
+            responses.forEach(responseCache::evict);
+        }
+    }
+
+    private Mono<Set<Integer>> getChangedMovieIds(final LocalDate from,
+                                                  final LocalDate to) {
+        return getChangesPage(from, to, 1)
+                .expand(response -> response.page() != null && response.totalPages() != null
+                        && response.page() < response.totalPages()
+                        ? getChangesPage(from, to, response.page() + 1)
+                        : Mono.empty())
+                .flatMapIterable(ChangesResponse::results)
+                .map(ChangedMovie::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private Mono<ChangesResponse> getChangesPage(final LocalDate from,
+                                                 final LocalDate to,
+                                                 final int page) {
+        return applyResilienceForMono(() -> movieServiceWebClient.get()
+                        .uri("/movie/changes?start_date={startDate}&end_date={endDate}&page={page}", from, to, page)
+                        .retrieve()
+                        .bodyToMono(ChangesResponse.class),
+                moviesCircuitBreaker, moviesRetry);
+    }
+}
@@ -24,31 +24,64 @@
 
 package com.jorgealfonsogarcia.recommender.services;
 
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.cache.NegativeCache;
+import com.jorgealfonsogarcia.recommender.cache.StaleCache;
+import com.jorgealfonsogarcia.recommender.cache.TieredCache;
+import com.jorgealfonsogarcia.recommender.config.EventLoopProperties;
 import com.jorgealfonsogarcia.recommender.domain.models.Genre;
 import com.jorgealfonsogarcia.recommender.domain.models.GenresResponse;
 import com.jorgealfonsogarcia.recommender.domain.models.Language;
 import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
 import com.jorgealfonsogarcia.recommender.domain.models.MoviePageResponse;
 import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchPage;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchResult;
+import com.jorgealfonsogarcia.recommender.index.MovieIndex;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retry.Retry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.jorgealfonsogarcia.recommender.utils.ResilienceUtils.applyResilienceForFlux;
 import static com.jorgealfonsogarcia.recommender.utils.ResilienceUtils.applyResilienceForMono;
 
 /**
  * Service for the movie resource.
+ * <p>
+ * When the movie service fails, or the circuit breaker is open, the genres, languages and discover calls fall back to
+ * their last-known-good values in the {@link StaleCache}, and the age of the data is recorded in the {@link Staleness}
+ * of the request.
+ * <p>
+ * Every movie found by the discover calls is added to the {@link MovieIndex}, so the text lookups are answered from
+ * memory without calling the movie service. The movies are indexed, and looked up, on the scheduler of the CPU-bound
+ * work, and only when their discover call is loaded rather than on every cache hit.
+ * <p>
+ * The movies of each discover call are recorded in the {@link MovieKeyIndex}, and the calls a response is built from
+ * in the {@link CacheDependencies} of the request, so the entries holding a movie changed upstream can be invalidated.
  *
  * @author Jorge Garcia
  * @version 1.0.0
@@ -57,10 +90,23 @@ import static com.jorgealfonsogarcia.recommender.utils.ResilienceUtils.applyResi
 @Service
 public class MovieService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieService.class);
+
+    static final String MOVIES_CACHE = "moviesCache";
+    static final String DISCOVER_KEY_PREFIX = "discover_";
+    private static final Comparator<MovieResponse> BY_RELEASE_DATE =
+            Comparator.comparing(movieResponse -> LocalDate.parse(movieResponse.releaseDate()));
+
     private final CacheManager caffeineCacheManager;
     private final WebClient movieServiceWebClient;
     private final CircuitBreaker moviesCircuitBreaker;
     private final Retry moviesRetry;
+    private final NegativeCache negativeCache;
+    private final StaleCache staleCache;
+    private final MovieIndex movieIndex;
+    private final MovieKeyIndex movieKeyIndex;
+    private final Scheduler computeScheduler;
+    private final int offloadThreshold;
 
     /**
      * Constructor.
@@ -69,39 +115,188 @@ public class MovieService {
      * @param movieServiceWebClient The movie service web client.
      * @param moviesCircuitBreaker  The movies circuit breaker.
      * @param moviesRetry           The movies retry.
+     * @param negativeCache         The cache of the searches without results.
+     * @param staleCache            The cache of the last-known-good values.
+     * @param movieIndex            The text index of the movies.
+     * @param movieKeyIndex         The cache keys holding each movie.
+     * @param computeScheduler      The scheduler of the CPU-bound work.
+     * @param eventLoopProperties   The event loop properties.
      */
     @Autowired
     public MovieService(CacheManager caffeineCacheManager,
                         WebClient movieServiceWebClient,
                         CircuitBreaker moviesCircuitBreaker,
-                        Retry moviesRetry) {
+                        Retry moviesRetry,
+                        NegativeCache negativeCache,
+                        StaleCache staleCache,
+                        MovieIndex movieIndex,
+                        MovieKeyIndex movieKeyIndex,
+                        Scheduler computeScheduler,
+                        EventLoopProperties eventLoopProperties) {
         this.caffeineCacheManager = caffeineCacheManager;
         this.movieServiceWebClient = movieServiceWebClient;
         this.moviesCircuitBreaker = moviesCircuitBreaker;
         this.moviesRetry = moviesRetry;
+        this.negativeCache = negativeCache;
+        this.staleCache = staleCache;
+        this.movieIndex = movieIndex;
+        this.movieKeyIndex = movieKeyIndex;
+        this.computeScheduler = computeScheduler;
+        this.offloadThreshold = eventLoopProperties.getOffloadThreshold();
     }
 
     /**
-     * Searches movies by year range, genres and language.
+     * Searches movies by year range, genres and languages. The genres of the languages are loaded concurrently, and
+     * the upstream discover calls of each language and year share the same concurrency. The movies are sorted on the
+     * scheduler of the CPU-bound work when there are at least the offload threshold of them.
      *
-     * @param startYear The start year.
-     * @param endYear   The end year.
-     * @param genres    The genres.
-     * @param language  The language. It should be ISO 639-1.
+     * @param startYear   The start year.
+     * @param endYear     The end year.
+     * @param genres      The genres, by their name in any of the languages.
+     * @param languages   The languages. They should be ISO 639-1.
+     * @param concurrency The maximum number of concurrent upstream calls.
+     * @param fields      The properties of the movies to return.
      * @return A Flux with the movies found sorted by release date.
      */
     public Flux<MovieResponse> search(final Integer startYear,
                                       final Integer endYear,
                                       final List<String> genres,
-                                      final String language) {
-        final var genresMono = getGenres(language);
-        return genresMono.flatMapMany(genreList -> {
-                    final var joinedGenreIds = getGenreIdsJoined(genres, genreList);
+                                      final List<String> languages,
+                                      final int concurrency,
+                                      final Set<MovieField> fields) {
+        return getGenresByLanguage(languages, concurrency)
+                .flatMapMany(genresByLanguage -> {
+                    final var joinedGenreIds = getGenreIdsJoined(genres, genresByLanguage.values());
                     return Flux.range(startYear, endYear - startYear + 1)
-                            .flatMap(year -> getMovieFromApi(year, joinedGenreIds, language))
-                            .map(movie -> getMovieResponseFunction(movie, genreList));
+                            .flatMapIterable(year -> languages.stream()
+                                    .map(language -> new SearchBatch.DiscoverCell(year, joinedGenreIds, language))
+                                    .toList())
+                            .flatMapSequential(cell -> getMovieResponses(cell, genresByLanguage.get(cell.language()),
+                                    fields), concurrency);
                 })
-                .sort(Comparator.comparing(movieResponse -> LocalDate.parse(movieResponse.releaseDate())));
+                .collectList()
+                .flatMap(movies -> offloadIfLarge(movies, movies.size()))
+                .flatMapIterable(movies -> sortByReleaseDate(movies, fields));
+    }
+
+    /**
+     * Searches a page of movies, starting at the given position. Only the years the page needs are fetched, as the
+     * movies of a year are all released before those of the next one. The page is built on the scheduler of the
+     * CPU-bound work when it has at least the offload threshold of movies.
+     *
+     * @param cursor       The search and the position of the page. The genres and languages should be canonical.
+     * @param pageSize     The maximum number of movies of the page.
+     * @param concurrency  The maximum number of concurrent upstream calls.
+     * @param prefetchNext Whether the movies of the next page are loaded in the background.
+     * @param fields       The properties of the movies to return.
+     * @return A Mono with the movies of the page sorted by release date, and the position of the next page.
+     */
+    public Mono<SearchPage> searchPage(final SearchCursor cursor,
+                                       final int pageSize,
+                                       final int concurrency,
+                                       final boolean prefetchNext,
+                                       final Set<MovieField> fields) {
+        final var query = cursor.query();
+        return getGenresByLanguage(query.languages(), concurrency)
+                .flatMap(genresByLanguage -> getPositionedMovies(cursor, genresByLanguage, concurrency, fields)
+                        .take(pageSize + 1L)
+                        .collectList())
+                .flatMap(positionedMovies -> offloadIfLarge(positionedMovies, positionedMovies.size()))
+                .map(positionedMovies -> {
+                    final var movies = positionedMovies.stream()
+                            .limit(pageSize)
+                            .map(positionedMovie -> projectReleaseDate(positionedMovie.movie(), fields))
+                            .toList();
+                    final var next = positionedMovies.size() > pageSize
+                            ? new SearchCursor(query, positionedMovies.get(pageSize).year(),
+                            positionedMovies.get(pageSize).index())
+                            : null;
+                    return new SearchPage(movies, next);
+                })
+                .doOnNext(page -> {
+                    if (prefetchNext && page.next() != null) {
+                        searchPage(page.next(), pageSize, concurrency, false, fields)
+                                .onErrorResume(e -> Mono.empty())
+                                .subscribe();
+                    }
+                });
+    }
+
+    /**
+     * Streams the movies of a search as they are requested, a year at a time. The discover calls of a year are made
+     * only once the movies of the previous years have all been requested, so a slow consumer makes the search hold at
+     * most a year of movies.
+     *
+     * @param query       The search. Its genres and languages should be canonical.
+     * @param concurrency The maximum number of concurrent upstream calls.
+     * @param fields      The properties of the movies to return.
+     * @return A Flux with the movies found sorted by release date.
+     */
+    public Flux<MovieResponse> streamSearch(final SearchQuery query,
+                                            final int concurrency,
+                                            final Set<MovieField> fields) {
+        return getGenresByLanguage(query.languages(), concurrency)
+                .flatMapMany(genresByLanguage -> getPositionedMovies(new SearchCursor(query, query.startYear(), 0),
+                        genresByLanguage, concurrency, fields))
+                .map(positionedMovie -> projectReleaseDate(positionedMovie.movie(), fields));
+    }
+
+    /**
+     * Searches a batch of movie searches, fetching the genres of each language once and each distinct upstream discover
+     * call once, with at most the given number of discover calls at a time.
+     *
+     * @param queries     The searches. Their genres and languages should be canonical.
+     * @param concurrency The maximum number of concurrent upstream calls.
+     * @param fields      The properties of the movies to return.
+     * @return A Flux with the result of each search, emitted as soon as all its discover calls complete. Results of at
+     * least the offload threshold of movies are sorted on the scheduler of the CPU-bound work.
+     */
+    public Flux<SearchResult> searchBatch(final List<SearchQuery> queries,
+                                          final int concurrency,
+                                          final Set<MovieField> fields) {
+        return Flux.fromIterable(queries.stream().flatMap(query -> query.languages().stream()).distinct().toList())
+                .flatMap(language -> getGenres(language)
+                        .map(genreList -> Map.entry(language, genreList))
+                        .onErrorResume(e -> Mono.empty()), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMapMany(genresByLanguage -> {
+                    final var batch = new SearchBatch(queries.stream()
+                            .map(query -> getDiscoverCells(query, genresByLanguage))
+                            .toList());
+
+                    final var completedUpfront = Flux.fromIterable(batch.completedUpfront());
+                    final var completedByCells = Flux.fromIterable(batch.cells())
+                            .flatMap(cell -> getMovieResponses(cell, genresByLanguage.get(cell.language()), fields)
+                                    .collectList()
+                                    .map(movies -> new SearchBatch.CellOutcome(cell, movies, null))
+                                    .onErrorResume(e -> Mono.just(new SearchBatch.CellOutcome(cell, List.of(), e))),
+                                    concurrency)
+                            .concatMapIterable(batch::complete);
+
+                    return Flux.concat(completedUpfront, completedByCells)
+                            .map(index -> getSearchResult(index, queries.get(index), genresByLanguage, batch))
+                            .concatMap(result -> offloadIfLarge(result, result.movies().size())
+                                    .map(unsorted -> new SearchResult(unsorted.index(),
+                                            sortByReleaseDate(unsorted.movies(), fields), unsorted.error())));
+                });
+    }
+
+    /**
+     * Looks up the movies whose title, original title or overview match a text, among those found by the searches.
+     *
+     * @param query  The text.
+     * @param limit  The maximum number of movies.
+     * @param fields The properties of the movies to return.
+     * @return A Mono with the movies found, the best matches first.
+     */
+    public Mono<List<MovieResponse>> lookup(final String query,
+                                            final int limit,
+                                            final Set<MovieField> fields) {
+        return Mono.fromSupplier(() -> movieIndex.search(query, limit).stream()
+                        .map(match -> projectReleaseDate(getMovieResponseFunction(match.movie(), match.genreList(),
+                                fields), fields))
+                        .toList())
+                .subscribeOn(computeScheduler);
     }
 
     /**
@@ -111,26 +306,7 @@ public class MovieService {
      * @return A Mono with the genres found.
      */
     public Mono<List<Genre>> getGenres(final String language) {
-        var cacheKey = "genres_%s".formatted(language);
-        var cache = caffeineCacheManager.getCache("moviesCache");
-
-        if (cache == null) {
-            return getGenresFromApi(language);
-        }
-
-        return Mono.justOrEmpty(cache.get(cacheKey))
-                .mapNotNull(value -> {
-                    var o = value.get();
-                    if (o instanceof List) {
-                        //noinspection unchecked
-                        return (List<Genre>) o;
-                    }
-
-                    throw new ClassCastException("Unexpected type in cache: %s"
-                            .formatted(o != null ? o.getClass().getName() : "null"));
-                })
-                .switchIfEmpty(Mono.defer(() -> getGenresFromApi(language))
-                        .doOnSuccess(genres -> cache.put(cacheKey, genres)));
+        return getCachedList("genres_%s".formatted(language), () -> getGenresFromApi(language));
     }
 
     /**
@@ -139,43 +315,210 @@ public class MovieService {
      * @return A Flux with the languages found.
      */
     public Flux<Language> getLanguages() {
-        return applyResilienceForFlux(() -> movieServiceWebClient.get()
-                        .uri("/configuration/languages")
-                        .retrieve()
-                        .bodyToFlux(Language.class)
-                        .sort(Comparator.comparing(Language::englishName)),
-                moviesCircuitBreaker, moviesRetry);
+        return getCachedList("languages", this::getLanguagesFromApi)
+                .flatMapIterable(Function.identity());
+    }
+
+    private Mono<Map<String, List<Genre>>> getGenresByLanguage(final List<String> languages,
+                                                               final int concurrency) {
+        return Flux.fromIterable(languages)
+                .flatMap(language -> getGenres(language).map(genreList -> Map.entry(language, genreList)),
+                        concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Gets the movies of a search from the given position, sorted by release date with their position. The movies of a
+     * year are all released before those of the next one, so each year is fetched and sorted on its own, and the next
+     * year is only fetched when all the movies of the current one have been requested.
+     */
+    private Flux<PositionedMovie> getPositionedMovies(final SearchCursor cursor,
+                                                      final Map<String, List<Genre>> genresByLanguage,
+                                                      final int concurrency,
+                                                      final Set<MovieField> fields) {
+        final var query = cursor.query();
+        final var joinedGenreIds = getGenreIdsJoined(query.genres(), genresByLanguage.values());
+        return Flux.range(cursor.year(), query.endYear() - cursor.year() + 1)
+                .concatMap(year -> Flux.fromIterable(query.languages())
+                        .flatMapSequential(language -> getMovieResponses(
+                                new SearchBatch.DiscoverCell(year, joinedGenreIds, language),
+                                genresByLanguage.get(language), fields), concurrency)
+                        .sort(BY_RELEASE_DATE)
+                        .index((index, movieResponse) -> new PositionedMovie(movieResponse, year, index.intValue()))
+                        .skip(year.equals(cursor.year()) ? cursor.index() : 0));
     }
 
+    private List<SearchBatch.DiscoverCell> getDiscoverCells(final SearchQuery query,
+                                                            final Map<String, List<Genre>> genresByLanguage) {
+        if (!genresByLanguage.keySet().containsAll(query.languages())) {
+            return null;
+        }
+
+        final var joinedGenreIds = getGenreIdsJoined(query.genres(), query.languages().stream()
+                .map(genresByLanguage::get)
+                .toList());
+        return IntStream.rangeClosed(query.startYear(), query.endYear())
+                .boxed()
+                .flatMap(year -> query.languages().stream()
+                        .map(language -> new SearchBatch.DiscoverCell(year, joinedGenreIds, language)))
+                .toList();
+    }
+
+    private SearchResult getSearchResult(final int index,
+                                         final SearchQuery query,
+                                         final Map<String, List<Genre>> genresByLanguage,
+                                         final SearchBatch batch) {
+        if (!batch.isRunnable(index)) {
+            final var failedLanguage = query.languages().stream()
+                    .filter(language -> !genresByLanguage.containsKey(language))
+                    .findFirst()
+                    .orElse(null);
+            return new SearchResult(index, List.of(),
+                    "The genres of the language %s could not be loaded".formatted(failedLanguage));
+        }
+
+        final var error = batch.error(index);
+        if (error != null) {
+            return new SearchResult(index, List.of(), error.getMessage());
+        }
+
+        return new SearchResult(index, batch.movies(index), null);
+    }
+
+    /**
+     * Continues on the scheduler of the CPU-bound work when a stage has at least the offload threshold of movies, so a
+     * large search does not hold up the smaller ones sharing its event loop.
+     */
+    private <T> Mono<T> offloadIfLarge(final T value,
+                                       final int size) {
+        final var mono = Mono.just(value);
+        return size >= offloadThreshold ? mono.publishOn(computeScheduler) : mono;
+    }
+
+    private static List<MovieResponse> sortByReleaseDate(final List<MovieResponse> movies,
+                                                         final Set<MovieField> fields) {
+        return movies.stream()
+                .sorted(BY_RELEASE_DATE)
+                .map(movie -> projectReleaseDate(movie, fields))
+                .toList();
+    }
+
+    /**
+     * Maps a movie to its response with only the requested properties, skipping the genre names when they are not
+     * requested. The release date is always kept, as the movies are sorted by it.
+     */
     private MovieResponse getMovieResponseFunction(final Movie movie,
-                                                   final List<Genre> genreList) {
-        final var genreNames = genreList.stream()
+                                                   final List<Genre> genreList,
+                                                   final Set<MovieField> fields) {
+        final var genreNames = fields.contains(MovieField.GENRES)
+                ? genreList.stream()
                 .filter(genre -> movie.genreIds().contains(genre.id()))
                 .map(Genre::name)
-                .toList();
+                .toList()
+                : List.<String>of();
 
         return new MovieResponse(
-                movie.id(),
+                fields.contains(MovieField.ID) ? movie.id() : null,
                 genreNames,
-                movie.originalLanguage(),
-                movie.originalTitle(),
-                movie.title(),
-                movie.overview(),
-                movie.popularity().intValue(),
-                movie.releaseDate()
+                fields.contains(MovieField.ORIGINAL_LANGUAGE) ? movie.originalLanguage() : null,
+                fields.contains(MovieField.ORIGINAL_TITLE) ? movie.originalTitle() : null,
+                fields.contains(MovieField.TITLE) ? movie.title() : null,
+                fields.contains(MovieField.OVERVIEW) ? movie.overview() : null,
+                fields.contains(MovieField.POPULARITY) ? movie.popularity().intValue() : null,
+                movie.releaseDate(),
+                fields
         );
     }
 
+    /**
+     * Removes the release date of a sorted movie when it was not requested.
+     */
+    private static MovieResponse projectReleaseDate(final MovieResponse movie,
+                                                    final Set<MovieField> fields) {
+        if (fields.contains(MovieField.RELEASE_DATE)) {
+            return movie;
+        }
+
+        return new MovieResponse(movie.id(), movie.genres(), movie.originalLanguage(), movie.originalTitle(),
+                movie.title(), movie.overview(), movie.popularity(), null, movie.fields());
+    }
+
+    /**
+     * Gets the ids of the genres whose name matches in any of the genre lists, sorted and joined by commas. Genre ids
+     * are the same in every language, so a genre named in one language also filters the others.
+     */
     private String getGenreIdsJoined(final List<String> genreNames,
-                                     final List<Genre> genreList) {
-        return genreList.stream()
+                                     final Collection<List<Genre>> genreLists) {
+        return genreLists.stream()
+                .flatMap(List::stream)
                 .filter(genre -> genreNames.contains(genre.name()))
                 .map(Genre::id)
-                .toList().stream()
+                .distinct()
+                .sorted()
                 .map(String::valueOf)
                 .collect(Collectors.joining(","));
     }
 
+    private Flux<MovieResponse> getMovieResponses(final SearchBatch.DiscoverCell cell,
+                                                  final List<Genre> genreList,
+                                                  final Set<MovieField> fields) {
+        return getMovies(cell.year(), cell.genreIds(), cell.language(), genreList)
+                .map(movie -> getMovieResponseFunction(movie, genreList, fields));
+    }
+
+    private Flux<Movie> getMovies(final Integer primaryReleaseYear,
+                                  final String genreIds,
+                                  final String language,
+                                  final List<Genre> genreList) {
+        final var cacheKey = (DISCOVER_KEY_PREFIX + "%d_%s_%s").formatted(primaryReleaseYear, genreIds, language);
+        return Flux.deferContextual(context -> {
+            CacheDependencies.record(context, cacheKey);
+            return getCachedList(cacheKey, () -> getMoviesOnMiss(cacheKey, primaryReleaseYear, genreIds, language))
+                    .filter(movies -> !movies.isEmpty())
+                    .doOnNext(movies -> {
+                        if (movieKeyIndex.recordCell(cacheKey, movies)) {
+                            index(movies, genreList);
+                        }
+                    })
+                    .flatMapIterable(Function.identity());
+        });
+    }
+
+    /**
+     * Adds the movies of a discover call to the text index on the scheduler of the CPU-bound work. Only the movies
+     * loaded, or read from the disk cache, since they were last recorded are indexed, so the cache hits never wait
+     * for the lock of the index.
+     */
+    private void index(final List<Movie> movies,
+                       final List<Genre> genreList) {
+        try {
+            computeScheduler.schedule(() -> movies.forEach(movie -> movieIndex.add(movie, genreList)));
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("The compute scheduler is disposed, {} movies are not indexed", movies.size());
+        }
+    }
+
+    /**
+     * Loads the movies of a discover call missing from the cache. The negative cache is only consulted here, so a
+     * false positive of its Bloom filters never hides a cached result.
+     */
+    private Mono<List<Movie>> getMoviesOnMiss(final String cacheKey,
+                                              final Integer primaryReleaseYear,
+                                              final String genreIds,
+                                              final String language) {
+        if (negativeCache.mightBeEmpty(cacheKey)) {
+            return Mono.just(List.of());
+        }
+
+        return getMovieFromApi(primaryReleaseYear, genreIds, language)
+                .collectList()
+                .doOnNext(movies -> {
+                    if (movies.isEmpty()) {
+                        negativeCache.recordEmpty(cacheKey);
+                    }
+                });
+    }
+
     private Flux<Movie> getMovieFromApi(final Integer primaryReleaseYear,
                                         final String genreIds,
                                         final String language) {
@@ -208,4 +551,84 @@ public class MovieService {
                         .collectList(),
                 moviesCircuitBreaker, moviesRetry);
     }
+
+    private Mono<List<Language>> getLanguagesFromApi() {
+        return applyResilienceForFlux(() -> movieServiceWebClient.get()
+                        .uri("/configuration/languages")
+                        .retrieve()
+                        .bodyToFlux(Language.class)
+                        .sort(Comparator.comparing(Language::englishName)),
+                moviesCircuitBreaker, moviesRetry)
+                .collectList();
+    }
+
+    private <T> Mono<List<T>> getCachedList(final String cacheKey,
+                                            final Supplier<Mono<List<T>>> loader) {
+        var cache = caffeineCacheManager.getCache(MOVIES_CACHE);
+        final var load = Mono.defer(loader)
+                .doOnNext(values -> {
+                    if (!values.isEmpty()) {
+                        if (cache != null) {
+                            cache.put(cacheKey, values);
+                        }
+
+                        staleCache.put(cacheKey, values);
+                    }
+                })
+                .onErrorResume(MovieService::isUpstreamFailure, e -> getStaleList(cacheKey, e));
+
+        if (cache == null) {
+            return load;
+        }
+
+        final var cached = cache instanceof TieredCache tieredCache
+                ? tieredCache.lookup(cacheKey)
+                : Mono.fromCallable(() -> cache.get(cacheKey));
+        return cached
+                .mapNotNull(value -> {
+                    var o = value.get();
+                    if (o instanceof List) {
+                        //noinspection unchecked
+                        return (List<T>) o;
+                    }
+
+                    throw new ClassCastException("Unexpected type in cache: %s"
+                            .formatted(o != null ? o.getClass().getName() : "null"));
+                })
+                .switchIfEmpty(load);
+    }
+
+    private <T> Mono<List<T>> getStaleList(final String cacheKey,
+                                           final Throwable error) {
+        final var stale = staleCache.get(cacheKey);
+        if (stale == null) {
+            return Mono.error(error);
+        }
+
+        return Mono.deferContextual(context -> {
+            Staleness.record(context, stale.age());
+            //noinspection unchecked
+            return Mono.just((List<T>) stale.value());
+        });
+    }
+
+    /**
+     * Checks whether an error is a failure of the movie service, rather than an answer to a bad request. Only those
+     * fall back to stale data.
+     */
+    private static boolean isUpstreamFailure(final Throwable error) {
+        return !(error instanceof WebClientResponseException responseException)
+                || responseException.getStatusCode().is5xxServerError()
+                || responseException.getStatusCode().value() == 429;
+    }
+
+    /**
+     * A movie with its position among the movies of its year.
+     *
+     * @param movie The movie.
+     * @param year  The release year.
+     * @param index The position among the movies of its year.
+     */
+    private record PositionedMovie(MovieResponse movie, Integer year, Integer index) {
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.config.RecommendationProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Interaction;
+import com.jorgealfonsogarcia.recommender.domain.models.Recommendation;
+import com.jorgealfonsogarcia.recommender.recommendation.AlsTrainer;
+import com.jorgealfonsogarcia.recommender.recommendation.FactorModel;
+import com.jorgealfonsogarcia.recommender.recommendation.InteractionLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service that records the interactions of the users with the movies and recommends movies to them.
+ * <p>
+ * The interactions are appended to the {@link InteractionLog}, and a {@link FactorModel} is trained from all of them
+ * by the {@link AlsTrainer}, in its own pool. When the log has grown, the next interaction or recommendation starts a
+ * training, at most once per training interval, and the recommendations are served from the previous model until the
+ * new one replaces it. The log is replayed and a model trained when the application starts. The interactions are
+ * appended on a scheduler of their own, as growing the log writes it to the file.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecommendationService.class);
+
+    private final InteractionLog interactionLog;
+    private final AlsTrainer alsTrainer;
+    private final Scheduler interactionLogScheduler;
+    private final long trainingIntervalNanos;
+
+    private final AtomicReference<FactorModel> model = new AtomicReference<>(FactorModel.empty());
+    private final AtomicBoolean training = new AtomicBoolean();
+    private final AtomicLong trainings = new AtomicLong();
+    private volatile long trainedAt;
+
+    /**
+     * Constructor. It starts training a model if the log has interactions.
+     *
+     * @param interactionLog           The interaction log.
+     * @param alsTrainer               The trainer of the model.
+     * @param interactionLogScheduler  The scheduler the interactions are appended on. It may block.
+     * @param recommendationProperties The recommendation properties.
+     */
+    @Autowired
+    public RecommendationService(InteractionLog interactionLog,
+                                 AlsTrainer alsTrainer,
+                                 Scheduler interactionLogScheduler,
+                                 RecommendationProperties recommendationProperties) {
+        this.interactionLog = interactionLog;
+        this.alsTrainer = alsTrainer;
+        this.interactionLogScheduler = interactionLogScheduler;
+        this.trainingIntervalNanos = recommendationProperties.getTraining().interval().toNanos();
+
+        // The empty model is as old as the interval, so the interactions of the log are trained at once.
+        this.trainedAt = System.nanoTime() - trainingIntervalNanos;
+        trainIfStale();
+    }
+
+    /**
+     * Records an interaction of a user with a movie.
+     *
+     * @param userId      The id of the user.
+     * @param interaction The interaction.
+     * @return A Mono that completes when the interaction is in the log.
+     */
+    public Mono<Void> record(final int userId,
+                             final Interaction interaction) {
+        return Mono.<Void>fromRunnable(() -> {
+                    interactionLog.append(userId, interaction.movieId(), interaction.type());
+                    trainIfStale();
+                })
+                .subscribeOn(interactionLogScheduler);
+    }
+
+    /**
+     * Recommends movies to a user, from the current model.
+     *
+     * @param userId The id of the user.
+     * @param limit  The maximum number of movies.
+     * @return A Mono with the movies, the best first. A user without interactions gets the most popular movies.
+     */
+    public Mono<List<Recommendation>> recommend(final int userId,
+                                                final int limit) {
+        return Mono.fromSupplier(() -> {
+            trainIfStale();
+            final var movieIds = new int[limit];
+            final var scores = new float[limit];
+            final var count = model.get().recommend(userId, movieIds, scores);
+            final var recommendations = new ArrayList<Recommendation>(count);
+            for (var index = 0; index < count; index++) {
+                recommendations.add(new Recommendation(movieIds[index], (double) scores[index]));
+            }
+
+            return recommendations;
+        });
+    }
+
+    /**
+     * Gets the number of interactions in the log.
+     *
+     * @return The number of interactions.
+     */
+    public int getInteractions() {
+        return interactionLog.getSize();
+    }
+
+    /**
+     * Gets the number of users of the current model.
+     *
+     * @return The number of users.
+     */
+    public int getUsers() {
+        return model.get().getUsers();
+    }
+
+    /**
+     * Gets the number of movies of the current model.
+     *
+     * @return The number of movies.
+     */
+    public int getMovies() {
+        return model.get().getMovies();
+    }
+
+    /**
+     * Gets the number of models trained.
+     *
+     * @return The number of trainings.
+     */
+    public long getTrainings() {
+        return trainings.get();
+    }
+
+    private void trainIfStale() {
+        final var current = model.get();
+        if (current.getVersion() == interactionLog.getSize()
+                || System.nanoTime() - trainedAt < trainingIntervalNanos
+                || !training.compareAndSet(false, true)) {
+            return;
+        }
+
+        trainedAt = System.nanoTime();
+        alsTrainer.train(interactionLog, current).whenComplete((trained, error) -> {
+            if (error != null) {
+                LOGGER.warn("Failed to train the recommendation model", error);
+            } else {
+                model.set(trained);
+                trainings.incrementAndGet();
+            }
+
+            training.set(false);
+        });
+    }
+}
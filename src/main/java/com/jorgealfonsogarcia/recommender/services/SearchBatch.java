@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Tracks the upstream discover cells of a batch of searches, so each distinct cell is fetched once and each search is
+ * completed as soon as all its cells are.
+ * <p>
+ * It is not thread-safe: the cells must be completed one at a time.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+final class SearchBatch {
+
+    private final List<List<DiscoverCell>> cellsByQuery;
+    private final Map<DiscoverCell, List<Integer>> queriesByCell = new LinkedHashMap<>();
+    private final Map<DiscoverCell, List<MovieResponse>> movies = new HashMap<>();
+    private final Map<DiscoverCell, Throwable> errors = new HashMap<>();
+    private final int[] pendingCells;
+
+    /**
+     * Constructor.
+     *
+     * @param cellsByQuery The cells of each search, in the order of the batch. A null element is a search that cannot
+     *                     run.
+     */
+    SearchBatch(final List<List<DiscoverCell>> cellsByQuery) {
+        this.cellsByQuery = cellsByQuery;
+        this.pendingCells = new int[cellsByQuery.size()];
+        for (var index = 0; index < cellsByQuery.size(); index++) {
+            final var cells = cellsByQuery.get(index);
+            if (cells == null) {
+                continue;
+            }
+
+            final var distinctCells = new LinkedHashSet<>(cells);
+            pendingCells[index] = distinctCells.size();
+            for (final var cell : distinctCells) {
+                queriesByCell.computeIfAbsent(cell, ignored -> new ArrayList<>()).add(index);
+            }
+        }
+    }
+
+    /**
+     * Gets the distinct cells of the batch, in the order of the first search that needs them.
+     *
+     * @return The distinct cells.
+     */
+    List<DiscoverCell> cells() {
+        return List.copyOf(queriesByCell.keySet());
+    }
+
+    /**
+     * Gets the searches that are complete before any cell is fetched: those that cannot run or have no cells.
+     *
+     * @return The indexes of the searches.
+     */
+    List<Integer> completedUpfront() {
+        return IntStream.range(0, cellsByQuery.size())
+                .filter(index -> pendingCells[index] == 0)
+                .boxed()
+                .toList();
+    }
+
+    /**
+     * Records the outcome of a cell.
+     *
+     * @param outcome The outcome of the cell.
+     * @return The indexes of the searches completed by this cell.
+     */
+    List<Integer> complete(final CellOutcome outcome) {
+        if (outcome.error() != null) {
+            errors.put(outcome.cell(), outcome.error());
+        } else {
+            movies.put(outcome.cell(), outcome.movies());
+        }
+
+        return queriesByCell.getOrDefault(outcome.cell(), List.of()).stream()
+                .filter(index -> --pendingCells[index] == 0)
+                .toList();
+    }
+
+    /**
+     * Gets whether a search can run.
+     *
+     * @param index The index of the search.
+     * @return Whether the search can run.
+     */
+    boolean isRunnable(final int index) {
+        return cellsByQuery.get(index) != null;
+    }
+
+    /**
+     * Gets the first error of the cells of a completed search.
+     *
+     * @param index The index of the search.
+     * @return The error, or null if all its cells were fetched.
+     */
+    Throwable error(final int index) {
+        return cellsByQuery.get(index).stream()
+                .map(errors::get)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Gets the movies of the cells of a completed search.
+     *
+     * @param index The index of the search.
+     * @return The movies, in the order of its cells.
+     */
+    List<MovieResponse> movies(final int index) {
+        return cellsByQuery.get(index).stream()
+                .distinct()
+                .flatMap(cell -> movies.getOrDefault(cell, List.of()).stream())
+                .toList();
+    }
+
+    /**
+     * An upstream discover call.
+     *
+     * @param year     The primary release year.
+     * @param genreIds The genre ids, joined by commas.
+     * @param language The original language.
+     */
+    record DiscoverCell(Integer year, String genreIds, String language) {
+    }
+
+    /**
+     * The outcome of an upstream discover call.
+     *
+     * @param cell   The cell.
+     * @param movies The movies found, if it succeeded.
+     * @param error  The error, if it failed.
+     */
+    record CellOutcome(DiscoverCell cell, List<MovieResponse> movies, Throwable error) {
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records whether a response is built from stale data, and the age of the oldest one. The {@link MovieService} finds it
+ * in the Reactor context of the request, so the controller can tell its clients.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class Staleness {
+
+    private final AtomicLong ageMillis = new AtomicLong(-1);
+
+    /**
+     * Gets a context holding this staleness.
+     *
+     * @return The context.
+     */
+    public Context toContext() {
+        return Context.of(Staleness.class, this);
+    }
+
+    /**
+     * Records that stale data was used, in the staleness of the context if it has one.
+     *
+     * @param context The Reactor context.
+     * @param age     The age of the data.
+     */
+    public static void record(final ContextView context,
+                              final Duration age) {
+        context.<Staleness>getOrEmpty(Staleness.class)
+                .ifPresent(staleness -> staleness.ageMillis.accumulateAndGet(age.toMillis(), Math::max));
+    }
+
+    /**
+     * Gets whether stale data was used.
+     *
+     * @return Whether stale data was used.
+     */
+    public boolean isStale() {
+        return ageMillis.get() >= 0;
+    }
+
+    /**
+     * Gets the age of the oldest stale data used.
+     *
+     * @return The age, zero if no stale data was used.
+     */
+    public Duration getAge() {
+        return Duration.ofMillis(Math.max(0, ageMillis.get()));
+    }
+}
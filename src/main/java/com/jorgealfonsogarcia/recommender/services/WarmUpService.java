@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.config.WarmUpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Service that loads the movies cache when the application starts, so the first requests do not pay for the upstream
+ * calls.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@Service
+public class WarmUpService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpService.class);
+
+    private final MovieService movieService;
+    private final WarmUpProperties warmUpProperties;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param movieService     The movie service.
+     * @param warmUpProperties The warm-up properties.
+     */
+    @Autowired
+    public WarmUpService(MovieService movieService,
+                         WarmUpProperties warmUpProperties) {
+        this.movieService = movieService;
+        this.warmUpProperties = warmUpProperties;
+    }
+
+    /**
+     * Starts the warm-up once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp().subscribe();
+    }
+
+    /**
+     * Loads the languages and the genres of the configured languages first, and then the configured searches. The
+     * upstream calls are limited to the configured concurrency, and a failed call does not stop the others.
+     *
+     * @return A Mono that completes when the warm-up finishes or times out.
+     */
+    public Mono<Void> warmUp() {
+        if (!warmUpProperties.isEnabled()) {
+            state.set(State.DISABLED);
+            return Mono.empty();
+        }
+
+        if (!state.compareAndSet(State.PENDING, State.RUNNING)) {
+            return Mono.empty();
+        }
+
+        final var referenceData = Flux.concat(
+                Flux.just(load("languages", () -> movieService.getLanguages().then())),
+                Flux.fromIterable(warmUpProperties.getLanguages())
+                        .map(language -> load("genres %s".formatted(language),
+                                () -> movieService.getGenres(language))));
+
+        // Only the cached discover calls matter, so no property of the movies is mapped.
+        final var searches = Flux.fromIterable(warmUpProperties.getDiscoverKeys())
+                .map(key -> load("discover %s".formatted(key),
+                        () -> movieService.search(key.year(), key.year(), key.genres(), List.of(key.language()), 1,
+                                        Set.of())
+                                .then()));
+
+        return runConcurrently(referenceData)
+                .then(runConcurrently(searches))
+                .timeout(warmUpProperties.getTimeout())
+                .doOnSuccess(ignored -> state.set(State.COMPLETED))
+                .onErrorResume(TimeoutException.class, e -> {
+                    LOGGER.warn("Cache warm-up timed out after {}", warmUpProperties.getTimeout());
+                    state.set(State.TIMED_OUT);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Gets the state of the warm-up.
+     *
+     * @return The state of the warm-up.
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Gets the number of entries loaded.
+     *
+     * @return The number of entries loaded.
+     */
+    public int getLoaded() {
+        return loaded.get();
+    }
+
+    /**
+     * Gets the number of entries that failed to load.
+     *
+     * @return The number of entries that failed to load.
+     */
+    public int getFailed() {
+        return failed.get();
+    }
+
+    private Mono<Void> runConcurrently(final Flux<Mono<Void>> tasks) {
+        return tasks.flatMap(Function.identity(), warmUpProperties.getConcurrency())
+                .then();
+    }
+
+    private Mono<Void> load(final String entry,
+                            final Supplier<Mono<?>> loader) {
+        return Mono.defer(loader)
+                .then()
+                .doOnSuccess(ignored -> loaded.incrementAndGet())
+                .onErrorResume(e -> {
+                    LOGGER.warn("Cache warm-up could not load {}: {}", entry, e.getMessage());
+                    failed.incrementAndGet();
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * The states of the warm-up.
+     */
+    public enum State {
+
+        /**
+         * The warm-up has not started.
+         */
+        PENDING,
+
+        /**
+         * The warm-up is running.
+         */
+        RUNNING,
+
+        /**
+         * The warm-up finished.
+         */
+        COMPLETED,
+
+        /**
+         * The warm-up did not finish in time.
+         */
+        TIMED_OUT,
+
+        /**
+         * The warm-up is disabled.
+         */
+        DISABLED
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Utility class for the CPUs available to the process, so the thread pools are sized to the CPU quota of its container
+ * rather than to the CPUs of the host.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class CpuQuotaUtils {
+
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+
+    private CpuQuotaUtils() {
+    }
+
+    /**
+     * Gets the CPUs available to the process.
+     *
+     * @return The CPUs available, at least one.
+     */
+    public static int availableCpus() {
+        return availableCpus(CGROUP_ROOT, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gets the CPUs available to the process: its CPU quota rounded up, read from cgroup v2 or v1, and never more than
+     * the available processors, which already account for the CPU set and an explicit active processor count.
+     *
+     * @param cgroupRoot          The root of the cgroup file system.
+     * @param availableProcessors The processors available to the JVM.
+     * @return The CPUs available, at least one.
+     */
+    public static int availableCpus(final Path cgroupRoot,
+                                    final int availableProcessors) {
+        final var quota = cgroupV2Quota(cgroupRoot);
+        final var cpus = (quota.isPresent() ? quota : cgroupV1Quota(cgroupRoot))
+                .stream()
+                .mapToInt(value -> (int) Math.ceil(value))
+                .findFirst()
+                .orElse(availableProcessors);
+        return Math.max(1, Math.min(cpus, availableProcessors));
+    }
+
+    /**
+     * Reads the quota of cgroup v2, whose cpu.max file has the quota and period in microseconds, or max if there is no
+     * quota.
+     */
+    private static OptionalDouble cgroupV2Quota(final Path cgroupRoot) {
+        final var values = read(cgroupRoot.resolve("cpu.max"));
+        if (values.size() != 2 || "max".equals(values.get(0))) {
+            return OptionalDouble.empty();
+        }
+
+        return quota(values.get(0), values.get(1));
+    }
+
+    /**
+     * Reads the quota of cgroup v1, whose CPU controller has the quota and period in microseconds in separate files,
+     * with a negative quota if there is none.
+     */
+    private static OptionalDouble cgroupV1Quota(final Path cgroupRoot) {
+        for (final var controller : List.of("cpu", "cpu,cpuacct")) {
+            final var directory = cgroupRoot.resolve(controller);
+            final var quota = read(directory.resolve("cpu.cfs_quota_us"));
+            final var period = read(directory.resolve("cpu.cfs_period_us"));
+            if (quota.size() == 1 && period.size() == 1) {
+                return quota(quota.get(0), period.get(0));
+            }
+        }
+
+        return OptionalDouble.empty();
+    }
+
+    private static OptionalDouble quota(final String quota,
+                                        final String period) {
+        try {
+            final var quotaMicros = Long.parseLong(quota);
+            final var periodMicros = Long.parseLong(period);
+            return quotaMicros > 0 && periodMicros > 0
+                    ? OptionalDouble.of((double) quotaMicros / periodMicros)
+                    : OptionalDouble.empty();
+        } catch (NumberFormatException e) {
+            return OptionalDouble.empty();
+        }
+    }
+
+    private static List<String> read(final Path path) {
+        if (!Files.isReadable(path)) {
+            return List.of();
+        }
+
+        try {
+            return List.of(Files.readString(path, StandardCharsets.US_ASCII).trim().split("\\s+"));
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+}
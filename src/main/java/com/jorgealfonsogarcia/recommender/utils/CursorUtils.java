@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Utility class for the opaque cursors of the search pages.
+ * <p>
+ * A cursor is the URL-safe Base64 of a versioned binary record of the search and the position of the page.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class CursorUtils {
+
+    private static final byte VERSION = 2;
+
+    /**
+     * The maximum number of genres, and of languages, of a search held in a cursor.
+     */
+    public static final int MAXIMUM_LIST_SIZE = 32;
+
+    private CursorUtils() {
+    }
+
+    /**
+     * Encodes a cursor.
+     *
+     * @param cursor The cursor.
+     * @return The opaque cursor.
+     */
+    public static String encode(final SearchCursor cursor) {
+        final var outputStream = new ByteArrayOutputStream();
+        try (var dataOutputStream = new DataOutputStream(outputStream)) {
+            final var query = cursor.query();
+            dataOutputStream.writeByte(VERSION);
+            dataOutputStream.writeInt(query.startYear());
+            dataOutputStream.writeInt(query.endYear());
+            writeStrings(dataOutputStream, query.languages());
+            writeStrings(dataOutputStream, query.genres());
+            dataOutputStream.writeInt(cursor.year());
+            dataOutputStream.writeInt(cursor.index());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(outputStream.toByteArray());
+    }
+
+    /**
+     * Decodes a cursor.
+     *
+     * @param cursor The opaque cursor.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the cursor is not valid.
+     */
+    public static SearchCursor decode(final String cursor) {
+        try (var dataInputStream = new DataInputStream(new ByteArrayInputStream(
+                Base64.getUrlDecoder().decode(cursor)))) {
+            if (dataInputStream.readByte() != VERSION) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            final var startYear = dataInputStream.readInt();
+            final var endYear = dataInputStream.readInt();
+            final var languages = readStrings(dataInputStream);
+            final var genres = readStrings(dataInputStream);
+
+            final var year = dataInputStream.readInt();
+            final var index = dataInputStream.readInt();
+            if (dataInputStream.available() > 0 || year < startYear || year > endYear || index < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            return new SearchCursor(new SearchQuery(startYear, endYear, genres, languages), year, index);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static void writeStrings(final DataOutputStream dataOutputStream,
+                                     final List<String> values) throws IOException {
+        if (values.size() > MAXIMUM_LIST_SIZE) {
+            throw new IllegalArgumentException("A cursor holds at most %d values of a list"
+                    .formatted(MAXIMUM_LIST_SIZE));
+        }
+
+        dataOutputStream.writeByte(values.size());
+        for (final var value : values) {
+            dataOutputStream.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(final DataInputStream dataInputStream) throws IOException {
+        final var size = dataInputStream.readByte();
+        if (size < 0 || size > MAXIMUM_LIST_SIZE) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        final var values = new ArrayList<String>(size);
+        for (var i = 0; i < size; i++) {
+            values.add(dataInputStream.readUTF());
+        }
+
+        return values;
+    }
+}
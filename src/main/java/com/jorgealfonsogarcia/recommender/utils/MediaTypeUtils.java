@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Utility class for the media types of the movie responses: JSON, the default, and the binary Smile and CBOR
+ * encodings of the same Jackson models, which are smaller and cheaper to parse.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class MediaTypeUtils {
+
+    /**
+     * The media type of Jackson Smile.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * The media type of Jackson Smile.
+     */
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * The media types of the movie responses, by preference.
+     */
+    public static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, APPLICATION_SMILE,
+            MediaType.APPLICATION_CBOR);
+
+    private MediaTypeUtils() {
+    }
+
+    /**
+     * Negotiates the media type of a movie response: the producible type with the highest quality in the Accept
+     * header, matched by its most specific entry, and JSON when they tie or there is no Accept header.
+     *
+     * @param accept The values of the Accept header.
+     * @return The media type, or null if none is acceptable or the header is not valid.
+     */
+    public static MediaType negotiate(final List<String> accept) {
+        if (accept.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        final List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+
+        MediaType negotiated = null;
+        var negotiatedQuality = 0.0;
+        for (final var producible : PRODUCIBLE) {
+            final var quality = quality(producible, acceptable);
+            if (quality > negotiatedQuality) {
+                negotiated = producible;
+                negotiatedQuality = quality;
+            }
+        }
+
+        return negotiated;
+    }
+
+    private static double quality(final MediaType producible,
+                                  final List<MediaType> acceptable) {
+        MediaType match = null;
+        for (final var mediaType : acceptable) {
+            if (mediaType.includes(producible) && (match == null || specificity(mediaType) > specificity(match))) {
+                match = mediaType;
+            }
+        }
+
+        return match != null ? match.getQualityValue() : 0.0;
+    }
+
+    private static int specificity(final MediaType mediaType) {
+        if (mediaType.isWildcardType()) {
+            return 0;
+        }
+
+        return mediaType.isWildcardSubtype() ? 1 : 2;
+    }
+}
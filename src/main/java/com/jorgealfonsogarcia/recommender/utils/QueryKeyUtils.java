@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for the canonical form of the movie queries, so equivalent requests share their cached responses.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class QueryKeyUtils {
+
+    /**
+     * The year of the first movies.
+     */
+    public static final int MIN_YEAR = 1874;
+
+    /**
+     * The number of years after the current one that can have announced movies.
+     */
+    public static final int MAX_YEARS_AHEAD = 5;
+
+    private static final String MOVIES_PATH = "/movies";
+    private static final String GENRES_PATH = MOVIES_PATH + "/genres/";
+
+    private QueryKeyUtils() {
+    }
+
+    /**
+     * Gets the last year that can have movies.
+     *
+     * @return The current year plus {@link #MAX_YEARS_AHEAD}.
+     */
+    public static int maxYear() {
+        return Year.now(ZoneOffset.UTC).getValue() + MAX_YEARS_AHEAD;
+    }
+
+    /**
+     * Gets the canonical form of a year: within the years that can have movies, as the years outside them have none.
+     *
+     * @param year The year.
+     * @return The year clamped between {@link #MIN_YEAR} and {@link #maxYear()}.
+     */
+    public static int canonicalYear(final int year) {
+        return Math.max(MIN_YEAR, Math.min(year, maxYear()));
+    }
+
+    /**
+     * Gets the canonical form of a language: its ISO 639-1 code is lowercase.
+     *
+     * @param language The language.
+     * @return The canonical language.
+     */
+    public static String canonicalLanguage(final String language) {
+        return language.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the canonical form of a list of languages: lowercase, sorted and without duplicates.
+     *
+     * @param languages The languages.
+     * @return The canonical languages.
+     */
+    public static List<String> canonicalLanguages(final List<String> languages) {
+        return List.copyOf(new TreeSet<>(languages.stream().map(QueryKeyUtils::canonicalLanguage).toList()));
+    }
+
+    /**
+     * Gets the canonical form of a list of genres: sorted and without duplicates. Genre names are matched exactly, so
+     * their case is kept.
+     *
+     * @param genres The genres.
+     * @return The canonical genres.
+     */
+    public static List<String> canonicalGenres(final List<String> genres) {
+        return List.copyOf(new TreeSet<>(genres));
+    }
+
+    /**
+     * Gets the canonical form of the fields a search is limited to: the set of fields, whatever their order or
+     * duplicates.
+     *
+     * @param fields The names of the fields, comma-separated or not, or null if the search is not limited.
+     * @return The fields. All the fields when none is given.
+     * @throws IllegalArgumentException If a field is not a property of the movies.
+     */
+    public static Set<MovieField> canonicalFields(final List<String> fields) {
+        if (fields == null) {
+            return MovieField.ALL;
+        }
+
+        final var canonicalFields = EnumSet.noneOf(MovieField.class);
+        for (final var field : splitValues(fields)) {
+            if (!field.isBlank()) {
+                canonicalFields.add(MovieField.of(field.trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown field %s".formatted(field.trim()))));
+            }
+        }
+
+        return canonicalFields.isEmpty() || canonicalFields.equals(MovieField.ALL)
+                ? MovieField.ALL
+                : Collections.unmodifiableSet(canonicalFields);
+    }
+
+    /**
+     * Gets the fields a search is limited to as a query parameter value.
+     *
+     * @param fields The canonical fields.
+     * @return The names of the fields joined by commas.
+     */
+    public static String joinFields(final Set<MovieField> fields) {
+        return fields.stream()
+                .map(MovieField::getPropertyName)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Gets the canonical key of a movie request.
+     *
+     * @param path        The path of the request, within the application.
+     * @param queryParams The query parameters of the request.
+     * @return The canonical key, or empty if the request is not cacheable or its parameters are not valid.
+     */
+    public static Optional<String> canonicalKey(final String path,
+                                                final MultiValueMap<String, String> queryParams) {
+        if ((MOVIES_PATH + "/languages").equals(path)) {
+            return Optional.of("languages");
+        }
+
+        if (path.startsWith(GENRES_PATH) && path.indexOf('/', GENRES_PATH.length()) < 0
+                && path.length() > GENRES_PATH.length()) {
+            return Optional.of("genres:%s".formatted(canonicalLanguage(path.substring(GENRES_PATH.length()))));
+        }
+
+        if ((MOVIES_PATH + "/search").equals(path)) {
+            return searchKey(queryParams);
+        }
+
+        return Optional.empty();
+    }
+
+    private static Optional<String> searchKey(final MultiValueMap<String, String> queryParams) {
+        final var pageSizes = queryParams.get("pageSize");
+        final var cursors = queryParams.get("cursor");
+        final var pageSize = singleInteger(pageSizes);
+        if ((pageSizes != null && pageSize == null) || (cursors != null && cursors.size() != 1)) {
+            return Optional.empty();
+        }
+
+        final Set<MovieField> fields;
+        try {
+            fields = canonicalFields(queryParams.get("fields"));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        return pagedSearchKey(queryParams, pageSize, cursors)
+                .map(key -> MovieField.ALL.equals(fields) ? key : "%s:fields=%s".formatted(key, joinFields(fields)));
+    }
+
+    private static Optional<String> pagedSearchKey(final MultiValueMap<String, String> queryParams,
+                                                   final Integer pageSize,
+                                                   final List<String> cursors) {
+        // A cursor holds its own search, so the other parameters are ignored.
+        if (cursors != null) {
+            return pageSize != null
+                    ? Optional.of("search:cursor:%s:%d".formatted(cursors.get(0), pageSize))
+                    : Optional.empty();
+        }
+
+        return baseSearchKey(queryParams)
+                .map(key -> pageSize != null ? "%s:%d".formatted(key, pageSize) : key);
+    }
+
+    private static Optional<String> baseSearchKey(final MultiValueMap<String, String> queryParams) {
+        final var startYear = singleInteger(queryParams.get("startYear"));
+        final var endYear = singleInteger(queryParams.get("endYear"));
+        final var languageValues = queryParams.get("language");
+        final var genreValues = queryParams.get("genres");
+        if (startYear == null || endYear == null || languageValues == null || genreValues == null) {
+            return Optional.empty();
+        }
+
+        final var languages = canonicalLanguages(splitValues(languageValues));
+        final var genres = canonicalGenres(splitValues(genreValues));
+        if (endYear < startYear || endYear < MIN_YEAR || startYear > maxYear() || languages.isEmpty()
+                || genres.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of("search:%d:%d:%s:%s".formatted(canonicalYear(startYear), canonicalYear(endYear),
+                String.join(",", genres),
+                String.join(",", languages)));
+    }
+
+    /**
+     * Splits the comma-separated values of a query parameter.
+     *
+     * @param values The values of the query parameter.
+     * @return The split values.
+     */
+    static List<String> splitValues(final List<String> values) {
+        return values.stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .toList();
+    }
+
+    /**
+     * Parses the single integer value of a query parameter.
+     *
+     * @param values The values of the query parameter, if any.
+     * @return The integer, or null if there is not exactly one value or it is not an integer.
+     */
+    static Integer singleInteger(final List<String> values) {
+        if (values == null || values.size() != 1) {
+            return null;
+        }
+
+        try {
+            return Integer.valueOf(values.get(0).trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
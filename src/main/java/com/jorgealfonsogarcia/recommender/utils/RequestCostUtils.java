@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Utility class for the upstream cost of the movie requests, so callers are charged by the upstream calls they cause.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class RequestCostUtils {
+
+    private RequestCostUtils() {
+    }
+
+    /**
+     * Gets the upstream discover calls of a search: its years times its languages. A paged search is charged for the
+     * years from its position to its end, as those are the most it can fetch. Requests whose parameters are not valid
+     * are charged for a single call, as they are rejected before calling the upstream service.
+     *
+     * @param queryParams The query parameters of the search.
+     * @return The number of upstream discover calls, at least one.
+     */
+    public static int searchCells(final MultiValueMap<String, String> queryParams) {
+        final var cursors = queryParams.get("cursor");
+        if (cursors != null) {
+            try {
+                final var cursor = CursorUtils.decode(cursors.get(0));
+                return cells(cursor.year(), cursor.query().endYear(), cursor.query().languages().size());
+            } catch (IllegalArgumentException e) {
+                return 1;
+            }
+        }
+
+        final var startYear = QueryKeyUtils.singleInteger(queryParams.get("startYear"));
+        final var endYear = QueryKeyUtils.singleInteger(queryParams.get("endYear"));
+        final var languageValues = queryParams.get("language");
+        if (startYear == null || endYear == null || languageValues == null) {
+            return 1;
+        }
+
+        final var languages = QueryKeyUtils.canonicalLanguages(QueryKeyUtils.splitValues(languageValues).stream()
+                .map(String::trim)
+                .filter(language -> !language.isEmpty())
+                .toList());
+        return cells(startYear, endYear, languages.size());
+    }
+
+    private static int cells(final int startYear,
+                             final int endYear,
+                             final int languages) {
+        final var years = (long) endYear - startYear + 1;
+        return years < 1 || languages < 1 ? 1 : (int) Math.min(Integer.MAX_VALUE, years * languages);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for the text of the movies: titles and overviews are split into terms that match whatever their case
+ * or accents, so "Corazón" and "corazon" are the same term in Spanish and Portuguese.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+public final class TextUtils {
+
+    /**
+     * The folded form of the characters up to the end of the Greek and Cyrillic blocks, computed once.
+     */
+    private static final char[] FOLDED = new char[0x2000];
+
+    /**
+     * The folded form of a combining mark, which is dropped.
+     */
+    private static final char DROPPED = 0;
+
+    static {
+        for (var c = 0; c < FOLDED.length; c++) {
+            FOLDED[c] = foldSlow((char) c);
+        }
+    }
+
+    private TextUtils() {
+    }
+
+    /**
+     * Splits a text into its terms: the runs of letters and digits, lowercase and without accents.
+     *
+     * @param text The text, or null.
+     * @return The terms, in the order of the text. Empty if the text is null or has no letters or digits.
+     */
+    public static List<String> tokenize(final String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        // The decomposed form splits each accented letter into its base letter and combining marks.
+        final var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        final var terms = new ArrayList<String>();
+        final var term = new StringBuilder();
+        for (var index = 0; index < decomposed.length(); ) {
+            final var codePoint = decomposed.codePointAt(index);
+            index += Character.charCount(codePoint);
+            if (Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+
+            if (Character.isLetterOrDigit(codePoint)) {
+                term.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!term.isEmpty()) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+
+        if (!term.isEmpty()) {
+            terms.add(term.toString());
+        }
+
+        return terms;
+    }
+
+    /**
+     * Folds a title into the key it is completed by: lowercase and without accents, with each run of characters other
+     * than letters and digits as a single space, and without leading or trailing spaces. Prefixes are folded a
+     * character at a time with {@link #fold(char)} to the same form.
+     *
+     * @param text The text, or null.
+     * @return The key. Empty if the text is null or has no letters or digits.
+     */
+    public static String foldKey(final String text) {
+        if (text == null) {
+            return "";
+        }
+
+        final var key = new StringBuilder(text.length());
+        var space = false;
+        for (var index = 0; index < text.length(); index++) {
+            final var folded = fold(text.charAt(index));
+            if (folded == DROPPED) {
+                continue;
+            }
+
+            if (folded == ' ') {
+                space = !key.isEmpty();
+                continue;
+            }
+
+            if (space) {
+                key.append(' ');
+                space = false;
+            }
+
+            key.append(folded);
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Folds a character without allocating: letters and digits to their lowercase form without accents, combining
+     * marks to {@code 0}, as they are dropped, and any other character to a space.
+     *
+     * @param c The character.
+     * @return The folded character.
+     */
+    public static char fold(final char c) {
+        return c < FOLDED.length ? FOLDED[c] : foldSlow(c);
+    }
+
+    private static char foldSlow(final char c) {
+        if (Character.getType(c) == Character.NON_SPACING_MARK) {
+            return DROPPED;
+        }
+
+        if (!Character.isLetterOrDigit(c)) {
+            return ' ';
+        }
+
+        // An accented letter decomposes into its base letter followed by combining marks.
+        final var decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        for (var index = 1; index < decomposed.length(); index++) {
+            if (Character.getType(decomposed.charAt(index)) != Character.NON_SPACING_MARK) {
+                return Character.toLowerCase(c);
+            }
+        }
+
+        return Character.toLowerCase(decomposed.charAt(0));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link AdmissionController} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class AdmissionControllerTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(500);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private Clock clock;
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        admissionController = new AdmissionController(Map.of(
+                RouteClass.CATALOG, new AdmissionController.Limits(8, 8, Duration.ofMillis(50)),
+                RouteClass.SEARCH, new AdmissionController.Limits(1, 3, Duration.ofMillis(100)),
+                RouteClass.BATCH, new AdmissionController.Limits(1, 1, Duration.ofMillis(100))),
+                INTERVAL, RETRY_AFTER, clock);
+    }
+
+    /**
+     * GIVEN:   A route class below its limit of requests in flight.
+     * WHEN:    A permit is acquired and released.
+     * THEN:    The request is admitted at once and leaves the requests in flight when released.
+     */
+    @Test
+    void givenBelowLimit_whenAcquire_thenAdmitted() {
+        final var permit = admissionController.acquire(RouteClass.SEARCH).block();
+
+        assertEquals(1, admissionController.getInFlight(RouteClass.SEARCH));
+        assertEquals(1, admissionController.getAdmitted(RouteClass.SEARCH));
+
+        //noinspection DataFlowIssue
+        permit.release();
+        permit.release();
+
+        assertEquals(0, admissionController.getInFlight(RouteClass.SEARCH));
+    }
+
+    /**
+     * GIVEN:   A route class at its limit of requests in flight.
+     * WHEN:    A permit is acquired.
+     * THEN:    The request waits in the queue until a permit is released, and its queueing delay is recorded.
+     */
+    @Test
+    void givenAtLimit_whenAcquire_thenQueuedUntilRelease() {
+        final var permit = admissionController.acquire(RouteClass.SEARCH).block();
+        final var queued = admissionController.acquire(RouteClass.SEARCH).toFuture();
+
+        assertFalse(queued.isDone());
+        assertEquals(1, admissionController.getQueued(RouteClass.SEARCH));
+
+        doReturn(30L).when(clock).millis();
+        //noinspection DataFlowIssue
+        permit.release();
+
+        assertTrue(queued.isDone());
+        assertEquals(0, admissionController.getQueued(RouteClass.SEARCH));
+        assertEquals(1, admissionController.getInFlight(RouteClass.SEARCH));
+        assertEquals(Duration.ofMillis(30), admissionController.getQueueDelay(RouteClass.SEARCH));
+    }
+
+    /**
+     * GIVEN:   A route class with its queue full.
+     * WHEN:    A permit is acquired.
+     * THEN:    The request is shed with the time after which it can be retried.
+     */
+    @Test
+    void givenQueueFull_whenAcquire_thenShed() {
+        admissionController.acquire(RouteClass.BATCH).block();
+        admissionController.acquire(RouteClass.BATCH).toFuture();
+
+        StepVerifier.create(admissionController.acquire(RouteClass.BATCH))
+                .expectErrorSatisfies(e -> {
+                    final var rejected = assertInstanceOf(AdmissionRejectedException.class, e);
+                    assertEquals(RouteClass.BATCH, rejected.getRouteClass());
+                    assertEquals(RETRY_AFTER, rejected.getRetryAfter());
+                })
+                .verify();
+        assertEquals(1, admissionController.getShed(RouteClass.BATCH));
+    }
+
+    /**
+     * GIVEN:   A queued request that is cancelled.
+     * WHEN:    The permit in flight is released.
+     * THEN:    The cancelled request leaves the queue without taking a permit.
+     */
+    @Test
+    void givenCancelledWaiter_whenRelease_thenNotAdmitted() {
+        final var permit = admissionController.acquire(RouteClass.SEARCH).block();
+        final var queued = admissionController.acquire(RouteClass.SEARCH).subscribe();
+
+        queued.dispose();
+        //noinspection DataFlowIssue
+        permit.release();
+
+        assertEquals(0, admissionController.getQueued(RouteClass.SEARCH));
+        assertEquals(0, admissionController.getInFlight(RouteClass.SEARCH));
+    }
+
+    /**
+     * GIVEN:   Search requests whose queueing delay stays above the target for a whole interval.
+     * WHEN:    The permits in flight are released.
+     * THEN:    The late searches are shed, and so are the new batch searches while the catalog lookups are admitted.
+     */
+    @Test
+    void givenStandingQueue_whenRelease_thenShedAndProtectMoreImportantClasses() {
+        final var permit = admissionController.acquire(RouteClass.SEARCH).block();
+        final var first = admissionController.acquire(RouteClass.SEARCH).toFuture();
+        final var second = admissionController.acquire(RouteClass.SEARCH).toFuture();
+        final var third = admissionController.acquire(RouteClass.SEARCH).toFuture();
+
+        doReturn(200L).when(clock).millis();
+        //noinspection DataFlowIssue
+        permit.release();
+        assertFalse(first.isCompletedExceptionally());
+        assertFalse(admissionController.isOverloaded(RouteClass.SEARCH));
+
+        doReturn(800L).when(clock).millis();
+        first.join().release();
+
+        assertInstanceOf(AdmissionRejectedException.class,
+                assertThrows(CompletionException.class, second::join).getCause());
+        assertTrue(third.isCompletedExceptionally());
+        assertTrue(admissionController.isOverloaded(RouteClass.SEARCH));
+        assertEquals(2, admissionController.getShed(RouteClass.SEARCH));
+
+        StepVerifier.create(admissionController.acquire(RouteClass.BATCH))
+                .expectError(AdmissionRejectedException.class)
+                .verify();
+        StepVerifier.create(admissionController.acquire(RouteClass.CATALOG))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        doReturn(1300L).when(clock).millis();
+        assertFalse(admissionController.isOverloaded(RouteClass.SEARCH));
+        StepVerifier.create(admissionController.acquire(RouteClass.BATCH))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
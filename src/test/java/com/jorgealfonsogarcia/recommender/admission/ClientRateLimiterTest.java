@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link ClientRateLimiter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ClientRateLimiterTest {
+
+    private static final String CLIENT = "key:integration";
+
+    private Clock clock;
+    private ClientRateLimiter clientRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        clientRateLimiter = new ClientRateLimiter(10, 6, 1000, Duration.ofMinutes(10), clock);
+    }
+
+    /**
+     * GIVEN:   A client with a full bucket.
+     * WHEN:    It spends its burst and makes another request.
+     * THEN:    The burst is allowed, and the next request is limited until a token is added.
+     */
+    @Test
+    void givenFullBucket_whenBurstSpent_thenLimitedUntilRefill() {
+        assertEquals(Duration.ZERO, clientRateLimiter.tryAcquire(CLIENT, 4));
+        assertEquals(Duration.ZERO, clientRateLimiter.tryAcquire(CLIENT, 2));
+        assertEquals(Duration.ofMillis(100), clientRateLimiter.tryAcquire(CLIENT, 1));
+
+        doReturn(100L).when(clock).millis();
+        assertEquals(Duration.ZERO, clientRateLimiter.tryAcquire(CLIENT, 1));
+
+        assertEquals(3, clientRateLimiter.getAllowed());
+        assertEquals(1, clientRateLimiter.getLimited());
+    }
+
+    /**
+     * GIVEN:   A client that spent its burst.
+     * WHEN:    Another client makes a request.
+     * THEN:    It is charged to its own bucket.
+     */
+    @Test
+    void givenSpentClient_whenOtherClient_thenAllowed() {
+        clientRateLimiter.tryAcquire(CLIENT, 6);
+
+        assertEquals(Duration.ZERO, clientRateLimiter.tryAcquire("ip:10.0.0.1", 6));
+        assertEquals(2, clientRateLimiter.getClients());
+    }
+
+    /**
+     * GIVEN:   A request that costs more than the burst.
+     * WHEN:    It is charged to a full bucket.
+     * THEN:    Its cost is capped at the burst, so it is allowed.
+     */
+    @Test
+    void givenCostAboveBurst_whenTryAcquire_thenCappedAndAllowed() {
+        assertEquals(Duration.ZERO, clientRateLimiter.tryAcquire(CLIENT, 100));
+        assertEquals(Duration.ofMillis(100), clientRateLimiter.tryAcquire(CLIENT, 1));
+    }
+
+    /**
+     * GIVEN:   A full bucket of six tokens.
+     * WHEN:    Many threads charge it a token at once.
+     * THEN:    Exactly six requests are allowed.
+     */
+    @Test
+    void givenConcurrentRequests_whenTryAcquire_thenBurstAllowed() throws InterruptedException {
+        final var executor = Executors.newFixedThreadPool(8);
+        final var start = new CountDownLatch(1);
+        final var allowed = new AtomicInteger();
+        for (var i = 0; i < 64; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                if (clientRateLimiter.tryAcquire(CLIENT, 1).isZero()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(6, allowed.get());
+    }
+}
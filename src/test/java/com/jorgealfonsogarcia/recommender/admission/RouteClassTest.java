@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpMethod;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RouteClass} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class RouteClassTest {
+
+    private static Stream<Arguments> requests() {
+        return Stream.of(
+                Arguments.of(HttpMethod.GET, "/movies/languages", Optional.of(RouteClass.CATALOG)),
+                Arguments.of(HttpMethod.GET, "/movies/genres/es", Optional.of(RouteClass.CATALOG)),
+                Arguments.of(HttpMethod.GET, "/movies/lookup", Optional.of(RouteClass.CATALOG)),
+                Arguments.of(HttpMethod.GET, "/movies/autocomplete", Optional.of(RouteClass.CATALOG)),
+                Arguments.of(HttpMethod.GET, "/movies/search", Optional.of(RouteClass.SEARCH)),
+                Arguments.of(HttpMethod.POST, "/movies/search/batch", Optional.of(RouteClass.BATCH)),
+                Arguments.of(HttpMethod.GET, "/movies/genres/", Optional.empty()),
+                Arguments.of(HttpMethod.POST, "/movies/search", Optional.empty()),
+                Arguments.of(HttpMethod.GET, "/actuator/health", Optional.empty())
+        );
+    }
+
+    /**
+     * GIVEN:   A request.
+     * WHEN:    Its route class is resolved.
+     * THEN:    The movie routes are classified, and the others are not admission controlled.
+     */
+    @ParameterizedTest
+    @MethodSource("requests")
+    void givenRequest_whenOf_thenRouteClass(final HttpMethod method,
+                                            final String path,
+                                            final Optional<RouteClass> expected) {
+        assertEquals(expected, RouteClass.of(method, path));
+    }
+
+    /**
+     * GIVEN:   The route classes.
+     * WHEN:    Their priorities are compared.
+     * THEN:    The catalog lookups are the most important and the batch searches the least.
+     */
+    @Test
+    void givenRouteClasses_whenIsMoreImportantThan_thenOrderedByCost() {
+        assertTrue(RouteClass.CATALOG.isMoreImportantThan(RouteClass.SEARCH));
+        assertTrue(RouteClass.SEARCH.isMoreImportantThan(RouteClass.BATCH));
+        assertFalse(RouteClass.BATCH.isMoreImportantThan(RouteClass.CATALOG));
+        assertFalse(RouteClass.SEARCH.isMoreImportantThan(RouteClass.SEARCH));
+    }
+}
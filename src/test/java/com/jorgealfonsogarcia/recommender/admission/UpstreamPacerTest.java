@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link UpstreamPacer} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class UpstreamPacerTest {
+
+    private Clock clock;
+    private UpstreamPacer upstreamPacer;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        upstreamPacer = new UpstreamPacer(10, 2, Duration.ofMillis(250), Duration.ofSeconds(1),
+                Duration.ofMinutes(1), clock);
+    }
+
+    /**
+     * GIVEN:   A pacer of ten calls per second with a burst of two.
+     * WHEN:    Calls are reserved at once.
+     * THEN:    The burst is sent now, the next calls are spaced at the rate, and those beyond the maximum wait are
+     *          rejected.
+     */
+    @Test
+    void givenBurstSpent_whenReserve_thenSpacedAtRateUntilMaxWait() {
+        assertEquals(Duration.ZERO, upstreamPacer.reserve());
+        assertEquals(Duration.ZERO, upstreamPacer.reserve());
+        assertEquals(Duration.ofMillis(100), upstreamPacer.reserve());
+        assertEquals(Duration.ofMillis(200), upstreamPacer.reserve());
+
+        final var exception = assertThrows(UpstreamThrottledException.class, upstreamPacer::reserve);
+        assertEquals(Duration.ofMillis(300), exception.getRetryAfter());
+
+        assertEquals(2, upstreamPacer.getImmediate());
+        assertEquals(2, upstreamPacer.getDelayed());
+        assertEquals(1, upstreamPacer.getRejected());
+    }
+
+    /**
+     * GIVEN:   A 429 Too Many Requests with a Retry-After of two seconds.
+     * WHEN:    Calls are reserved during and after the pause.
+     * THEN:    They are rejected during the pause, and sent once it has passed.
+     */
+    @Test
+    void givenTooManyRequestsWithRetryAfter_whenReserve_thenPausedForWindow() {
+        final var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+
+        assertTrue(upstreamPacer.onResponse(HttpStatus.TOO_MANY_REQUESTS, headers));
+        assertEquals(Duration.ofSeconds(2), upstreamPacer.getPauseRemaining());
+        assertEquals(Duration.ofSeconds(2),
+                assertThrows(UpstreamThrottledException.class, upstreamPacer::reserve).getRetryAfter());
+
+        doReturn(1900L).when(clock).millis();
+        assertEquals(Duration.ofMillis(100), upstreamPacer.reserve());
+
+        doReturn(2000L).when(clock).millis();
+        assertEquals(Duration.ZERO, upstreamPacer.getPauseRemaining());
+        assertEquals(Duration.ZERO, upstreamPacer.reserve());
+        assertEquals(1, upstreamPacer.getThrottled());
+    }
+
+    /**
+     * GIVEN:   A 429 Too Many Requests with a Retry-After date.
+     * WHEN:    The response is recorded.
+     * THEN:    The calls are paused until that date.
+     */
+    @Test
+    void givenRetryAfterDate_whenOnResponse_thenPausedUntilDate() {
+        final var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "Thu, 01 Jan 1970 00:00:03 GMT");
+
+        upstreamPacer.onResponse(HttpStatus.TOO_MANY_REQUESTS, headers);
+
+        assertEquals(Duration.ofSeconds(3), upstreamPacer.getPauseRemaining());
+    }
+
+    /**
+     * GIVEN:   A 429 Too Many Requests without a Retry-After nor a rate limit reset header.
+     * WHEN:    The response is recorded.
+     * THEN:    The calls are paused for the default pause.
+     */
+    @Test
+    void givenTooManyRequestsWithoutHeaders_whenOnResponse_thenDefaultPause() {
+        upstreamPacer.onResponse(HttpStatus.TOO_MANY_REQUESTS, new HttpHeaders());
+
+        assertEquals(Duration.ofSeconds(1), upstreamPacer.getPauseRemaining());
+    }
+
+    /**
+     * GIVEN:   A successful response with no requests remaining and a reset time in epoch seconds.
+     * WHEN:    The response is recorded.
+     * THEN:    It is not throttled, but the calls are paused until the reset.
+     */
+    @Test
+    void givenNoRequestsRemaining_whenOnResponse_thenPausedUntilReset() {
+        doReturn(1_700_000_000_000L).when(clock).millis();
+        final var headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", "1700000005");
+
+        assertFalse(upstreamPacer.onResponse(HttpStatus.OK, headers));
+
+        assertEquals(Duration.ofSeconds(5), upstreamPacer.getPauseRemaining());
+        assertEquals(0, upstreamPacer.getThrottled());
+    }
+
+    /**
+     * GIVEN:   A successful response with requests remaining.
+     * WHEN:    The response is recorded.
+     * THEN:    The calls are not paused.
+     */
+    @Test
+    void givenRequestsRemaining_whenOnResponse_thenNotPaused() {
+        final var headers = new HttpHeaders();
+        headers.set("RateLimit-Remaining", "12");
+        headers.set("RateLimit-Reset", "5");
+
+        assertFalse(upstreamPacer.onResponse(HttpStatus.OK, headers));
+
+        assertEquals(Duration.ZERO, upstreamPacer.getPauseRemaining());
+    }
+
+    /**
+     * GIVEN:   A pause longer than the maximum pause, and then a shorter one.
+     * WHEN:    The calls are paused.
+     * THEN:    The pause is capped at the maximum, and the shorter one does not shorten it.
+     */
+    @Test
+    void givenLongPause_whenPause_thenCappedAndNotShortened() {
+        upstreamPacer.pause(Duration.ofHours(1));
+        upstreamPacer.pause(Duration.ofSeconds(1));
+
+        assertEquals(Duration.ofMinutes(1), upstreamPacer.getPauseRemaining());
+    }
+
+    /**
+     * GIVEN:   A pacer with a burst of two and a maximum wait of two intervals and a half.
+     * WHEN:    Many threads reserve a call at once.
+     * THEN:    Exactly two calls are sent now and two are delayed.
+     */
+    @Test
+    void givenConcurrentCalls_whenReserve_thenScheduleShared() throws InterruptedException {
+        final var executor = Executors.newFixedThreadPool(8);
+        final var start = new CountDownLatch(1);
+        for (var i = 0; i < 64; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    upstreamPacer.reserve();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (UpstreamThrottledException ignored) {
+                    // Counted as rejected.
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(2, upstreamPacer.getImmediate());
+        assertEquals(2, upstreamPacer.getDelayed());
+        assertEquals(60, upstreamPacer.getRejected());
+    }
+}
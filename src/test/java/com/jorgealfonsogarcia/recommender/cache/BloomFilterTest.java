@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link BloomFilter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class BloomFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    /**
+     * GIVEN:   A filter sized for 10000 strings and a 1% false positive probability.
+     * WHEN:    The filter is created.
+     * THEN:    It has the optimal number of bits, rounded up to whole words, and 7 hash functions.
+     */
+    @Test
+    void givenExpectedInsertionsAndProbability_whenCreate_thenOptimalSize() {
+        final var filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+
+        assertEquals(95872, filter.bitCount());
+        assertEquals(7, filter.hashCount());
+    }
+
+    /**
+     * GIVEN:   Strings added to the filter.
+     * WHEN:    They are looked up.
+     * THEN:    All of them might be contained.
+     */
+    @Test
+    void givenAddedStrings_whenMightContain_thenTrue() {
+        final var filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        IntStream.range(0, EXPECTED_INSERTIONS).forEach(i -> filter.add("discover_%d_35_xx".formatted(i)));
+
+        assertTrue(IntStream.range(0, EXPECTED_INSERTIONS)
+                .allMatch(i -> filter.mightContain("discover_%d_35_xx".formatted(i))));
+    }
+
+    /**
+     * GIVEN:   A full filter.
+     * WHEN:    Strings not added are looked up.
+     * THEN:    The false positive rate is close to the configured probability.
+     */
+    @Test
+    void givenFullFilter_whenMightContainOtherStrings_thenFalsePositiveRateBounded() {
+        final var filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        IntStream.range(0, EXPECTED_INSERTIONS).forEach(i -> filter.add("discover_%d_35_xx".formatted(i)));
+
+        final var falsePositives = IntStream.range(0, EXPECTED_INSERTIONS)
+                .filter(i -> filter.mightContain("discover_%d_18_yy".formatted(i)))
+                .count();
+
+        assertTrue(falsePositives < 2 * FALSE_POSITIVE_PROBABILITY * EXPECTED_INSERTIONS,
+                "False positives: %d".formatted(falsePositives));
+    }
+
+    /**
+     * GIVEN:   Invalid sizing arguments.
+     * WHEN:    The filter is created.
+     * THEN:    An illegal argument exception is thrown.
+     */
+    @Test
+    void givenInvalidArguments_whenCreate_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, FALSE_POSITIVE_PROBABILITY));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(EXPECTED_INSERTIONS, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(EXPECTED_INSERTIONS, 1.0));
+    }
+}
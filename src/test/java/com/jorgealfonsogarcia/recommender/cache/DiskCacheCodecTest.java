@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link DiskCacheCodec} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class DiskCacheCodecTest {
+
+    private static final List<Movie> MOVIES = List.of(
+            new Movie(false, "/backdrop1.jpg", List.of(28, 12), 1, "en", "Movie 1", "Overview 1", 10.5,
+                    "/poster1.jpg", "2023-01-01", "Movie 1", false, 7.5, 100),
+            new Movie(null, null, null, 2, "es", "Película 2", null, null, null, "2023-02-01", "Movie 2", null,
+                    null, null));
+
+    /**
+     * GIVEN:   A list of movies.
+     * WHEN:    Encode and decode it.
+     * THEN:    An unmodifiable list equal to it is decoded.
+     */
+    @Test
+    void givenMovies_whenEncodeAndDecode_thenEqualListDecoded() {
+        assertTrue(DiskCacheCodec.canEncode(MOVIES));
+
+        final var values = DiskCacheCodec.decode(DiskCacheCodec.encode(MOVIES));
+
+        assertEquals(MOVIES, values);
+        assertThrows(UnsupportedOperationException.class, () -> values.remove(0));
+    }
+
+    /**
+     * GIVEN:   Values that are not non-empty lists of a single domain model.
+     * WHEN:    Check whether they can be encoded.
+     * THEN:    They cannot.
+     */
+    @Test
+    void givenValuesOfOtherTypes_whenCanEncode_thenFalse() {
+        final var withNull = new ArrayList<Genre>();
+        withNull.add(new Genre(1, "Genre 1"));
+        withNull.add(null);
+
+        assertFalse(DiskCacheCodec.canEncode("value"));
+        assertFalse(DiskCacheCodec.canEncode(List.of()));
+        assertFalse(DiskCacheCodec.canEncode(List.of("value")));
+        assertFalse(DiskCacheCodec.canEncode(List.of(new Genre(1, "Genre 1"), MOVIES.get(0))));
+        assertFalse(DiskCacheCodec.canEncode(withNull));
+    }
+
+    /**
+     * GIVEN:   A record written with Java serialization by an earlier version.
+     * WHEN:    Decode it.
+     * THEN:    Null is returned.
+     */
+    @Test
+    void givenJavaSerializedRecord_whenDecode_thenReturnNull() throws IOException {
+        final var outputStream = new ByteArrayOutputStream();
+        try (var objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(new ArrayList<>(MOVIES));
+        }
+
+        assertNull(DiskCacheCodec.decode(outputStream.toByteArray()));
+    }
+
+    /**
+     * GIVEN:   Records of a class outside the domain models, of an unknown model and truncated.
+     * WHEN:    Decode them.
+     * THEN:    Null is returned.
+     */
+    @Test
+    void givenInvalidRecords_whenDecode_thenReturnNull() {
+        final var record = DiskCacheCodec.encode(MOVIES);
+        // The class name follows the version and its length.
+        final var otherClass = record.clone();
+        otherClass[3] = 'x';
+        final var unknownModel = record.clone();
+        unknownModel[2 + Movie.class.getName().length()] = 'x';
+
+        assertNull(DiskCacheCodec.decode(otherClass));
+        assertNull(DiskCacheCodec.decode(unknownModel));
+        assertNull(DiskCacheCodec.decode(new byte[]{1}));
+        assertNull(DiskCacheCodec.decode(Arrays.copyOf(record, record.length / 2)));
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the {@link DiskCacheStore} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class DiskCacheStoreTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final Duration TTL = Duration.ofHours(1);
+
+    @TempDir
+    private Path directory;
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+    }
+
+    /**
+     * GIVEN:   A value put in the store.
+     * WHEN:    Get the value.
+     * THEN:    The value is returned and counted as a hit.
+     */
+    @Test
+    void givenValuePut_whenGet_thenReturnValueAndCountHit() throws IOException {
+        final var store = newStore(4 * SEGMENT_SIZE, 0.5);
+
+        assertTrue(store.put("key", bytes("value")));
+
+        assertArrayEquals(bytes("value"), store.get("key"));
+        assertNull(store.get("other"));
+        assertEquals(1, store.getHits());
+        assertEquals(1, store.getMisses());
+        assertEquals(1, store.getPuts());
+        assertEquals(1, store.getSize());
+    }
+
+    /**
+     * GIVEN:   A value put in the store.
+     * WHEN:    Get the value after its time to live.
+     * THEN:    A miss is returned and the value is evicted.
+     */
+    @Test
+    void givenExpiredValue_whenGet_thenReturnNullAndEvict() throws IOException {
+        final var store = newStore(4 * SEGMENT_SIZE, 0.5);
+        store.put("key", bytes("value"));
+
+        doReturn(TTL.toMillis()).when(clock).millis();
+
+        assertNull(store.get("key"));
+        assertEquals(1, store.getEvictions());
+        assertEquals(0, store.getSize());
+        assertEquals(0, store.getLiveBytes());
+    }
+
+    /**
+     * GIVEN:   Values put and evicted.
+     * WHEN:    The store is opened again.
+     * THEN:    The index is rebuilt with the last value of each key and without the evicted ones.
+     */
+    @Test
+    void givenValuesPutAndEvicted_whenReopen_thenIndexRebuilt() throws IOException {
+        final var store = newStore(4 * SEGMENT_SIZE, 0.5);
+        store.put("kept", bytes("first"));
+        store.put("kept", bytes("second"));
+        store.put("evicted", bytes("value"));
+        store.evict("evicted");
+        store.close();
+
+        final var reopened = newStore(4 * SEGMENT_SIZE, 0.5);
+
+        assertArrayEquals(bytes("second"), reopened.get("kept"));
+        assertNull(reopened.get("evicted"));
+        assertEquals(1, reopened.getSize());
+    }
+
+    /**
+     * GIVEN:   A segment with a torn record.
+     * WHEN:    The store is opened again.
+     * THEN:    The records before it are kept and new records are appended after them.
+     */
+    @Test
+    void givenTornRecord_whenReopen_thenPreviousRecordsKept() throws IOException {
+        final var store = newStore(4 * SEGMENT_SIZE, 0.5);
+        store.put("first", bytes("value"));
+        store.put("second", bytes("value"));
+        store.close();
+
+        final var segment = Files.list(directory).findFirst().orElseThrow();
+        final var content = Files.readAllBytes(segment);
+        final var secondOffset = new String(content, StandardCharsets.ISO_8859_1).indexOf("second") - 20;
+        content[secondOffset + 25] ^= 0x7F;
+        Files.write(segment, content);
+
+        final var reopened = newStore(4 * SEGMENT_SIZE, 0.5);
+
+        assertArrayEquals(bytes("value"), reopened.get("first"));
+        assertNull(reopened.get("second"));
+        assertTrue(reopened.put("third", bytes("value")));
+        assertArrayEquals(bytes("value"), reopened.get("third"));
+    }
+
+    /**
+     * GIVEN:   A segment with a record whose expiration time was corrupted.
+     * WHEN:    The store is opened again.
+     * THEN:    The checksum rejects the record, as it covers the header.
+     */
+    @Test
+    void givenCorruptedHeader_whenReopen_thenRecordRejected() throws IOException {
+        final var store = newStore(4 * SEGMENT_SIZE, 0.5);
+        store.put("first", bytes("value"));
+        store.put("second", bytes("value"));
+        store.close();
+
+        final var segment = Files.list(directory).findFirst().orElseThrow();
+        final var content = Files.readAllBytes(segment);
+        final var secondOffset = new String(content, StandardCharsets.ISO_8859_1).indexOf("second") - 20;
+        content[secondOffset + 8] ^= 0x7F;
+        Files.write(segment, content);
+
+        final var reopened = newStore(4 * SEGMENT_SIZE, 0.5);
+
+        assertArrayEquals(bytes("value"), reopened.get("first"));
+        assertNull(reopened.get("second"));
+        assertEquals(1, reopened.getSize());
+    }
+
+    /**
+     * GIVEN:   More values than the maximum size.
+     * WHEN:    Put them.
+     * THEN:    The oldest segments are dropped.
+     */
+    @Test
+    void givenMoreValuesThanMaxSize_whenPut_thenOldestSegmentsDropped() throws IOException {
+        final var store = newStore(2 * SEGMENT_SIZE, 0.0);
+
+        IntStream.range(0, 100).forEach(i -> store.put("key-%d".formatted(i), new byte[100]));
+
+        assertTrue(store.getUsedBytes() <= 2 * SEGMENT_SIZE);
+        assertTrue(store.getEvictions() > 0);
+        assertNull(store.get("key-0"));
+        assertArrayEquals(new byte[100], store.get("key-99"));
+    }
+
+    /**
+     * GIVEN:   An oldest segment with few live records.
+     * WHEN:    A new segment is started.
+     * THEN:    Its live records are rewritten and the segment is dropped.
+     */
+    @Test
+    void givenMostlyOverwrittenSegment_whenRoll_thenCompacted() throws IOException {
+        final var store = newStore(8 * SEGMENT_SIZE, 0.5);
+
+        store.put("live", bytes("value"));
+        IntStream.range(0, 30).forEach(i -> store.put("overwritten", new byte[100]));
+
+        assertTrue(store.getCompactions() > 0);
+        assertArrayEquals(bytes("value"), store.get("live"));
+        assertArrayEquals(new byte[100], store.get("overwritten"));
+        assertEquals(2, store.getSize());
+        assertTrue(store.getSegmentCount() < 3);
+    }
+
+    /**
+     * GIVEN:   A value larger than a segment.
+     * WHEN:    Put it.
+     * THEN:    It is not stored.
+     */
+    @Test
+    void givenValueLargerThanSegment_whenPut_thenNotStored() throws IOException {
+        final var store = newStore(4 * SEGMENT_SIZE, 0.5);
+
+        assertFalse(store.put("key", new byte[SEGMENT_SIZE]));
+        assertNull(store.get("key"));
+    }
+
+    /**
+     * GIVEN:   Values with different prefixes.
+     * WHEN:    Evict the keys with one prefix.
+     * THEN:    Only those keys are evicted.
+     */
+    @Test
+    void givenValuesWithPrefixes_whenEvictAll_thenOnlyMatchingEvicted() throws IOException {
+        final var store = newStore(4 * SEGMENT_SIZE, 0.5);
+        store.put("a:1", bytes("value"));
+        store.put("a:2", bytes("value"));
+        store.put("b:1", bytes("value"));
+
+        store.evictAll(key -> key.startsWith("a:"));
+
+        assertNull(store.get("a:1"));
+        assertNull(store.get("a:2"));
+        assertArrayEquals(bytes("value"), store.get("b:1"));
+    }
+
+    /**
+     * GIVEN:   Invalid sizes or threshold.
+     * WHEN:    Create the store.
+     * THEN:    An illegal argument exception is thrown.
+     */
+    @Test
+    void givenInvalidArguments_whenCreate_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DiskCacheStore(directory, 10, SEGMENT_SIZE, TTL, 0.5,
+                clock));
+        assertThrows(IllegalArgumentException.class, () -> new DiskCacheStore(directory, SEGMENT_SIZE,
+                SEGMENT_SIZE - 1, TTL, 0.5, clock));
+        assertThrows(IllegalArgumentException.class, () -> new DiskCacheStore(directory, SEGMENT_SIZE, SEGMENT_SIZE,
+                TTL, 1.0, clock));
+    }
+
+    private DiskCacheStore newStore(final long maxSize,
+                                    final double compactionThreshold) throws IOException {
+        return new DiskCacheStore(directory, SEGMENT_SIZE, maxSize, TTL, compactionThreshold, clock);
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@link DiskCacheWriter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class DiskCacheWriterTest {
+
+    private static final List<Genre> VALUE = List.of(new Genre(1, "value"));
+    private static final List<Genre> FIRST = List.of(new Genre(1, "first"));
+    private static final List<Genre> SECOND = List.of(new Genre(2, "second"));
+    private static final List<Genre> OTHER = List.of(new Genre(3, "other"));
+
+    @TempDir
+    private Path directory;
+
+    private DiskCacheStore diskCacheStore;
+    private Scheduler scheduler;
+    private DiskCacheWriter diskCacheWriter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        diskCacheStore = new DiskCacheStore(directory, 64 * 1024, 256 * 1024, Duration.ofHours(1), 0.5,
+                Clock.systemUTC());
+        scheduler = mock(Scheduler.class);
+        diskCacheWriter = new DiskCacheWriter(diskCacheStore, 2, scheduler, Schedulers.immediate());
+    }
+
+    /**
+     * GIVEN:   A value put in the writer.
+     * WHEN:    Get it before and after the writer runs.
+     * THEN:    It is read from the pending writes until it is in the store, which is only written by the writer.
+     */
+    @Test
+    void givenValuePut_whenDrain_thenWrittenByWriter() {
+        assertTrue(diskCacheWriter.put("key", VALUE));
+
+        assertEquals(VALUE, diskCacheWriter.get("key"));
+        assertEquals(0, diskCacheStore.getSize());
+        assertEquals(1, diskCacheWriter.getPendingWrites());
+
+        drain();
+
+        assertEquals(0, diskCacheWriter.getPendingWrites());
+        assertNotNull(diskCacheStore.get("key"));
+        assertEquals(VALUE, diskCacheWriter.get("key"));
+    }
+
+    /**
+     * GIVEN:   A value in the store.
+     * WHEN:    Evict it.
+     * THEN:    It is no longer read, even before the writer removes it from the store.
+     */
+    @Test
+    void givenValueInStore_whenEvict_thenNotReadBeforeDrain() {
+        diskCacheWriter.put("key", VALUE);
+        drain();
+
+        diskCacheWriter.evict("key");
+
+        assertNull(diskCacheWriter.get("key"));
+        assertNotNull(diskCacheStore.get("key"));
+
+        drain();
+
+        assertNull(diskCacheStore.get("key"));
+        assertNull(diskCacheWriter.get("key"));
+    }
+
+    /**
+     * GIVEN:   Several writes of the same key before the writer runs.
+     * WHEN:    Drain them.
+     * THEN:    Only the last one is written, and the writer is scheduled once.
+     */
+    @Test
+    void givenWritesOfSameKey_whenDrain_thenOnlyLastWritten() {
+        diskCacheWriter.put("key", FIRST);
+        diskCacheWriter.put("key", SECOND);
+
+        drain();
+
+        assertEquals(1, diskCacheStore.getPuts());
+        assertEquals(SECOND, diskCacheWriter.get("key"));
+    }
+
+    /**
+     * GIVEN:   A full queue of pending writes.
+     * WHEN:    Put a new key, replace a pending one and evict another.
+     * THEN:    Only the new put is dropped.
+     */
+    @Test
+    void givenFullQueue_whenPut_thenNewKeysDropped() {
+        diskCacheWriter.put("first", VALUE);
+        diskCacheWriter.put("second", VALUE);
+
+        assertFalse(diskCacheWriter.put("third", VALUE));
+        assertTrue(diskCacheWriter.put("first", OTHER));
+        diskCacheWriter.evict("fourth");
+
+        assertEquals(1, diskCacheWriter.getDroppedWrites());
+        assertNull(diskCacheWriter.get("third"));
+        assertEquals(OTHER, diskCacheWriter.get("first"));
+        assertEquals(3, diskCacheWriter.getPendingWrites());
+    }
+
+    /**
+     * GIVEN:   Values of two prefixes, one stored and one pending.
+     * WHEN:    Evict all the keys of a prefix.
+     * THEN:    Only its keys are evicted.
+     */
+    @Test
+    void givenValuesWithPrefixes_whenEvictAll_thenOnlyMatchingEvicted() {
+        diskCacheWriter.put("a:stored", VALUE);
+        drain();
+        diskCacheWriter.put("a:pending", VALUE);
+        diskCacheWriter.put("b:pending", VALUE);
+
+        diskCacheWriter.evictAll(key -> key.startsWith("a:"));
+        drain();
+
+        assertNull(diskCacheWriter.get("a:stored"));
+        assertNull(diskCacheWriter.get("a:pending"));
+        assertEquals(VALUE, diskCacheWriter.get("b:pending"));
+        assertEquals(1, diskCacheStore.getSize());
+    }
+
+    /**
+     * GIVEN:   A value that cannot be read back from the store.
+     * WHEN:    Get it.
+     * THEN:    A miss is returned and its eviction is queued.
+     */
+    @Test
+    void givenUnreadableValue_whenGet_thenReturnNullAndEvict() {
+        diskCacheStore.put("key", new byte[]{1, 2, 3});
+
+        assertNull(diskCacheWriter.get("key"));
+
+        drain();
+
+        assertEquals(0, diskCacheStore.getSize());
+    }
+
+    /**
+     * GIVEN:   A value in the store and a value pending eviction.
+     * WHEN:    Read them.
+     * THEN:    The value is read on the read scheduler, and the evicted one is not read.
+     */
+    @Test
+    void givenValues_whenRead_thenReadOnReadScheduler() {
+        final var readScheduler = Schedulers.newSingle("test-reader");
+        final var reader = new DiskCacheWriter(diskCacheStore, 2, scheduler, readScheduler);
+        reader.put("key", VALUE);
+        drain();
+        reader.evict("evicted");
+
+        StepVerifier.create(reader.read("key").map(value -> Thread.currentThread().getName()))
+                .assertNext(thread -> assertTrue(thread.startsWith("test-reader")))
+                .verifyComplete();
+        StepVerifier.create(reader.read("evicted"))
+                .verifyComplete();
+
+        readScheduler.dispose();
+    }
+
+    /**
+     * GIVEN:   Pending writes.
+     * WHEN:    Close the writer.
+     * THEN:    They are written and the scheduler is disposed.
+     */
+    @Test
+    void givenPendingWrites_whenClose_thenWritten() {
+        diskCacheWriter.put("key", VALUE);
+
+        diskCacheWriter.close();
+
+        assertNotNull(diskCacheStore.get("key"));
+        assertEquals(0, diskCacheWriter.getPendingWrites());
+        verify(scheduler).dispose();
+    }
+
+    /**
+     * GIVEN:   A maximum number of pending writes that is not positive.
+     * WHEN:    Create the writer.
+     * THEN:    An illegal argument exception is thrown.
+     */
+    @Test
+    void givenInvalidMaxPendingWrites_whenCreate_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DiskCacheWriter(diskCacheStore, 0, scheduler,
+                Schedulers.immediate()));
+    }
+
+    /**
+     * Runs the last drain scheduled.
+     */
+    private void drain() {
+        final var captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(captor.capture());
+        captor.getValue().run();
+        clearInvocations(scheduler);
+    }
+}
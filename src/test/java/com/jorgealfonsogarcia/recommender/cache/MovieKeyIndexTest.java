@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link MovieKeyIndex} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class MovieKeyIndexTest {
+
+    /**
+     * GIVEN:   Two discover calls sharing a movie, and responses built from each of them.
+     * WHEN:    The shared movie, and then a movie of a single call, are invalidated.
+     * THEN:    Both calls and all their responses are invalidated first, and nothing is left to invalidate after.
+     */
+    @Test
+    void givenSharedMovie_whenInvalidate_thenCellsAndResponsesInvalidated() {
+        final var movieKeyIndex = new MovieKeyIndex(100);
+        movieKeyIndex.recordCell("discover_1982_35_es", List.of(movie(1), movie(2)));
+        movieKeyIndex.recordCell("discover_1982_35_pt", List.of(movie(2), movie(3)));
+        movieKeyIndex.recordCell("discover_1983_35_es", List.of(movie(4)));
+        movieKeyIndex.recordResponse("search:es", List.of("discover_1982_35_es", "discover_1983_35_es"));
+        movieKeyIndex.recordResponse("search:pt", List.of("discover_1982_35_pt"));
+        movieKeyIndex.recordResponse("search:de", List.of("discover_1983_35_es"));
+
+        final var invalidation = movieKeyIndex.invalidate(List.of(2, 99));
+
+        assertEquals(Set.of("discover_1982_35_es", "discover_1982_35_pt"), invalidation.cells());
+        assertEquals(Set.of("search:es", "search:pt"), invalidation.responses());
+        assertEquals(1, movieKeyIndex.getCells());
+        assertEquals(1, movieKeyIndex.getResponses());
+        assertEquals(1, movieKeyIndex.getMovies());
+
+        final var again = movieKeyIndex.invalidate(List.of(1, 3));
+
+        assertTrue(again.cells().isEmpty());
+        assertTrue(again.responses().isEmpty());
+    }
+
+    /**
+     * GIVEN:   A tracked discover call.
+     * WHEN:    It is recorded again with the same movies, and then reloaded with other movies.
+     * THEN:    Only the new movies are recorded, and it is only found through the movies it holds now.
+     */
+    @Test
+    void givenReloadedCell_whenRecordCell_thenTrackedByNewMovies() {
+        final var movieKeyIndex = new MovieKeyIndex(100);
+        final var movies = List.of(movie(1), movie(2));
+        assertTrue(movieKeyIndex.recordCell("discover_1982_35_es", movies));
+        assertFalse(movieKeyIndex.recordCell("discover_1982_35_es", movies));
+        assertTrue(movieKeyIndex.recordCell("discover_1982_35_es", List.of(movie(2), movie(3))));
+
+        assertEquals(2, movieKeyIndex.getMovies());
+        assertTrue(movieKeyIndex.invalidate(List.of(1)).cells().isEmpty());
+        assertEquals(Set.of("discover_1982_35_es"), movieKeyIndex.invalidate(List.of(3)).cells());
+    }
+
+    /**
+     * GIVEN:   An index tracking at most two keys of each kind.
+     * WHEN:    A third discover call and a third response are recorded, after the first ones are read again.
+     * THEN:    The least recently recorded ones are no longer tracked, and only the response is passed to the dropped
+     *          responses listener.
+     */
+    @Test
+    void givenFullIndex_whenRecord_thenLeastRecentlyRecordedDropped() {
+        final var movieKeyIndex = new MovieKeyIndex(2);
+        final var dropped = new ArrayList<Set<String>>();
+        movieKeyIndex.setDroppedResponsesListener(dropped::add);
+        final var first = List.of(movie(1));
+        movieKeyIndex.recordCell("discover_1982_35_es", first);
+        movieKeyIndex.recordCell("discover_1983_35_es", List.of(movie(2)));
+        movieKeyIndex.recordCell("discover_1982_35_es", first);
+        movieKeyIndex.recordCell("discover_1984_35_es", List.of(movie(3)));
+        movieKeyIndex.recordResponse("search:1982", List.of("discover_1982_35_es"));
+        movieKeyIndex.recordResponse("search:1983", List.of("discover_1982_35_es"));
+        movieKeyIndex.recordResponse("search:1984", List.of("discover_1982_35_es"));
+
+        assertEquals(2, movieKeyIndex.getCells());
+        assertEquals(2, movieKeyIndex.getResponses());
+        assertTrue(movieKeyIndex.invalidate(List.of(2)).cells().isEmpty());
+        assertEquals(Set.of("search:1983", "search:1984"), movieKeyIndex.invalidate(List.of(1)).responses());
+        assertEquals(List.of(Set.of("search:1982")), dropped);
+    }
+
+    /**
+     * GIVEN:   A full index with a response built from its least recently recorded discover call.
+     * WHEN:    Another discover call is recorded, and then the dropped one is read again.
+     * THEN:    The response is dropped with the call, as it could no longer be invalidated through it, and the call is
+     *          tracked again when read, even with the same movies.
+     */
+    @Test
+    void givenResponseOfDroppedCell_whenRecordCell_thenResponseDroppedAndCellTrackedAgain() {
+        final var movieKeyIndex = new MovieKeyIndex(1);
+        final var dropped = new ArrayList<Set<String>>();
+        movieKeyIndex.setDroppedResponsesListener(dropped::add);
+        final var movies = List.of(movie(1));
+        movieKeyIndex.recordCell("discover_1982_35_es", movies);
+        movieKeyIndex.recordResponse("search:1982", List.of("discover_1982_35_es"));
+
+        movieKeyIndex.recordCell("discover_1983_35_es", List.of(movie(2)));
+
+        assertEquals(List.of(Set.of("search:1982")), dropped);
+        assertEquals(0, movieKeyIndex.getResponses());
+        assertTrue(movieKeyIndex.invalidate(List.of(1)).responses().isEmpty());
+
+        assertTrue(movieKeyIndex.recordCell("discover_1982_35_es", movies));
+
+        assertEquals(Set.of("discover_1982_35_es"), movieKeyIndex.invalidate(List.of(1)).cells());
+        assertEquals(1, dropped.size());
+    }
+
+    private static Movie movie(final Integer id) {
+        return new Movie(false, null, List.of(35), id, "es", "Título", "Una historia.", 10.0, null, "1982-01-01",
+                "Título", false, 5.0, 100);
+    }
+}
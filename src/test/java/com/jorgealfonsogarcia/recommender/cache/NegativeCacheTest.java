@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the {@link NegativeCache} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class NegativeCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final String KEY = "discover_1982_35_xx";
+
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+    }
+
+    /**
+     * GIVEN:   A key recorded as empty.
+     * WHEN:    It is looked up.
+     * THEN:    It might be empty and the hit is counted.
+     */
+    @Test
+    void givenRecordedKey_whenMightBeEmpty_thenTrueAndCountHit() {
+        final var negativeCache = new NegativeCache(TTL, 1000, 0.01, clock);
+        negativeCache.recordEmpty(KEY);
+
+        assertTrue(negativeCache.mightBeEmpty(KEY));
+        assertFalse(negativeCache.mightBeEmpty("discover_1983_35_xx"));
+        assertEquals(1, negativeCache.getHits());
+        assertEquals(1, negativeCache.getAdditions());
+    }
+
+    /**
+     * GIVEN:   A key recorded as empty.
+     * WHEN:    It is looked up after one rotation and after two rotations.
+     * THEN:    It is remembered after the first one and forgotten after the second one.
+     */
+    @Test
+    void givenRecordedKey_whenRotated_thenForgottenAfterTwoRotations() {
+        final var negativeCache = new NegativeCache(TTL, 1000, 0.01, clock);
+        negativeCache.recordEmpty(KEY);
+
+        doReturn(TTL.toMillis() / 2).when(clock).millis();
+        assertTrue(negativeCache.mightBeEmpty(KEY));
+
+        doReturn(TTL.toMillis()).when(clock).millis();
+        assertFalse(negativeCache.mightBeEmpty(KEY));
+    }
+
+    /**
+     * GIVEN:   A key recorded as empty.
+     * WHEN:    It is looked up after a whole time to live without lookups.
+     * THEN:    It is forgotten.
+     */
+    @Test
+    void givenRecordedKey_whenIdleForTtl_thenForgotten() {
+        final var negativeCache = new NegativeCache(TTL, 1000, 0.01, clock);
+        negativeCache.recordEmpty(KEY);
+
+        doReturn(TTL.toMillis() + TTL.toMillis() / 2).when(clock).millis();
+
+        assertFalse(negativeCache.mightBeEmpty(KEY));
+    }
+
+    /**
+     * GIVEN:   A time to live of zero.
+     * WHEN:    A key is recorded and looked up.
+     * THEN:    Nothing is remembered.
+     */
+    @Test
+    void givenZeroTtl_whenRecordEmpty_thenDisabled() {
+        final var negativeCache = new NegativeCache(Duration.ZERO, 1000, 0.01, clock);
+        negativeCache.recordEmpty(KEY);
+
+        assertFalse(negativeCache.mightBeEmpty(KEY));
+        assertEquals(0, negativeCache.getAdditions());
+    }
+}
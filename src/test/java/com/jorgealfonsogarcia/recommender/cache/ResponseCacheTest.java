@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@link ResponseCache} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ResponseCacheTest {
+
+    private static final String KEY = "genres:es";
+    private static final String CONTENT_TYPE = "application/json";
+    private static final String E_TAG = "\"tag\"";
+    private static final String LINK = "</movies/search?pageSize=20&cursor=AQ>; rel=\"next\"";
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(60);
+
+    /**
+     * GIVEN:   A small response with a max age.
+     * WHEN:    It is cached and looked up.
+     * THEN:    It is returned uncompressed, with its Link header and its max age as time to live, and the hit and
+     *          miss are counted.
+     */
+    @Test
+    void givenSmallResponse_whenPutAndGet_thenReturnedUncompressed() {
+        final var responseCache = new ResponseCache(1024 * 1024, 1024, DEFAULT_TTL);
+        final var body = "[]".getBytes(StandardCharsets.UTF_8);
+
+        assertNull(responseCache.get(KEY));
+        responseCache.put(KEY, CONTENT_TYPE, E_TAG, "max-age=600, public", LINK, body);
+
+        final var cachedResponse = responseCache.get(KEY);
+        assertNotNull(cachedResponse);
+        assertArrayEquals(body, cachedResponse.body());
+        assertNull(cachedResponse.gzipBody());
+        assertEquals(E_TAG, cachedResponse.eTag());
+        assertEquals(CONTENT_TYPE, cachedResponse.contentType());
+        assertEquals(LINK, cachedResponse.link());
+        assertEquals(Duration.ofMinutes(10), cachedResponse.ttl());
+        assertEquals(1, responseCache.getHits());
+        assertEquals(1, responseCache.getMisses());
+        assertEquals(1, responseCache.getSize());
+        assertEquals(body.length, responseCache.getUsedBytes());
+    }
+
+    /**
+     * GIVEN:   A large compressible response without a Cache-Control header.
+     * WHEN:    It is cached.
+     * THEN:    It is also kept gzip-compressed and lives for the default time to live.
+     */
+    @Test
+    void givenLargeResponse_whenPut_thenCompressed() throws IOException {
+        final var responseCache = new ResponseCache(1024 * 1024, 1024, DEFAULT_TTL);
+        final var body = "{\"id\":1,\"name\":\"Comedia\"},".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        responseCache.put(KEY, CONTENT_TYPE, E_TAG, null, null, body);
+
+        final var cachedResponse = responseCache.get(KEY);
+        assertNotNull(cachedResponse);
+        assertNotNull(cachedResponse.gzipBody());
+        assertEquals(DEFAULT_TTL, cachedResponse.ttl());
+        try (var gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(cachedResponse.gzipBody()))) {
+            assertArrayEquals(body, gzipInputStream.readAllBytes());
+        }
+    }
+
+    /**
+     * GIVEN:   Responses whose Cache-Control header forbids storing them.
+     * WHEN:    They are cached.
+     * THEN:    They are not stored.
+     */
+    @Test
+    void givenNotCacheableResponse_whenPut_thenNotStored() {
+        final var responseCache = new ResponseCache(1024 * 1024, 1024, DEFAULT_TTL);
+        final var body = "[]".getBytes(StandardCharsets.UTF_8);
+
+        responseCache.put(KEY, CONTENT_TYPE, E_TAG, "no-store", null, body);
+        responseCache.put("languages", CONTENT_TYPE, E_TAG, "max-age=0", null, body);
+
+        assertNull(responseCache.get(KEY));
+        assertNull(responseCache.get("languages"));
+    }
+
+    /**
+     * GIVEN:   Two cached responses.
+     * WHEN:    One of them is evicted.
+     * THEN:    Only the other one is returned.
+     */
+    @Test
+    void givenCachedResponses_whenEvict_thenOnlyOtherReturned() {
+        final var responseCache = new ResponseCache(1024 * 1024, 1024, DEFAULT_TTL);
+        final var body = "[]".getBytes(StandardCharsets.UTF_8);
+        responseCache.put(KEY, CONTENT_TYPE, E_TAG, null, null, body);
+        responseCache.put("languages", CONTENT_TYPE, E_TAG, null, null, body);
+
+        responseCache.evict(KEY);
+
+        assertNull(responseCache.get(KEY));
+        assertNotNull(responseCache.get("languages"));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link StaleCache} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class StaleCacheTest {
+
+    private static final String KEY = "genres_es";
+
+    private Clock clock;
+    private StaleCache staleCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        staleCache = new StaleCache(1000, Duration.ofHours(1), clock);
+    }
+
+    /**
+     * GIVEN:   A value kept ten minutes ago.
+     * WHEN:    It is looked up.
+     * THEN:    It is returned with its age, and counted as a hit.
+     */
+    @Test
+    void givenKeptValue_whenGet_thenReturnValueWithAge() {
+        staleCache.put(KEY, List.of("Acción"));
+        doReturn(Duration.ofMinutes(10).toMillis()).when(clock).millis();
+
+        final var stale = staleCache.get(KEY);
+
+        assertNotNull(stale);
+        assertEquals(List.of("Acción"), stale.value());
+        assertEquals(Duration.ofMinutes(10), stale.age());
+        assertEquals(1, staleCache.getHits());
+        assertEquals(0, staleCache.getMisses());
+    }
+
+    /**
+     * GIVEN:   A value kept for longer than the maximum age.
+     * WHEN:    It is looked up.
+     * THEN:    It is not returned, and counted as a miss.
+     */
+    @Test
+    void givenValueOlderThanMaxAge_whenGet_thenReturnNull() {
+        staleCache.put(KEY, List.of("Acción"));
+        doReturn(Duration.ofHours(1).toMillis() + 1).when(clock).millis();
+
+        assertNull(staleCache.get(KEY));
+        assertEquals(1, staleCache.getMisses());
+    }
+
+    /**
+     * GIVEN:   A stale cache with a maximum age of zero.
+     * WHEN:    A value is kept and looked up.
+     * THEN:    It is not kept.
+     */
+    @Test
+    void givenZeroMaxAge_whenPutAndGet_thenDisabled() {
+        final var disabled = new StaleCache(1000, Duration.ZERO, clock);
+        disabled.put(KEY, List.of("Acción"));
+
+        assertNull(disabled.get(KEY));
+        assertEquals(0, disabled.getSize());
+    }
+}
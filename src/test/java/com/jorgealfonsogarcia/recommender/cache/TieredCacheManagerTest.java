@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Unit tests for the {@link TieredCacheManager} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ExtendWith(MockitoExtension.class)
+class TieredCacheManagerTest {
+
+    @Mock
+    private CacheManager l1CacheManager;
+
+    @Mock
+    private DiskCacheWriter diskCacheWriter;
+
+    @InjectMocks
+    private TieredCacheManager tieredCacheManager;
+
+    /**
+     * GIVEN:   An in-memory cache.
+     * WHEN:    Get the cache twice.
+     * THEN:    The same tiered cache is returned.
+     */
+    @Test
+    void givenL1Cache_whenGetCache_thenReturnSameTieredCache() {
+        doReturn(new ConcurrentMapCache("moviesCache")).when(l1CacheManager).getCache("moviesCache");
+
+        final var cache = tieredCacheManager.getCache("moviesCache");
+
+        assertInstanceOf(TieredCache.class, cache);
+        assertEquals("moviesCache", cache.getName());
+        assertSame(cache, tieredCacheManager.getCache("moviesCache"));
+    }
+
+    /**
+     * GIVEN:   No in-memory cache.
+     * WHEN:    Get the cache.
+     * THEN:    Null is returned.
+     */
+    @Test
+    void givenNoL1Cache_whenGetCache_thenReturnNull() {
+        assertNull(tieredCacheManager.getCache("moviesCache"));
+    }
+
+    /**
+     * GIVEN:   In-memory caches.
+     * WHEN:    Get the cache names.
+     * THEN:    Their names are returned.
+     */
+    @Test
+    void givenL1Caches_whenGetCacheNames_thenReturnTheirNames() {
+        doReturn(List.of("moviesCache")).when(l1CacheManager).getCacheNames();
+
+        assertEquals(List.of("moviesCache"), tieredCacheManager.getCacheNames());
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.cache;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link TieredCache} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class TieredCacheTest {
+
+    private static final List<Genre> GENRES = List.of(new Genre(1, "Genre 1"), new Genre(2, "Genre 2"));
+
+    @TempDir
+    private Path directory;
+
+    private ConcurrentMapCache l1Cache;
+    private DiskCacheStore diskCacheStore;
+    private DiskCacheWriter diskCacheWriter;
+    private TieredCache tieredCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        l1Cache = new ConcurrentMapCache("moviesCache");
+        diskCacheStore = new DiskCacheStore(directory, 64 * 1024, 256 * 1024, Duration.ofHours(1), 0.5,
+                Clock.systemUTC());
+        diskCacheWriter = new DiskCacheWriter(diskCacheStore, 100, Schedulers.immediate(), Schedulers.immediate());
+        tieredCache = new TieredCache(l1Cache, diskCacheWriter);
+    }
+
+    /**
+     * GIVEN:   A value put in the cache and then evicted from memory.
+     * WHEN:    Get the value.
+     * THEN:    The value is read from disk and loaded back into memory.
+     */
+    @Test
+    void givenValueOnlyOnDisk_whenGet_thenReturnValueAndLoadIntoMemory() {
+        tieredCache.put("genres_es", GENRES);
+        l1Cache.clear();
+
+        final var valueWrapper = tieredCache.get("genres_es");
+
+        assertNotNull(valueWrapper);
+        assertEquals(GENRES, valueWrapper.get());
+        assertNotNull(l1Cache.get("genres_es"));
+        assertEquals(1, diskCacheStore.getHits());
+    }
+
+    /**
+     * GIVEN:   A value in memory.
+     * WHEN:    Get the value.
+     * THEN:    The disk is not read.
+     */
+    @Test
+    void givenValueInMemory_whenGet_thenDiskNotRead() {
+        tieredCache.put("genres_es", GENRES);
+
+        assertEquals(GENRES, tieredCache.get("genres_es", List.class));
+        assertEquals(0, diskCacheStore.getHits() + diskCacheStore.getMisses());
+    }
+
+    /**
+     * GIVEN:   A value put in the cache and then evicted from memory.
+     * WHEN:    Look up the value.
+     * THEN:    The value is read from disk when subscribed and loaded back into memory.
+     */
+    @Test
+    void givenValueOnlyOnDisk_whenLookup_thenReadWhenSubscribedAndLoadIntoMemory() {
+        tieredCache.put("genres_es", GENRES);
+        l1Cache.clear();
+
+        final var lookup = tieredCache.lookup("genres_es");
+
+        assertEquals(0, diskCacheStore.getHits());
+        StepVerifier.create(lookup)
+                .assertNext(valueWrapper -> assertEquals(GENRES, valueWrapper.get()))
+                .verifyComplete();
+        assertNotNull(l1Cache.get("genres_es"));
+        assertEquals(1, diskCacheStore.getHits());
+    }
+
+    /**
+     * GIVEN:   A value in memory and a value in neither level.
+     * WHEN:    Look up the values.
+     * THEN:    The value in memory is returned without reading the disk, and the other one is empty.
+     */
+    @Test
+    void givenValueInMemory_whenLookup_thenDiskNotRead() {
+        l1Cache.put("genres_es", GENRES);
+
+        StepVerifier.create(tieredCache.lookup("genres_es"))
+                .assertNext(valueWrapper -> assertEquals(GENRES, valueWrapper.get()))
+                .verifyComplete();
+        assertEquals(0, diskCacheStore.getHits() + diskCacheStore.getMisses());
+
+        StepVerifier.create(tieredCache.lookup("genres_en"))
+                .verifyComplete();
+        assertEquals(1, diskCacheStore.getMisses());
+    }
+
+    /**
+     * GIVEN:   Values of two caches stored on disk, one of them also in memory.
+     * WHEN:    Read the stored values of one cache whose keys match a predicate.
+     * THEN:    Only its matching values are read, by their keys in the cache, without loading them into memory.
+     */
+    @Test
+    void givenStoredValues_whenReadStored_thenMatchingValuesRead() {
+        final var otherCache = new TieredCache(new ConcurrentMapCache("otherCache"), diskCacheWriter);
+        tieredCache.put("genres_es", GENRES);
+        tieredCache.put("genres_en", GENRES);
+        tieredCache.put("languages", List.of(new Language("es", "Spanish", "Español")));
+        otherCache.put("genres_es", GENRES);
+        l1Cache.evict("genres_es");
+
+        StepVerifier.create(tieredCache.readStored(key -> key.startsWith("genres_")).collectMap(Map.Entry::getKey))
+                .assertNext(entries -> {
+                    assertEquals(Set.of("genres_es", "genres_en"), entries.keySet());
+                    assertEquals(GENRES, entries.get("genres_es").getValue());
+                })
+                .verifyComplete();
+        assertNull(l1Cache.get("genres_es"));
+    }
+
+    /**
+     * GIVEN:   A value in both levels.
+     * WHEN:    Evict it.
+     * THEN:    It is removed from both levels.
+     */
+    @Test
+    void givenValueInBothLevels_whenEvict_thenRemovedFromBoth() {
+        tieredCache.put("genres_es", GENRES);
+
+        tieredCache.evict("genres_es");
+
+        assertNull(tieredCache.get("genres_es"));
+        assertNull(diskCacheStore.get("moviesCache:genres_es"));
+    }
+
+    /**
+     * GIVEN:   Values of two caches in the same store.
+     * WHEN:    Clear one of them.
+     * THEN:    Only its values are removed.
+     */
+    @Test
+    void givenTwoCaches_whenClear_thenOnlyItsValuesRemoved() {
+        final var otherCache = new TieredCache(new ConcurrentMapCache("otherCache"), diskCacheWriter);
+        tieredCache.put("genres_es", GENRES);
+        otherCache.put("genres_es", GENRES);
+
+        tieredCache.clear();
+
+        assertNull(tieredCache.get("genres_es"));
+        assertNotNull(otherCache.get("genres_es"));
+    }
+
+    /**
+     * GIVEN:   A value that cannot be read back from disk.
+     * WHEN:    Get the value.
+     * THEN:    A miss is returned and the value is evicted from disk.
+     */
+    @Test
+    void givenUnreadableValueOnDisk_whenGet_thenReturnNullAndEvict() {
+        diskCacheStore.put("moviesCache:genres_es", new byte[]{1, 2, 3});
+
+        assertNull(tieredCache.get("genres_es"));
+        assertEquals(0, diskCacheStore.getSize());
+    }
+
+    /**
+     * GIVEN:   A missing value.
+     * WHEN:    Get it with a loader.
+     * THEN:    The loaded value is returned and stored, and loader failures are wrapped.
+     */
+    @Test
+    void givenMissingValue_whenGetWithLoader_thenLoadAndStore() {
+        assertEquals(GENRES, tieredCache.get("genres_es", () -> GENRES));
+        assertNotNull(diskCacheStore.get("moviesCache:genres_es"));
+
+        assertThrows(Cache.ValueRetrievalException.class, () -> tieredCache.get("genres_en", () -> {
+            throw new IOException("Connection refused");
+        }));
+    }
+
+    /**
+     * GIVEN:   A value of another type.
+     * WHEN:    Get it with a type.
+     * THEN:    An illegal state exception is thrown.
+     */
+    @Test
+    void givenValueOfOtherType_whenGetWithType_thenThrowIllegalStateException() {
+        tieredCache.put("genres_es", GENRES);
+
+        assertThrows(IllegalStateException.class, () -> tieredCache.get("genres_es", String.class));
+    }
+}
@@ -24,29 +24,60 @@
 
 package com.jorgealfonsogarcia.recommender.controllers;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jorgealfonsogarcia.recommender.config.CacheProperties;
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.controllers.component.ETagGenerator;
 import com.jorgealfonsogarcia.recommender.domain.models.Genre;
 import com.jorgealfonsogarcia.recommender.domain.models.Language;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
 import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchPage;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchResult;
+import com.jorgealfonsogarcia.recommender.domain.models.Suggestion;
+import com.jorgealfonsogarcia.recommender.services.AutocompleteService;
 import com.jorgealfonsogarcia.recommender.services.MovieService;
+import com.jorgealfonsogarcia.recommender.services.Staleness;
+import com.jorgealfonsogarcia.recommender.utils.CursorUtils;
+import com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils;
+import com.jorgealfonsogarcia.recommender.utils.QueryKeyUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit tests for the {@link MovieController} class.
@@ -58,55 +89,156 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 class MovieControllerTest {
 
+    private static final String E_TAG = "\"tag\"";
+    private static final String SMILE_E_TAG = "\"tag-smile\"";
+    private static final ServerHttpRequest REQUEST = MockServerHttpRequest.get("/movies").build();
+
     @Mock
     private MovieService movieService;
 
-    @InjectMocks
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @Mock
+    private ETagGenerator eTagGenerator;
+
     private MovieController movieController;
 
+    @BeforeEach
+    void setUp() {
+        final var cacheProperties = new CacheProperties(10_000, Duration.ofMinutes(60),
+                new CacheProperties.DiskTier(false, null, Duration.ofHours(24), DataSize.ofGigabytes(1),
+                        DataSize.ofMegabytes(64), 0.5, 10_000),
+                new CacheProperties.Negative(Duration.ofMinutes(10), 100_000, 0.01),
+                new CacheProperties.Response(true, DataSize.ofMegabytes(64), DataSize.ofKilobytes(1)),
+                new CacheProperties.Stale(10_000, Duration.ofHours(24)),
+                new CacheProperties.Changes(true, Duration.ofMinutes(10), 10_000));
+        movieController = new MovieController(movieService, autocompleteService, eTagGenerator, cacheProperties,
+                new SearchProperties(6, 8, new SearchProperties.Batch(2, 4),
+                new SearchProperties.Page(50, false),
+                new SearchProperties.Lookup(DataSize.ofMegabytes(32), 20),
+                new SearchProperties.Autocomplete(10, Duration.ofSeconds(5))), Schedulers.immediate());
+    }
+
     /**
-     * GIVEN: A year range greater than 5.
+     * GIVEN: A year range with more years than the maximum upstream calls.
      * WHEN: Search movies.
-     * THEN: Return a flux error.
+     * THEN: Return a mono error.
      */
     @Test
-    void givenYearRangeGreaterThan5_whenSearch_thenReturnFluxError() {
-        var result = movieController.search(1982, 1992, null, null);
+    void givenYearRangeAboveMaxCells_whenSearch_thenReturnMonoError() {
+        var result = movieController.search(1982, 1992, List.of("Genre 1"), List.of("lang"), null, null, null, REQUEST);
 
         assertNotNull(result);
 
         StepVerifier.create(result)
-                .expectError(IllegalArgumentException.class)
+                .expectErrorMessage("Years times languages should not exceed 6")
                 .verify();
     }
 
     /**
-     * GIVEN: More than 3 genres.
+     * GIVEN: More distinct genres than a page cursor holds.
      * WHEN: Search movies.
-     * THEN: Return a flux error.
+     * THEN: Return a mono error, without searching.
      */
     @Test
-    void givenMoreThan3Genres_whenSearch_thenReturnFluxError() {
-        final var genres = IntStream.rangeClosed(1, 5)
+    void givenMoreGenresThanCursorHolds_whenSearch_thenReturnMonoError() {
+        final var genres = IntStream.rangeClosed(1, CursorUtils.MAXIMUM_LIST_SIZE + 1)
                 .mapToObj("Genre %d"::formatted)
                 .toList();
+        final var result = movieController.search(1982, 1985, genres, List.of("es"), null, null, null, REQUEST);
 
-        final var result = movieController.search(1982, 1985, genres, null);
+        assertNotNull(result);
+
+        StepVerifier.create(result)
+                .expectErrorMessage("Genres and languages should not exceed 32 each")
+                .verify();
+        verifyNoInteractions(movieService);
+    }
+
+    /**
+     * GIVEN: A year range and languages whose combinations exceed the maximum upstream calls.
+     * WHEN: Search movies.
+     * THEN: Return a mono error.
+     */
+    @Test
+    void givenLanguagesAboveMaxCells_whenSearch_thenReturnMonoError() {
+        final var result = movieController.search(1982, 1985, List.of("Genre 1"), List.of("es", "pt"), null,
+                null, null, REQUEST);
 
         assertNotNull(result);
 
         StepVerifier.create(result)
-                .expectError(IllegalArgumentException.class)
+                .expectErrorMessage("Years times languages should not exceed 6")
+                .verify();
+    }
+
+    /**
+     * GIVEN: A year range starting before the first movies.
+     * WHEN: Search movies.
+     * THEN: Search the years from the first movies, as the response cache keys it.
+     */
+    @Test
+    void givenYearsBeforeFirstMovies_whenSearch_thenSearchClampedYears() {
+        doReturn(Flux.empty()).when(movieService).search(anyInt(), anyInt(), anyList(), anyList(), anyInt(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(List.of(), MediaType.APPLICATION_JSON);
+
+        final var result = movieController.search(1000, QueryKeyUtils.MIN_YEAR + 1, List.of("Genre 1"),
+                List.of("lang"), null, null, null, REQUEST);
+
+        StepVerifier.create(result)
+                .assertNext(response -> assertEquals(List.of(), response.getBody()))
+                .verifyComplete();
+
+        verify(movieService).search(QueryKeyUtils.MIN_YEAR, QueryKeyUtils.MIN_YEAR + 1, List.of("Genre 1"),
+                List.of("lang"), 8, MovieField.ALL);
+    }
+
+    /**
+     * GIVEN: A year range entirely before the first movies.
+     * WHEN: Search movies.
+     * THEN: Return a mono error.
+     */
+    @Test
+    void givenYearsWithoutMovies_whenSearch_thenReturnMonoError() {
+        final var result = movieController.search(1000, 1001, List.of("Genre 1"), List.of("lang"), null, null,
+                null, REQUEST);
+
+        StepVerifier.create(result)
+                .expectErrorMessage("Years should be between %d and %d".formatted(QueryKeyUtils.MIN_YEAR,
+                        QueryKeyUtils.maxYear()))
                 .verify();
     }
 
+    /**
+     * GIVEN: Duplicated genres and duplicated languages, some uppercase.
+     * WHEN: Search movies.
+     * THEN: Search the distinct genres and lowercase languages, sorted.
+     */
+    @Test
+    void givenDuplicatedGenresAndLanguages_whenSearch_thenSearchCanonicalQuery() {
+        doReturn(Flux.empty()).when(movieService).search(anyInt(), anyInt(), anyList(), anyList(), anyInt(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(List.of(), MediaType.APPLICATION_JSON);
+
+        final var result = movieController.search(1982, 1984,
+                List.of("Genre 2", "Genre 1", "Genre 2", "Genre 1", "Genre 2"), List.of("LANG", "es", "lang"),
+                null, null, null, REQUEST);
+
+        StepVerifier.create(result)
+                .assertNext(response -> assertEquals(List.of(), response.getBody()))
+                .verifyComplete();
+
+        verify(movieService).search(1982, 1984, List.of("Genre 1", "Genre 2"), List.of("es", "lang"), 8,
+                MovieField.ALL);
+    }
+
     /**
      * GIVEN: Valid parameters.
      * WHEN: Search movies.
-     * THEN: Return a flux.
+     * THEN: Return the movies with their entity tag and a max age of the negative cache TTL.
      */
     @Test
-    void givenValidParameters_whenSearch_thenReturnFlux() {
+    void givenValidParameters_whenSearch_thenReturnMoviesWithETag() {
         final var movieResponse = new MovieResponse(
                 1,
                 List.of("Genre 1", "Genre 2"),
@@ -117,62 +249,425 @@ class MovieControllerTest {
                 5,
                 "1982-01-01"
         );
-        doReturn(Flux.just(movieResponse)).when(movieService).search(anyInt(), anyInt(), anyList(), anyString());
+        doReturn(Flux.just(movieResponse)).when(movieService)
+                .search(anyInt(), anyInt(), anyList(), anyList(), anyInt(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(List.of(movieResponse), MediaType.APPLICATION_JSON);
 
         final var result = movieController.search(1982, 1985, List.of("Genre 1", "Genre 2"),
-                "lang");
+                List.of("lang"), null, null, null, REQUEST);
 
         assertNotNull(result);
 
         StepVerifier.create(result)
-                .assertNext(response -> assertEquals(movieResponse, response))
+                .assertNext(response -> {
+                    assertEquals(List.of(movieResponse), response.getBody());
+                    assertEquals(E_TAG, response.getHeaders().getETag());
+                    assertEquals("max-age=600, public", response.getHeaders().getCacheControl());
+                })
                 .verifyComplete();
 
-        verify(movieService).search(anyInt(), anyInt(), anyList(), anyString());
+        verify(movieService).search(anyInt(), anyInt(), anyList(), anyList(), anyInt(), any());
+    }
+
+    /**
+     * GIVEN: Valid parameters and a page size.
+     * WHEN: Search movies.
+     * THEN: Return the first page with a Link header to the next one, whose cursor holds the canonical search.
+     */
+    @Test
+    void givenPageSize_whenSearch_thenReturnPageWithNextLink() {
+        final var movieResponse = new MovieResponse(1, List.of("Genre 1"), "lang", "Original Title", "Title",
+                "Overview", 5, "1982-01-01");
+        final var query = new SearchQuery(1982, 1985, List.of("Genre 1"), List.of("lang"));
+        final var page = new SearchPage(List.of(movieResponse), new SearchCursor(query, 1983, 2));
+        doReturn(Mono.just(page)).when(movieService).searchPage(any(), anyInt(), anyInt(), anyBoolean(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(page, MediaType.APPLICATION_JSON);
+
+        final var result = movieController.search(1982, 1985, List.of("Genre 1"), List.of("LANG"), 1, null, null,
+                REQUEST);
+
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertEquals(List.of(movieResponse), response.getBody());
+                    assertEquals(E_TAG, response.getHeaders().getETag());
+                    assertEquals("</movies/search?pageSize=1&cursor=%s>; rel=\"next\""
+                                    .formatted(CursorUtils.encode(page.next())),
+                            response.getHeaders().getFirst(HttpHeaders.LINK));
+                })
+                .verifyComplete();
+
+        verify(movieService).searchPage(new SearchCursor(query, 1982, 0), 1, 8, false, MovieField.ALL);
+    }
+
+    /**
+     * GIVEN: A paged search limited to the title and the id.
+     * WHEN: Search movies.
+     * THEN: Search only those fields, serialize only them, and keep them in the Link header of the next page.
+     */
+    @Test
+    void givenFields_whenSearch_thenReturnOnlyFieldsWithNextLink() {
+        final var movieResponse = new MovieResponse(1, List.of(), null, null, "Title", null, null, null,
+                Set.of(MovieField.ID, MovieField.TITLE));
+        final var query = new SearchQuery(1982, 1985, List.of("Genre 1"), List.of("lang"));
+        final var page = new SearchPage(List.of(movieResponse), new SearchCursor(query, 1983, 2));
+        doReturn(Mono.just(page)).when(movieService).searchPage(any(), anyInt(), anyInt(), anyBoolean(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(page, MediaType.APPLICATION_JSON);
+
+        WebTestClient.bindToController(movieController).build()
+                .get()
+                .uri("/movies/search?startYear=1982&endYear=1985&genres=Genre 1&language=lang&pageSize=1"
+                        + "&fields=title,id")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK, "</movies/search?pageSize=1&cursor=%s&fields=id,title>; "
+                        .formatted(CursorUtils.encode(page.next())) + "rel=\"next\"")
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Title")
+                .jsonPath("$[0].genres").doesNotExist()
+                .jsonPath("$[0].overview").doesNotExist()
+                .jsonPath("$[0].releaseDate").doesNotExist();
+
+        verify(movieService).searchPage(new SearchCursor(query, 1982, 0), 1, 8, false,
+                Set.of(MovieField.ID, MovieField.TITLE));
+    }
+
+    /**
+     * GIVEN: A paged search without fields, of a movie without genres, title or overview.
+     * WHEN: Search movies.
+     * THEN: Serialize all its properties, with the empty genres and the null values.
+     */
+    @Test
+    void givenNoFields_whenSearch_thenReturnAllProperties() {
+        final var movieResponse = new MovieResponse(1, List.of(), "lang", "Original Title", null, null, 5,
+                "1982-01-01");
+        final var query = new SearchQuery(1982, 1985, List.of("Genre 1"), List.of("lang"));
+        final var page = new SearchPage(List.of(movieResponse), new SearchCursor(query, 1983, 2));
+        doReturn(Mono.just(page)).when(movieService).searchPage(any(), anyInt(), anyInt(), anyBoolean(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(page, MediaType.APPLICATION_JSON);
+
+        WebTestClient.bindToController(movieController).build()
+                .get()
+                .uri("/movies/search?startYear=1982&endYear=1985&genres=Genre 1&language=lang&pageSize=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("""
+                        [{"id":1,"genres":[],"originalLanguage":"lang","originalTitle":"Original Title","title":null,\
+                        "overview":null,"popularity":5,"releaseDate":"1982-01-01"}]""", true);
+    }
+
+    /**
+     * GIVEN: A search limited to a field that is not a property of the movies.
+     * WHEN: Search movies.
+     * THEN: Return a mono error.
+     */
+    @Test
+    void givenUnknownField_whenSearch_thenReturnMonoError() {
+        StepVerifier.create(movieController.search(1982, 1985, List.of("Genre 1"), List.of("lang"), null, null,
+                        List.of("id,budget"), REQUEST))
+                .verifyErrorMessage("Unknown field budget");
+    }
+
+    /**
+     * GIVEN: A cursor without search parameters.
+     * WHEN: Search movies.
+     * THEN: Search the page of the cursor, without a Link header when it is the last one.
+     */
+    @Test
+    void givenCursor_whenSearch_thenSearchPageOfCursor() {
+        final var cursor = new SearchCursor(new SearchQuery(1982, 1985, List.of("Genre 1"), List.of("lang")), 1984, 3);
+        final var page = new SearchPage(List.of(), null);
+        doReturn(Mono.just(page)).when(movieService).searchPage(any(), anyInt(), anyInt(), anyBoolean(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(page, MediaType.APPLICATION_JSON);
+
+        final var result = movieController.search(null, null, null, null, 10, CursorUtils.encode(cursor), null,
+                REQUEST);
+
+        StepVerifier.create(result)
+                .assertNext(response -> assertNull(response.getHeaders().getFirst(HttpHeaders.LINK)))
+                .verifyComplete();
+
+        verify(movieService).searchPage(cursor, 10, 8, false, MovieField.ALL);
+    }
+
+    /**
+     * GIVEN: A page size above the maximum, and a malformed cursor.
+     * WHEN: Search movies.
+     * THEN: Return a mono error.
+     */
+    @Test
+    void givenInvalidPage_whenSearch_thenReturnMonoError() {
+        StepVerifier.create(movieController.search(1982, 1985, List.of("Genre 1"), List.of("lang"), 51, null,
+                        null, REQUEST))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(movieController.search(null, null, null, null, 10, "not a cursor", null, REQUEST))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    /**
+     * GIVEN: A text to look up, without a limit.
+     * WHEN: Look up movies.
+     * THEN: Return the movies with their entity tag, to be revalidated, looking up the default number of movies.
+     */
+    @Test
+    void givenQuery_whenLookup_thenReturnMoviesWithETag() {
+        final var movies = List.of(new MovieResponse(1, List.of(), null, null, "Title", null, null, null));
+        doReturn(Mono.just(movies)).when(movieService).lookup(anyString(), anyInt(), any());
+        doReturn(E_TAG).when(eTagGenerator).generate(movies, MediaType.APPLICATION_JSON);
+
+        StepVerifier.create(movieController.lookup("corazón", null, List.of("id,title"), REQUEST))
+                .assertNext(response -> {
+                    assertEquals(movies, response.getBody());
+                    assertEquals(E_TAG, response.getHeaders().getETag());
+                    assertEquals("no-cache", response.getHeaders().getCacheControl());
+                })
+                .verifyComplete();
+
+        verify(movieService).lookup("corazón", 20, Set.of(MovieField.ID, MovieField.TITLE));
+    }
+
+    /**
+     * GIVEN: Lookups without a text, and with a limit above the maximum.
+     * WHEN: Look up movies.
+     * THEN: Return a mono error without looking up the movies.
+     */
+    @Test
+    void givenInvalidLookup_whenLookup_thenReturnMonoError() {
+        StepVerifier.create(movieController.lookup(" ", null, null, REQUEST))
+                .verifyErrorMessage("Query is required, up to 256 characters");
+        StepVerifier.create(movieController.lookup("corazón", 21, null, REQUEST))
+                .verifyErrorMessage("Limit should be between 1 and 20");
+
+        verifyNoInteractions(movieService);
+    }
+
+    /**
+     * GIVEN: A prefix of a title and a language.
+     * WHEN: Autocomplete.
+     * THEN: Return the titles with their entity tag, to be revalidated.
+     */
+    @Test
+    void givenPrefix_whenAutocomplete_thenReturnTitlesWithETag() {
+        final var suggestions = List.of(new Suggestion(1, "Corazón salvaje", "1982-01-01"));
+        doReturn(Mono.just(suggestions)).when(autocompleteService).complete("coraz", "es");
+        doReturn(E_TAG).when(eTagGenerator).generate(suggestions, MediaType.APPLICATION_JSON);
+
+        StepVerifier.create(movieController.autocomplete("coraz", "es", REQUEST))
+                .assertNext(response -> {
+                    assertEquals(suggestions, response.getBody());
+                    assertEquals(E_TAG, response.getHeaders().getETag());
+                    assertEquals("no-cache", response.getHeaders().getCacheControl());
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * GIVEN: Completions without a prefix, with a prefix above the maximum length, and with a blank language.
+     * WHEN: Autocomplete.
+     * THEN: Return a mono error without completing the titles.
+     */
+    @Test
+    void givenInvalidPrefix_whenAutocomplete_thenReturnMonoError() {
+        StepVerifier.create(movieController.autocomplete(null, null, REQUEST))
+                .verifyErrorMessage("Prefix is required, up to 100 characters");
+        StepVerifier.create(movieController.autocomplete("a".repeat(101), null, REQUEST))
+                .verifyErrorMessage("Prefix is required, up to 100 characters");
+        StepVerifier.create(movieController.autocomplete("coraz", " ", REQUEST))
+                .verifyErrorMessage("Language should not be blank");
+
+        verifyNoInteractions(autocompleteService);
     }
 
     /**
      * GIVEN: Valid language.
      * WHEN: Get genres.
-     * THEN: Return a mono.
+     * THEN: Return the genres with their entity tag and a max age of the in-memory cache TTL.
      */
     @Test
-    void givenValidLanguage_whenGetGenres_thenReturnMono() {
+    void givenValidLanguage_whenGetGenres_thenReturnGenresWithETag() {
         final var genres = IntStream.rangeClosed(1, 2)
                 .mapToObj(value -> new Genre(value, "Genre %d".formatted(value)))
                 .toList();
         doReturn(Mono.just(genres)).when(movieService).getGenres(anyString());
+        doReturn(E_TAG).when(eTagGenerator).generate(genres, MediaType.APPLICATION_JSON);
 
-        var result = movieController.getGenres("lang");
+        var result = movieController.getGenres("lang", REQUEST);
 
         assertNotNull(result);
 
         StepVerifier.create(result)
-                .expectNext(genres)
+                .assertNext(response -> {
+                    assertEquals(genres, response.getBody());
+                    assertEquals(E_TAG, response.getHeaders().getETag());
+                    assertEquals("max-age=3600, public", response.getHeaders().getCacheControl());
+                })
                 .verifyComplete();
 
         verify(movieService).getGenres(anyString());
     }
 
+    /**
+     * GIVEN: Genres served from stale data ninety seconds old, as the movie service failed.
+     * WHEN: Get genres.
+     * THEN: Return the genres with a Warning, their Age and no-cache, so they are not cached as fresh.
+     */
+    @Test
+    void givenStaleGenres_whenGetGenres_thenReturnGenresWithWarningAndAge() {
+        final var genres = List.of(new Genre(1, "Genre 1"));
+        doReturn(Mono.deferContextual(context -> {
+            Staleness.record(context, Duration.ofSeconds(90));
+            return Mono.just(genres);
+        })).when(movieService).getGenres(anyString());
+        doReturn(E_TAG).when(eTagGenerator).generate(genres, MediaType.APPLICATION_JSON);
+
+        StepVerifier.create(movieController.getGenres("lang", REQUEST))
+                .assertNext(response -> {
+                    assertEquals(genres, response.getBody());
+                    assertEquals(E_TAG, response.getHeaders().getETag());
+                    assertEquals("no-cache", response.getHeaders().getCacheControl());
+                    assertEquals("110 - \"Response is Stale\"", response.getHeaders().getFirst(HttpHeaders.WARNING));
+                    assertEquals("90", response.getHeaders().getFirst(HttpHeaders.AGE));
+                })
+                .verifyComplete();
+    }
+
     /**
      * GIVEN: Call.
      * WHEN: Get languages.
-     * THEN: Return a flux.
+     * THEN: Return the languages with their entity tag.
      */
     @Test
-    void givenCall_whenGetLanguages_thenReturnFlux() {
+    void givenCall_whenGetLanguages_thenReturnLanguagesWithETag() {
         final var language = new Language("en", "English", "English");
         final var languageFlux = Flux.just(language);
         doReturn(languageFlux).when(movieService).getLanguages();
+        doReturn(E_TAG).when(eTagGenerator).generate(List.of(language), MediaType.APPLICATION_JSON);
 
-        final var result = movieController.getLanguages();
+        final var result = movieController.getLanguages(REQUEST);
 
         assertNotNull(result);
 
         StepVerifier.create(result)
-                .expectNext(language)
+                .assertNext(response -> {
+                    assertEquals(List.of(language), response.getBody());
+                    assertEquals(E_TAG, response.getHeaders().getETag());
+                })
                 .verifyComplete();
 
         verify(movieService).getLanguages();
     }
-}
\ No newline at end of file
+
+    /**
+     * GIVEN: An If-None-Match header with the entity tag of the genres.
+     * WHEN: Get genres.
+     * THEN: Return 304 Not Modified without a body.
+     */
+    @Test
+    void givenMatchingIfNoneMatch_whenGetGenres_thenReturnNotModified() {
+        final var genres = List.of(new Genre(1, "Genre 1"));
+        doReturn(Mono.just(genres)).when(movieService).getGenres("lang");
+        doReturn(E_TAG).when(eTagGenerator).generate(genres, MediaType.APPLICATION_JSON);
+
+        WebTestClient.bindToController(movieController).build()
+                .get()
+                .uri("/movies/genres/lang")
+                .header(HttpHeaders.IF_NONE_MATCH, E_TAG)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, E_TAG)
+                .expectBody().isEmpty();
+    }
+
+    /**
+     * GIVEN: An Accept header for Smile, and then none.
+     * WHEN: Get genres.
+     * THEN: Return the genres encoded in Smile, and then in JSON, each with its own entity tag, varying by the Accept
+     * header.
+     */
+    @Test
+    void givenAcceptHeader_whenGetGenres_thenReturnNegotiatedFormat() throws IOException {
+        final var genres = List.of(new Genre(1, "Genre 1"));
+        doReturn(Mono.just(genres)).when(movieService).getGenres("lang");
+        doReturn(E_TAG).when(eTagGenerator).generate(genres, MediaType.APPLICATION_JSON);
+        doReturn(SMILE_E_TAG).when(eTagGenerator).generate(genres, MediaTypeUtils.APPLICATION_SMILE);
+        final var webTestClient = WebTestClient.bindToController(movieController).build();
+
+        final var smileBody = webTestClient.get()
+                .uri("/movies/genres/lang")
+                .accept(MediaTypeUtils.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaTypeUtils.APPLICATION_SMILE)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, SMILE_E_TAG)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        final var smileMapper = new ObjectMapper(new SmileFactory());
+        assertEquals(genres, smileMapper.readValue(smileBody, new TypeReference<List<Genre>>() {
+        }));
+
+        webTestClient.get()
+                .uri("/movies/genres/lang")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, E_TAG)
+                .expectBody().jsonPath("$[0].name").isEqualTo("Genre 1");
+    }
+
+    /**
+     * GIVEN: A batch of valid searches.
+     * WHEN: Search the batch.
+     * THEN: The canonical searches are delegated to the service and their results returned.
+     */
+    @Test
+    void givenValidBatch_whenSearchBatch_thenReturnResults() {
+        final var searchResult = new SearchResult(0, List.of(), null);
+        doReturn(Flux.just(searchResult)).when(movieService).searchBatch(anyList(), anyInt(), any());
+
+        final var result = movieController.searchBatch(List.of(
+                new SearchQuery(1982, 1983, List.of("Genre 2", "Genre 1", "Genre 2"),
+                        List.of("LANG"))), null);
+
+        StepVerifier.create(result)
+                .expectNext(searchResult)
+                .verifyComplete();
+
+        verify(movieService).searchBatch(List.of(new SearchQuery(1982, 1983, List.of("Genre 1", "Genre 2"),
+                List.of("lang"))), 4, MovieField.ALL);
+    }
+
+    /**
+     * GIVEN: A batch with more searches than allowed.
+     * WHEN: Search the batch.
+     * THEN: Return a flux error.
+     */
+    @Test
+    void givenTooManySearches_whenSearchBatch_thenReturnFluxError() {
+        final var query = new SearchQuery(1982, 1983, List.of("Genre 1"), List.of("lang"));
+
+        StepVerifier.create(movieController.searchBatch(List.of(query, query, query), null))
+                .expectErrorMessage("A batch should have between 1 and 2 searches")
+                .verify();
+    }
+
+    /**
+     * GIVEN: A batch with an invalid search.
+     * WHEN: Search the batch.
+     * THEN: Return a flux error naming the search.
+     */
+    @Test
+    void givenInvalidSearch_whenSearchBatch_thenReturnFluxError() {
+        final var result = movieController.searchBatch(List.of(
+                new SearchQuery(1982, 1983, List.of("Genre 1"), List.of("lang")),
+                new SearchQuery(1983, 1982, List.of("Genre 1"), List.of("lang"))), null);
+
+        StepVerifier.create(result)
+                .expectErrorMessage("Search 1: End year should not be before the start year")
+                .verify();
+    }
+}
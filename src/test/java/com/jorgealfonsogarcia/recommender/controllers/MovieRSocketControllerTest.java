@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers;
+
+import com.jorgealfonsogarcia.recommender.admission.AdmissionController;
+import com.jorgealfonsogarcia.recommender.admission.ClientRateLimiter;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Language;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import com.jorgealfonsogarcia.recommender.services.MovieService;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.exceptions.RejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for the {@link MovieRSocketController} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ExtendWith(MockitoExtension.class)
+class MovieRSocketControllerTest {
+
+    private static final SearchProperties SEARCH_PROPERTIES = new SearchProperties(6, 8,
+            new SearchProperties.Batch(2, 4), new SearchProperties.Page(50, false),
+            new SearchProperties.Lookup(DataSize.ofMegabytes(32), 20),
+            new SearchProperties.Autocomplete(10, Duration.ofSeconds(5)));
+
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private RSocketRequester requester;
+
+    private MovieRSocketController movieRSocketController;
+
+    @BeforeEach
+    void setUp() {
+        movieRSocketController = new MovieRSocketController(movieService, (AdmissionController) null,
+                (ClientRateLimiter) null, SEARCH_PROPERTIES);
+    }
+
+    /**
+     * GIVEN: A search with duplicated genres and languages in mixed case.
+     * WHEN: Search.
+     * THEN: The canonical search is streamed from the service.
+     */
+    @Test
+    void givenSearch_whenSearch_thenStreamCanonicalSearch() {
+        final var movie = new MovieResponse(1, List.of("Drama"), "es", "Título", "Title", "Overview", 10,
+                "1984-01-01");
+        final var canonicalQuery = new SearchQuery(1984, 1985, List.of("Comedia", "Drama"), List.of("es", "pt"));
+        doReturn(Flux.just(movie)).when(movieService).streamSearch(canonicalQuery, 8, MovieField.ALL);
+
+        StepVerifier.create(movieRSocketController.search(new SearchQuery(1984, 1985,
+                        List.of("Drama", "Comedia", "Drama"), List.of("PT", "es", "pt")), requester))
+                .expectNext(movie)
+                .verifyComplete();
+    }
+
+    /**
+     * GIVEN: A search of more years times languages than the maximum upstream calls.
+     * WHEN: Search.
+     * THEN: Return an error without calling the service.
+     */
+    @Test
+    void givenSearchAboveMaxCells_whenSearch_thenReturnFluxError() {
+        StepVerifier.create(movieRSocketController.search(new SearchQuery(1980, 1986, List.of("Drama"),
+                        List.of("es")), requester))
+                .verifyError(IllegalArgumentException.class);
+
+        verifyNoInteractions(movieService);
+    }
+
+    /**
+     * GIVEN: A language in upper case.
+     * WHEN: Get genres.
+     * THEN: Return the genres of the language in lower case.
+     */
+    @Test
+    void givenLanguage_whenGetGenres_thenReturnGenres() {
+        final var genres = List.of(new Genre(1, "Drama"));
+        doReturn(Mono.just(genres)).when(movieService).getGenres("es");
+
+        StepVerifier.create(movieRSocketController.getGenres("ES", requester))
+                .expectNext(genres)
+                .verifyComplete();
+    }
+
+    /**
+     * GIVEN: Call.
+     * WHEN: Get languages.
+     * THEN: Return the languages as a single list.
+     */
+    @Test
+    void givenCall_whenGetLanguages_thenReturnLanguages() {
+        final var languages = List.of(new Language("en", "English", "English"), new Language("es", "Spanish",
+                "Español"));
+        doReturn(Flux.fromIterable(languages)).when(movieService).getLanguages();
+
+        StepVerifier.create(movieRSocketController.getLanguages(requester))
+                .expectNext(languages)
+                .verifyComplete();
+
+        verify(movieService).getLanguages();
+    }
+
+    /**
+     * GIVEN: An invalid request.
+     * WHEN: Handle its exception.
+     * THEN: Return an application error with its message.
+     */
+    @Test
+    void givenIllegalArgumentException_whenHandle_thenReturnApplicationError() {
+        StepVerifier.create(movieRSocketController.handleIllegalArgumentException(
+                        new IllegalArgumentException("Language is required")))
+                .verifyErrorSatisfies(e -> {
+                    assertInstanceOf(ApplicationErrorException.class, e);
+                    assertEquals("Language is required", e.getMessage());
+                });
+    }
+
+    /**
+     * GIVEN: A connection that has spent its rate limit with a search of four discover calls.
+     * WHEN: Get genres on it, and on another connection.
+     * THEN: The lookup of the first connection is rejected without calling the service, and the other one runs.
+     */
+    @Test
+    void givenRateLimitSpent_whenGetGenres_thenRejected() {
+        final var clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        final var limitedController = new MovieRSocketController(movieService, (AdmissionController) null,
+                new ClientRateLimiter(1, 4, 100, Duration.ofMinutes(10), clock), SEARCH_PROPERTIES);
+        final var genres = List.of(new Genre(1, "Drama"));
+        doReturn(Flux.empty()).when(movieService).streamSearch(any(), anyInt(), any());
+        doReturn(Mono.just(genres)).when(movieService).getGenres("es");
+
+        StepVerifier.create(limitedController.search(new SearchQuery(1982, 1985, List.of("Drama"), List.of("es")),
+                        requester))
+                .verifyComplete();
+        StepVerifier.create(limitedController.getGenres("es", requester))
+                .verifyErrorSatisfies(e -> {
+                    assertInstanceOf(RejectedException.class, e);
+                    assertEquals("The rate limit of the client is exceeded, retry after 1 seconds", e.getMessage());
+                });
+        StepVerifier.create(limitedController.getGenres("es", mock(RSocketRequester.class)))
+                .expectNext(genres)
+                .verifyComplete();
+
+        verify(movieService).getGenres("es");
+    }
+
+    /**
+     * GIVEN: A search stream holding the only permit of the searches.
+     * WHEN: Search again, and then cancel the first stream.
+     * THEN: The second search is rejected without calling the service, and the permit is released on cancel.
+     */
+    @Test
+    void givenNoPermitLeft_whenSearch_thenRejectedUntilReleased() {
+        final var clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        final var limits = new EnumMap<RouteClass, AdmissionController.Limits>(RouteClass.class);
+        Arrays.stream(RouteClass.values())
+                .forEach(routeClass -> limits.put(routeClass,
+                        new AdmissionController.Limits(1, 0, Duration.ofMillis(100))));
+        final var admissionController = new AdmissionController(limits, Duration.ofMillis(500), Duration.ofSeconds(5),
+                clock);
+        final var limitedController = new MovieRSocketController(movieService, admissionController,
+                (ClientRateLimiter) null, SEARCH_PROPERTIES);
+        final var query = new SearchQuery(1982, 1982, List.of("Drama"), List.of("es"));
+        doReturn(Flux.never()).when(movieService).streamSearch(any(), anyInt(), any());
+
+        final var running = limitedController.search(query, requester).subscribe();
+
+        StepVerifier.create(limitedController.search(query, requester))
+                .verifyError(RejectedException.class);
+        assertEquals(1, admissionController.getInFlight(RouteClass.SEARCH));
+
+        running.dispose();
+
+        assertEquals(0, admissionController.getInFlight(RouteClass.SEARCH));
+        verify(movieService, times(1)).streamSearch(any(), anyInt(), any());
+    }
+}
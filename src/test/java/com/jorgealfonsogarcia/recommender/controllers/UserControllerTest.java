@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers;
+
+import com.jorgealfonsogarcia.recommender.config.RecommendationProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Interaction;
+import com.jorgealfonsogarcia.recommender.domain.models.InteractionType;
+import com.jorgealfonsogarcia.recommender.domain.models.Recommendation;
+import com.jorgealfonsogarcia.recommender.services.RecommendationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for the {@link UserController} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    private UserController userController;
+
+    @BeforeEach
+    void setUp() {
+        userController = new UserController(recommendationService, new RecommendationProperties(null, 20,
+                new RecommendationProperties.Training(16, 10, 2, 0.1, 10, Duration.ofSeconds(30))));
+    }
+
+    /**
+     * GIVEN: An interaction of a user with a movie.
+     * WHEN: Record the interaction.
+     * THEN: Return an accepted response once the service recorded it.
+     */
+    @Test
+    void givenInteraction_whenRecordInteraction_thenAccepted() {
+        final var interaction = new Interaction(550, InteractionType.LIKE);
+        doReturn(Mono.empty()).when(recommendationService).record(7, interaction);
+
+        StepVerifier.create(userController.recordInteraction(7, interaction))
+                .assertNext(response -> assertEquals(HttpStatus.ACCEPTED, response.getStatusCode()))
+                .verifyComplete();
+
+        verify(recommendationService).record(7, interaction);
+    }
+
+    /**
+     * GIVEN: Interactions without a movie, with an invalid movie and without a type.
+     * WHEN: Record the interactions.
+     * THEN: Return a mono error without recording them.
+     */
+    @Test
+    void givenInvalidInteraction_whenRecordInteraction_thenReturnMonoError() {
+        StepVerifier.create(userController.recordInteraction(7, new Interaction(null, InteractionType.VIEW)))
+                .verifyErrorMessage("A movie id and an interaction type are required");
+        StepVerifier.create(userController.recordInteraction(7, new Interaction(0, InteractionType.VIEW)))
+                .verifyErrorMessage("A movie id and an interaction type are required");
+        StepVerifier.create(userController.recordInteraction(7, new Interaction(550, null)))
+                .verifyErrorMessage("A movie id and an interaction type are required");
+
+        verifyNoInteractions(recommendationService);
+    }
+
+    /**
+     * GIVEN: A user, without a limit.
+     * WHEN: Get the recommendations.
+     * THEN: Return the recommendations of the default number of movies, not to be stored by caches.
+     */
+    @Test
+    void givenUser_whenGetRecommendations_thenReturnRecommendations() {
+        final var recommendations = List.of(new Recommendation(550, 0.9));
+        doReturn(Mono.just(recommendations)).when(recommendationService).recommend(7, 10);
+
+        StepVerifier.create(userController.getRecommendations(7, null))
+                .assertNext(response -> {
+                    assertEquals(recommendations, response.getBody());
+                    assertEquals("no-store", response.getHeaders().getCacheControl());
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * GIVEN: Limits below the minimum and above the maximum.
+     * WHEN: Get the recommendations.
+     * THEN: Return a mono error without recommending movies.
+     */
+    @Test
+    void givenInvalidLimit_whenGetRecommendations_thenReturnMonoError() {
+        StepVerifier.create(userController.getRecommendations(7, 0))
+                .verifyErrorMessage("Limit should be between 1 and 20");
+        StepVerifier.create(userController.getRecommendations(7, 21))
+                .verifyErrorMessage("Limit should be between 1 and 20");
+
+        verifyNoInteractions(recommendationService);
+    }
+}
@@ -24,13 +24,20 @@
 
 package com.jorgealfonsogarcia.recommender.controllers.advice;
 
+import com.jorgealfonsogarcia.recommender.admission.UpstreamThrottledException;
+import com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.doReturn;
@@ -47,6 +54,8 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 class GlobalExceptionHandlerTest {
 
+    private static final MockServerHttpRequest REQUEST = MockServerHttpRequest.get("/movies/search").build();
+
     @InjectMocks
     private GlobalExceptionHandler globalExceptionHandler;
 
@@ -60,13 +69,36 @@ class GlobalExceptionHandlerTest {
         final var message = "Test";
         final var exception = new IllegalArgumentException(message);
 
-        final var result = globalExceptionHandler.handleIllegalArgumentException(exception);
+        final var result = globalExceptionHandler.handleIllegalArgumentException(exception, REQUEST);
 
         var body = result.getBody();
         assertNotNull(body);
         assertEquals("Invalid Request", body.error());
         assertEquals(message, body.message());
         assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType());
+    }
+
+    /**
+     * GIVEN: An IllegalArgumentException of a request that accepts Smile, and of one that accepts only XML.
+     * WHEN:  The exception is handled.
+     * THEN:  The error response is in Smile for the first request, and in JSON for the second one.
+     */
+    @Test
+    void givenAcceptHeader_whenHandleIllegalArgumentException_thenReturnsNegotiatedFormat() {
+        final var exception = new IllegalArgumentException("Test");
+        final var smileRequest = MockServerHttpRequest.get("/movies/search")
+                .accept(MediaTypeUtils.APPLICATION_SMILE)
+                .build();
+        final var xmlRequest = MockServerHttpRequest.get("/movies/search")
+                .accept(MediaType.APPLICATION_XML)
+                .build();
+
+        final var smileResult = globalExceptionHandler.handleIllegalArgumentException(exception, smileRequest);
+        final var xmlResult = globalExceptionHandler.handleIllegalArgumentException(exception, xmlRequest);
+
+        assertEquals(MediaTypeUtils.APPLICATION_SMILE, smileResult.getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_JSON, xmlResult.getHeaders().getContentType());
     }
 
     /**
@@ -86,7 +118,7 @@ class GlobalExceptionHandlerTest {
         doReturn(statusText).when(exception).getStatusText();
         doReturn(message).when(exception).getMessage();
 
-        final var result = globalExceptionHandler.handleWebClientResponseException(exception);
+        final var result = globalExceptionHandler.handleWebClientResponseException(exception, REQUEST);
 
         var body = result.getBody();
         assertNotNull(body);
@@ -98,4 +130,24 @@ class GlobalExceptionHandlerTest {
         verify(exception).getStatusText();
         verify(exception).getMessage();
     }
-}
\ No newline at end of file
+
+    /**
+     * GIVEN: An UpstreamThrottledException with a retry after of a second and a half.
+     * WHEN:  The exception is handled.
+     * THEN:  A ResponseEntity with the error response, an HTTP 503 status code and a Retry-After of two seconds is
+     *        returned.
+     */
+    @Test
+    void givenUpstreamThrottledException_whenHandleUpstreamThrottledException_thenReturnsServiceUnavailable() {
+        final var exception = new UpstreamThrottledException(Duration.ofMillis(1500));
+
+        final var result = globalExceptionHandler.handleUpstreamThrottledException(exception, REQUEST);
+
+        var body = result.getBody();
+        assertNotNull(body);
+        assertEquals("Service Unavailable", body.error());
+        assertEquals(exception.getMessage(), body.message());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode());
+        assertEquals("2", result.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
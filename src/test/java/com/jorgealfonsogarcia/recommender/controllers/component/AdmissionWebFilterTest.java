@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jorgealfonsogarcia.recommender.admission.AdmissionController;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import com.jorgealfonsogarcia.recommender.domain.models.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the {@link AdmissionWebFilter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class AdmissionWebFilterTest {
+
+    private static final String SEARCH_PATH = "/movies/search?startYear=1982&endYear=1982&genres=Drama&language=es";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AdmissionController admissionController;
+    private AdmissionWebFilter admissionWebFilter;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        final var clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        final var limits = new EnumMap<RouteClass, AdmissionController.Limits>(RouteClass.class);
+        Arrays.stream(RouteClass.values())
+                .forEach(routeClass -> limits.put(routeClass,
+                        new AdmissionController.Limits(1, 0, Duration.ofMillis(100))));
+        admissionController = new AdmissionController(limits, Duration.ofMillis(500), Duration.ofSeconds(5), clock);
+        admissionWebFilter = new AdmissionWebFilter(admissionController, objectMapper);
+        calls = new AtomicInteger();
+    }
+
+    /**
+     * GIVEN:   A search while another one holds the only permit of the searches.
+     * WHEN:    Filter it.
+     * THEN:    It is shed with 503 Service Unavailable, a Retry-After header and a JSON error, without running.
+     */
+    @Test
+    void givenNoPermitLeft_whenFilter_thenServiceUnavailable() throws IOException {
+        final var permit = admissionController.acquire(RouteClass.SEARCH).block();
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get(SEARCH_PATH));
+
+        admissionWebFilter.filter(exchange, chain(Mono.empty())).block();
+
+        final var response = exchange.getResponse();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        final var error = objectMapper.readValue(response.getBodyAsString().block(), ErrorResponse.class);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), error.error());
+        assertEquals("The server is overloaded and is shedding the search requests", error.message());
+        assertEquals(0, calls.get());
+        assertEquals(1, admissionController.getShed(RouteClass.SEARCH));
+
+        permit.release();
+    }
+
+    /**
+     * GIVEN:   A search.
+     * WHEN:    Filter it until it completes.
+     * THEN:    It runs holding a permit, which is released when it completes.
+     */
+    @Test
+    void givenSearch_whenComplete_thenPermitReleased() {
+        final var inFlight = new AtomicInteger();
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get(SEARCH_PATH));
+
+        admissionWebFilter.filter(exchange, chain(Mono.fromRunnable(
+                () -> inFlight.set(admissionController.getInFlight(RouteClass.SEARCH))))).block();
+
+        assertEquals(1, calls.get());
+        assertEquals(1, inFlight.get());
+        assertEquals(0, admissionController.getInFlight(RouteClass.SEARCH));
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    /**
+     * GIVEN:   A search that has not completed.
+     * WHEN:    Its client cancels it.
+     * THEN:    Its permit is released, so the next search is admitted.
+     */
+    @Test
+    void givenRunningSearch_whenCancel_thenPermitReleased() {
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get(SEARCH_PATH));
+
+        StepVerifier.create(admissionWebFilter.filter(exchange, chain(Mono.never())))
+                .expectSubscription()
+                .then(() -> assertEquals(1, admissionController.getInFlight(RouteClass.SEARCH)))
+                .thenCancel()
+                .verify();
+
+        assertEquals(0, admissionController.getInFlight(RouteClass.SEARCH));
+
+        final var next = MockServerWebExchange.from(MockServerHttpRequest.get(SEARCH_PATH));
+        admissionWebFilter.filter(next, chain(Mono.empty())).block();
+
+        assertEquals(2, calls.get());
+        assertNull(next.getResponse().getStatusCode());
+    }
+
+    /**
+     * GIVEN:   A request outside the admission controlled routes, while the searches have no permit left.
+     * WHEN:    Filter it.
+     * THEN:    It runs without a permit.
+     */
+    @Test
+    void givenRouteNotControlled_whenFilter_thenRunWithoutPermit() {
+        final var permit = admissionController.acquire(RouteClass.SEARCH).block();
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/movies/1"));
+
+        admissionWebFilter.filter(exchange, chain(Mono.empty())).block();
+
+        assertEquals(1, calls.get());
+        assertNull(exchange.getResponse().getStatusCode());
+        assertEquals(0, admissionController.getAdmitted(RouteClass.CATALOG));
+
+        permit.release();
+    }
+
+    private WebFilterChain chain(final Mono<Void> result) {
+        return exchange -> {
+            calls.incrementAndGet();
+            return result;
+        };
+    }
+}
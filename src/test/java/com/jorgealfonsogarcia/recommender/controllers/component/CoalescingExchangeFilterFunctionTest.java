@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link CoalescingExchangeFilterFunction} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class CoalescingExchangeFilterFunctionTest {
+
+    private static final String URL = "http://api/discover?a=1&b=2";
+
+    private CoalescingExchangeFilterFunction coalescingExchangeFilterFunction;
+    private List<Sinks.One<ClientResponse>> upstreams;
+    private AtomicInteger cancellations;
+    private ExchangeFunction next;
+
+    @BeforeEach
+    void setUp() {
+        coalescingExchangeFilterFunction = new CoalescingExchangeFilterFunction();
+        upstreams = new ArrayList<>();
+        cancellations = new AtomicInteger();
+        next = request -> {
+            final var upstream = Sinks.<ClientResponse>one();
+            upstreams.add(upstream);
+            return upstream.asMono().doOnCancel(cancellations::incrementAndGet);
+        };
+    }
+
+    /**
+     * GIVEN:   Concurrent GETs to the same URL, with the host case and the query parameters order changed.
+     * WHEN:    The exchange completes.
+     * THEN:    A single exchange is sent, every request gets the body, and the next request sends a new one.
+     */
+    @Test
+    void givenConcurrentGets_whenComplete_thenShareOneExchangeAndRemoveIt() {
+        final var first = body(URL).cache();
+        final var second = body("http://API/discover?b=2&a=1").cache();
+        final var third = body(URL).cache();
+        first.subscribe();
+        second.subscribe();
+        third.subscribe();
+
+        assertEquals(1, upstreams.size());
+        upstreams.get(0).tryEmitValue(ok("body"));
+
+        StepVerifier.create(Mono.zip(first, second, third))
+                .assertNext(bodies -> {
+                    assertEquals("body", bodies.getT1());
+                    assertEquals("body", bodies.getT2());
+                    assertEquals("body", bodies.getT3());
+                })
+                .verifyComplete();
+        assertEquals(3, coalescingExchangeFilterFunction.getRequests());
+        assertEquals(2, coalescingExchangeFilterFunction.getCoalesced());
+
+        body(URL).subscribe();
+
+        assertEquals(2, upstreams.size());
+    }
+
+    /**
+     * GIVEN:   A GET to a URL.
+     * WHEN:    Another GET to the URL joins the exchange after its response is emitted, before it is removed.
+     * THEN:    The late request gets the same response, without subscribing to the exchange again.
+     */
+    @Test
+    void givenGet_whenJoinAfterResponseEmitted_thenLateRequestGetsResponse() {
+        final var subscriptions = new AtomicInteger();
+        final var upstream = Sinks.<ClientResponse>one();
+        final ExchangeFunction singleNext = request -> upstream.asMono()
+                .doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+        final var request = ClientRequest.create(HttpMethod.GET, URI.create(URL)).build();
+        final var lateBodies = new ArrayList<String>();
+        final var first = coalescingExchangeFilterFunction.filter(request, singleNext)
+                .doOnNext(response -> coalescingExchangeFilterFunction.filter(request, singleNext)
+                        .flatMap(lateResponse -> lateResponse.bodyToMono(String.class))
+                        .subscribe(lateBodies::add))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .cache();
+        first.subscribe();
+
+        upstream.tryEmitValue(ok("body"));
+
+        StepVerifier.create(first)
+                .expectNext("body")
+                .verifyComplete();
+        assertEquals(List.of("body"), lateBodies);
+        assertEquals(1, subscriptions.get());
+        assertEquals(1, coalescingExchangeFilterFunction.getCoalesced());
+    }
+
+    /**
+     * GIVEN:   Concurrent GETs to the same URL.
+     * WHEN:    The exchange fails.
+     * THEN:    Every request gets the error, and the next request sends a new exchange.
+     */
+    @Test
+    void givenConcurrentGets_whenError_thenErrorSharedAndRemoved() {
+        final var first = body(URL).cache();
+        final var second = body(URL).cache();
+        first.subscribe(value -> {
+        }, error -> {
+        });
+        second.subscribe(value -> {
+        }, error -> {
+        });
+
+        upstreams.get(0).tryEmitError(new IOException("Connection reset"));
+
+        StepVerifier.create(first).expectErrorMessage("Connection reset").verify();
+        StepVerifier.create(second).expectErrorMessage("Connection reset").verify();
+        assertEquals(1, upstreams.size());
+
+        body(URL).subscribe();
+
+        assertEquals(2, upstreams.size());
+    }
+
+    /**
+     * GIVEN:   Concurrent GETs to the same URL.
+     * WHEN:    One of them cancels, and then the other.
+     * THEN:    The exchange is only cancelled with the last one, and the next request sends a new exchange.
+     */
+    @Test
+    void givenConcurrentGets_whenAllCancel_thenExchangeCancelledAndRemoved() {
+        final var first = body(URL).subscribe();
+        final var second = body(URL).subscribe();
+
+        first.dispose();
+
+        assertEquals(0, cancellations.get());
+
+        second.dispose();
+
+        assertEquals(1, cancellations.get());
+        assertEquals(1, upstreams.size());
+
+        body(URL).subscribe();
+
+        assertEquals(2, upstreams.size());
+    }
+
+    /**
+     * GIVEN:   Concurrent requests that are not GETs.
+     * WHEN:    Filter them.
+     * THEN:    Each one sends its own exchange.
+     */
+    @Test
+    void givenConcurrentPosts_whenFilter_thenNotCoalesced() {
+        final var request = ClientRequest.create(HttpMethod.POST, URI.create(URL)).build();
+
+        coalescingExchangeFilterFunction.filter(request, next).subscribe();
+        coalescingExchangeFilterFunction.filter(request, next).subscribe();
+
+        assertEquals(2, upstreams.size());
+        assertEquals(0, coalescingExchangeFilterFunction.getRequests());
+    }
+
+    private Mono<String> body(final String url) {
+        return coalescingExchangeFilterFunction.filter(ClientRequest.create(HttpMethod.GET, URI.create(url)).build(),
+                        next)
+                .flatMap(response -> response.bodyToMono(String.class));
+    }
+
+    private static ClientResponse ok(final String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8))))
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@link ConditionalRequestExchangeFilterFunction} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ConditionalRequestExchangeFilterFunctionTest {
+
+    private static final String E_TAG = "\"v1\"";
+    private static final String BODY = "{\"genres\":[]}";
+
+    private ExchangeFunction exchangeFunction;
+    private ConditionalRequestExchangeFilterFunction filterFunction;
+
+    @BeforeEach
+    void setUp() {
+        exchangeFunction = mock(ExchangeFunction.class);
+        filterFunction = new ConditionalRequestExchangeFilterFunction(
+                List.of("/genre/movie/list", "/configuration/languages"));
+    }
+
+    /**
+     * GIVEN:   A response with a strong entity tag from the genres path.
+     * WHEN:    The same URL is requested again and upstream answers 304 Not Modified.
+     * THEN:    The request carries If-None-Match and the kept response is returned as 200 OK.
+     */
+    @Test
+    void givenStoredGenres_whenNotModified_thenReturnStoredResponse() {
+        assertRevalidated("http://localhost/genre/movie/list?language=es");
+    }
+
+    /**
+     * GIVEN:   A response with a strong entity tag from the languages path.
+     * WHEN:    The same URL is requested again and upstream answers 304 Not Modified.
+     * THEN:    The request carries If-None-Match and the kept response is returned as 200 OK.
+     */
+    @Test
+    void givenStoredLanguages_whenNotModified_thenReturnStoredResponse() {
+        assertRevalidated("http://localhost/configuration/languages");
+    }
+
+    /**
+     * GIVEN:   A response with a strong entity tag from a path that is not revalidated.
+     * WHEN:    The same URL is requested again.
+     * THEN:    The requests are passed through without If-None-Match.
+     */
+    @Test
+    void givenOtherPath_whenFilter_thenPassThrough() {
+        doAnswer(invocation -> Mono.just(ok(E_TAG))).when(exchangeFunction).exchange(any());
+        final var request = get("http://localhost/discover/movie?primary_release_year=1982");
+
+        StepVerifier.create(filterFunction.filter(request, exchangeFunction)
+                        .flatMap(response -> response.bodyToMono(String.class)))
+                .expectNext(BODY)
+                .verifyComplete();
+        StepVerifier.create(filterFunction.filter(request, exchangeFunction)
+                        .flatMap(response -> response.bodyToMono(String.class)))
+                .expectNext(BODY)
+                .verifyComplete();
+
+        final var captor = ArgumentCaptor.forClass(ClientRequest.class);
+        verify(exchangeFunction, times(2)).exchange(captor.capture());
+        captor.getAllValues().forEach(sent -> assertNull(sent.headers().getFirst(HttpHeaders.IF_NONE_MATCH)));
+    }
+
+    /**
+     * GIVEN:   A response with a weak entity tag from a revalidated path.
+     * WHEN:    The same URL is requested again.
+     * THEN:    The response is not kept, so the request is sent without If-None-Match.
+     */
+    @Test
+    void givenWeakETag_whenFilter_thenNotRevalidated() {
+        doAnswer(invocation -> Mono.just(ok("W/" + E_TAG))).when(exchangeFunction).exchange(any());
+        final var request = get("http://localhost/configuration/languages");
+
+        filterFunction.filter(request, exchangeFunction).block();
+        filterFunction.filter(request, exchangeFunction).block();
+
+        final var captor = ArgumentCaptor.forClass(ClientRequest.class);
+        verify(exchangeFunction, times(2)).exchange(captor.capture());
+        assertNull(captor.getAllValues().get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    private void assertRevalidated(final String url) {
+        doReturn(Mono.just(ok(E_TAG)), Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                .header(HttpHeaders.ETAG, E_TAG)
+                .build()))
+                .when(exchangeFunction).exchange(any());
+        final var request = get(url);
+
+        StepVerifier.create(filterFunction.filter(request, exchangeFunction)
+                        .flatMap(response -> response.bodyToMono(String.class)))
+                .expectNext(BODY)
+                .verifyComplete();
+
+        StepVerifier.create(filterFunction.filter(request, exchangeFunction))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals(E_TAG, response.headers().asHttpHeaders().getETag());
+                    assertEquals(BODY, response.bodyToMono(String.class).block());
+                })
+                .verifyComplete();
+
+        final var captor = ArgumentCaptor.forClass(ClientRequest.class);
+        verify(exchangeFunction, times(2)).exchange(captor.capture());
+        assertNull(captor.getAllValues().get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(E_TAG, captor.getAllValues().get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    private static ClientRequest get(final String url) {
+        return ClientRequest.create(HttpMethod.GET, URI.create(url)).build();
+    }
+
+    private static ClientResponse ok(final String eTag) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.ETAG, eTag)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(BODY)
+                .build();
+    }
+}
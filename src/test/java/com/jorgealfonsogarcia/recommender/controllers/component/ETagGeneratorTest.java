@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.utils.MediaTypeUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link ETagGenerator} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ETagGeneratorTest {
+
+    private final ETagGenerator eTagGenerator = new ETagGenerator(new ObjectMapper());
+
+    /**
+     * GIVEN:   Two distinct but equal bodies.
+     * WHEN:    Generate their entity tags.
+     * THEN:    The tags are the same strong, quoted tag.
+     */
+    @Test
+    void givenEqualBodies_whenGenerate_thenSameTag() {
+        final var body = List.of(new Genre(1, "Acción"), new Genre(2, "Drama"));
+        final var equalBody = new ArrayList<>(body);
+
+        final var eTag = eTagGenerator.generate(body, MediaType.APPLICATION_JSON);
+
+        assertEquals(eTag, eTagGenerator.generate(equalBody, MediaType.APPLICATION_JSON));
+        assertEquals(eTag, eTagGenerator.generate(body, MediaType.APPLICATION_JSON));
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+    }
+
+    /**
+     * GIVEN:   A body and a changed copy of it.
+     * WHEN:    Generate their entity tags.
+     * THEN:    The tags differ.
+     */
+    @Test
+    void givenChangedBody_whenGenerate_thenDifferentTag() {
+        final var body = List.of(new Genre(1, "Acción"), new Genre(2, "Drama"));
+        final var changedBody = List.of(new Genre(1, "Acción"), new Genre(2, "Comedia"));
+
+        assertNotEquals(eTagGenerator.generate(body, MediaType.APPLICATION_JSON),
+                eTagGenerator.generate(changedBody, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * GIVEN:   A body.
+     * WHEN:    Generate its entity tags in each response format.
+     * THEN:    Each format has its own tag, and the JSON one ignores the media type parameters.
+     */
+    @Test
+    void givenBody_whenGenerateInEachFormat_thenDifferentTags() {
+        final var body = List.of(new Genre(1, "Acción"), new Genre(2, "Drama"));
+
+        final var json = eTagGenerator.generate(body, MediaType.APPLICATION_JSON);
+        final var smile = eTagGenerator.generate(body, MediaTypeUtils.APPLICATION_SMILE);
+        final var cbor = eTagGenerator.generate(body, MediaType.APPLICATION_CBOR);
+
+        assertEquals(3, Set.of(json, smile, cbor).size());
+        assertEquals(json, eTagGenerator.generate(body, MediaType.parseMediaType("application/json;charset=UTF-8")));
+        assertTrue(cbor.startsWith("\"") && cbor.endsWith("-cbor\""));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.jorgealfonsogarcia.recommender.admission.UpstreamPacer;
+import com.jorgealfonsogarcia.recommender.admission.UpstreamThrottledException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@link PacingExchangeFilterFunction} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class PacingExchangeFilterFunctionTest {
+
+    private static final ClientRequest REQUEST = ClientRequest.create(HttpMethod.GET,
+            URI.create("http://api/discover/movie")).build();
+
+    private UpstreamPacer upstreamPacer;
+    private PacingExchangeFilterFunction pacingExchangeFilterFunction;
+    private Deque<HttpStatus> statuses;
+    private AtomicInteger exchanges;
+    private ExchangeFunction next;
+
+    @BeforeEach
+    void setUp() {
+        upstreamPacer = mock(UpstreamPacer.class);
+        doAnswer(invocation -> HttpStatus.TOO_MANY_REQUESTS.isSameCodeAs(invocation.getArgument(0)))
+                .when(upstreamPacer).onResponse(any(), any());
+        doReturn(Duration.ZERO).when(upstreamPacer).reserve();
+        doReturn(Duration.ZERO).when(upstreamPacer).getPauseRemaining();
+        pacingExchangeFilterFunction = new PacingExchangeFilterFunction(upstreamPacer);
+        statuses = new ArrayDeque<>();
+        exchanges = new AtomicInteger();
+        next = request -> Mono.fromSupplier(() -> {
+            exchanges.incrementAndGet();
+            return ClientResponse.create(statuses.poll()).build();
+        });
+    }
+
+    /**
+     * GIVEN:   A call whose turn has come.
+     * WHEN:    Filter it.
+     * THEN:    It is sent at once and its response is returned.
+     */
+    @Test
+    void givenTurnNow_whenFilter_thenSentAtOnce() {
+        statuses.add(HttpStatus.OK);
+
+        StepVerifier.create(pacingExchangeFilterFunction.filter(REQUEST, next))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+        assertEquals(1, exchanges.get());
+    }
+
+    /**
+     * GIVEN:   A call answered with 429 Too Many Requests, which pauses the calls for a second, and then with 200 OK.
+     * WHEN:    Filter it.
+     * THEN:    It is sent once more after the pause, and the second response is returned.
+     */
+    @Test
+    void givenThrottledOnce_whenFilter_thenResentAfterPause() {
+        statuses.add(HttpStatus.TOO_MANY_REQUESTS);
+        statuses.add(HttpStatus.OK);
+        doReturn(Duration.ZERO, Duration.ofSeconds(1)).when(upstreamPacer).reserve();
+
+        StepVerifier.withVirtualTime(() -> pacingExchangeFilterFunction.filter(REQUEST, next))
+                .expectSubscription()
+                .then(() -> assertEquals(1, exchanges.get()))
+                .expectNoEvent(Duration.ofMillis(999))
+                .then(() -> assertEquals(1, exchanges.get()))
+                .thenAwait(Duration.ofMillis(1))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+        assertEquals(2, exchanges.get());
+    }
+
+    /**
+     * GIVEN:   A call answered with 429 Too Many Requests twice.
+     * WHEN:    Filter it.
+     * THEN:    It is resent only once, and then fails with the pause remaining as its retry after.
+     */
+    @Test
+    void givenThrottledTwice_whenFilter_thenThrowUpstreamThrottledException() {
+        statuses.add(HttpStatus.TOO_MANY_REQUESTS);
+        statuses.add(HttpStatus.TOO_MANY_REQUESTS);
+        doReturn(Duration.ZERO, Duration.ofSeconds(1)).when(upstreamPacer).reserve();
+        doReturn(Duration.ZERO, Duration.ofSeconds(2)).when(upstreamPacer).getPauseRemaining();
+
+        StepVerifier.withVirtualTime(() -> pacingExchangeFilterFunction.filter(REQUEST, next))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .expectErrorSatisfies(error -> {
+                    final var exception = (UpstreamThrottledException) error;
+                    assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+                })
+                .verify();
+        assertEquals(2, exchanges.get());
+        verify(upstreamPacer, times(2)).reserve();
+    }
+
+    /**
+     * GIVEN:   A call waiting for its turn when a pause starts.
+     * WHEN:    Its wait ends while the calls are still paused.
+     * THEN:    It reserves a new turn and waits for it before it is sent.
+     */
+    @Test
+    void givenPauseStartedMidDelay_whenWaitEnds_thenWaitAgain() {
+        statuses.add(HttpStatus.OK);
+        doReturn(Duration.ofMillis(100), Duration.ofMillis(500)).when(upstreamPacer).reserve();
+        doReturn(Duration.ofMillis(400), Duration.ZERO).when(upstreamPacer).getPauseRemaining();
+
+        StepVerifier.withVirtualTime(() -> pacingExchangeFilterFunction.filter(REQUEST, next))
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(100))
+                .then(() -> {
+                    assertEquals(0, exchanges.get());
+                    verify(upstreamPacer, times(2)).reserve();
+                })
+                .expectNoEvent(Duration.ofMillis(499))
+                .then(() -> assertEquals(0, exchanges.get()))
+                .thenAwait(Duration.ofMillis(1))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+        assertEquals(1, exchanges.get());
+    }
+
+    /**
+     * GIVEN:   A call whose turn is later than the maximum wait.
+     * WHEN:    Filter it.
+     * THEN:    It fails with an upstream throttled exception, without being sent.
+     */
+    @Test
+    void givenTurnBeyondMaxWait_whenFilter_thenThrowUpstreamThrottledException() {
+        doThrow(new UpstreamThrottledException(Duration.ofSeconds(3))).when(upstreamPacer).reserve();
+
+        StepVerifier.create(pacingExchangeFilterFunction.filter(REQUEST, next))
+                .expectError(UpstreamThrottledException.class)
+                .verify();
+        assertEquals(0, exchanges.get());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jorgealfonsogarcia.recommender.admission.ClientRateLimiter;
+import com.jorgealfonsogarcia.recommender.config.RateLimitProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jorgealfonsogarcia.recommender.config.ApplicationHttpHeaders.X_API_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the {@link RateLimitWebFilter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class RateLimitWebFilterTest {
+
+    private static final String LANGUAGES_PATH = "/movies/languages";
+    private static final InetSocketAddress ADDRESS = InetSocketAddress.createUnresolved("10.0.0.1", 40000);
+    private static final InetSocketAddress OTHER_ADDRESS = InetSocketAddress.createUnresolved("10.0.0.2", 40000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RateLimitWebFilter rateLimitWebFilter;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        final var clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        final var rateLimitProperties = new RateLimitProperties(true, 1, 2, 2, 100, Duration.ofMinutes(10));
+        final var clientRateLimiter = new ClientRateLimiter(rateLimitProperties.getRate(),
+                rateLimitProperties.getBurst(), rateLimitProperties.getMaxClients(),
+                rateLimitProperties.getIdleTimeout(), clock);
+        rateLimitWebFilter = new RateLimitWebFilter(clientRateLimiter, rateLimitProperties, objectMapper);
+        calls = new AtomicInteger();
+    }
+
+    /**
+     * GIVEN:   A client that has spent its burst.
+     * WHEN:    Filter its next request.
+     * THEN:    It is answered with 429 Too Many Requests, a Retry-After header and a JSON error, without running.
+     */
+    @Test
+    void givenBurstSpent_whenFilter_thenTooManyRequests() throws IOException {
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS));
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS));
+
+        final var response = filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS))
+                .getResponse();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        final var error = objectMapper.readValue(response.getBodyAsString().block(), ErrorResponse.class);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), error.error());
+        assertEquals("The rate limit of the client is exceeded", error.message());
+        assertEquals(2, calls.get());
+    }
+
+    /**
+     * GIVEN:   A client that has spent its burst with an API key.
+     * WHEN:    Filter requests of the same address with another key or without one, and of another address with the
+     *          same key.
+     * THEN:    Only the requests with the same key are limited, as a key is charged instead of the address.
+     */
+    @Test
+    void givenApiKeySpent_whenFilter_thenOnlySameKeyLimited() {
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).header(X_API_KEY.getHeader(), "first").remoteAddress(ADDRESS));
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).header(X_API_KEY.getHeader(), "first").remoteAddress(ADDRESS));
+
+        assertNull(filter(MockServerHttpRequest.get(LANGUAGES_PATH).header(X_API_KEY.getHeader(), "second")
+                .remoteAddress(ADDRESS)).getResponse().getStatusCode());
+        assertNull(filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS)).getResponse()
+                .getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, filter(MockServerHttpRequest.get(LANGUAGES_PATH)
+                .header(X_API_KEY.getHeader(), "first").remoteAddress(OTHER_ADDRESS)).getResponse().getStatusCode());
+        assertEquals(4, calls.get());
+    }
+
+    /**
+     * GIVEN:   A client without an API key that has spent its burst.
+     * WHEN:    Filter a request of another address.
+     * THEN:    It runs, as each address has its own bucket.
+     */
+    @Test
+    void givenAddressSpent_whenFilterOtherAddress_thenRun() {
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS));
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, filter(MockServerHttpRequest.get(LANGUAGES_PATH)
+                .remoteAddress(ADDRESS)).getResponse().getStatusCode());
+        assertNull(filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(OTHER_ADDRESS)).getResponse()
+                .getStatusCode());
+        assertEquals(3, calls.get());
+    }
+
+    /**
+     * GIVEN:   A search of two years and one language.
+     * WHEN:    Filter it and then a catalog lookup of the same client.
+     * THEN:    The search is charged its two discover calls, so the lookup is limited.
+     */
+    @Test
+    void givenSearch_whenFilter_thenChargedByDiscoverCalls() {
+        final var search = "/movies/search?startYear=1982&endYear=1983&genres=Drama&language=es";
+        assertNull(filter(MockServerHttpRequest.get(search).remoteAddress(ADDRESS)).getResponse().getStatusCode());
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, filter(MockServerHttpRequest.get(LANGUAGES_PATH)
+                .remoteAddress(ADDRESS)).getResponse().getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * GIVEN:   A client that has spent its burst.
+     * WHEN:    Filter a request outside the rate limited routes.
+     * THEN:    It runs.
+     */
+    @Test
+    void givenRouteNotLimited_whenFilter_thenRun() {
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS));
+        filter(MockServerHttpRequest.get(LANGUAGES_PATH).remoteAddress(ADDRESS));
+
+        assertNull(filter(MockServerHttpRequest.get("/movies/1").remoteAddress(ADDRESS)).getResponse()
+                .getStatusCode());
+        assertEquals(3, calls.get());
+    }
+
+    private MockServerWebExchange filter(final MockServerHttpRequest.BaseBuilder<?> request) {
+        final var exchange = MockServerWebExchange.from(request);
+        final WebFilterChain chain = filtered -> {
+            calls.incrementAndGet();
+            return Mono.empty();
+        };
+        rateLimitWebFilter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.controllers.component;
+
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.cache.ResponseCache;
+import com.jorgealfonsogarcia.recommender.services.CacheDependencies;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link ResponseCacheWebFilter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ResponseCacheWebFilterTest {
+
+    private static final String GENRES_PATH = "/movies/genres/es";
+    private static final String E_TAG = "\"tag\"";
+    private static final String BODY = "[%s]".formatted(String.join(",",
+            Collections.nCopies(20, "{\"id\":28,\"name\":\"Acción\"},{\"id\":18,\"name\":\"Drama\"}")));
+
+    private ResponseCache responseCache;
+    private MovieKeyIndex movieKeyIndex;
+    private ResponseCacheWebFilter responseCacheWebFilter;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(1024 * 1024, 16, Duration.ofMinutes(10));
+        movieKeyIndex = new MovieKeyIndex(100);
+        responseCacheWebFilter = new ResponseCacheWebFilter(responseCache, movieKeyIndex);
+        calls = new AtomicInteger();
+    }
+
+    /**
+     * GIVEN:   A successful response with an entity tag, built from a discover call.
+     * WHEN:    The same request is made again.
+     * THEN:    It is answered from the cache without calling the chain, and the discover call is recorded.
+     */
+    @Test
+    void givenCacheableResponse_whenRequestedAgain_thenServedFromCache() {
+        final WebFilterChain chain = exchange -> Mono.deferContextual(context -> {
+            CacheDependencies.record(context, "discover_1982_28_es");
+            return respond(HttpStatus.OK, headers -> headers.setCacheControl("max-age=60")).filter(exchange);
+        });
+
+        assertEquals(BODY, bodyOf(filter(MockServerHttpRequest.get(GENRES_PATH), chain)));
+        final var exchange = filter(MockServerHttpRequest.get(GENRES_PATH), chain);
+
+        assertEquals(1, calls.get());
+        assertEquals(BODY, bodyOf(exchange));
+        assertEquals(E_TAG, exchange.getResponse().getHeaders().getETag());
+        assertEquals("max-age=60", exchange.getResponse().getHeaders().getCacheControl());
+        assertEquals(1, movieKeyIndex.getResponses());
+    }
+
+    /**
+     * GIVEN:   A response that is not 200 OK.
+     * WHEN:    The same request is made again.
+     * THEN:    It is not captured.
+     */
+    @Test
+    void givenNotOkResponse_whenRequestedAgain_thenNotCaptured() {
+        assertNotCaptured(respond(HttpStatus.NOT_FOUND, headers -> {
+        }));
+    }
+
+    /**
+     * GIVEN:   A response without an entity tag.
+     * WHEN:    The same request is made again.
+     * THEN:    It is not captured.
+     */
+    @Test
+    void givenResponseWithoutETag_whenRequestedAgain_thenNotCaptured() {
+        assertNotCaptured(respond(HttpStatus.OK, headers -> headers.remove(HttpHeaders.ETAG)));
+    }
+
+    /**
+     * GIVEN:   A response already encoded with a content coding.
+     * WHEN:    The same request is made again.
+     * THEN:    It is not captured.
+     */
+    @Test
+    void givenEncodedResponse_whenRequestedAgain_thenNotCaptured() {
+        assertNotCaptured(respond(HttpStatus.OK, headers -> headers.set(HttpHeaders.CONTENT_ENCODING, "br")));
+    }
+
+    /**
+     * GIVEN:   Responses that must not be stored or are private.
+     * WHEN:    The same requests are made again.
+     * THEN:    They are not captured.
+     */
+    @Test
+    void givenNoStoreOrPrivateResponse_whenRequestedAgain_thenNotCaptured() {
+        assertNotCaptured(respond(HttpStatus.OK, headers -> headers.setCacheControl("no-store")));
+        calls.set(0);
+        assertNotCaptured(respond(HttpStatus.OK, headers -> headers.setCacheControl("private, max-age=60")));
+    }
+
+    /**
+     * GIVEN:   A cached response.
+     * WHEN:    It is requested with an If-None-Match of its entity tag.
+     * THEN:    It is answered with 304 Not Modified and no body.
+     */
+    @Test
+    void givenCachedResponse_whenIfNoneMatch_thenNotModified() {
+        final var chain = respond(HttpStatus.OK, headers -> {
+        });
+        filter(MockServerHttpRequest.get(GENRES_PATH), chain);
+
+        final var exchange = filter(MockServerHttpRequest.get(GENRES_PATH).ifNoneMatch(E_TAG), chain);
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals("", bodyOf(exchange));
+    }
+
+    /**
+     * GIVEN:   A cached response large enough to be compressed.
+     * WHEN:    It is requested with and without gzip in Accept-Encoding.
+     * THEN:    The compressed body is only sent to the client accepting gzip, with its own entity tag.
+     */
+    @Test
+    void givenCompressedResponse_whenAcceptGzip_thenSendCompressedBody() throws IOException {
+        final var chain = respond(HttpStatus.OK, headers -> {
+        });
+        filter(MockServerHttpRequest.get(GENRES_PATH), chain);
+
+        final var gzipExchange = filter(MockServerHttpRequest.get(GENRES_PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"), chain);
+        final var refusedExchange = filter(MockServerHttpRequest.get(GENRES_PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"), chain);
+
+        assertEquals(1, calls.get());
+        assertEquals("gzip", gzipExchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"tag-gz\"", gzipExchange.getResponse().getHeaders().getETag());
+        assertTrue(gzipExchange.getResponse().getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(bytesOf(gzipExchange)))) {
+            assertEquals(BODY, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertNull(refusedExchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(E_TAG, refusedExchange.getResponse().getHeaders().getETag());
+        assertEquals(BODY, bodyOf(refusedExchange));
+    }
+
+    /**
+     * GIVEN:   A cached response large enough to be compressed.
+     * WHEN:    A client accepting gzip revalidates it with the tag of the compressed body, and then with the tag of the
+     *          uncompressed one.
+     * THEN:    Only the tag of the compressed body is answered with 304 Not Modified.
+     */
+    @Test
+    void givenCompressedResponse_whenIfNoneMatch_thenMatchedByContentCoding() {
+        final var chain = respond(HttpStatus.OK, headers -> {
+        });
+        filter(MockServerHttpRequest.get(GENRES_PATH), chain);
+
+        final var gzipTagExchange = filter(MockServerHttpRequest.get(GENRES_PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"tag-gz\""), chain);
+        final var identityTagExchange = filter(MockServerHttpRequest.get(GENRES_PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, E_TAG), chain);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, gzipTagExchange.getResponse().getStatusCode());
+        assertNull(identityTagExchange.getResponse().getStatusCode());
+        assertEquals("gzip", identityTagExchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"tag-gz\"", identityTagExchange.getResponse().getHeaders().getETag());
+    }
+
+    /**
+     * GIVEN:   A cached JSON response.
+     * WHEN:    The same resource is requested in CBOR, and then in JSON again.
+     * THEN:    The CBOR request is a miss, as the cache is keyed on the negotiated format, and the JSON one a hit.
+     */
+    @Test
+    void givenCachedJson_whenAcceptCbor_thenKeyedByMediaType() {
+        final WebFilterChain chain = exchange -> respond(HttpStatus.OK, headers -> headers.setContentType(
+                MediaType.APPLICATION_CBOR.isPresentIn(exchange.getRequest().getHeaders().getAccept())
+                        ? MediaType.APPLICATION_CBOR
+                        : MediaType.APPLICATION_JSON)).filter(exchange);
+        filter(MockServerHttpRequest.get(GENRES_PATH), chain);
+
+        final var cborExchange = filter(MockServerHttpRequest.get(GENRES_PATH).accept(MediaType.APPLICATION_CBOR),
+                chain);
+        filter(MockServerHttpRequest.get(GENRES_PATH).accept(MediaType.APPLICATION_CBOR), chain);
+        final var jsonExchange = filter(MockServerHttpRequest.get(GENRES_PATH).accept(MediaType.APPLICATION_JSON),
+                chain);
+
+        assertEquals(2, calls.get());
+        assertEquals(MediaType.APPLICATION_CBOR, cborExchange.getResponse().getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_JSON, jsonExchange.getResponse().getHeaders().getContentType());
+    }
+
+    /**
+     * GIVEN:   A response whose format is not the negotiated one.
+     * WHEN:    The same request is made again.
+     * THEN:    It is not captured.
+     */
+    @Test
+    void givenOtherMediaType_whenRequestedAgain_thenNotCaptured() {
+        assertNotCaptured(respond(HttpStatus.OK, headers -> headers.setContentType(MediaType.TEXT_PLAIN)));
+    }
+
+    private void assertNotCaptured(final WebFilterChain chain) {
+        filter(MockServerHttpRequest.get(GENRES_PATH), chain);
+        filter(MockServerHttpRequest.get(GENRES_PATH), chain);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, responseCache.getSize());
+    }
+
+    /**
+     * Gets a chain that writes the body with a JSON content type and the entity tag, then the given headers.
+     */
+    private WebFilterChain respond(final HttpStatus status,
+                                   final Consumer<HttpHeaders> headers) {
+        return exchange -> {
+            calls.incrementAndGet();
+            final var response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setETag(E_TAG);
+            headers.accept(response.getHeaders());
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private MockServerWebExchange filter(final MockServerHttpRequest.BaseBuilder<?> request,
+                                         final WebFilterChain chain) {
+        final var exchange = MockServerWebExchange.from(request);
+        responseCacheWebFilter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    private static String bodyOf(final MockServerWebExchange exchange) {
+        return new String(bytesOf(exchange), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytesOf(final MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    final var bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .block();
+    }
+}
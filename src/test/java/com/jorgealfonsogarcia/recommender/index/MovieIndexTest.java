@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.index;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link MovieIndex} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class MovieIndexTest {
+
+    private static final List<Genre> GENRES = List.of(new Genre(35, "Comedia"));
+
+    /**
+     * GIVEN:   Movies matching a query in their title, original title or overview.
+     * WHEN:    The index is searched, with accents and in another case.
+     * THEN:    Return the movies with the query in their title first, and those with more matching terms before the
+     *          others.
+     */
+    @Test
+    void givenMovies_whenSearch_thenRankedByBm25() {
+        final var movieIndex = new MovieIndex(1024 * 1024);
+        movieIndex.add(movie(1, "La casa", "La casa", "Una familia y su corazón."), GENRES);
+        movieIndex.add(movie(2, "Corazón salvaje", "Corazón salvaje", "Una historia de amor."), GENRES);
+        movieIndex.add(movie(3, "Wild heart", "Corazón de león", "Un viaje."), GENRES);
+        movieIndex.add(movie(4, "El viaje", "El viaje", "Un viaje sin amor."), GENRES);
+
+        final var matches = movieIndex.search("CORAZON salvaje", 10);
+
+        assertEquals(List.of(2, 3, 1), matches.stream().map(match -> match.movie().id()).toList());
+        assertTrue(matches.get(0).score() > matches.get(1).score());
+        assertTrue(matches.get(1).score() > matches.get(2).score());
+        assertSame(GENRES, matches.get(0).genreList());
+    }
+
+    /**
+     * GIVEN:   Movies matching a query.
+     * WHEN:    The index is searched with a limit, and with a query without terms.
+     * THEN:    Return only the best matches, and no matches.
+     */
+    @Test
+    void givenLimit_whenSearch_thenBestMatches() {
+        final var movieIndex = new MovieIndex(1024 * 1024);
+        movieIndex.add(movie(1, "Amor", "Amor", "Amor y amor."), GENRES);
+        movieIndex.add(movie(2, "Otra", "Otra", "Amor."), GENRES);
+        movieIndex.add(movie(3, "Amor eterno", "Amor eterno", "Una historia."), GENRES);
+
+        assertEquals(List.of(1, 3), movieIndex.search("amor", 2).stream().map(match -> match.movie().id()).toList());
+        assertTrue(movieIndex.search("¿?", 2).isEmpty());
+        assertEquals(2, movieIndex.getLookups());
+    }
+
+    /**
+     * GIVEN:   An indexed movie.
+     * WHEN:    It is indexed again unchanged, and then with another title.
+     * THEN:    It is indexed once, and only found by its new title.
+     */
+    @Test
+    void givenChangedMovie_whenAdd_thenReindexed() {
+        final var movieIndex = new MovieIndex(1024 * 1024);
+        movieIndex.add(movie(1, "El viaje", "El viaje", "Una historia."), GENRES);
+        movieIndex.add(movie(1, "El viaje", "El viaje", "Una historia."), GENRES);
+
+        assertEquals(1, movieIndex.getSize());
+
+        movieIndex.add(movie(1, "La travesía", "La travesía", "Una historia."), GENRES);
+
+        assertEquals(1, movieIndex.getSize());
+        assertTrue(movieIndex.search("viaje", 10).isEmpty());
+        assertEquals(1, movieIndex.search("travesia", 10).size());
+        assertEquals(4, movieIndex.getTerms());
+    }
+
+    /**
+     * GIVEN:   An index with room for about two movies.
+     * WHEN:    A third movie is indexed after the first one is seen again.
+     * THEN:    The movie seen least recently is evicted, and the index stays within its size.
+     */
+    @Test
+    void givenFullIndex_whenAdd_thenEvictLeastRecentlySeen() {
+        final var first = movie(1, "Primera", "Primera", "Una historia.");
+        final var movieIndex = new MovieIndex(1200);
+        movieIndex.add(first, GENRES);
+        movieIndex.add(movie(2, "Segunda", "Segunda", "Una historia."), GENRES);
+        movieIndex.add(first, GENRES);
+        movieIndex.add(movie(3, "Tercera", "Tercera", "Una historia."), GENRES);
+
+        assertEquals(1, movieIndex.search("primera", 10).size());
+        assertTrue(movieIndex.search("segunda", 10).isEmpty());
+        assertEquals(1, movieIndex.search("tercera", 10).size());
+        assertEquals(1, movieIndex.getEvictions());
+        assertTrue(movieIndex.getUsedBytes() <= 1200);
+    }
+
+    private static Movie movie(final Integer id,
+                               final String title,
+                               final String originalTitle,
+                               final String overview) {
+        return new Movie(false, null, List.of(35), id, "es", originalTitle, overview, 10.0, null, "1982-01-01", title,
+                false, 5.0, 100);
+    }
+}
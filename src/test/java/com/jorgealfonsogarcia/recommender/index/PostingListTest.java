@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link PostingList} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class PostingListTest {
+
+    /**
+     * GIVEN:   A posting list with small and large gaps and frequencies.
+     * WHEN:    Its postings are read.
+     * THEN:    Return the same documents and frequencies, in order, taking fewer bytes than plain integers.
+     */
+    @Test
+    void givenPostings_whenForEach_thenSamePostings() {
+        final var postingList = new PostingList();
+        final var expected = List.of(List.of(0, 1), List.of(3, 2), List.of(200, 1), List.of(70_000, 300),
+                List.of(70_001, 1));
+        expected.forEach(posting -> postingList.add(posting.get(0), posting.get(1)));
+
+        final var postings = new ArrayList<List<Integer>>();
+        postingList.forEach((document, termFrequency) -> postings.add(List.of(document, termFrequency)));
+
+        assertEquals(expected, postings);
+        assertEquals(5, postingList.getLive());
+        assertTrue(postingList.getAllocatedBytes() < expected.size() * 2 * Integer.BYTES);
+    }
+
+    /**
+     * GIVEN:   A posting list.
+     * WHEN:    A document not after the last one is added.
+     * THEN:    Throw an illegal argument exception.
+     */
+    @Test
+    void givenPostings_whenAddDocumentNotAfterLast_thenThrowIllegalArgumentException() {
+        final var postingList = new PostingList();
+        postingList.add(5, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> postingList.add(5, 1));
+    }
+
+    /**
+     * GIVEN:   A posting list with most of its documents removed.
+     * WHEN:    It is compacted.
+     * THEN:    It was sparse, and the compacted list has only the kept documents.
+     */
+    @Test
+    void givenRemovedDocuments_whenRetain_thenOnlyKeptDocuments() {
+        final var postingList = new PostingList();
+        for (var document = 0; document < 10; document++) {
+            postingList.add(document, 1);
+        }
+
+        for (var removed = 0; removed < 6; removed++) {
+            postingList.remove();
+        }
+
+        assertTrue(postingList.isSparse());
+
+        final var compacted = postingList.retain(document -> document % 3 == 0);
+        final var documents = new ArrayList<Integer>();
+        compacted.forEach((document, termFrequency) -> documents.add(document));
+
+        assertEquals(List.of(0, 3, 6, 9), documents);
+        assertEquals(4, compacted.getLive());
+        assertFalse(compacted.isSparse());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.index;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.domain.models.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link TitleTrie} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class TitleTrieTest {
+
+    /**
+     * GIVEN:   Movies whose titles or original titles share their beginning.
+     * WHEN:    Prefixes are completed, in another case, without accents and with extra spaces.
+     * THEN:    Return the titles starting with them, the most popular first, and none for an unknown prefix.
+     */
+    @Test
+    void givenTitles_whenComplete_thenMostPopularFirst() {
+        final var titleTrie = TitleTrie.build(List.of(
+                movie(1, "Wild heart", "Corazón salvaje", 30.0),
+                movie(2, "Lionheart", "Corazón de león", 50.0),
+                movie(3, "Coraline", "Coraline", 10.0),
+                movie(4, "Hearts", "Corazones", 20.0),
+                movie(5, "La casa", "La casa", 99.0)), 10);
+
+        assertEquals(List.of(new Suggestion(2, "Corazón de león", "1982-01-01"),
+                        new Suggestion(1, "Corazón salvaje", "1982-01-01"),
+                        new Suggestion(4, "Corazones", "1982-01-01")),
+                titleTrie.complete("CORAZ"));
+        assertEquals(List.of(2, 1, 4, 3), ids(titleTrie.complete("cor")));
+        assertEquals(List.of(2, 1), ids(titleTrie.complete("corazon ")));
+        assertEquals(List.of(1), ids(titleTrie.complete(" Corazón   s")));
+        assertEquals(List.of(2), ids(titleTrie.complete("lion")));
+        assertTrue(titleTrie.complete("corazonx").isEmpty());
+        assertTrue(titleTrie.complete("x").isEmpty());
+        assertEquals(8, titleTrie.getSize());
+    }
+
+    /**
+     * GIVEN:   Movies whose titles and original titles all start with the same word.
+     * WHEN:    The word is completed with at most two titles.
+     * THEN:    Return the two most popular movies, each of them once.
+     */
+    @Test
+    void givenMaxSuggestions_whenComplete_thenMostPopularMoviesOnce() {
+        final var titleTrie = TitleTrie.build(List.of(
+                movie(1, "Star wars", "Star wars: Una nueva esperanza", 80.0),
+                movie(2, "Star trek", "Star trek", 60.0),
+                movie(3, "Stardust", "Stardust", 40.0)), 2);
+
+        assertEquals(List.of(1, 2), ids(titleTrie.complete("star")));
+        assertEquals(List.of(1), ids(titleTrie.complete("star wars")));
+    }
+
+    /**
+     * GIVEN:   A trie.
+     * WHEN:    A prefix is completed twice, and the same prefix in another form.
+     * THEN:    Return the same list each time, kept in the trie rather than built for the completion.
+     */
+    @Test
+    void givenTrie_whenCompleteAgain_thenSameList() {
+        final var titleTrie = TitleTrie.build(List.of(movie(1, "El viaje", "El viaje", 1.0),
+                movie(2, "El verano", "El verano", 2.0)), 10);
+
+        final var suggestions = titleTrie.complete("el v");
+
+        assertSame(suggestions, titleTrie.complete("el v"));
+        assertSame(suggestions, titleTrie.complete("EL-V"));
+        assertTrue(TitleTrie.empty().complete("el").isEmpty());
+    }
+
+    private static List<Integer> ids(final List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+
+    private static Movie movie(final Integer id,
+                               final String title,
+                               final String originalTitle,
+                               final Double popularity) {
+        return new Movie(false, null, List.of(35), id, "es", originalTitle, "Una historia.", popularity, null,
+                "1982-01-01", title, false, 5.0, 100);
+    }
+}
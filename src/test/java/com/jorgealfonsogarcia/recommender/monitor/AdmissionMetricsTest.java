@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.admission.AdmissionController;
+import com.jorgealfonsogarcia.recommender.admission.RouteClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link AdmissionMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class AdmissionMetricsTest {
+
+    /**
+     * GIVEN:   An admission controller with a search in flight and another shed.
+     * WHEN:    The metrics are bound.
+     * THEN:    The limit, the requests in flight and the shed requests are reported by route class.
+     */
+    @Test
+    void givenAdmissionController_whenBindTo_thenMetersRegistered() {
+        final var limits = new AdmissionController.Limits(1, 0, Duration.ofMillis(100));
+        final var admissionController = new AdmissionController(Map.of(RouteClass.CATALOG, limits,
+                RouteClass.SEARCH, limits, RouteClass.BATCH, limits), Duration.ofMillis(500), Duration.ofSeconds(1),
+                Clock.systemUTC());
+        admissionController.acquire(RouteClass.SEARCH).block();
+        admissionController.acquire(RouteClass.SEARCH).onErrorComplete().block();
+
+        final var registry = new SimpleMeterRegistry();
+        //noinspection unchecked
+        new AdmissionMetrics(mock(ObjectProvider.class)).bindTo(registry, admissionController);
+
+        final var limit = registry.find("admission.limit").tag("route", "search").gauge();
+        assertNotNull(limit);
+        assertEquals(1.0, limit.value());
+
+        final var inFlight = registry.find("admission.in.flight").tag("route", "search").gauge();
+        assertNotNull(inFlight);
+        assertEquals(1.0, inFlight.value());
+
+        final var admitted = registry.find("admission.admitted").tag("route", "search").functionCounter();
+        assertNotNull(admitted);
+        assertEquals(1.0, admitted.count());
+
+        final var shed = registry.find("admission.shed").tag("route", "search").functionCounter();
+        assertNotNull(shed);
+        assertEquals(1.0, shed.count());
+
+        assertNotNull(registry.find("admission.queued").tag("route", "batch").gauge());
+        assertNotNull(registry.find("admission.queue.delay").tag("route", "catalog").timeGauge());
+        assertTrue(registry.find("admission.overloaded").gauges().size() >= 3);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.index.MovieIndex;
+import com.jorgealfonsogarcia.recommender.services.AutocompleteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Unit tests for {@link AutocompleteMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class AutocompleteMetricsTest {
+
+    /**
+     * GIVEN:   An autocomplete service whose tries were built from a movie with two titles.
+     * WHEN:    The metrics are bound.
+     * THEN:    The rebuilds, titles and nodes are reported.
+     */
+    @Test
+    void givenAutocompleteService_whenBindTo_thenMetersRegistered() {
+        final var movieIndex = new MovieIndex(1024 * 1024);
+        movieIndex.add(new Movie(false, null, List.of(), 1, "es", "El viaje", "Una historia", 1.0, null,
+                "1982-01-01", "The trip", false, 5.0, 10), List.of());
+        final var autocompleteService = new AutocompleteService(movieIndex, new SearchProperties(6, 8,
+                new SearchProperties.Batch(2, 4), new SearchProperties.Page(50, false),
+                new SearchProperties.Lookup(DataSize.ofMegabytes(32), 20),
+                new SearchProperties.Autocomplete(10, Duration.ZERO)), Schedulers.immediate());
+        autocompleteService.complete("el", null).block();
+
+        final var registry = new SimpleMeterRegistry();
+        new AutocompleteMetrics(autocompleteService).bindTo(registry);
+
+        final var rebuilds = registry.find("index.titles.rebuilds").functionCounter();
+        assertNotNull(rebuilds);
+        assertEquals(1.0, rebuilds.count());
+
+        final var size = registry.find("index.titles.size").gauge();
+        assertNotNull(size);
+        assertEquals(2.0, size.value());
+
+        final var nodes = registry.find("index.titles.nodes").gauge();
+        assertNotNull(nodes);
+        assertEquals(3.0, nodes.value());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+import java.lang.reflect.Modifier;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link BlockingCallMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class BlockingCallMetricsTest {
+
+    private static final BlockingMethod SLEEP = new BlockingMethod("java.lang.Thread", "sleep",
+            Modifier.PUBLIC | Modifier.STATIC);
+
+    /**
+     * GIVEN:   Blocking call metrics that do not fail, with a blocking call reported before and after binding.
+     * WHEN:    The metrics are bound.
+     * THEN:    Both calls are counted by method, without failing.
+     */
+    @Test
+    void givenBlockingCalls_whenBindTo_thenCountedByMethod() {
+        final var blockingCallMetrics = new BlockingCallMetrics(false);
+        assertDoesNotThrow(() -> blockingCallMetrics.accept(SLEEP));
+
+        final var registry = new SimpleMeterRegistry();
+        blockingCallMetrics.bindTo(registry);
+        blockingCallMetrics.accept(SLEEP);
+
+        final var calls = registry.find("reactor.blocking.calls").tag("method", "java.lang.Thread.sleep")
+                .functionCounter();
+        assertNotNull(calls);
+        assertEquals(2.0, calls.count());
+        assertEquals(2, blockingCallMetrics.getCalls("java.lang.Thread.sleep"));
+    }
+
+    /**
+     * GIVEN:   Blocking call metrics that fail on blocking.
+     * WHEN:    A blocking call is reported.
+     * THEN:    It is counted and fails with a blocking operation error.
+     */
+    @Test
+    void givenFailOnBlocking_whenAccept_thenCountedAndThrowBlockingOperationError() {
+        final var blockingCallMetrics = new BlockingCallMetrics(true);
+
+        final var error = assertThrows(BlockingOperationError.class, () -> blockingCallMetrics.accept(SLEEP));
+
+        assertSame(SLEEP, error.getMethod());
+        assertEquals(1, blockingCallMetrics.getCalls("java.lang.Thread.sleep"));
+    }
+}
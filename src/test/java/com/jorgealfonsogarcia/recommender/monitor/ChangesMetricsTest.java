@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.services.ChangesService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link ChangesMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ChangesMetricsTest {
+
+    /**
+     * GIVEN:   A changes service that polled the feed, and an index tracking a discover call and a response.
+     * WHEN:    The metrics are bound.
+     * THEN:    The polls, changed movies, evictions and tracked keys are reported.
+     */
+    @Test
+    void givenChangesService_whenBindTo_thenMetersRegistered() {
+        final var changesService = mock(ChangesService.class);
+        doReturn(4L).when(changesService).getPolls();
+        doReturn(7L).when(changesService).getChangedMovies();
+        doReturn(3L).when(changesService).getInvalidatedCells();
+        doReturn(2L).when(changesService).getInvalidatedResponses();
+        final var movieKeyIndex = new MovieKeyIndex(100);
+        movieKeyIndex.recordCell("discover_1982_35_es", List.of(new Movie(false, null, List.of(35), 1, "es",
+                "Título", "Una historia.", 10.0, null, "1982-01-01", "Título", false, 5.0, 100)));
+        movieKeyIndex.recordResponse("search:1982", List.of("discover_1982_35_es"));
+
+        final var registry = new SimpleMeterRegistry();
+        new ChangesMetrics(changesService, movieKeyIndex).bindTo(registry);
+
+        final var polls = registry.find("cache.changes.polls").functionCounter();
+        assertNotNull(polls);
+        assertEquals(4.0, polls.count());
+
+        final var movies = registry.find("cache.changes.movies").functionCounter();
+        assertNotNull(movies);
+        assertEquals(7.0, movies.count());
+
+        final var invalidatedCells = registry.find("cache.changes.invalidated").tag("level", "discover")
+                .functionCounter();
+        assertNotNull(invalidatedCells);
+        assertEquals(3.0, invalidatedCells.count());
+
+        final var invalidatedResponses = registry.find("cache.changes.invalidated").tag("level", "response")
+                .functionCounter();
+        assertNotNull(invalidatedResponses);
+        assertEquals(2.0, invalidatedResponses.count());
+
+        final var trackedCells = registry.find("cache.changes.tracked").tag("level", "discover").gauge();
+        assertNotNull(trackedCells);
+        assertEquals(1.0, trackedCells.value());
+
+        final var trackedResponses = registry.find("cache.changes.tracked").tag("level", "response").gauge();
+        assertNotNull(trackedResponses);
+        assertEquals(1.0, trackedResponses.value());
+
+        final var trackedMovies = registry.find("cache.changes.tracked.movies").gauge();
+        assertNotNull(trackedMovies);
+        assertEquals(1.0, trackedMovies.value());
+    }
+}
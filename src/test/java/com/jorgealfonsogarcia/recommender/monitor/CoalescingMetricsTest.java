@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.controllers.component.CoalescingExchangeFilterFunction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Unit tests for {@link CoalescingMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class CoalescingMetricsTest {
+
+    /**
+     * GIVEN:   Two concurrent GETs to the same URL with the query parameters in a different order.
+     * WHEN:    The metrics are bound.
+     * THEN:    A single exchange is sent, both requests get the body, and the coalescing ratio is a half.
+     */
+    @Test
+    void givenConcurrentGets_whenBindTo_thenCoalescingReported() {
+        final var coalescingExchangeFilterFunction = new CoalescingExchangeFilterFunction();
+        final var exchanges = new AtomicInteger();
+        final var upstream = Sinks.<ClientResponse>one();
+        final ExchangeFunction next = request -> {
+            exchanges.incrementAndGet();
+            return upstream.asMono();
+        };
+
+        final var first = coalescingExchangeFilterFunction.filter(request("http://api/discover?a=1&b=2"), next)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .cache();
+        final var second = coalescingExchangeFilterFunction.filter(request("http://API/discover?b=2&a=1"), next)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .cache();
+        first.subscribe();
+        second.subscribe();
+
+        upstream.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(
+                        "body".getBytes(StandardCharsets.UTF_8))))
+                .build());
+
+        StepVerifier.create(Mono.zip(first, second))
+                .assertNext(bodies -> {
+                    assertEquals("body", bodies.getT1());
+                    assertEquals("body", bodies.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, exchanges.get());
+
+        final var registry = new SimpleMeterRegistry();
+        new CoalescingMetrics(coalescingExchangeFilterFunction).bindTo(registry);
+
+        final var requests = registry.find("webclient.coalescing.requests").functionCounter();
+        assertNotNull(requests);
+        assertEquals(2.0, requests.count());
+
+        final var coalesced = registry.find("webclient.coalescing.coalesced").functionCounter();
+        assertNotNull(coalesced);
+        assertEquals(1.0, coalesced.count());
+
+        final var ratio = registry.find("webclient.coalescing.ratio").gauge();
+        assertNotNull(ratio);
+        assertEquals(0.5, ratio.value());
+    }
+
+    private static ClientRequest request(final String url) {
+        return ClientRequest.create(HttpMethod.GET, URI.create(url)).build();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheStore;
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheWriter;
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link DiskCacheMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class DiskCacheMetricsTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * GIVEN:   A disk store with a hit and a miss.
+     * WHEN:    The metrics are bound.
+     * THEN:    The counters and gauges report them.
+     */
+    @Test
+    void givenDiskStore_whenBindTo_thenMetricsRegistered() throws IOException {
+        final var store = new DiskCacheStore(directory, 1024, 4096, Duration.ofHours(1), 0.5, Clock.systemUTC());
+        store.put("key", new byte[10]);
+        store.get("key");
+        store.get("other");
+
+        final var registry = new SimpleMeterRegistry();
+        //noinspection unchecked
+        new DiskCacheMetrics(mock(ObjectProvider.class), mock(ObjectProvider.class)).bindTo(registry, store);
+
+        final var hits = registry.find("cache.l2.gets").tag("result", "hit").functionCounter();
+        assertNotNull(hits);
+        assertEquals(1.0, hits.count());
+
+        final var misses = registry.find("cache.l2.gets").tag("result", "miss").functionCounter();
+        assertNotNull(misses);
+        assertEquals(1.0, misses.count());
+
+        final var size = registry.find("cache.l2.size").gauge();
+        assertNotNull(size);
+        assertEquals(1.0, size.value());
+
+        final var used = registry.find("cache.l2.used").gauge();
+        assertNotNull(used);
+        assertTrue(used.value() > 0);
+    }
+
+    /**
+     * GIVEN:   A writer of the disk store with a put dropped because it was full.
+     * WHEN:    The metrics are bound.
+     * THEN:    The pending and dropped writes are reported.
+     */
+    @Test
+    void givenDiskWriter_whenBindTo_thenMetricsRegistered() throws IOException {
+        final var store = new DiskCacheStore(directory, 1024, 4096, Duration.ofHours(1), 0.5, Clock.systemUTC());
+        final var scheduler = Schedulers.newSingle("test-writer");
+        final var writer = new DiskCacheWriter(store, 1, scheduler, Schedulers.immediate());
+        scheduler.dispose();
+        writer.put("first", List.of(new Genre(1, "Genre 1")));
+        writer.put("second", List.of(new Genre(2, "Genre 2")));
+
+        final var registry = new SimpleMeterRegistry();
+        //noinspection unchecked
+        new DiskCacheMetrics(mock(ObjectProvider.class), mock(ObjectProvider.class)).bindTo(registry, writer);
+
+        final var pending = registry.find("cache.l2.pending").gauge();
+        assertNotNull(pending);
+        assertEquals(1.0, pending.value());
+
+        final var dropped = registry.find("cache.l2.writes.dropped").functionCounter();
+        assertNotNull(dropped);
+        assertEquals(1.0, dropped.count());
+    }
+}
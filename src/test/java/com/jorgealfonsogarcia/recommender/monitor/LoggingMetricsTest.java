@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.slf4j.Logger.ROOT_LOGGER_NAME;
+
+/**
+ * Unit tests for {@link LoggingMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class LoggingMetricsTest {
+
+    /**
+     * GIVEN:   A logger context with a metered appender and a sampling turbo filter.
+     * WHEN:    The metrics are bound.
+     * THEN:    A counter is registered for each of them.
+     */
+    @Test
+    void givenMeteredAppenderAndSamplingFilter_whenBindTo_thenCountersRegistered() {
+        final var loggerContext = new LoggerContext();
+
+        final var appender = new MeteredAsyncDisruptorAppender();
+        appender.setName("ASYNC");
+        loggerContext.getLogger(ROOT_LOGGER_NAME).addAppender(appender);
+
+        final var filter = new RequestIdSamplingTurboFilter();
+        filter.setLoggerName("exchange");
+        loggerContext.addTurboFilter(filter);
+
+        final var registry = new SimpleMeterRegistry();
+        new LoggingMetrics().bindTo(registry, loggerContext);
+
+        final var dropped = registry.find("logging.events.dropped").tag("appender", "ASYNC").functionCounter();
+        assertNotNull(dropped);
+        assertEquals(0.0, dropped.count());
+
+        final var sampledOut = registry.find("logging.events.sampled.out").tag("logger", "exchange")
+                .functionCounter();
+        assertNotNull(sampledOut);
+        assertEquals(0.0, sampledOut.count());
+    }
+}
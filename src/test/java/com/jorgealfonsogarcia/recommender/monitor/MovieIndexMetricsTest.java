@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.index.MovieIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link MovieIndexMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class MovieIndexMetricsTest {
+
+    /**
+     * GIVEN:   A movie index with a movie, looked up once.
+     * WHEN:    The metrics are bound.
+     * THEN:    The lookups, evictions, movies, terms and bytes are reported.
+     */
+    @Test
+    void givenMovieIndex_whenBindTo_thenMetersRegistered() {
+        final var movieIndex = new MovieIndex(1024 * 1024);
+        movieIndex.add(new Movie(false, null, List.of(), 1, "es", "El viaje", "Una historia", 1.0, null,
+                "1982-01-01", "The trip", false, 5.0, 10), List.of());
+        movieIndex.search("viaje", 10);
+
+        final var registry = new SimpleMeterRegistry();
+        new MovieIndexMetrics(movieIndex).bindTo(registry);
+
+        final var lookups = registry.find("index.movies.lookups").functionCounter();
+        assertNotNull(lookups);
+        assertEquals(1.0, lookups.count());
+
+        final var evictions = registry.find("index.movies.evictions").functionCounter();
+        assertNotNull(evictions);
+        assertEquals(0.0, evictions.count());
+
+        final var size = registry.find("index.movies.size").gauge();
+        assertNotNull(size);
+        assertEquals(1.0, size.value());
+
+        final var terms = registry.find("index.movies.terms").gauge();
+        assertNotNull(terms);
+        assertEquals(6.0, terms.value());
+
+        final var used = registry.find("index.movies.used").gauge();
+        assertNotNull(used);
+        assertTrue(used.value() > 0);
+    }
+}
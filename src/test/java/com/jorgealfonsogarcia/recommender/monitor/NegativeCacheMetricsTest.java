@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.NegativeCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Unit tests for {@link NegativeCacheMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class NegativeCacheMetricsTest {
+
+    /**
+     * GIVEN:   A negative cache with a recorded key looked up twice.
+     * WHEN:    The metrics are bound.
+     * THEN:    The calls saved and the additions are reported.
+     */
+    @Test
+    void givenNegativeCache_whenBindTo_thenCountersRegistered() {
+        final var negativeCache = new NegativeCache(Duration.ofMinutes(10), 1000, 0.01, Clock.systemUTC());
+        negativeCache.recordEmpty("discover_1982_35_xx");
+        negativeCache.mightBeEmpty("discover_1982_35_xx");
+        negativeCache.mightBeEmpty("discover_1982_35_xx");
+
+        final var registry = new SimpleMeterRegistry();
+        new NegativeCacheMetrics(negativeCache).bindTo(registry);
+
+        final var saved = registry.find("cache.negative.calls.saved").functionCounter();
+        assertNotNull(saved);
+        assertEquals(2.0, saved.count());
+
+        final var additions = registry.find("cache.negative.additions").functionCounter();
+        assertNotNull(additions);
+        assertEquals(1.0, additions.count());
+    }
+}
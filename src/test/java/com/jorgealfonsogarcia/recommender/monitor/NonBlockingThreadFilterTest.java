@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link NonBlockingThreadFilter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class NonBlockingThreadFilterTest {
+
+    private NonBlockingThreadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new NonBlockingThreadFilter();
+        filter.setOnMatch(FilterReply.ACCEPT);
+        filter.setOnMismatch(FilterReply.DENY);
+        filter.start();
+    }
+
+    /**
+     * GIVEN:   An event logged from a blocking thread.
+     * WHEN:    The event is filtered.
+     * THEN:    The mismatch reply is returned.
+     */
+    @Test
+    void givenBlockingThread_whenDecide_thenMismatch() {
+        assertEquals(FilterReply.DENY, filter.decide(new LoggingEvent()));
+    }
+
+    /**
+     * GIVEN:   An event logged from a non-blocking thread.
+     * WHEN:    The event is filtered.
+     * THEN:    The match reply is returned.
+     */
+    @Test
+    void givenNonBlockingThread_whenDecide_thenMatch() {
+        final var result = Mono.fromCallable(() -> filter.decide(new LoggingEvent()))
+                .subscribeOn(Schedulers.parallel())
+                .block();
+
+        assertEquals(FilterReply.ACCEPT, result);
+    }
+
+    /**
+     * GIVEN:   A stopped filter.
+     * WHEN:    An event is filtered.
+     * THEN:    The neutral reply is returned.
+     */
+    @Test
+    void givenStoppedFilter_whenDecide_thenNeutral() {
+        filter.stop();
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(new LoggingEvent()));
+    }
+}
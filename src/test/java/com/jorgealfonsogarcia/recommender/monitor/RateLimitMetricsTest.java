@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.admission.ClientRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link RateLimitMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class RateLimitMetricsTest {
+
+    /**
+     * GIVEN:   A client rate limiter with a request allowed and another limited.
+     * WHEN:    The metrics are bound.
+     * THEN:    The allowed and limited requests and the clients are reported.
+     */
+    @Test
+    void givenClientRateLimiter_whenBindTo_thenMetersRegistered() {
+        final var clientRateLimiter = new ClientRateLimiter(1, 1, 1000, Duration.ofMinutes(10), Clock.systemUTC());
+        clientRateLimiter.tryAcquire("ip:10.0.0.1", 1);
+        clientRateLimiter.tryAcquire("ip:10.0.0.1", 1);
+
+        final var registry = new SimpleMeterRegistry();
+        //noinspection unchecked
+        new RateLimitMetrics(mock(ObjectProvider.class)).bindTo(registry, clientRateLimiter);
+
+        final var allowed = registry.find("ratelimit.requests").tag("result", "allowed").functionCounter();
+        assertNotNull(allowed);
+        assertEquals(1.0, allowed.count());
+
+        final var limited = registry.find("ratelimit.requests").tag("result", "limited").functionCounter();
+        assertNotNull(limited);
+        assertEquals(1.0, limited.count());
+
+        final var clients = registry.find("ratelimit.clients").gauge();
+        assertNotNull(clients);
+        assertEquals(1.0, clients.value());
+    }
+}
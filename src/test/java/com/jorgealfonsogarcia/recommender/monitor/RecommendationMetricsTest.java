@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.services.RecommendationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link RecommendationMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class RecommendationMetricsTest {
+
+    /**
+     * GIVEN:   A recommendation service with a trained model.
+     * WHEN:    The metrics are bound.
+     * THEN:    The interactions, trainings, users and movies are reported.
+     */
+    @Test
+    void givenRecommendationService_whenBindTo_thenMetersRegistered() {
+        final var recommendationService = mock(RecommendationService.class);
+        doReturn(12).when(recommendationService).getInteractions();
+        doReturn(2L).when(recommendationService).getTrainings();
+        doReturn(3).when(recommendationService).getUsers();
+        doReturn(5).when(recommendationService).getMovies();
+
+        final var registry = new SimpleMeterRegistry();
+        new RecommendationMetrics(recommendationService).bindTo(registry);
+
+        final var interactions = registry.find("recommendations.interactions").functionCounter();
+        assertNotNull(interactions);
+        assertEquals(12.0, interactions.count());
+
+        final var trainings = registry.find("recommendations.trainings").functionCounter();
+        assertNotNull(trainings);
+        assertEquals(2.0, trainings.count());
+
+        final var users = registry.find("recommendations.users").gauge();
+        assertNotNull(users);
+        assertEquals(3.0, users.value());
+
+        final var movies = registry.find("recommendations.movies").gauge();
+        assertNotNull(movies);
+        assertEquals(5.0, movies.value());
+    }
+}
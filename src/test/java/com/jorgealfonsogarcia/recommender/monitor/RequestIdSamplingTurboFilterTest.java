@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RequestIdSamplingTurboFilter} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class RequestIdSamplingTurboFilterTest {
+
+    private static final String LOGGER_NAME = "org.springframework.web.reactive.function.client.ExchangeFunctions";
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    private RequestIdSamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestIdSamplingTurboFilter();
+        filter.setContext(loggerContext);
+        filter.setLoggerName(LOGGER_NAME);
+    }
+
+    /**
+     * GIVEN:   A sample rate of 0.
+     * WHEN:    A debug exchange event with a request id is filtered.
+     * THEN:    The event is denied and counted.
+     */
+    @Test
+    void givenSampleRateZero_whenDecide_thenDenyAndCount() {
+        filter.setSampleRate(0.0);
+        filter.start();
+
+        final var result = decide(Level.DEBUG, "[request-1] HTTP GET https://localhost/genre/movie/list");
+
+        assertEquals(FilterReply.DENY, result);
+        assertEquals(1, filter.getSampledOutEvents());
+    }
+
+    /**
+     * GIVEN:   A sample rate of 1.
+     * WHEN:    A debug exchange event with a request id is filtered.
+     * THEN:    The event is left to the other filters.
+     */
+    @Test
+    void givenSampleRateOne_whenDecide_thenNeutral() {
+        filter.setSampleRate(1.0);
+        filter.start();
+
+        final var result = decide(Level.DEBUG, "[request-1] HTTP GET https://localhost/genre/movie/list");
+
+        assertEquals(FilterReply.NEUTRAL, result);
+        assertEquals(0, filter.getSampledOutEvents());
+    }
+
+    /**
+     * GIVEN:   A partial sample rate.
+     * WHEN:    Several events of the same request are filtered.
+     * THEN:    All of them get the same decision.
+     */
+    @Test
+    void givenPartialSampleRate_whenDecideSameRequest_thenSameDecision() {
+        filter.setSampleRate(0.5);
+        filter.start();
+
+        IntStream.range(0, 100).forEach(request -> {
+            final var first = decide(Level.DEBUG, "[request-%d] HTTP GET".formatted(request));
+            final var second = decide(Level.DEBUG, "[request-%d] [c0ffee] Response 200 OK".formatted(request));
+            assertEquals(first, second);
+        });
+    }
+
+    /**
+     * GIVEN:   A sample rate of 0.
+     * WHEN:    Events that are not debug exchange events with a request id are filtered.
+     * THEN:    They are left to the other filters.
+     */
+    @Test
+    void givenSampleRateZero_whenDecideOtherEvents_thenNeutral() {
+        filter.setSampleRate(0.0);
+        filter.start();
+
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "[request-1] HTTP GET"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, "HTTP GET without prefix"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, loggerContext.getLogger("other"), Level.DEBUG,
+                "[request-1] HTTP GET", null, null));
+        assertEquals(0, filter.getSampledOutEvents());
+    }
+
+    /**
+     * GIVEN:   No logger name.
+     * WHEN:    The filter is started.
+     * THEN:    It does not start.
+     */
+    @Test
+    void givenNoLoggerName_whenStart_thenNotStarted() {
+        filter.setLoggerName(null);
+        filter.start();
+
+        assertFalse(filter.isStarted());
+    }
+
+    /**
+     * GIVEN:   A logger name.
+     * WHEN:    The filter is started.
+     * THEN:    It starts.
+     */
+    @Test
+    void givenLoggerName_whenStart_thenStarted() {
+        filter.start();
+
+        assertTrue(filter.isStarted());
+    }
+
+    private FilterReply decide(Level level, String format) {
+        return filter.decide(null, loggerContext.getLogger(LOGGER_NAME), level, format, null, null);
+    }
+}
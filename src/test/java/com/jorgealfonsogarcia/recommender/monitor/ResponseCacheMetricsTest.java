@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link ResponseCacheMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ResponseCacheMetricsTest {
+
+    /**
+     * GIVEN:   A response cache with a cached response looked up twice.
+     * WHEN:    The metrics are bound.
+     * THEN:    The hits, misses, size and bytes are reported.
+     */
+    @Test
+    void givenResponseCache_whenBindTo_thenMetersRegistered() {
+        final var responseCache = new ResponseCache(1024 * 1024, 1024, Duration.ofMinutes(60));
+        responseCache.get("languages");
+        responseCache.put("languages", "application/json", "\"tag\"", null, null,
+                "[]".getBytes(StandardCharsets.UTF_8));
+        responseCache.get("languages");
+
+        final var registry = new SimpleMeterRegistry();
+        //noinspection unchecked
+        new ResponseCacheMetrics(mock(ObjectProvider.class)).bindTo(registry, responseCache);
+
+        final var hits = registry.find("cache.response.gets").tag("result", "hit").functionCounter();
+        assertNotNull(hits);
+        assertEquals(1.0, hits.count());
+
+        final var misses = registry.find("cache.response.gets").tag("result", "miss").functionCounter();
+        assertNotNull(misses);
+        assertEquals(1.0, misses.count());
+
+        final var size = registry.find("cache.response.size").gauge();
+        assertNotNull(size);
+        assertEquals(1.0, size.value());
+
+        final var used = registry.find("cache.response.used").gauge();
+        assertNotNull(used);
+        assertEquals(2.0, used.value());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.cache.StaleCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Unit tests for {@link StaleCacheMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class StaleCacheMetricsTest {
+
+    /**
+     * GIVEN:   A stale cache with a value found once and a key missed once.
+     * WHEN:    The metrics are bound.
+     * THEN:    The values served, the misses and the size are reported.
+     */
+    @Test
+    void givenStaleCache_whenBindTo_thenMetersRegistered() {
+        final var staleCache = new StaleCache(1000, Duration.ofHours(24), Clock.systemUTC());
+        staleCache.put("languages", List.of("en"));
+        staleCache.get("languages");
+        staleCache.get("genres_xx");
+
+        final var registry = new SimpleMeterRegistry();
+        new StaleCacheMetrics(staleCache).bindTo(registry);
+
+        final var served = registry.find("cache.stale.served").functionCounter();
+        assertNotNull(served);
+        assertEquals(1.0, served.count());
+
+        final var misses = registry.find("cache.stale.misses").functionCounter();
+        assertNotNull(misses);
+        assertEquals(1.0, misses.count());
+
+        final var size = registry.find("cache.stale.size").gauge();
+        assertNotNull(size);
+        assertEquals(1.0, size.value());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.config.EventLoopConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.LoopResources;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ThreadPoolMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class ThreadPoolMetricsTest {
+
+    /**
+     * GIVEN:   Server event loops with a thread that keeps its CPU busy.
+     * WHEN:    The metrics are bound and sampled twice.
+     * THEN:    The pool reports its thread, no pending tasks and a utilization above zero.
+     */
+    @Test
+    void givenBusyServerLoop_whenBindTo_thenUtilizationReported() throws Exception {
+        final var serverLoopResources = LoopResources.create(EventLoopConfig.SERVER_THREAD_PREFIX, 1, 1, true);
+        final var clientLoopResources = LoopResources.create(EventLoopConfig.CLIENT_THREAD_PREFIX, 1, true);
+        try {
+            final var registry = new SimpleMeterRegistry();
+            new ThreadPoolMetrics(serverLoopResources, clientLoopResources).bindTo(registry);
+
+            final var eventLoop = serverLoopResources.onServer(true).next();
+            eventLoop.submit(() -> {
+            }).get(5, TimeUnit.SECONDS);
+
+            final var utilization = registry.find("threadpool.utilization").tag("pool", "server").gauge();
+            assertNotNull(utilization);
+            assertEquals(0.0, utilization.value());
+
+            eventLoop.submit(() -> {
+                final var end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                var spins = 0L;
+                while (System.nanoTime() < end) {
+                    spins++;
+                }
+                return spins;
+            }).get(5, TimeUnit.SECONDS);
+
+            assertTrue(utilization.value() > 0.0);
+
+            final var threads = registry.find("threadpool.threads").tag("pool", "server").gauge();
+            assertNotNull(threads);
+            assertEquals(1.0, threads.value());
+
+            final var pendingTasks = registry.find("threadpool.tasks.pending").tag("pool", "server").gauge();
+            assertNotNull(pendingTasks);
+            assertEquals(0.0, pendingTasks.value());
+
+            assertNotNull(registry.find("threadpool.utilization").tag("pool", "compute").gauge());
+            assertNotNull(registry.find("threadpool.tasks.pending").tag("pool", "client").gauge());
+        } finally {
+            serverLoopResources.disposeLater().block();
+            clientLoopResources.disposeLater().block();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.admission.UpstreamPacer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link UpstreamPacingMetrics} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class UpstreamPacingMetricsTest {
+
+    /**
+     * GIVEN:   An upstream pacer with a call sent, another delayed and a 429 Too Many Requests.
+     * WHEN:    The metrics are bound.
+     * THEN:    The calls by result, the throttled calls and the pause are reported.
+     */
+    @Test
+    void givenUpstreamPacer_whenBindTo_thenMetersRegistered() {
+        final var clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        final var upstreamPacer = new UpstreamPacer(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(3),
+                Duration.ofMinutes(1), clock);
+        upstreamPacer.reserve();
+        upstreamPacer.reserve();
+        upstreamPacer.onResponse(HttpStatus.TOO_MANY_REQUESTS, new HttpHeaders());
+
+        final var registry = new SimpleMeterRegistry();
+        //noinspection unchecked
+        new UpstreamPacingMetrics(mock(ObjectProvider.class)).bindTo(registry, upstreamPacer);
+
+        final var immediate = registry.find("upstream.pacing.calls").tag("result", "immediate").functionCounter();
+        assertNotNull(immediate);
+        assertEquals(1.0, immediate.count());
+
+        final var delayed = registry.find("upstream.pacing.calls").tag("result", "delayed").functionCounter();
+        assertNotNull(delayed);
+        assertEquals(1.0, delayed.count());
+
+        final var rejected = registry.find("upstream.pacing.calls").tag("result", "rejected").functionCounter();
+        assertNotNull(rejected);
+        assertEquals(0.0, rejected.count());
+
+        final var throttled = registry.find("upstream.pacing.throttled").functionCounter();
+        assertNotNull(throttled);
+        assertEquals(1.0, throttled.count());
+
+        final var pause = registry.find("upstream.pacing.pause").timeGauge();
+        assertNotNull(pause);
+        assertEquals(3000.0, pause.value(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.monitor;
+
+import com.jorgealfonsogarcia.recommender.services.WarmUpService;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.boot.actuate.health.Status.OUT_OF_SERVICE;
+import static org.springframework.boot.actuate.health.Status.UP;
+
+/**
+ * Unit tests for {@link WarmUpHealthIndicator} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ExtendWith(MockitoExtension.class)
+class WarmUpHealthIndicatorTest {
+
+    @Mock
+    private WarmUpService warmUpService;
+
+    @InjectMocks
+    private WarmUpHealthIndicator warmUpHealthIndicator;
+
+    private static Stream<Arguments> givenWarmUpState_whenHealth_thenStatus_source() {
+        return Stream.of(
+                Arguments.of(WarmUpService.State.PENDING, OUT_OF_SERVICE),
+                Arguments.of(WarmUpService.State.RUNNING, OUT_OF_SERVICE),
+                Arguments.of(WarmUpService.State.COMPLETED, UP),
+                Arguments.of(WarmUpService.State.TIMED_OUT, UP),
+                Arguments.of(WarmUpService.State.DISABLED, UP)
+        );
+    }
+
+    /**
+     * GIVEN:   A warm-up state.
+     * WHEN:    The health indicator is called.
+     * THEN:    The status matches the state and the counts are returned.
+     *
+     * @param state  The warm-up state.
+     * @param status The expected status.
+     */
+    @ParameterizedTest
+    @MethodSource("givenWarmUpState_whenHealth_thenStatus_source")
+    void givenWarmUpState_whenHealth_thenStatus(final WarmUpService.State state, final Status status) {
+        doReturn(state).when(warmUpService).getState();
+        doReturn(3).when(warmUpService).getLoaded();
+        doReturn(1).when(warmUpService).getFailed();
+
+        final var result = warmUpHealthIndicator.health();
+
+        assertEquals(status, result.getStatus());
+        assertEquals(state, result.getDetails().get("state"));
+        assertEquals(3, result.getDetails().get("loaded"));
+        assertEquals(1, result.getDetails().get("failed"));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.recommendation;
+
+import com.jorgealfonsogarcia.recommender.config.RecommendationProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.InteractionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link AlsTrainer} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class AlsTrainerTest {
+
+    @TempDir
+    private Path directory;
+
+    private InteractionLog interactionLog;
+
+    /**
+     * Two groups of 100 users. Each user of the first group interacted with two of the movies 10, 11 and 12, and each
+     * user of the second group with two of the movies 20, 21 and 22, the likes weighing more than the views.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        interactionLog = new InteractionLog(directory.resolve("interactions.log"));
+        for (var user = 1; user <= 200; user++) {
+            final var firstMovie = user <= 100 ? 10 : 20;
+            final var skipped = user % 3;
+            for (var movie = 0; movie < 3; movie++) {
+                if (movie != skipped) {
+                    interactionLog.append(user, firstMovie + movie, movie == 0 ? InteractionType.LIKE
+                            : InteractionType.VIEW);
+                }
+            }
+        }
+    }
+
+    /**
+     * GIVEN:   Users in two groups, each interacting with the movies of its group.
+     * WHEN:    A model is trained, in parallel, and movies are recommended.
+     * THEN:    Each user is recommended the movie of its group it did not interact with first.
+     */
+    @Test
+    void givenGroupsOfUsers_whenTrain_thenRecommendMovieOfTheGroup() {
+        final var model = trainer(10).train(interactionLog, FactorModel.empty()).join();
+
+        assertEquals(400, model.getVersion());
+        assertEquals(200, model.getUsers());
+        assertEquals(6, model.getMovies());
+        assertEquals(11, best(model, 1));
+        assertEquals(12, best(model, 2));
+        assertEquals(22, best(model, 200));
+        assertEquals(10, best(model, 999));
+    }
+
+    /**
+     * GIVEN:   A trained model and new interactions of a new user.
+     * WHEN:    A model is trained again without sweeps, from the previous one.
+     * THEN:    The users of the previous model keep their factors, and the new user is added.
+     */
+    @Test
+    void givenPreviousModel_whenTrainIncrementally_thenPreviousFactorsKept() {
+        final var first = trainer(10).train(interactionLog, FactorModel.empty()).join();
+        interactionLog.append(201, 21, InteractionType.LIKE);
+
+        final var model = trainer(0).train(interactionLog, first).join();
+
+        assertEquals(401, model.getVersion());
+        assertEquals(201, model.getUsers());
+        assertArrayEquals(factors(first, 1), factors(model, 1));
+    }
+
+    /**
+     * GIVEN:   A trainer that trained a model, and new interactions appended to the log.
+     * WHEN:    It trains again from that model.
+     * THEN:    The model is the one trained by a new trainer from the whole log, as the weights it replayed before are
+     *          kept.
+     */
+    @Test
+    void givenTrainedLog_whenTrainAgain_thenSameModelAsWholeReplay() {
+        final var trainer = trainer(2);
+        final var first = trainer.train(interactionLog, FactorModel.empty()).join();
+        interactionLog.append(201, 21, InteractionType.LIKE);
+        interactionLog.append(1, 20, InteractionType.VIEW);
+
+        final var model = trainer.train(interactionLog, first).join();
+        final var replayed = trainer(2).train(interactionLog, first).join();
+
+        assertEquals(402, model.getVersion());
+        assertEquals(replayed.getMovies(), model.getMovies());
+        assertArrayEquals(factors(replayed, 1), factors(model, 1));
+        assertArrayEquals(factors(replayed, 201), factors(model, 201));
+    }
+
+    private static AlsTrainer trainer(final int incrementalIterations) {
+        return new AlsTrainer(new RecommendationProperties.Training(4, 10, incrementalIterations, 0.1, 10,
+                Duration.ZERO), ForkJoinPool.commonPool());
+    }
+
+    private static int best(final FactorModel model,
+                            final int userId) {
+        final var movieIds = new int[1];
+        model.recommend(userId, movieIds, new float[1]);
+        return movieIds[0];
+    }
+
+    private static float[] factors(final FactorModel model,
+                                   final int userId) {
+        final var vector = new float[4];
+        model.copyUserFactors(userId, vector);
+        return vector;
+    }
+}
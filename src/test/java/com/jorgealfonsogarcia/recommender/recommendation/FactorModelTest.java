@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link FactorModel} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class FactorModelTest {
+
+    /**
+     * Two users and four movies of two factors. User 10 already saw movie 100.
+     */
+    private static final FactorModel MODEL = new FactorModel(3, 2,
+            new int[]{10, 20},
+            new float[]{1.0f, 0.0f, 0.0f, 1.0f},
+            new int[]{100, 200, 300, 400},
+            new float[]{5.0f, 0.0f, 3.0f, 1.0f, 1.0f, 4.0f, 2.0f, 0.0f},
+            new int[]{0, 1, 3},
+            new int[]{0, 1, 2},
+            new int[]{2, 0, 1, 3},
+            new float[]{5.0f, 4.0f, 1.0f, 0.0f});
+
+    /**
+     * GIVEN:   A model and a user with an interaction.
+     * WHEN:    Movies are recommended to the user.
+     * THEN:    Return the movies the user did not interact with, by the dot product of their factors.
+     */
+    @Test
+    void givenUser_whenRecommend_thenBestUnseenMovies() {
+        final var movieIds = new int[2];
+        final var scores = new float[2];
+
+        assertEquals(2, MODEL.recommend(10, movieIds, scores));
+        assertArrayEquals(new int[]{200, 400}, movieIds);
+        assertArrayEquals(new float[]{3.0f, 2.0f}, scores);
+    }
+
+    /**
+     * GIVEN:   A model and a user with interactions with most of the movies.
+     * WHEN:    More movies are recommended than the user has left.
+     * THEN:    Return only the movies left.
+     */
+    @Test
+    void givenFewMoviesLeft_whenRecommend_thenOnlyThose() {
+        final var movieIds = new int[4];
+        final var scores = new float[4];
+
+        assertEquals(2, MODEL.recommend(20, movieIds, scores));
+        assertArrayEquals(new int[]{100, 400, 0, 0}, movieIds);
+    }
+
+    /**
+     * GIVEN:   A model and a user without interactions.
+     * WHEN:    Movies are recommended to the user.
+     * THEN:    Return the most popular movies, with their total weights.
+     */
+    @Test
+    void givenUnknownUser_whenRecommend_thenPopularMovies() {
+        final var movieIds = new int[3];
+        final var scores = new float[3];
+
+        assertEquals(3, MODEL.recommend(30, movieIds, scores));
+        assertArrayEquals(new int[]{300, 100, 200}, movieIds);
+        assertArrayEquals(new float[]{5.0f, 4.0f, 1.0f}, scores);
+        assertEquals(0, FactorModel.empty().recommend(30, movieIds, scores));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.recommendation;
+
+import com.jorgealfonsogarcia.recommender.domain.models.InteractionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link InteractionLog} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class InteractionLogTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * GIVEN:   Interactions appended to a log.
+     * WHEN:    The log is opened again and replayed.
+     * THEN:    Return the same interactions, in order.
+     */
+    @Test
+    void givenAppendedInteractions_whenReopen_thenReplayed() throws IOException {
+        final var file = directory.resolve("interactions.log");
+        final var interactionLog = new InteractionLog(file);
+        interactionLog.append(1, 550, InteractionType.VIEW);
+        interactionLog.append(2, -3, InteractionType.LIKE);
+        interactionLog.close();
+
+        final var reopened = new InteractionLog(file);
+
+        assertEquals(List.of("1:550:VIEW", "2:-3:LIKE"), replay(reopened));
+        assertEquals(2, reopened.getSize());
+    }
+
+    /**
+     * GIVEN:   A log whose last record is torn.
+     * WHEN:    The log is opened again and an interaction appended.
+     * THEN:    The records before it are kept and the new one replaces it.
+     */
+    @Test
+    void givenTornRecord_whenReopen_thenPreviousRecordsKept() throws IOException {
+        final var file = directory.resolve("interactions.log");
+        final var interactionLog = new InteractionLog(file);
+        interactionLog.append(1, 550, InteractionType.VIEW);
+        interactionLog.append(2, 680, InteractionType.LIKE);
+        interactionLog.close();
+
+        final var content = Files.readAllBytes(file);
+        content[InteractionLog.RECORD_LENGTH + 5] ^= 0x7F;
+        Files.write(file, content);
+
+        final var reopened = new InteractionLog(file);
+        reopened.append(3, 13, InteractionType.LIKE);
+
+        assertEquals(List.of("1:550:VIEW", "3:13:LIKE"), replay(reopened));
+    }
+
+    /**
+     * GIVEN:   More interactions than the initial room of the log.
+     * WHEN:    They are appended and the log is opened again.
+     * THEN:    The log grows and keeps all of them.
+     */
+    @Test
+    void givenManyInteractions_whenAppend_thenLogGrows() throws IOException {
+        final var file = directory.resolve("interactions.log");
+        final var interactionLog = new InteractionLog(file);
+        for (var user = 0; user < 10_000; user++) {
+            interactionLog.append(user, user % 7, InteractionType.VIEW);
+        }
+
+        interactionLog.close();
+
+        final var reopened = new InteractionLog(file);
+        final var users = new ArrayList<Integer>();
+        reopened.replay((userId, movieId, type) -> users.add(userId));
+
+        assertEquals(10_000, users.size());
+        assertEquals(9_999, users.get(9_999));
+    }
+
+    /**
+     * GIVEN:   A log being replayed from its second interaction.
+     * WHEN:    Other threads append enough interactions to grow the log while the replay is running.
+     * THEN:    The appends do not wait for the replay, which only returns the interactions appended before it started.
+     */
+    @Test
+    void givenReplayFromPosition_whenAppendMeanwhile_thenAppendNotBlocked() throws Exception {
+        final var interactionLog = new InteractionLog(directory.resolve("interactions.log"));
+        interactionLog.append(1, 10, InteractionType.VIEW);
+        interactionLog.append(2, 20, InteractionType.LIKE);
+        interactionLog.append(3, 30, InteractionType.VIEW);
+
+        final var interactions = new ArrayList<String>();
+        final var count = interactionLog.replay(1, (userId, movieId, type) -> {
+            if (interactions.isEmpty()) {
+                CompletableFuture.runAsync(() -> {
+                    for (var user = 100; user < 10_000; user++) {
+                        interactionLog.append(user, 1, InteractionType.VIEW);
+                    }
+                }).join();
+            }
+
+            interactions.add("%d:%d:%s".formatted(userId, movieId, type));
+        });
+
+        assertEquals(3, count);
+        assertEquals(List.of("2:20:LIKE", "3:30:VIEW"), interactions);
+        assertEquals(9_903, interactionLog.getSize());
+    }
+
+    private static List<String> replay(final InteractionLog interactionLog) {
+        final var interactions = new ArrayList<String>();
+        interactionLog.replay((userId, movieId, type) -> interactions.add("%d:%d:%s".formatted(userId, movieId, type)));
+        return interactions;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.config.SearchProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.domain.models.Suggestion;
+import com.jorgealfonsogarcia.recommender.index.MovieIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link AutocompleteService} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class AutocompleteServiceTest {
+
+    private MovieIndex movieIndex;
+
+    @BeforeEach
+    void setUp() {
+        movieIndex = new MovieIndex(1024 * 1024);
+        movieIndex.add(movie(1, "es", "Wild heart", "Corazón salvaje", 30.0), List.of());
+        movieIndex.add(movie(2, "pt", "Heart of Brazil", "Coração do Brasil", 50.0), List.of());
+    }
+
+    /**
+     * GIVEN:   Indexed movies of two original languages.
+     * WHEN:    A prefix is completed for one of the languages, and for any language.
+     * THEN:    Return the titles of the movies of the language, and of all the movies, rebuilding the tries once.
+     */
+    @Test
+    void givenIndexedMovies_whenComplete_thenTitlesOfLanguage() {
+        final var autocompleteService = autocompleteService(Duration.ZERO, Schedulers.immediate());
+
+        StepVerifier.create(autocompleteService.complete("coraz", "ES"))
+                .expectNext(List.of(new Suggestion(1, "Corazón salvaje", "1982-01-01")))
+                .verifyComplete();
+
+        StepVerifier.create(autocompleteService.complete("cora", null))
+                .expectNext(List.of(new Suggestion(2, "Coração do Brasil", "1982-01-01"),
+                        new Suggestion(1, "Corazón salvaje", "1982-01-01")))
+                .verifyComplete();
+
+        StepVerifier.create(autocompleteService.complete("cora", "fr"))
+                .expectNext(List.of())
+                .verifyComplete();
+
+        assertEquals(1, autocompleteService.getRebuilds());
+        assertEquals(4, autocompleteService.getSize());
+    }
+
+    /**
+     * GIVEN:   An autocomplete service whose tries are rebuilt on another scheduler.
+     * WHEN:    A prefix is completed before and after the rebuild runs.
+     * THEN:    The first completion is answered from the previous, empty, tries, and the second from the rebuilt ones.
+     */
+    @Test
+    void givenPendingRebuild_whenComplete_thenPreviousTries() {
+        final var tasks = new ArrayList<Runnable>();
+        final var autocompleteService = autocompleteService(Duration.ZERO, Schedulers.fromExecutor(tasks::add));
+
+        StepVerifier.create(autocompleteService.complete("wild", null))
+                .expectNext(List.of())
+                .verifyComplete();
+
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        StepVerifier.create(autocompleteService.complete("wild", null))
+                .expectNext(List.of(new Suggestion(1, "Wild heart", "1982-01-01")))
+                .verifyComplete();
+        assertEquals(1, tasks.size());
+    }
+
+    /**
+     * GIVEN:   An autocomplete service with a long rebuild interval, whose tries were just rebuilt.
+     * WHEN:    A movie is indexed and a prefix of its title is completed.
+     * THEN:    The tries are not rebuilt again until the interval passes, so the title is not found yet.
+     */
+    @Test
+    void givenRebuildInterval_whenIndexChanges_thenNotRebuiltAgain() {
+        final var autocompleteService = autocompleteService(Duration.ofHours(1), Schedulers.immediate());
+        autocompleteService.complete("wild", null).block();
+
+        movieIndex.add(movie(3, "es", "The trip", "El viaje", 10.0), List.of());
+
+        StepVerifier.create(autocompleteService.complete("el viaje", null))
+                .assertNext(suggestions -> assertTrue(suggestions.isEmpty()))
+                .verifyComplete();
+        assertEquals(1, autocompleteService.getRebuilds());
+    }
+
+    private AutocompleteService autocompleteService(final Duration rebuildInterval,
+                                                    final Scheduler scheduler) {
+        return new AutocompleteService(movieIndex, new SearchProperties(6, 8, new SearchProperties.Batch(2, 4),
+                new SearchProperties.Page(50, false), new SearchProperties.Lookup(DataSize.ofMegabytes(32), 20),
+                new SearchProperties.Autocomplete(10, rebuildInterval)), scheduler);
+    }
+
+    private static Movie movie(final Integer id,
+                               final String originalLanguage,
+                               final String title,
+                               final String originalTitle,
+                               final Double popularity) {
+        return new Movie(false, null, List.of(35), id, originalLanguage, originalTitle, "Una historia.", popularity,
+                null, "1982-01-01", title, false, 5.0, 100);
+    }
+}
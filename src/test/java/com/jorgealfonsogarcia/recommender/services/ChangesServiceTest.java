@@ -0,0 +1,347 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheStore;
+import com.jorgealfonsogarcia.recommender.cache.DiskCacheWriter;
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.cache.ResponseCache;
+import com.jorgealfonsogarcia.recommender.cache.TieredCache;
+import com.jorgealfonsogarcia.recommender.config.CacheProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.ChangedMovie;
+import com.jorgealfonsogarcia.recommender.domain.models.ChangesResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.utils.ResilienceUtils;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.jorgealfonsogarcia.recommender.utils.ResilienceUtils.applyResilienceForMono;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@link ChangesService} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ExtendWith(MockitoExtension.class)
+class ChangesServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 11, 6);
+    private static final String CELL = "discover_1982_35_es";
+    private static final String OTHER_CELL = "discover_1983_35_es";
+
+    @Mock
+    private CacheManager caffeineCacheManager;
+
+    @Mock
+    private WebClient movieServiceWebClient;
+
+    @Mock
+    private CircuitBreaker moviesCircuitBreaker;
+
+    @Mock
+    private Retry moviesRetry;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private Clock clock;
+
+    private WebClient.RequestHeadersUriSpec<?> uriSpec;
+
+    private WebClient.ResponseSpec responseSpec;
+
+    private MovieKeyIndex movieKeyIndex;
+
+    private ResponseCache responseCache;
+
+    private ChangesService changesService;
+
+    @BeforeEach
+    void setUp() {
+        uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(ZoneOffset.UTC).when(clock).getZone();
+        movieKeyIndex = new MovieKeyIndex(100);
+        responseCache = new ResponseCache(1024 * 1024, 1024, Duration.ofMinutes(60));
+        changesService = new ChangesService(caffeineCacheManager, movieServiceWebClient, moviesCircuitBreaker,
+                moviesRetry, movieKeyIndex, responseCache, new CacheProperties(10_000, Duration.ofMinutes(60),
+                new CacheProperties.DiskTier(false, null, Duration.ofHours(24), DataSize.ofGigabytes(1),
+                        DataSize.ofMegabytes(64), 0.5, 10_000),
+                new CacheProperties.Negative(Duration.ofMinutes(10), 100_000, 0.01),
+                new CacheProperties.Response(true, DataSize.ofMegabytes(64), DataSize.ofKilobytes(1)),
+                new CacheProperties.Stale(10_000, Duration.ofHours(24)),
+                new CacheProperties.Changes(true, Duration.ofMinutes(10), 100)), clock);
+    }
+
+    /**
+     * GIVEN:   Two cached discover calls, with a response built from each, and a changes feed of two pages listing a
+     *          movie of one of them and an untracked movie.
+     * WHEN:    The feed is polled.
+     * THEN:    Every page of the changes of the day is read, and only the discover call holding the changed movie,
+     *          and its response, are evicted.
+     */
+    @Test
+    void givenChangedMovie_whenPoll_thenOnlyItsEntriesEvicted() {
+        doReturn(DAY.atStartOfDay().toInstant(ZoneOffset.UTC)).when(clock).instant();
+        movieKeyIndex.recordCell(CELL, List.of(movie(1), movie(2)));
+        movieKeyIndex.recordCell(OTHER_CELL, List.of(movie(3)));
+        doReturn(cache).when(caffeineCacheManager).getCache("moviesCache");
+        cacheResponse("search:1982", CELL);
+        cacheResponse("search:1983", OTHER_CELL);
+        doReturn(Mono.just(changes(1, 2, 2)), Mono.just(changes(2, 2, 99)))
+                .when(responseSpec).bodyToMono(ChangesResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<ChangesResponse>>>getArgument(0).get());
+
+            StepVerifier.create(changesService.poll())
+                    .expectNext(new MovieKeyIndex.Invalidation(Set.of(CELL), Set.of("search:1982")))
+                    .verifyComplete();
+        }
+
+        verify(uriSpec).uri(anyString(), eq(DAY), eq(DAY), eq(1));
+        verify(uriSpec).uri(anyString(), eq(DAY), eq(DAY), eq(2));
+        verify(cache).evict(CELL);
+        verify(cache, never()).evict(OTHER_CELL);
+        assertNull(responseCache.get("search:1982"));
+        assertNotNull(responseCache.get("search:1983"));
+        assertEquals(1, changesService.getPolls());
+        assertEquals(2, changesService.getChangedMovies());
+        assertEquals(1, changesService.getInvalidatedCells());
+        assertEquals(1, changesService.getInvalidatedResponses());
+    }
+
+    /**
+     * GIVEN:   A changed movie already invalidated today, and its discover call cached again.
+     * WHEN:    The feed is polled again that day, and then on the next day.
+     * THEN:    It is not invalidated again the same day, and it is on the next one, with the changes since the day of
+     *          the previous poll.
+     */
+    @Test
+    void givenInvalidatedMovie_whenPollSameDayAndNextDay_thenInvalidatedOnceADay() {
+        doReturn(DAY.atStartOfDay().toInstant(ZoneOffset.UTC), DAY.atTime(12, 0).toInstant(ZoneOffset.UTC),
+                DAY.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC)).when(clock).instant();
+        doReturn(Mono.just(changes(1, 1, 1))).when(responseSpec).bodyToMono(ChangesResponse.class);
+        doReturn(cache).when(caffeineCacheManager).getCache("moviesCache");
+        movieKeyIndex.recordCell(CELL, List.of(movie(1)));
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<ChangesResponse>>>getArgument(0).get());
+
+            StepVerifier.create(changesService.poll().map(MovieKeyIndex.Invalidation::cells))
+                    .expectNext(Set.of(CELL))
+                    .verifyComplete();
+
+            movieKeyIndex.recordCell(CELL, List.of(movie(1)));
+            StepVerifier.create(changesService.poll().map(MovieKeyIndex.Invalidation::cells))
+                    .expectNext(Set.of())
+                    .verifyComplete();
+
+            StepVerifier.create(changesService.poll().map(MovieKeyIndex.Invalidation::cells))
+                    .expectNext(Set.of(CELL))
+                    .verifyComplete();
+        }
+
+        verify(uriSpec, times(2)).uri(anyString(), eq(DAY), eq(DAY), eq(1));
+        verify(uriSpec).uri(anyString(), eq(DAY), eq(DAY.plusDays(1)), eq(1));
+        verify(cache, times(2)).evict(CELL);
+        assertEquals(3, changesService.getPolls());
+        assertEquals(2, changesService.getChangedMovies());
+    }
+
+    /**
+     * GIVEN:   A changes feed that fails.
+     * WHEN:    The feed is polled.
+     * THEN:    Return the error, and nothing is evicted nor counted as polled.
+     */
+    @Test
+    void givenFailingFeed_whenPoll_thenErrorAndNothingEvicted() {
+        doReturn(DAY.atStartOfDay().toInstant(ZoneOffset.UTC)).when(clock).instant();
+        movieKeyIndex.recordCell(CELL, List.of(movie(1)));
+        doReturn(Mono.error(new IllegalStateException("Unavailable")))
+                .when(responseSpec).bodyToMono(ChangesResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<ChangesResponse>>>getArgument(0).get());
+
+            StepVerifier.create(changesService.poll())
+                    .verifyError(IllegalStateException.class);
+        }
+
+        verify(cache, never()).evict(any());
+        assertEquals(1, movieKeyIndex.getCells());
+        assertEquals(0, changesService.getPolls());
+    }
+
+    /**
+     * GIVEN:   A cached discover call, with a response built from it, in an index tracking at most 100 calls.
+     * WHEN:    100 other discover calls are recorded, and then a feed without changes is polled.
+     * THEN:    The first one stays cached and only its response is evicted when they are dropped, as its changes would
+     *          no longer be found, without counting it as invalidated.
+     */
+    @Test
+    void givenFullIndex_whenRecordCell_thenOnlyDroppedResponsesEvicted() {
+        doReturn(DAY.atStartOfDay().toInstant(ZoneOffset.UTC)).when(clock).instant();
+        doReturn(cache).when(caffeineCacheManager).getCache("moviesCache");
+        doReturn(Mono.just(changes(1, 1))).when(responseSpec).bodyToMono(ChangesResponse.class);
+        movieKeyIndex.recordCell(CELL, List.of(movie(1)));
+        cacheResponse("search:1982", CELL);
+        cacheResponse("search:1983", OTHER_CELL);
+
+        for (var year = 2000; year < 2100; year++) {
+            movieKeyIndex.recordCell("discover_%d_35_es".formatted(year), List.of(movie(year)));
+        }
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<ChangesResponse>>>getArgument(0).get());
+
+            StepVerifier.create(changesService.poll())
+                    .expectNext(new MovieKeyIndex.Invalidation(Set.of(), Set.of()))
+                    .verifyComplete();
+        }
+
+        verify(cache, never()).evict(any());
+        assertNull(responseCache.get("search:1982"));
+        assertNotNull(responseCache.get("search:1983"));
+        assertEquals(100, movieKeyIndex.getCells());
+        assertEquals(0, changesService.getInvalidatedCells());
+    }
+
+    /**
+     * GIVEN:   Discover calls and another value stored on disk before a restart, and a changes feed listing a movie of
+     *          one of the calls.
+     * WHEN:    The stored discover calls are tracked, and then the feed is polled.
+     * THEN:    Only the discover calls are tracked, without loading them into memory, and the one holding the changed
+     *          movie is evicted from both levels.
+     */
+    @Test
+    void givenCellsOnDisk_whenTrackStoredCellsAndPoll_thenChangedCellEvicted(@TempDir final Path directory)
+            throws IOException {
+        doReturn(DAY.atStartOfDay().toInstant(ZoneOffset.UTC)).when(clock).instant();
+        doReturn(Mono.just(changes(1, 1, 1))).when(responseSpec).bodyToMono(ChangesResponse.class);
+        final var diskCacheStore = new DiskCacheStore(directory, 64 * 1024, 256 * 1024, Duration.ofHours(1), 0.5,
+                Clock.systemUTC());
+        final var diskCacheWriter = new DiskCacheWriter(diskCacheStore, 100, Schedulers.immediate(),
+                Schedulers.immediate());
+        final var l1Cache = new ConcurrentMapCache("moviesCache");
+        final var tieredCache = new TieredCache(l1Cache, diskCacheWriter);
+        tieredCache.put(CELL, List.of(movie(1)));
+        tieredCache.put(OTHER_CELL, List.of(movie(2)));
+        tieredCache.put("genres_es", List.of(new Genre(35, "Comedia")));
+        l1Cache.clear();
+        doReturn(tieredCache).when(caffeineCacheManager).getCache("moviesCache");
+
+        StepVerifier.create(changesService.trackStoredCells())
+                .expectNext(2L)
+                .verifyComplete();
+
+        assertEquals(2, movieKeyIndex.getCells());
+        assertNull(l1Cache.get(CELL));
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<ChangesResponse>>>getArgument(0).get());
+
+            StepVerifier.create(changesService.poll())
+                    .expectNext(new MovieKeyIndex.Invalidation(Set.of(CELL), Set.of()))
+                    .verifyComplete();
+        }
+
+        assertNull(tieredCache.get(CELL));
+        assertNotNull(tieredCache.get(OTHER_CELL));
+    }
+
+    private void cacheResponse(final String key,
+                               final String cell) {
+        responseCache.put(key, "application/json", "\"tag\"", null, null, "[]".getBytes(StandardCharsets.UTF_8));
+        movieKeyIndex.recordResponse(key, List.of(cell));
+    }
+
+    private static ChangesResponse changes(final int page,
+                                           final int totalPages,
+                                           final Integer... movieIds) {
+        return new ChangesResponse(page, Arrays.stream(movieIds).map(id -> new ChangedMovie(id, false)).toList(),
+                totalPages, movieIds.length * totalPages);
+    }
+
+    private static Movie movie(final Integer id) {
+        return new Movie(false, null, List.of(35), id, "es", "Título", "Una historia.", 10.0, null, "1982-01-01",
+                "Título", false, 5.0, 100);
+    }
+}
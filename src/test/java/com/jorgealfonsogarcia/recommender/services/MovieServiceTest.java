@@ -24,44 +24,68 @@
 
 package com.jorgealfonsogarcia.recommender.services;
 
+import com.jorgealfonsogarcia.recommender.cache.MovieKeyIndex;
+import com.jorgealfonsogarcia.recommender.cache.NegativeCache;
+import com.jorgealfonsogarcia.recommender.cache.StaleCache;
+import com.jorgealfonsogarcia.recommender.config.EventLoopProperties;
 import com.jorgealfonsogarcia.recommender.domain.models.Genre;
 import com.jorgealfonsogarcia.recommender.domain.models.GenresResponse;
 import com.jorgealfonsogarcia.recommender.domain.models.Language;
 import com.jorgealfonsogarcia.recommender.domain.models.Movie;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
 import com.jorgealfonsogarcia.recommender.domain.models.MoviePageResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchResult;
+import com.jorgealfonsogarcia.recommender.index.MovieIndex;
 import com.jorgealfonsogarcia.recommender.utils.ResilienceUtils;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retry.Retry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.jorgealfonsogarcia.recommender.utils.ResilienceUtils.applyResilienceForFlux;
 import static com.jorgealfonsogarcia.recommender.utils.ResilienceUtils.applyResilienceForMono;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit tests for the {@link MovieService} class.
@@ -85,9 +109,24 @@ class MovieServiceTest {
     @Mock
     private Retry moviesRetry;
 
-    @InjectMocks
+    @Mock
+    private NegativeCache negativeCache;
+
+    private MovieIndex movieIndex;
+
+    private MovieKeyIndex movieKeyIndex;
+
     private MovieService movieService;
 
+    @BeforeEach
+    void setUp() {
+        movieIndex = new MovieIndex(1024 * 1024);
+        movieKeyIndex = new MovieKeyIndex(1000);
+        movieService = new MovieService(caffeineCacheManager, movieServiceWebClient, moviesCircuitBreaker, moviesRetry,
+                negativeCache, new StaleCache(1000, Duration.ofHours(24), Clock.systemUTC()), movieIndex,
+                movieKeyIndex, Schedulers.immediate(), new EventLoopProperties(0, 0, 0, 1000));
+    }
+
     /**
      * GIVEN: Valid parameters.
      * WHEN: Search movies.
@@ -140,7 +179,7 @@ class MovieServiceTest {
                     .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
 
             final var result = movieService.search(1982, 1985, List.of("Genre 1", "Genre 2"),
-                    "lang");
+                    List.of("lang"), 2, MovieField.ALL);
 
             assertNotNull(result);
 
@@ -148,7 +187,7 @@ class MovieServiceTest {
                     .expectNextCount(4)
                     .verifyComplete();
 
-            verify(caffeineCacheManager).getCache(anyString());
+            verify(caffeineCacheManager, times(5)).getCache(anyString());
             verify(movieServiceWebClient, times(5)).get();
             verify(uriSpec, times(5)).uri(anyString(), any(Object[].class));
             verify(headersSpec, times(5)).retrieve();
@@ -185,7 +224,8 @@ class MovieServiceTest {
         verify(valueWrapper).get();
     }
 
-    private static Stream<Arguments> givenValidParametersWithCacheWithWrongValues_whenGetGenres_thenReturnMonoClassCastException_source() {
+    private static Stream<Arguments>
+    givenValidParametersWithCacheWithWrongValues_whenGetGenres_thenReturnMonoClassCastException_source() {
         return Stream.of(
                 Arguments.of("No Expected Value"),
                 Arguments.of((Object) null)
@@ -201,7 +241,8 @@ class MovieServiceTest {
      */
     @ParameterizedTest
     @MethodSource("givenValidParametersWithCacheWithWrongValues_whenGetGenres_thenReturnMonoClassCastException_source")
-    void givenValidParametersWithCacheWithWrongValues_whenGetGenres_thenReturnMonoClassCastException(final Object value) {
+    void givenValidParametersWithCacheWithWrongValues_whenGetGenres_thenReturnMonoClassCastException(
+            final Object value) {
         final var cache = mock(Cache.class);
         doReturn(cache).when(caffeineCacheManager).getCache(anyString());
 
@@ -270,4 +311,694 @@ class MovieServiceTest {
             resilienceUtils.verify(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * GIVEN: Languages in the cache.
+     * WHEN: Get languages.
+     * THEN: Return a flux of the cached languages without calling the API.
+     */
+    @Test
+    void givenLanguagesInCache_whenGetLanguages_thenReturnFluxCachedLanguages() {
+        final var cache = mock(Cache.class);
+        doReturn(cache).when(caffeineCacheManager).getCache(anyString());
+
+        final var valueWrapper = mock(Cache.ValueWrapper.class);
+        doReturn(valueWrapper).when(cache).get("languages");
+
+        final var enLanguage = new Language("en", "English", "English");
+        //noinspection SpellCheckingInspection
+        final var esLanguage = new Language("es", "Spanish", "Español");
+        doReturn(List.of(enLanguage, esLanguage)).when(valueWrapper).get();
+
+        StepVerifier.create(movieService.getLanguages())
+                .expectNext(enLanguage, esLanguage)
+                .verifyComplete();
+
+        verify(cache).get("languages");
+        verifyNoInteractions(movieServiceWebClient);
+    }
+
+    /**
+     * GIVEN: An empty cache.
+     * WHEN: Get genres.
+     * THEN: Return the genres from the API and put them in the cache.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenEmptyCache_whenGetGenres_thenReturnMonoGenresAndPutInCache() {
+        final var cache = mock(Cache.class);
+        doReturn(cache).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        final var genres = List.of(new Genre(1, "Genre 1"), new Genre(2, "Genre 2"));
+        doReturn(Flux.just(new GenresResponse(genres))).when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+
+            StepVerifier.create(movieService.getGenres("lang"))
+                    .expectNext(genres)
+                    .verifyComplete();
+
+            verify(cache).get("genres_lang");
+            verify(cache).put("genres_lang", genres);
+        }
+    }
+
+    /**
+     * GIVEN: A search known to have no results.
+     * WHEN: Search movies.
+     * THEN: Return an empty flux without calling the discover API.
+     */
+    @Test
+    void givenSearchKnownEmpty_whenSearch_thenReturnEmptyFluxWithoutDiscoverCall() {
+        final var cache = mock(Cache.class);
+        doReturn(cache).when(caffeineCacheManager).getCache(anyString());
+
+        final var valueWrapper = mock(Cache.ValueWrapper.class);
+        doReturn(valueWrapper).when(cache).get("genres_xx");
+        doReturn(List.of(new Genre(1, "Genre 1"))).when(valueWrapper).get();
+        doReturn(true).when(negativeCache).mightBeEmpty("discover_1982_1_xx");
+
+        StepVerifier.create(movieService.search(1982, 1982, List.of("Genre 1"), List.of("xx"), 2,
+                        MovieField.ALL))
+                .verifyComplete();
+
+        verify(negativeCache).mightBeEmpty("discover_1982_1_xx");
+        verifyNoInteractions(movieServiceWebClient);
+    }
+
+    /**
+     * GIVEN: A cached search that the negative cache wrongly reports as empty.
+     * WHEN: Search movies.
+     * THEN: The cached movies are returned, without consulting the negative cache.
+     */
+    @Test
+    void givenCachedSearchReportedEmpty_whenSearch_thenReturnCachedMovies() {
+        final var cache = mock(Cache.class);
+        doReturn(cache).when(caffeineCacheManager).getCache(anyString());
+
+        final var genresWrapper = mock(Cache.ValueWrapper.class);
+        doReturn(genresWrapper).when(cache).get("genres_xx");
+        doReturn(List.of(new Genre(1, "Genre 1"))).when(genresWrapper).get();
+
+        final var moviesWrapper = mock(Cache.ValueWrapper.class);
+        doReturn(moviesWrapper).when(cache).get("discover_1982_1_xx");
+        doReturn(List.of(new Movie(false, "backdrop/path", List.of(1), 1, "xx", "Original Title", "Overview", 1.0,
+                "poster/path", "1982-01-01", "Title", false, 5.0, 10))).when(moviesWrapper).get();
+
+        StepVerifier.create(movieService.search(1982, 1982, List.of("Genre 1"), List.of("xx"), 2,
+                        MovieField.ALL))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(negativeCache, never()).mightBeEmpty(anyString());
+        verifyNoInteractions(movieServiceWebClient);
+    }
+
+    /**
+     * GIVEN: A cached search.
+     * WHEN: Search movies twice.
+     * THEN: Its movies are indexed once, on the scheduler of the CPU-bound work, as the second search reads the same
+     * list from the cache.
+     */
+    @Test
+    void givenCachedSearch_whenSearchTwice_thenIndexOnceOnComputeScheduler() {
+        final var computeScheduler = mock(Scheduler.class);
+        final var indexingMovieService = new MovieService(caffeineCacheManager, movieServiceWebClient,
+                moviesCircuitBreaker, moviesRetry, negativeCache,
+                new StaleCache(1000, Duration.ofHours(24), Clock.systemUTC()), movieIndex, movieKeyIndex,
+                computeScheduler, new EventLoopProperties(0, 0, 0, 1000));
+        final var cache = mock(Cache.class);
+        doReturn(cache).when(caffeineCacheManager).getCache(anyString());
+
+        final var genresWrapper = mock(Cache.ValueWrapper.class);
+        doReturn(genresWrapper).when(cache).get("genres_xx");
+        doReturn(List.of(new Genre(1, "Genre 1"))).when(genresWrapper).get();
+
+        final var moviesWrapper = mock(Cache.ValueWrapper.class);
+        doReturn(moviesWrapper).when(cache).get("discover_1982_1_xx");
+        doReturn(List.of(new Movie(false, "backdrop/path", List.of(1), 1, "xx", "Original Title", "Overview", 1.0,
+                "poster/path", "1982-01-01", "Title", false, 5.0, 10))).when(moviesWrapper).get();
+
+        for (var i = 0; i < 2; i++) {
+            StepVerifier.create(indexingMovieService.search(1982, 1982, List.of("Genre 1"), List.of("xx"), 2,
+                            MovieField.ALL))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        final var captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(computeScheduler).schedule(captor.capture());
+        assertEquals(0, movieIndex.getSize());
+
+        captor.getValue().run();
+
+        assertEquals(1, movieIndex.getSize());
+    }
+
+    /**
+     * GIVEN: A search without results upstream.
+     * WHEN: Search movies.
+     * THEN: The search is recorded in the negative cache and not in the movies cache.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenSearchWithoutResults_whenSearch_thenRecordEmptyAndNotCache() {
+        final var cache = mock(Cache.class);
+        doReturn(cache).when(caffeineCacheManager).getCache(anyString());
+
+        final var valueWrapper = mock(Cache.ValueWrapper.class);
+        doReturn(valueWrapper).when(cache).get("genres_xx");
+        doReturn(List.of(new Genre(1, "Genre 1"))).when(valueWrapper).get();
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+        doReturn(Flux.just(new MoviePageResponse(1, List.of(), 1, 0)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            StepVerifier.create(movieService.search(1982, 1982, List.of("Genre 1"), List.of("xx"), 2,
+                        MovieField.ALL))
+                    .verifyComplete();
+
+            verify(negativeCache).recordEmpty("discover_1982_1_xx");
+            verify(cache, never()).put(anyString(), any());
+        }
+    }
+
+    /**
+     * GIVEN: Two languages whose genre lists name the same genre differently, and a genre named in one of them.
+     * WHEN: Search movies.
+     * THEN: Each language is searched with the genre id, and the movies are named in the genres of their language.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenTwoLanguages_whenSearch_thenSearchEachLanguageWithSharedGenreIds() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(35, "Comedia")))),
+                Flux.just(new GenresResponse(List.of(new Genre(35, "Comédia")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(new Movie(false, "backdrop/path", List.of(35), 1, "es", "Original Title",
+                "Overview", 1.0, "poster/path", "1982-01-01", "Title", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 1)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            final var result = movieService.search(1982, 1982, List.of("Comedia"), List.of("es", "pt"), 2,
+                    MovieField.ALL);
+
+            StepVerifier.create(result.map(MovieResponse::genres).collectList())
+                    .assertNext(genres -> assertEquals(List.of(List.of("Comedia"), List.of("Comédia")), genres))
+                    .verifyComplete();
+
+            verify(uriSpec).uri(anyString(), eq(1982), eq("35"), eq("es"));
+            verify(uriSpec).uri(anyString(), eq(1982), eq("35"), eq("pt"));
+            verify(responseSpec, times(2)).bodyToFlux(GenresResponse.class);
+        }
+    }
+
+    /**
+     * GIVEN: A search limited to the id and the title, of two movies out of release date order.
+     * WHEN: Search movies.
+     * THEN: The movies are sorted by release date, with only their id and title.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenFields_whenSearch_thenReturnOnlyFieldsSortedByReleaseDate() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(35, "Comedia")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(
+                new Movie(false, "backdrop/path", List.of(35), 2, "es", "Segunda", "Overview", 1.0, "poster/path",
+                        "1982-06-01", "Second", false, 5.0, 10),
+                new Movie(false, "backdrop/path", List.of(35), 1, "es", "Primera", "Overview", 1.0, "poster/path",
+                        "1982-01-01", "First", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 2)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            final var fields = Set.of(MovieField.ID, MovieField.TITLE);
+            final var result = movieService.search(1982, 1982, List.of("Comedia"), List.of("es"), 2, fields);
+
+            StepVerifier.create(result)
+                    .expectNext(new MovieResponse(1, List.of(), null, null, "First", null, null, null, fields))
+                    .expectNext(new MovieResponse(2, List.of(), null, null, "Second", null, null, null, fields))
+                    .verifyComplete();
+        }
+    }
+
+    /**
+     * GIVEN: A search, limited to the ids, that found two movies.
+     * WHEN: Look up the title of one of them.
+     * THEN: Return it from the index, with its genre names and only the requested fields, without calling the movie
+     * service again.
+     */
+    @Test
+    void givenSearchedMovies_whenLookup_thenReturnMatchesFromIndex() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(35, "Comedia")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(
+                new Movie(false, "backdrop/path", List.of(35), 2, "es", "El corazón", "Una historia", 1.0,
+                        "poster/path", "1982-06-01", "The heart", false, 5.0, 10),
+                new Movie(false, "backdrop/path", List.of(35), 1, "es", "Primera", "Overview", 1.0, "poster/path",
+                        "1982-01-01", "First", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 2)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            StepVerifier.create(movieService.search(1982, 1982, List.of("Comedia"), List.of("es"), 2,
+                            Set.of(MovieField.ID)))
+                    .expectNextCount(2)
+                    .verifyComplete();
+        }
+
+        final var fields = Set.of(MovieField.ID, MovieField.GENRES, MovieField.ORIGINAL_TITLE);
+        StepVerifier.create(movieService.lookup("corazon", 10, fields))
+                .expectNext(List.of(new MovieResponse(2, List.of("Comedia"), null, "El corazón", null, null, null,
+                        null, fields)))
+                .verifyComplete();
+
+        verify(movieServiceWebClient, times(2)).get();
+    }
+
+    /**
+     * GIVEN: A search of two years in a request recording its cache dependencies.
+     * WHEN: Search movies.
+     * THEN: The discover calls are recorded as dependencies of the request, and their movies in the movie key index.
+     */
+    @Test
+    void givenCacheDependencies_whenSearch_thenDiscoverCallsRecorded() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(35, "Comedia")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(
+                new Movie(false, "backdrop/path", List.of(35), 1, "es", "Primera", "Overview", 1.0, "poster/path",
+                        "1982-01-01", "First", false, 5.0, 10),
+                new Movie(false, "backdrop/path", List.of(35), 2, "es", "Segunda", "Overview", 1.0, "poster/path",
+                        "1982-06-01", "Second", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 2)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        final var dependencies = new CacheDependencies();
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            StepVerifier.create(movieService.search(1982, 1983, List.of("Comedia"), List.of("es"), 2,
+                                    Set.of(MovieField.ID))
+                            .contextWrite(dependencies.toContext()))
+                    .expectNextCount(4)
+                    .verifyComplete();
+        }
+
+        assertEquals(Set.of("discover_1982_35_es", "discover_1983_35_es"), dependencies.getKeys());
+        assertEquals(2, movieKeyIndex.getCells());
+        assertEquals(2, movieKeyIndex.getMovies());
+        assertEquals(Set.of("discover_1982_35_es", "discover_1983_35_es"),
+                movieKeyIndex.invalidate(List.of(2)).cells());
+    }
+
+    /**
+     * GIVEN: A search with as many movies as the offload threshold.
+     * WHEN: Search movies.
+     * THEN: The movies are sorted by release date on the scheduler of the CPU-bound work.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenSearchAtOffloadThreshold_whenSearch_thenSortOnComputeScheduler() {
+        final var computeScheduler = Schedulers.newSingle("compute-test");
+        final var offloadingMovieService = new MovieService(caffeineCacheManager, movieServiceWebClient,
+                moviesCircuitBreaker, moviesRetry, negativeCache,
+                new StaleCache(1000, Duration.ofHours(24), Clock.systemUTC()), movieIndex, movieKeyIndex,
+                computeScheduler,
+                new EventLoopProperties(0, 0, 0, 2));
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(35, "Comedia")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(
+                new Movie(false, "backdrop/path", List.of(35), 1, "es", "Original Title 1", "Overview", 1.0,
+                        "poster/path", "1982-06-01", "Title 1", false, 5.0, 10),
+                new Movie(false, "backdrop/path", List.of(35), 2, "es", "Original Title 2", "Overview", 1.0,
+                        "poster/path", "1982-01-01", "Title 2", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 1)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            final var result = offloadingMovieService.search(1982, 1982, List.of("Comedia"), List.of("es"), 1,
+                            MovieField.ALL)
+                    .map(movieResponse -> "%d@%s".formatted(movieResponse.id(), Thread.currentThread().getName()));
+
+            StepVerifier.create(result.collectList())
+                    .assertNext(idsAndThreads -> {
+                        assertEquals(2, idsAndThreads.size());
+                        assertTrue(idsAndThreads.get(0).startsWith("2@compute-test"));
+                        assertTrue(idsAndThreads.get(1).startsWith("1@compute-test"));
+                    })
+                    .verifyComplete();
+        } finally {
+            computeScheduler.dispose();
+        }
+    }
+
+    /**
+     * GIVEN: A cursor at the second year of a search with a movie per year.
+     * WHEN: Search a page of one movie.
+     * THEN: Return the movie of that year and a cursor at the next year, fetching only the years the page needs.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenCursor_whenSearchPage_thenReturnPageAndNextCursor() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(1, "Genre 1")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(new Movie(false, "backdrop/path", List.of(1), 1, "lang", "Original Title",
+                "Overview", 1.0, "poster/path", "1983-01-01", "Title", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 1)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            final var query = new SearchQuery(1982, 1985, List.of("Genre 1"), List.of("lang"));
+            final var result = movieService.searchPage(new SearchCursor(query, 1983, 0), 1, 2, false,
+                    MovieField.ALL);
+
+            StepVerifier.create(result)
+                    .assertNext(page -> {
+                        assertEquals(1, page.movies().size());
+                        assertEquals(new SearchCursor(query, 1984, 0), page.next());
+                    })
+                    .verifyComplete();
+
+            verify(responseSpec).bodyToFlux(GenresResponse.class);
+            verify(responseSpec, times(2)).bodyToFlux(MoviePageResponse.class);
+        }
+    }
+
+    /**
+     * GIVEN: A search of four years with a movie per year.
+     * WHEN: Stream the search, requesting a movie at a time and then the rest.
+     * THEN: Each year is fetched once the movies of the year before it are all requested, rather than all upfront.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenSearch_whenStreamSearch_thenFetchYearsOnDemand() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(1, "Genre 1")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(new Movie(false, "backdrop/path", List.of(1), 1, "lang", "Original Title",
+                "Overview", 1.0, "poster/path", "1982-01-01", "Title", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 1)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            final var query = new SearchQuery(1982, 1985, List.of("Genre 1"), List.of("lang"));
+            final var result = movieService.streamSearch(query, 2, MovieField.ALL);
+
+            StepVerifier.create(result, 1)
+                    .expectNextCount(1)
+                    .then(() -> verify(responseSpec, times(2)).bodyToFlux(MoviePageResponse.class))
+                    .thenRequest(1)
+                    .expectNextCount(1)
+                    .then(() -> verify(responseSpec, times(3)).bodyToFlux(MoviePageResponse.class))
+                    .thenRequest(Long.MAX_VALUE)
+                    .expectNextCount(2)
+                    .verifyComplete();
+
+            verify(responseSpec, times(4)).bodyToFlux(MoviePageResponse.class);
+        }
+    }
+
+    /**
+     * GIVEN: A batch of two searches of the same language with an overlapping year.
+     * WHEN: Search the batch.
+     * THEN: The genres are fetched once, each distinct year once, and both searches get their movies.
+     */
+    @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+    @Test
+    void givenOverlappingSearches_whenSearchBatch_thenShareUpstreamCalls() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+
+        final var uriSpec = mock(WebClient.RequestHeadersUriSpec.class);
+        doReturn(uriSpec).when(movieServiceWebClient).get();
+
+        final var headersSpec = mock(WebClient.RequestHeadersSpec.class);
+        doReturn(headersSpec).when(uriSpec).uri(anyString(), any(Object[].class));
+
+        final var responseSpec = mock(WebClient.ResponseSpec.class);
+        doReturn(responseSpec).when(headersSpec).retrieve();
+
+        doReturn(Flux.just(new GenresResponse(List.of(new Genre(1, "Genre 1"), new Genre(2, "Genre 2")))))
+                .when(responseSpec).bodyToFlux(GenresResponse.class);
+
+        final var movies = List.of(new Movie(false, "backdrop/path", List.of(1), 1, "lang", "Original Title",
+                "Overview", 1.0, "poster/path", "1982-01-01", "Title", false, 5.0, 10));
+        doReturn(Flux.just(new MoviePageResponse(1, movies, 1, 1)))
+                .when(responseSpec).bodyToFlux(MoviePageResponse.class);
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Mono<List<Genre>>>>getArgument(0).get());
+            resilienceUtils.when(() -> applyResilienceForFlux(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenAnswer(invocation -> invocation.<Supplier<Flux<MoviePageResponse>>>getArgument(0).get());
+
+            final var result = movieService.searchBatch(List.of(
+                    new SearchQuery(1982, 1983, List.of("Genre 1"), List.of("lang")),
+                    new SearchQuery(1983, 1984, List.of("Genre 1"), List.of("lang"))), 2, MovieField.ALL);
+
+            StepVerifier.create(result.collectSortedList(Comparator.comparing(SearchResult::index)))
+                    .assertNext(results -> {
+                        assertEquals(2, results.size());
+                        results.forEach(searchResult -> {
+                            assertEquals(2, searchResult.movies().size());
+                            assertEquals(List.of("Genre 1"), searchResult.movies().get(0).genres());
+                            assertNull(searchResult.error());
+                        });
+                    })
+                    .verifyComplete();
+
+            verify(responseSpec).bodyToFlux(GenresResponse.class);
+            verify(responseSpec, times(3)).bodyToFlux(MoviePageResponse.class);
+        }
+    }
+
+    /**
+     * GIVEN: A batch with a search whose genres cannot be loaded.
+     * WHEN: Search the batch.
+     * THEN: The search gets an error result without calling discover.
+     */
+    @Test
+    void givenGenresError_whenSearchBatch_thenErrorResult() {
+        final var cache = mock(Cache.class);
+        doReturn(cache).when(caffeineCacheManager).getCache(anyString());
+        doReturn(null).when(cache).get(anyString());
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenReturn(Mono.error(new IllegalStateException("Upstream error")));
+
+            final var result = movieService.searchBatch(List.of(
+                    new SearchQuery(1982, 1983, List.of("Genre 1"), List.of("lang"))), 2, MovieField.ALL);
+
+            StepVerifier.create(result)
+                    .assertNext(searchResult -> {
+                        assertEquals(0, searchResult.index());
+                        assertEquals(List.of(), searchResult.movies());
+                        assertEquals("The genres of the language lang could not be loaded", searchResult.error());
+                    })
+                    .verifyComplete();
+
+            resilienceUtils.verify(() -> applyResilienceForFlux(any(), any(), any()), never());
+        }
+    }
+
+    /**
+     * GIVEN: Genres loaded five seconds ago and expired from the cache.
+     * WHEN: Get genres while the movie service fails.
+     * THEN: Return the last-known-good genres, and record their age in the staleness of the request.
+     */
+    @Test
+    void givenStaleGenres_whenGetGenresAndUpstreamFails_thenReturnStaleGenres() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+        final var clock = mock(Clock.class);
+        doReturn(0L).when(clock).millis();
+        final var staleMovieService = new MovieService(caffeineCacheManager, movieServiceWebClient,
+                moviesCircuitBreaker, moviesRetry, negativeCache, new StaleCache(1000, Duration.ofHours(24), clock),
+                movieIndex, movieKeyIndex, Schedulers.immediate(), new EventLoopProperties(0, 0, 0, 1000));
+        final var genres = List.of(new Genre(1, "Genre 1"), new Genre(2, "Genre 2"));
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenReturn(Mono.just(genres), Mono.error(WebClientResponseException.create(503,
+                            "Service Unavailable", null, null, null)));
+
+            StepVerifier.create(staleMovieService.getGenres("lang"))
+                    .expectNext(genres)
+                    .verifyComplete();
+
+            doReturn(5000L).when(clock).millis();
+            final var staleness = new Staleness();
+            StepVerifier.create(staleMovieService.getGenres("lang").contextWrite(staleness.toContext()))
+                    .expectNext(genres)
+                    .verifyComplete();
+
+            assertTrue(staleness.isStale());
+            assertEquals(Duration.ofSeconds(5), staleness.getAge());
+        }
+    }
+
+    /**
+     * GIVEN: Genres loaded before.
+     * WHEN: Get genres and the movie service answers that the request is not valid.
+     * THEN: Return the error rather than the last-known-good genres.
+     */
+    @Test
+    void givenStaleGenres_whenGetGenresAndUpstreamRejectsRequest_thenReturnError() {
+        doReturn(null).when(caffeineCacheManager).getCache(anyString());
+        final var genres = List.of(new Genre(1, "Genre 1"));
+
+        try (var resilienceUtils = mockStatic(ResilienceUtils.class)) {
+            resilienceUtils.when(() -> applyResilienceForMono(any(), eq(moviesCircuitBreaker), eq(moviesRetry)))
+                    .thenReturn(Mono.just(genres), Mono.error(WebClientResponseException.create(404,
+                            "Not Found", null, null, null)));
+
+            StepVerifier.create(movieService.getGenres("lang"))
+                    .expectNext(genres)
+                    .verifyComplete();
+
+            final var staleness = new Staleness();
+            StepVerifier.create(movieService.getGenres("lang").contextWrite(staleness.toContext()))
+                    .expectError(WebClientResponseException.NotFound.class)
+                    .verify();
+
+            assertFalse(staleness.isStale());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.config.RecommendationProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Interaction;
+import com.jorgealfonsogarcia.recommender.domain.models.InteractionType;
+import com.jorgealfonsogarcia.recommender.domain.models.Recommendation;
+import com.jorgealfonsogarcia.recommender.recommendation.AlsTrainer;
+import com.jorgealfonsogarcia.recommender.recommendation.InteractionLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link RecommendationService} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class RecommendationServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private InteractionLog interactionLog;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        interactionLog = new InteractionLog(directory.resolve("interactions.log"));
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * GIVEN:   A log with the interactions of two users with the same movies, one of them with one more movie.
+     * WHEN:    The service starts, and movies are recommended to the other user and to an unknown user.
+     * THEN:    A model is trained from the log, which recommends the other movie, and the unknown user gets the most
+     *          popular movies.
+     */
+    @Test
+    void givenLog_whenStart_thenRecommendFromTrainedModel() {
+        interactionLog.append(1, 10, InteractionType.LIKE);
+        interactionLog.append(1, 11, InteractionType.LIKE);
+        interactionLog.append(1, 12, InteractionType.VIEW);
+        interactionLog.append(2, 10, InteractionType.LIKE);
+        interactionLog.append(2, 11, InteractionType.LIKE);
+        interactionLog.append(3, 20, InteractionType.VIEW);
+
+        final var recommendationService = recommendationService(Duration.ZERO);
+        awaitTraining();
+
+        StepVerifier.create(recommendationService.recommend(2, 1))
+                .assertNext(recommendations -> assertEquals(12, recommendations.get(0).movieId()))
+                .verifyComplete();
+
+        StepVerifier.create(recommendationService.recommend(99, 2))
+                .expectNext(List.of(new Recommendation(10, 8.0), new Recommendation(11, 8.0)))
+                .verifyComplete();
+
+        assertEquals(1, recommendationService.getTrainings());
+        assertEquals(3, recommendationService.getUsers());
+        assertEquals(4, recommendationService.getMovies());
+    }
+
+    /**
+     * GIVEN:   A service without interactions.
+     * WHEN:    An interaction is recorded.
+     * THEN:    It is appended to the log, and a model is trained with it.
+     */
+    @Test
+    void givenInteraction_whenRecord_thenAppendedAndTrained() {
+        final var recommendationService = recommendationService(Duration.ZERO);
+
+        StepVerifier.create(recommendationService.record(1, new Interaction(10, InteractionType.VIEW)))
+                .verifyComplete();
+        awaitTraining();
+
+        assertEquals(1, recommendationService.getInteractions());
+        assertEquals(1, recommendationService.getTrainings());
+        assertEquals(1, recommendationService.getUsers());
+    }
+
+    /**
+     * GIVEN:   A service with a long training interval, which trained a model when it started.
+     * WHEN:    Another interaction is recorded.
+     * THEN:    It is appended to the log, but no model is trained until the interval passes.
+     */
+    @Test
+    void givenTrainingInterval_whenRecord_thenNotTrainedAgain() {
+        interactionLog.append(1, 10, InteractionType.VIEW);
+        final var recommendationService = recommendationService(Duration.ofHours(1));
+        awaitTraining();
+
+        recommendationService.record(2, new Interaction(10, InteractionType.LIKE)).block();
+        awaitTraining();
+
+        assertEquals(2, recommendationService.getInteractions());
+        assertEquals(1, recommendationService.getTrainings());
+        assertEquals(1, recommendationService.getUsers());
+    }
+
+    private RecommendationService recommendationService(final Duration interval) {
+        final var training = new RecommendationProperties.Training(4, 10, 2, 0.1, 10, interval);
+        return new RecommendationService(interactionLog, new AlsTrainer(training, pool), Schedulers.immediate(),
+                new RecommendationProperties(null, 100, training));
+    }
+
+    private void awaitTraining() {
+        pool.awaitQuiescence(10, TimeUnit.SECONDS);
+    }
+}
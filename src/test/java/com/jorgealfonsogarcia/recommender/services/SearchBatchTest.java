@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.domain.models.MovieResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for the {@link SearchBatch} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class SearchBatchTest {
+
+    private static final SearchBatch.DiscoverCell CELL_1982 = new SearchBatch.DiscoverCell(1982, "35", "es");
+    private static final SearchBatch.DiscoverCell CELL_1983 = new SearchBatch.DiscoverCell(1983, "35", "es");
+    private static final SearchBatch.DiscoverCell CELL_1984 = new SearchBatch.DiscoverCell(1984, "35", "es");
+
+    /**
+     * GIVEN:   Two searches with an overlapping year.
+     * WHEN:    Get the cells.
+     * THEN:    Each distinct cell is returned once, in the order of the first search that needs it.
+     */
+    @Test
+    void givenOverlappingSearches_whenCells_thenDistinctCells() {
+        final var batch = new SearchBatch(List.of(List.of(CELL_1982, CELL_1983), List.of(CELL_1983, CELL_1984)));
+
+        assertEquals(List.of(CELL_1982, CELL_1983, CELL_1984), batch.cells());
+        assertEquals(List.of(), batch.completedUpfront());
+    }
+
+    /**
+     * GIVEN:   Two searches with an overlapping year.
+     * WHEN:    Their cells complete.
+     * THEN:    Each search is completed by its last cell, with the movies of all its cells.
+     */
+    @Test
+    void givenOverlappingSearches_whenCellsComplete_thenSearchesCompleted() {
+        final var batch = new SearchBatch(List.of(List.of(CELL_1982, CELL_1983), List.of(CELL_1983, CELL_1984)));
+        final var movie1982 = movie(1);
+        final var movie1983 = movie(2);
+
+        assertEquals(List.of(), batch.complete(new SearchBatch.CellOutcome(CELL_1982, List.of(movie1982), null)));
+        assertEquals(List.of(0), batch.complete(new SearchBatch.CellOutcome(CELL_1983, List.of(movie1983), null)));
+        assertEquals(List.of(1), batch.complete(new SearchBatch.CellOutcome(CELL_1984, List.of(), null)));
+
+        assertEquals(List.of(movie1982, movie1983), batch.movies(0));
+        assertEquals(List.of(movie1983), batch.movies(1));
+        assertNull(batch.error(0));
+    }
+
+    /**
+     * GIVEN:   A search that cannot run and a search whose cell fails.
+     * WHEN:    The cell completes.
+     * THEN:    The first search is completed upfront and the second one with the error of its cell.
+     */
+    @Test
+    void givenNotRunnableAndFailedSearches_whenComplete_thenCompletedWithErrors() {
+        final var cellsByQuery = new ArrayList<List<SearchBatch.DiscoverCell>>();
+        cellsByQuery.add(null);
+        cellsByQuery.add(List.of(CELL_1982));
+        final var batch = new SearchBatch(cellsByQuery);
+        final var error = new IllegalStateException("Upstream error");
+
+        assertEquals(List.of(0), batch.completedUpfront());
+        assertFalse(batch.isRunnable(0));
+        assertEquals(List.of(1), batch.complete(new SearchBatch.CellOutcome(CELL_1982, List.of(), error)));
+        assertSame(error, batch.error(1));
+    }
+
+    private static MovieResponse movie(final int id) {
+        return new MovieResponse(id, List.of("Comedia"), "es", "Original Title", "Title", "Overview", 5,
+                "1982-01-01");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.services;
+
+import com.jorgealfonsogarcia.recommender.config.WarmUpProperties;
+import com.jorgealfonsogarcia.recommender.domain.models.Genre;
+import com.jorgealfonsogarcia.recommender.domain.models.Language;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for the {@link WarmUpService} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+@ExtendWith(MockitoExtension.class)
+class WarmUpServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private MovieService movieService;
+
+    /**
+     * GIVEN:   Languages and a discover key to warm up.
+     * WHEN:    Warm up.
+     * THEN:    The languages, the genres and the movies are loaded and the warm-up completes.
+     */
+    @Test
+    void givenLanguagesAndDiscoverKey_whenWarmUp_thenLoadAllAndComplete() {
+        final var discoverKey = new WarmUpProperties.DiscoverKey(1982, List.of("Comedia"), "es");
+        final var warmUpService = new WarmUpService(movieService,
+                new WarmUpProperties(true, List.of("es", "en"), List.of(discoverKey), 2, TIMEOUT));
+
+        doReturn(Flux.just(new Language("es", "Spanish", "Spanish"))).when(movieService).getLanguages();
+        doReturn(Mono.just(List.of(new Genre(35, "Comedia")))).when(movieService).getGenres("es");
+        doReturn(Mono.just(List.of(new Genre(35, "Comedy")))).when(movieService).getGenres("en");
+        doReturn(Flux.empty()).when(movieService).search(1982, 1982, List.of("Comedia"), List.of("es"), 1, Set.of());
+
+        assertEquals(WarmUpService.State.PENDING, warmUpService.getState());
+
+        StepVerifier.create(warmUpService.warmUp())
+                .verifyComplete();
+
+        assertEquals(WarmUpService.State.COMPLETED, warmUpService.getState());
+        assertEquals(4, warmUpService.getLoaded());
+        assertEquals(0, warmUpService.getFailed());
+
+        verify(movieService).getLanguages();
+        verify(movieService).getGenres("es");
+        verify(movieService).getGenres("en");
+        verify(movieService).search(1982, 1982, List.of("Comedia"), List.of("es"), 1, Set.of());
+    }
+
+    /**
+     * GIVEN:   An upstream call that fails.
+     * WHEN:    Warm up.
+     * THEN:    The failure is counted and the warm-up completes.
+     */
+    @Test
+    void givenFailingCall_whenWarmUp_thenCountFailureAndComplete() {
+        final var warmUpService = new WarmUpService(movieService,
+                new WarmUpProperties(true, List.of("es"), List.of(), 4, TIMEOUT));
+
+        doReturn(Flux.error(new IOException("Connection refused"))).when(movieService).getLanguages();
+        doReturn(Mono.just(List.of(new Genre(35, "Comedia")))).when(movieService).getGenres("es");
+
+        StepVerifier.create(warmUpService.warmUp())
+                .verifyComplete();
+
+        assertEquals(WarmUpService.State.COMPLETED, warmUpService.getState());
+        assertEquals(1, warmUpService.getLoaded());
+        assertEquals(1, warmUpService.getFailed());
+    }
+
+    /**
+     * GIVEN:   An upstream call that does not finish in time.
+     * WHEN:    Warm up.
+     * THEN:    The warm-up times out.
+     */
+    @Test
+    void givenSlowCall_whenWarmUp_thenTimedOut() {
+        final var warmUpService = new WarmUpService(movieService,
+                new WarmUpProperties(true, List.of(), List.of(), 4, Duration.ofMillis(50)));
+
+        doReturn(Flux.never()).when(movieService).getLanguages();
+
+        StepVerifier.create(warmUpService.warmUp())
+                .verifyComplete();
+
+        assertEquals(WarmUpService.State.TIMED_OUT, warmUpService.getState());
+    }
+
+    /**
+     * GIVEN:   A disabled warm-up.
+     * WHEN:    Warm up.
+     * THEN:    Nothing is loaded.
+     */
+    @Test
+    void givenDisabled_whenWarmUp_thenNothingLoaded() {
+        final var warmUpService = new WarmUpService(movieService,
+                new WarmUpProperties(false, List.of("es"), List.of(), 4, TIMEOUT));
+
+        StepVerifier.create(warmUpService.warmUp())
+                .verifyComplete();
+
+        assertEquals(WarmUpService.State.DISABLED, warmUpService.getState());
+        verifyNoInteractions(movieService);
+    }
+}
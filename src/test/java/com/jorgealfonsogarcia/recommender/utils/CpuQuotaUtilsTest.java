@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link CpuQuotaUtils} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class CpuQuotaUtilsTest {
+
+    /**
+     * GIVEN:   A cgroup v2 quota of one and a half CPUs.
+     * WHEN:    Get the available CPUs.
+     * THEN:    The quota is rounded up.
+     */
+    @Test
+    void givenCgroupV2Quota_whenAvailableCpus_thenQuotaRoundedUp(@TempDir final Path cgroupRoot) throws IOException {
+        Files.writeString(cgroupRoot.resolve("cpu.max"), "150000 100000\n");
+
+        assertEquals(2, CpuQuotaUtils.availableCpus(cgroupRoot, 8));
+    }
+
+    /**
+     * GIVEN:   A cgroup v2 without a quota.
+     * WHEN:    Get the available CPUs.
+     * THEN:    The available processors are returned.
+     */
+    @Test
+    void givenCgroupV2WithoutQuota_whenAvailableCpus_thenAvailableProcessors(@TempDir final Path cgroupRoot)
+            throws IOException {
+        Files.writeString(cgroupRoot.resolve("cpu.max"), "max 100000\n");
+
+        assertEquals(8, CpuQuotaUtils.availableCpus(cgroupRoot, 8));
+    }
+
+    /**
+     * GIVEN:   A cgroup v1 quota of four CPUs and two available processors.
+     * WHEN:    Get the available CPUs.
+     * THEN:    The available processors are returned, as they are fewer.
+     */
+    @Test
+    void givenCgroupV1QuotaAboveProcessors_whenAvailableCpus_thenAvailableProcessors(@TempDir final Path cgroupRoot)
+            throws IOException {
+        final var cpu = Files.createDirectory(cgroupRoot.resolve("cpu,cpuacct"));
+        Files.writeString(cpu.resolve("cpu.cfs_quota_us"), "400000\n");
+        Files.writeString(cpu.resolve("cpu.cfs_period_us"), "100000\n");
+
+        assertEquals(2, CpuQuotaUtils.availableCpus(cgroupRoot, 2));
+    }
+
+    /**
+     * GIVEN:   A cgroup v1 without a quota, and no cgroup files at all.
+     * WHEN:    Get the available CPUs.
+     * THEN:    The available processors are returned.
+     */
+    @Test
+    void givenNoQuota_whenAvailableCpus_thenAvailableProcessors(@TempDir final Path cgroupRoot) throws IOException {
+        assertEquals(4, CpuQuotaUtils.availableCpus(cgroupRoot, 4));
+
+        final var cpu = Files.createDirectory(cgroupRoot.resolve("cpu"));
+        Files.writeString(cpu.resolve("cpu.cfs_quota_us"), "-1\n");
+        Files.writeString(cpu.resolve("cpu.cfs_period_us"), "100000\n");
+
+        assertEquals(4, CpuQuotaUtils.availableCpus(cgroupRoot, 4));
+    }
+}
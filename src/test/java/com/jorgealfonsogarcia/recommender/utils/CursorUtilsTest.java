@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link CursorUtils} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class CursorUtilsTest {
+
+    private static final SearchCursor CURSOR = new SearchCursor(
+            new SearchQuery(1982, 1985, List.of("Comedia", "Drama"), List.of("es", "pt")), 1984, 7);
+
+    /**
+     * GIVEN:   A cursor.
+     * WHEN:    It is encoded and decoded.
+     * THEN:    The same cursor is returned, and the encoded form is URL-safe.
+     */
+    @Test
+    void givenCursor_whenEncodeAndDecode_thenSameCursor() {
+        final var encoded = CursorUtils.encode(CURSOR);
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(CURSOR, CursorUtils.decode(encoded));
+    }
+
+    /**
+     * GIVEN:   A cursor of a search with as many genres and languages as a cursor holds.
+     * WHEN:    It is encoded and decoded.
+     * THEN:    The same cursor is returned.
+     */
+    @Test
+    void givenMaximumListSizes_whenEncodeAndDecode_thenSameCursor() {
+        final var cursor = new SearchCursor(new SearchQuery(1982, 1985,
+                strings("Genre", CursorUtils.MAXIMUM_LIST_SIZE), strings("lang", CursorUtils.MAXIMUM_LIST_SIZE)),
+                1984, 7);
+
+        assertEquals(cursor, CursorUtils.decode(CursorUtils.encode(cursor)));
+    }
+
+    /**
+     * GIVEN:   A cursor of a search with more genres than a cursor holds.
+     * WHEN:    It is encoded.
+     * THEN:    Throw an illegal argument exception, rather than a cursor that cannot be decoded.
+     */
+    @Test
+    void givenGenresAboveMaximumListSize_whenEncode_thenThrowIllegalArgumentException() {
+        final var cursor = new SearchCursor(new SearchQuery(1982, 1985,
+                strings("Genre", CursorUtils.MAXIMUM_LIST_SIZE + 1), List.of("es")), 1984, 7);
+
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.encode(cursor));
+    }
+
+    /**
+     * GIVEN:   Malformed cursors.
+     * WHEN:    They are decoded.
+     * THEN:    Throw an illegal argument exception.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor", "AQ", "AwAAB74AAAfBAAJlcwA"})
+    void givenMalformedCursor_whenDecode_thenThrowIllegalArgumentException(final String cursor) {
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode(cursor));
+    }
+
+    /**
+     * GIVEN:   A cursor whose year is outside its search.
+     * WHEN:    It is decoded.
+     * THEN:    Throw an illegal argument exception.
+     */
+    @Test
+    void givenYearOutsideSearch_whenDecode_thenThrowIllegalArgumentException() {
+        final var encoded = CursorUtils.encode(new SearchCursor(CURSOR.query(), 1990, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode(encoded));
+    }
+
+    private static List<String> strings(final String prefix,
+                                        final int size) {
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(index -> prefix + index)
+                .toList();
+    }
+}
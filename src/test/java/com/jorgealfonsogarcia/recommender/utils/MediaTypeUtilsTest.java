@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@link MediaTypeUtils} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class MediaTypeUtilsTest {
+
+    /**
+     * GIVEN:   A request without an Accept header.
+     * WHEN:    The media type is negotiated.
+     * THEN:    JSON is returned.
+     */
+    @Test
+    void givenNoAccept_whenNegotiate_thenJson() {
+        assertEquals(MediaType.APPLICATION_JSON, MediaTypeUtils.negotiate(List.of()));
+    }
+
+    /**
+     * GIVEN:   Accept headers that do not prefer a binary format.
+     * WHEN:    The media type is negotiated.
+     * THEN:    JSON is returned.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"*/*", "application/*", "application/json", "application/cbor, application/json",
+            "application/x-jackson-smile;q=0.5, */*"})
+    void givenAcceptWithoutPreference_whenNegotiate_thenJson(final String accept) {
+        assertEquals(MediaType.APPLICATION_JSON, MediaTypeUtils.negotiate(List.of(accept)));
+    }
+
+    /**
+     * GIVEN:   Accept headers that prefer a binary format.
+     * WHEN:    The media type is negotiated.
+     * THEN:    The binary format is returned.
+     */
+    @Test
+    void givenAcceptPreferringBinaryFormat_whenNegotiate_thenBinaryFormat() {
+        assertEquals(MediaTypeUtils.APPLICATION_SMILE,
+                MediaTypeUtils.negotiate(List.of("application/x-jackson-smile")));
+        assertEquals(MediaType.APPLICATION_CBOR,
+                MediaTypeUtils.negotiate(List.of("application/json;q=0.8, application/cbor")));
+        assertEquals(MediaType.APPLICATION_CBOR,
+                MediaTypeUtils.negotiate(List.of("application/*;q=0.5", "application/cbor;q=0.9")));
+    }
+
+    /**
+     * GIVEN:   Accept headers that accept no producible format, or are not valid.
+     * WHEN:    The media type is negotiated.
+     * THEN:    Null is returned.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"text/html", "application/json;q=0", "not a media type"})
+    void givenUnacceptableOrInvalidAccept_whenNegotiate_thenNull(final String accept) {
+        assertNull(MediaTypeUtils.negotiate(List.of(accept)));
+    }
+}
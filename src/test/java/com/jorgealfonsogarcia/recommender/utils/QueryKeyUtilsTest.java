@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import com.jorgealfonsogarcia.recommender.domain.models.MovieField;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link QueryKeyUtils} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class QueryKeyUtilsTest {
+
+    private static final String SEARCH_PATH = "/movies/search";
+
+    /**
+     * GIVEN:   Equivalent searches with different language case, genre order, duplicated genres and year format.
+     * WHEN:    Get their canonical keys.
+     * THEN:    The keys are the same.
+     */
+    @Test
+    void givenEquivalentSearches_whenCanonicalKey_thenSameKey() {
+        final var first = QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "endYear", List.of("1983"),
+                "genres", List.of("Drama,Comedia"),
+                "language", List.of("ES"))));
+        final var second = QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of(" 1982"),
+                "endYear", List.of("01983"),
+                "genres", List.of("Comedia", "Drama", "Comedia"),
+                "language", List.of("es"))));
+
+        assertEquals(Optional.of("search:1982:1983:Comedia,Drama:es"), first);
+        assertEquals(first, second);
+    }
+
+    /**
+     * GIVEN:   Equivalent searches of many languages, comma-separated or repeated, in any order and case.
+     * WHEN:    Get their canonical keys.
+     * THEN:    The keys are the same, with the languages sorted and lowercase.
+     */
+    @Test
+    void givenEquivalentMultiLanguageSearches_whenCanonicalKey_thenSameKey() {
+        final var first = QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "endYear", List.of("1983"),
+                "genres", List.of("Comedia"),
+                "language", List.of("PT,es"))));
+        final var second = QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "endYear", List.of("1983"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es", "pt", "ES"))));
+
+        assertEquals(Optional.of("search:1982:1983:Comedia:es,pt"), first);
+        assertEquals(first, second);
+    }
+
+    /**
+     * GIVEN:   Searches with missing, malformed or out of range parameters.
+     * WHEN:    Get their canonical keys.
+     * THEN:    They have no key.
+     */
+    @Test
+    void givenInvalidSearches_whenCanonicalKey_thenEmpty() {
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es")))));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("year"),
+                "endYear", List.of("1983"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es")))));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1983"),
+                "endYear", List.of("1982"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es")))));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "endYear", List.of("1983"),
+                "genres", List.of("Comedia"),
+                "language", List.of(",")))));
+    }
+
+    /**
+     * GIVEN:   Searches reaching before the first movies and after the last announced ones.
+     * WHEN:    Get their canonical keys.
+     * THEN:    Their years are clamped, so they share the key of the valid years, and a search of no valid year has no
+     *          key.
+     */
+    @Test
+    void givenYearsOutOfBounds_whenCanonicalKey_thenYearsClamped() {
+        final var maxYear = QueryKeyUtils.maxYear();
+        final var clamped = QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1000"),
+                "endYear", List.of(String.valueOf(maxYear + 100)),
+                "genres", List.of("Comedia"),
+                "language", List.of("es"))));
+        final var valid = QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of(String.valueOf(QueryKeyUtils.MIN_YEAR)),
+                "endYear", List.of(String.valueOf(maxYear)),
+                "genres", List.of("Comedia"),
+                "language", List.of("es"))));
+
+        assertEquals(Optional.of("search:%d:%d:Comedia:es".formatted(QueryKeyUtils.MIN_YEAR, maxYear)), clamped);
+        assertEquals(valid, clamped);
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1000"),
+                "endYear", List.of("1001"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es")))));
+        assertEquals(QueryKeyUtils.MIN_YEAR, QueryKeyUtils.canonicalYear(Integer.MIN_VALUE));
+        assertEquals(maxYear, QueryKeyUtils.canonicalYear(Integer.MAX_VALUE));
+        assertEquals(1982, QueryKeyUtils.canonicalYear(1982));
+    }
+
+    /**
+     * GIVEN:   Paged searches, with and without a cursor.
+     * WHEN:    Get their canonical keys.
+     * THEN:    The page size is part of the key, a cursor replaces the search parameters, and a cursor without a page
+     *          size has no key.
+     */
+    @Test
+    void givenPagedSearches_whenCanonicalKey_thenKeyHasPage() {
+        assertEquals(Optional.of("search:1982:1983:Comedia:es:20"),
+                QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                        "startYear", List.of("1982"),
+                        "endYear", List.of("1983"),
+                        "genres", List.of("Comedia"),
+                        "language", List.of("es"),
+                        "pageSize", List.of("20")))));
+        assertEquals(Optional.of("search:cursor:AQ:20"), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "cursor", List.of("AQ"),
+                "pageSize", List.of("20")))));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "cursor", List.of("AQ")))));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "endYear", List.of("1983"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es"),
+                "pageSize", List.of("twenty")))));
+    }
+
+    /**
+     * GIVEN:   The reference data paths and an unknown path.
+     * WHEN:    Get their canonical keys.
+     * THEN:    The genres key has the lowercase language, and the unknown path has no key.
+     */
+    @Test
+    void givenReferenceDataPaths_whenCanonicalKey_thenKey() {
+        final var noParams = new LinkedMultiValueMap<String, String>();
+
+        assertEquals(Optional.of("languages"), QueryKeyUtils.canonicalKey("/movies/languages", noParams));
+        assertEquals(Optional.of("genres:es"), QueryKeyUtils.canonicalKey("/movies/genres/ES", noParams));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey("/movies/genres/es/extra", noParams));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey("/actuator/health", noParams));
+    }
+
+    /**
+     * GIVEN:   Genres with duplicates.
+     * WHEN:    Get their canonical form.
+     * THEN:    They are sorted without duplicates, keeping their case.
+     */
+    @Test
+    void givenGenres_whenCanonicalGenres_thenSortedAndDistinct() {
+        assertEquals(List.of("Comedia", "Drama", "drama"),
+                QueryKeyUtils.canonicalGenres(List.of("drama", "Drama", "Comedia", "Drama")));
+    }
+
+    /**
+     * GIVEN:   Fields in any order, comma-separated or repeated, with duplicates.
+     * WHEN:    Get their canonical form.
+     * THEN:    The set of fields is returned, or all of them when none or all are given.
+     */
+    @Test
+    void givenFields_whenCanonicalFields_thenSetOfFields() {
+        assertEquals(Set.of(MovieField.ID, MovieField.TITLE, MovieField.RELEASE_DATE),
+                QueryKeyUtils.canonicalFields(List.of("releaseDate,id", "title", " id")));
+        assertEquals(MovieField.ALL, QueryKeyUtils.canonicalFields(null));
+        assertEquals(MovieField.ALL, QueryKeyUtils.canonicalFields(List.of("")));
+        assertEquals(MovieField.ALL, QueryKeyUtils.canonicalFields(List.of(
+                "id,genres,originalLanguage,originalTitle,title,overview,popularity,releaseDate")));
+    }
+
+    /**
+     * GIVEN:   A field that is not a property of the movies.
+     * WHEN:    Get the canonical fields.
+     * THEN:    Throw an illegal argument exception.
+     */
+    @Test
+    void givenUnknownField_whenCanonicalFields_thenThrowIllegalArgumentException() {
+        final var fields = List.of("id,budget");
+
+        final var exception = assertThrows(IllegalArgumentException.class,
+                () -> QueryKeyUtils.canonicalFields(fields));
+        assertEquals("Unknown field budget", exception.getMessage());
+    }
+
+    /**
+     * GIVEN:   Searches limited to the same fields in a different order, to all the fields, and to an unknown one.
+     * WHEN:    Get their canonical keys.
+     * THEN:    The limited searches share a key with their fields, the search of all the fields has the key of the
+     * unlimited search, and the search of an unknown field has none.
+     */
+    @Test
+    void givenSearchesWithFields_whenCanonicalKey_thenKeyHasFields() {
+        final Map<String, List<String>> search = Map.of(
+                "startYear", List.of("1982"),
+                "endYear", List.of("1983"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es"));
+
+        assertEquals(Optional.of("search:1982:1983:Comedia:es:fields=id,title"),
+                QueryKeyUtils.canonicalKey(SEARCH_PATH, withFields(search, "title,id")));
+        assertEquals(QueryKeyUtils.canonicalKey(SEARCH_PATH, withFields(search, "title,id")),
+                QueryKeyUtils.canonicalKey(SEARCH_PATH, withFields(search, "id,title,id")));
+        assertEquals(QueryKeyUtils.canonicalKey(SEARCH_PATH, queryParams(search)),
+                QueryKeyUtils.canonicalKey(SEARCH_PATH, withFields(search, QueryKeyUtils.joinFields(MovieField.ALL))));
+        assertEquals(Optional.empty(), QueryKeyUtils.canonicalKey(SEARCH_PATH, withFields(search, "budget")));
+    }
+
+    private static MultiValueMap<String, String> withFields(final Map<String, List<String>> values,
+                                                            final String fields) {
+        final var queryParams = queryParams(values);
+        queryParams.add("fields", fields);
+        return queryParams;
+    }
+
+    private static MultiValueMap<String, String> queryParams(final Map<String, List<String>> values) {
+        return new LinkedMultiValueMap<>(values);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import com.jorgealfonsogarcia.recommender.domain.models.SearchCursor;
+import com.jorgealfonsogarcia.recommender.domain.models.SearchQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link RequestCostUtils} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class RequestCostUtilsTest {
+
+    /**
+     * GIVEN:   A search of three years in two languages, one of them repeated.
+     * WHEN:    Get its upstream discover calls.
+     * THEN:    It costs its years times its distinct languages.
+     */
+    @Test
+    void givenSearch_whenSearchCells_thenYearsTimesLanguages() {
+        assertEquals(6, RequestCostUtils.searchCells(queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "endYear", List.of("1984"),
+                "genres", List.of("Comedia"),
+                "language", List.of("es,ES", "pt")))));
+    }
+
+    /**
+     * GIVEN:   A cursor at the third of four years of a search in two languages.
+     * WHEN:    Get its upstream discover calls.
+     * THEN:    It costs the years left times the languages.
+     */
+    @Test
+    void givenCursor_whenSearchCells_thenYearsLeftTimesLanguages() {
+        final var cursor = CursorUtils.encode(new SearchCursor(
+                new SearchQuery(1982, 1985, List.of("Comedia"), List.of("es", "pt")), 1984, 3));
+
+        assertEquals(4, RequestCostUtils.searchCells(queryParams(Map.of(
+                "cursor", List.of(cursor),
+                "pageSize", List.of("10")))));
+    }
+
+    /**
+     * GIVEN:   Searches with missing or invalid parameters.
+     * WHEN:    Get their upstream discover calls.
+     * THEN:    They cost a single call.
+     */
+    @Test
+    void givenInvalidSearch_whenSearchCells_thenOne() {
+        assertEquals(1, RequestCostUtils.searchCells(queryParams(Map.of(
+                "startYear", List.of("1982"),
+                "language", List.of("es")))));
+        assertEquals(1, RequestCostUtils.searchCells(queryParams(Map.of(
+                "startYear", List.of("1985"),
+                "endYear", List.of("1982"),
+                "language", List.of("es")))));
+        assertEquals(1, RequestCostUtils.searchCells(queryParams(Map.of(
+                "cursor", List.of("not-a-cursor")))));
+    }
+
+    private static MultiValueMap<String, String> queryParams(final Map<String, List<String>> values) {
+        return new LinkedMultiValueMap<>(values);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * COPYRIGHT (c) 2023 Jorge Garcia
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jorgealfonsogarcia.recommender.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link TextUtils} class.
+ *
+ * @author Jorge Garcia
+ * @version 1.0.0
+ * @since 17
+ */
+class TextUtilsTest {
+
+    /**
+     * GIVEN:   A Spanish text with accents, punctuation and numbers.
+     * WHEN:    It is tokenized.
+     * THEN:    Return its words and numbers, lowercase and without accents.
+     */
+    @Test
+    void givenAccentedText_whenTokenize_thenFoldedTerms() {
+        assertEquals(List.of("el", "corazon", "de", "la", "nina", "2", "accion"),
+                TextUtils.tokenize("¡El Corazón de la NIÑA 2: ¡Acción!"));
+    }
+
+    /**
+     * GIVEN:   A Portuguese text in its composed and decomposed forms.
+     * WHEN:    They are tokenized.
+     * THEN:    Return the same terms.
+     */
+    @Test
+    void givenComposedAndDecomposedText_whenTokenize_thenSameTerms() {
+        assertEquals(List.of("coracao", "e", "acao"), TextUtils.tokenize("Corac\u0327a\u0303o e ac\u0327a\u0303o"));
+        assertEquals(List.of("coracao", "e", "acao"), TextUtils.tokenize("Coração e ação"));
+    }
+
+    /**
+     * GIVEN:   Texts without letters or digits.
+     * WHEN:    They are tokenized.
+     * THEN:    Return no terms.
+     */
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "¿?!", " - "})
+    void givenTextWithoutTerms_whenTokenize_thenEmpty(final String text) {
+        assertTrue(TextUtils.tokenize(text).isEmpty());
+    }
+
+    /**
+     * GIVEN:   Titles with accents, punctuation and spaces, composed and decomposed.
+     * WHEN:    They are folded into keys.
+     * THEN:    Return them lowercase, without accents, with single spaces and without leading or trailing spaces.
+     */
+    @Test
+    void givenTitles_whenFoldKey_thenFoldedKeys() {
+        assertEquals("el corazon de la nina 2 accion", TextUtils.foldKey("  ¡El Corazón de la NIÑA 2: ¡Acción!"));
+        assertEquals("coracao", TextUtils.foldKey("Corac\u0327a\u0303o"));
+        assertEquals("ταινια", TextUtils.foldKey("Ταινία"));
+        assertEquals("", TextUtils.foldKey("¿?"));
+        assertEquals("", TextUtils.foldKey(null));
+    }
+
+    /**
+     * GIVEN:   Characters of a prefix.
+     * WHEN:    They are folded one at a time.
+     * THEN:    Return the same characters as the keys: combining marks dropped and separators as spaces.
+     */
+    @Test
+    void givenCharacters_whenFold_thenSameAsKey() {
+        assertEquals('n', TextUtils.fold('Ñ'));
+        assertEquals('e', TextUtils.fold('ệ'));
+        assertEquals(0, TextUtils.fold('\u0301'));
+        assertEquals(' ', TextUtils.fold(':'));
+        assertEquals('字', TextUtils.fold('字'));
+    }
+}